@@ -23,6 +23,7 @@ import org.androidtransfuse.integrationTest.R;
 import org.androidtransfuse.integrationTest.Three;
 import org.androidtransfuse.integrationTest.ValueQualifier;
 import org.androidtransfuse.util.DeclareField;
+import org.androidtransfuse.util.Lazy;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -56,6 +57,10 @@ public class Injection extends InjectionBase {
     @Inject
     private Provider<InjectTarget> generatedProvider;
     @Inject
+    private Lazy<InjectTarget> lazyInjectTarget;
+    @Inject
+    private DeferredTarget deferredTarget;
+    @Inject
     private LibraryDependency1 libraryDependency;
     @Inject
     private GenericType<Concrete> genericInjection;
@@ -153,6 +158,14 @@ public class Injection extends InjectionBase {
         return targetFactory.getLoopThreeProvider();
     }
 
+    public Lazy<InjectTarget> getLazyInjectTarget() {
+        return lazyInjectTarget;
+    }
+
+    public DeferredTarget getDeferredTarget() {
+        return deferredTarget;
+    }
+
     public LibraryDependency1 getLibraryDependency() {
         return libraryDependency;
     }
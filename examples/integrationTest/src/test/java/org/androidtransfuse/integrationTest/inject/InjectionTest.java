@@ -18,6 +18,7 @@ package org.androidtransfuse.integrationTest.inject;
 import com.xtremelabs.robolectric.RobolectricTestRunner;
 import org.androidtransfuse.integrationTest.DelegateUtil;
 import org.androidtransfuse.integrationTest.IntegrationModule;
+import org.androidtransfuse.util.Lazy;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -103,6 +104,29 @@ public class InjectionTest {
         assertNotSame(injectTargetOne, injectTargetTwo);
     }
 
+    @Test
+    public void testLazyInjection() {
+        Lazy<InjectTarget> lazyInjectTarget = injection.getLazyInjectTarget();
+        assertNotNull(lazyInjectTarget);
+        InjectTarget injectTargetOne = lazyInjectTarget.get();
+        assertNotNull(injectTargetOne);
+        assertSame(injectTargetOne, lazyInjectTarget.get());
+    }
+
+    @Test
+    public void testDeferredInjection() {
+        int constructions = DeferredTargetImpl.getConstructions();
+        DeferredTarget deferredTarget = injection.getDeferredTarget();
+        assertNotNull(deferredTarget);
+        assertFalse(deferredTarget instanceof DeferredTargetImpl);
+        //not constructed until first use
+        assertEquals(constructions, DeferredTargetImpl.getConstructions());
+        assertNotNull(deferredTarget.getInjectTarget());
+        assertEquals(constructions + 1, DeferredTargetImpl.getConstructions());
+        assertSame(deferredTarget.getInjectTarget(), deferredTarget.getInjectTarget());
+        assertEquals(constructions + 1, DeferredTargetImpl.getConstructions());
+    }
+
     @Test
     public void testBaseClassInjection() {
         assertNotNull(injection.getBaseTarget());
@@ -0,0 +1,82 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.integrationTest.inject;
+
+import org.androidtransfuse.Factories;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Integration tests for the bindings used to exercise shared injectors.  Injection is verified in both generation modes,
+ * the generated injectors only when built with the shared-injectors profile (the transfuse.sharedInjectors option).
+ *
+ * @author John Ericksen
+ */
+public class SharedInjectorTest {
+
+    private static final String INJECTOR_EXTENSION = "$Injector";
+    private static final String SHARED_INJECTORS_PROPERTY = "transfuse.sharedInjectors";
+
+    private SharedInjectorFactory sharedInjectorFactory;
+
+    @Before
+    public void setup(){
+        sharedInjectorFactory = Factories.get(SharedInjectorFactory.class);
+    }
+
+    @Test
+    public void testInjectorGenerated() throws ClassNotFoundException {
+        assumeTrue(Boolean.getBoolean(SHARED_INJECTORS_PROPERTY));
+
+        assertNotNull(Class.forName(SharedInjectorTarget.class.getName() + INJECTOR_EXTENSION));
+        assertNotNull(Class.forName(SharedInjectorHolder.class.getName() + INJECTOR_EXTENSION));
+    }
+
+    @Test
+    public void testInlineInjection() {
+        assumeTrue(!Boolean.getBoolean(SHARED_INJECTORS_PROPERTY));
+
+        try {
+            Class.forName(SharedInjectorTarget.class.getName() + INJECTOR_EXTENSION);
+            fail("Injectors should only be generated with shared injectors enabled");
+        } catch (ClassNotFoundException e) {
+            //expected
+        }
+    }
+
+    @Test
+    public void testInjection(){
+        SharedInjectorTarget target = sharedInjectorFactory.getTarget();
+
+        assertNotNull(target);
+        assertNotNull(target.getTarget());
+        assertNotSame(target, sharedInjectorFactory.getTarget());
+    }
+
+    @Test
+    public void testSharedDependencies(){
+        SharedInjectorHolder holder = sharedInjectorFactory.getHolder();
+
+        assertNotNull(holder.getOne());
+        assertNotNull(holder.getOne().getTarget());
+        assertNotNull(holder.getTwo());
+        assertNotSame(holder.getOne(), holder.getTwo());
+        assertNotSame(holder.getOne().getTarget(), holder.getTwo().getTarget());
+    }
+}
@@ -22,12 +22,15 @@ package org.androidtransfuse;
 import org.androidtransfuse.annotations.Asynchronous;
 import org.androidtransfuse.annotations.BindInterceptor;
 import org.androidtransfuse.annotations.BindInterceptors;
+import org.androidtransfuse.annotations.SerialAsynchronous;
 import org.androidtransfuse.annotations.UIThread;
 import org.androidtransfuse.aop.AsynchronousMethodInterceptor;
+import org.androidtransfuse.aop.SerialAsynchronousMethodInterceptor;
 import org.androidtransfuse.aop.UIThreadMethodInterceptor;
 
 @BindInterceptors({
     @BindInterceptor(annotation = Asynchronous.class, interceptor = AsynchronousMethodInterceptor.class),
+    @BindInterceptor(annotation = SerialAsynchronous.class, interceptor = SerialAsynchronousMethodInterceptor.class),
     @BindInterceptor(annotation = UIThread.class, interceptor = UIThreadMethodInterceptor.class)
 })
 public class APIModule {
@@ -21,9 +21,11 @@ import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
 /**
- * AOP method interceptor annotation which executes the annotated method on a new `Thread`.
+ * AOP method interceptor annotation which executes the annotated method on the shared asynchronous thread pool.  The
+ * pool may be configured by providing an `AsynchronousExecutor` from a `@TransfuseModule`.
  *
  * @see org.androidtransfuse.aop.AsynchronousMethodInterceptor
+ * @see org.androidtransfuse.aop.AsynchronousExecutor
  *
  * @author John Ericksen
  */
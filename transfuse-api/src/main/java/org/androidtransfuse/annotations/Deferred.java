@@ -0,0 +1,51 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defines, at the class level, that the construction of the annotated implementation and its dependencies should be
+ * deferred until first use.  Every injection of the annotated class through an interface receives a generated proxy
+ * which builds and memoizes the implementation upon the first method call.
+ *
+ * For Instance, defining the following:
+ * [source,java]
+ * --
+ * @Deferred
+ * public class ExpensiveReport implements Report{...}
+ * --
+ * will defer the construction of `ExpensiveReport` while injecting a Report:
+ * [source,java]
+ * --
+ * @Inject
+ * Report report; // ExpensiveReport built upon report.print()
+ * --
+ *
+ * Injections of the concrete class itself are not deferred, use `Lazy<ExpensiveReport>` instead.
+ *
+ * The proxy forwards `equals()`, `hashCode()` and `toString()` to the implementation as well, so calling any of these
+ * also builds it.  A proxy compares equal only as the implementation's `equals()` decides, which for the default
+ * identity based `equals()` means a proxy is not equal to itself.
+ *
+ * @author John Ericksen
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Deferred {}
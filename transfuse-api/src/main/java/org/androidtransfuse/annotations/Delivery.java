@@ -0,0 +1,40 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.annotations;
+
+/**
+ * Delivery policies for `@Observes` methods.
+ *
+ * @see Observes
+ *
+ * @author John Ericksen
+ */
+public enum Delivery {
+
+    /**
+     * The observer is called on the thread triggering the event, before `EventManager.trigger()` returns.
+     */
+    SYNCHRONOUS,
+    /**
+     * The observer is called on the EventManager's background delivery executor, in the order events are triggered.
+     */
+    BACKGROUND,
+    /**
+     * The observer is called on the main thread, through a Handler on the main Looper, with only the latest event
+     * triggered since its previous delivery.  Bursts of events collapse into a single call rather than queueing.
+     */
+    COALESCE
+}
@@ -50,6 +50,15 @@ import java.lang.annotation.Target;
  * public void listen(@Observes} Event event){...}
  * --
  *
+ * By default observers are called synchronously, on the thread triggering the event.  A `Delivery` policy may be
+ * specified to move slow observers onto a background executor, or to collapse bursts of events into the latest one,
+ * delivered on the main thread:
+ * [source,java]
+ * --
+ * @Observes(delivery = Delivery.COALESCE)
+ * public void listen(LocationEvent event){...}
+ * --
+ *
  * Transfuse automatically performs this registration housekeeping with a default, global singleton version of the
  * `EventManager` if the annotated method appears on an instance  injected by Transfuse.
  *
@@ -59,4 +68,7 @@ import java.lang.annotation.Target;
  */
 @Target({ElementType.METHOD, ElementType.PARAMETER})
 @Retention(RetentionPolicy.RUNTIME)
-public @interface Observes {}
+public @interface Observes {
+
+    Delivery delivery() default Delivery.SYNCHRONOUS;
+}
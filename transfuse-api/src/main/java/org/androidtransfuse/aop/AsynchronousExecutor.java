@@ -0,0 +1,119 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.aop;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded thread pool backing the `@Asynchronous` and `@SerialAsynchronous` method interceptors.  By default the pool
+ * holds one thread per available processor, plus one, in front of a queue of 128 pending calls.  Calls arriving at a
+ * saturated pool are run on a new, short lived, thread (`OverflowThreadPolicy`), so a burst of calls is neither lost
+ * nor reported to the caller.  Rejected calls are never run on the calling thread, as it is often the UI thread.
+ * A throwing or discarding policy may be chosen explicitly through the pool's constructor.
+ *
+ * The pool may be configured by providing an instance from a `@TransfuseModule`:
+ *
+ * [source,java]
+ * --
+ * @TransfuseModule
+ * public class Module{
+ *     @Provides
+ *     @Singleton
+ *     public AsynchronousExecutor getExecutor(){
+ *         return new AsynchronousExecutor(2, 32, new ThreadPoolExecutor.DiscardOldestPolicy());
+ *     }
+ * }
+ * --
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class AsynchronousExecutor implements Executor {
+
+    public static final int DEFAULT_QUEUE_SIZE = 128;
+
+    private final ThreadPoolExecutor executor;
+
+    @Inject
+    public AsynchronousExecutor() {
+        this(Runtime.getRuntime().availableProcessors() + 1, DEFAULT_QUEUE_SIZE, new OverflowThreadPolicy());
+    }
+
+    /**
+     * @param poolSize          maximum number of threads
+     * @param queueSize         maximum number of calls waiting for a thread
+     * @param rejectionHandler  policy applied to calls exceeding the queue
+     */
+    public AsynchronousExecutor(int poolSize, int queueSize, RejectedExecutionHandler rejectionHandler) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(queueSize), new AsynchronousThreadFactory("Transfuse Asynchronous #"), rejectionHandler);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        executor.execute(command);
+    }
+
+    /**
+     * Builds an Executor running the submitted calls one at a time, in submission order, on this pool.
+     *
+     * @return serial Executor
+     */
+    public Executor buildSerialExecutor() {
+        return new SerialExecutor(this);
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Default rejection policy, running each call exceeding the queue on a new thread.  Calls rejected because the pool
+     * was shut down are refused with a RejectedExecutionException.
+     */
+    public static final class OverflowThreadPolicy implements RejectedExecutionHandler {
+
+        private final ThreadFactory threadFactory = new AsynchronousThreadFactory("Transfuse Asynchronous overflow #");
+
+        @Override
+        public void rejectedExecution(Runnable runnable, ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) {
+                throw new RejectedExecutionException("Asynchronous call submitted after shutdown");
+            }
+            threadFactory.newThread(runnable).start();
+        }
+    }
+
+    private static final class AsynchronousThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private AsynchronousThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
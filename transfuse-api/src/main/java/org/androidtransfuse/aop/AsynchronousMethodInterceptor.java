@@ -18,16 +18,25 @@ package org.androidtransfuse.aop;
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
 
+import javax.inject.Inject;
+
 /**
- * Method interceptor which moves the given invocation onto a new Thread.
+ * Method interceptor which moves the given invocation onto the shared `AsynchronousExecutor` thread pool.
  *
  * @author John Ericksen
  */
 public class AsynchronousMethodInterceptor implements MethodInterceptor {
 
+    private final AsynchronousExecutor executor;
+
+    @Inject
+    public AsynchronousMethodInterceptor(AsynchronousExecutor executor) {
+        this.executor = executor;
+    }
+
     @Override
     public Object invoke(MethodInvocation invocation) {
-        new Thread(new MethodInvocationRunnable(invocation)).start();
+        executor.execute(new MethodInvocationRunnable(invocation));
         //asynchronous, so cannot return
         return null;
     }
@@ -22,22 +22,47 @@ import org.aopalliance.intercept.MethodInvocation;
 
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Defines a chain of interceptors to wrap the given method.
  *
+ * Chains built from a `ProxyMethodExecution` are built once per proxy instance and reused for every call.  These chains
+ * reuse a single `MethodInvocation` across calls, allocating a new one only while the previous is in use by a
+ * reentrant or concurrent call.  A `MethodInvocation` is only reused if the intercepted method executed on the calling
+ * thread before the interceptor chain returned.  If an interceptor deferred the call to `proceed()` to another thread,
+ * or never called it, the `MethodInvocation` is left to that interceptor and a new one is used for the next call.
+ *
  * @author John Ericksen
  */
 public class MethodInterceptorChain {
 
+    public static final String LOOKUP_METHOD = "lookupMethod";
+    public static final Object[] NO_ARGUMENTS = new Object[0];
+
     private final MethodInterceptor[] methodInterceptors;
     private final MethodExecution methodExecution;
+    private final ProxyMethodExecution proxyMethodExecution;
+    private final Method method;
     private final Object proxy;
+    private final AtomicReference<MethodInterceptorIterator> idleInvocation;
 
     public MethodInterceptorChain(MethodExecution methodExecution, Object proxy, MethodInterceptor... methodInterceptorChains) {
         this.methodExecution = methodExecution;
+        this.proxyMethodExecution = null;
+        this.method = null;
+        this.methodInterceptors = methodInterceptorChains;
+        this.proxy = proxy;
+        this.idleInvocation = null;
+    }
+
+    public MethodInterceptorChain(Method method, ProxyMethodExecution proxyMethodExecution, Object proxy, MethodInterceptor... methodInterceptorChains) {
+        this.methodExecution = null;
+        this.proxyMethodExecution = proxyMethodExecution;
+        this.method = method;
         this.methodInterceptors = methodInterceptorChains;
         this.proxy = proxy;
+        this.idleInvocation = new AtomicReference<MethodInterceptorIterator>(new MethodInterceptorIterator());
     }
 
     /**
@@ -47,10 +72,39 @@ public class MethodInterceptorChain {
      * @return value returned by interceptor chain.
      */
     public Object invoke(Object[] arguments) {
+        MethodInterceptorIterator invocation = null;
+        if (idleInvocation != null) {
+            invocation = idleInvocation.getAndSet(null);
+        }
+        if (invocation == null) {
+            invocation = new MethodInterceptorIterator();
+        }
+        invocation.reset(arguments);
         try {
-            return new MethodInterceptorIterator(arguments).proceed();
+            return invocation.proceed();
         } catch (Throwable e) {
             throw new TransfuseInjectionException("Error while invoking Method Interceptor", e);
+        } finally {
+            if (idleInvocation != null && invocation.isExecuted()) {
+                invocation.release();
+                idleInvocation.set(invocation);
+            }
+        }
+    }
+
+    /**
+     * Looks up the given method declared by the given type, for caching in generated proxies.
+     *
+     * @param type           declaring type
+     * @param name           method name
+     * @param parameterTypes method parameter types
+     * @return Method
+     */
+    public static Method lookupMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+        try {
+            return type.getDeclaredMethod(name, parameterTypes);
+        } catch (NoSuchMethodException e) {
+            throw new TransfuseInjectionException("Unable to find intercepted method " + name + " on " + type, e);
         }
     }
 
@@ -59,15 +113,33 @@ public class MethodInterceptorChain {
      */
     private final class MethodInterceptorIterator implements MethodInvocation {
 
-        private int i = -1;
-        private final Object[] arguments;
+        private int i;
+        private Object[] arguments;
+        private Thread owner;
+        //only set once the method has executed on the owner thread, so the chain has fully unwound when invoke returns
+        private boolean executed;
 
-        private MethodInterceptorIterator(Object[] arguments) {
+        private void reset(Object[] arguments) {
+            this.i = -1;
             this.arguments = arguments;
+            this.owner = Thread.currentThread();
+            this.executed = false;
+        }
+
+        private boolean isExecuted() {
+            return executed;
+        }
+
+        private void release() {
+            arguments = null;
+            owner = null;
         }
 
         @Override
         public Method getMethod() {
+            if (method != null) {
+                return method;
+            }
             try {
                 return methodExecution.getMethod();
             } catch (Exception e) {
@@ -85,7 +157,16 @@ public class MethodInterceptorChain {
             //recursively iterate through the method interceptors
             i++;
             if (i == methodInterceptors.length) {
-                return methodExecution.invoke();
+                try {
+                    if (proxyMethodExecution != null) {
+                        return proxyMethodExecution.invoke(arguments);
+                    }
+                    return methodExecution.invoke();
+                } finally {
+                    if (Thread.currentThread() == owner) {
+                        executed = true;
+                    }
+                }
             } else {
                 return methodInterceptors[i].invoke(this);
             }
@@ -124,4 +205,20 @@ public class MethodInterceptorChain {
          */
         Object invoke() throws Throwable;
     }
-} 
\ No newline at end of file
+
+    /**
+     * Interface defining the call to the intercepted method, built once per proxy instance.
+     */
+    public interface ProxyMethodExecution {
+
+        String INVOKE = "invoke";
+
+        /**
+         * Invokes the represented `Method} with the given arguments.
+         * @param arguments method arguments, possibly modified by the interceptors
+         * @return value returned by the method
+         * @throws Throwable if an error occurs
+         */
+        Object invoke(Object[] arguments) throws Throwable;
+    }
+}
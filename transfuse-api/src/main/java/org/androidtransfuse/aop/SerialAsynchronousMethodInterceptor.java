@@ -0,0 +1,104 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.aop;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import javax.inject.Inject;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Method interceptor which moves the given invocation onto the shared `AsynchronousExecutor` thread pool, running calls
+ * to the same method of the same instance one at a time, in call order.
+ *
+ * @author John Ericksen
+ */
+public class SerialAsynchronousMethodInterceptor implements MethodInterceptor {
+
+    private final AsynchronousExecutor executor;
+    //target instance -> method -> serial queue.  Weakly keyed by identity so queues do not outlive their target, and
+    //targets overriding equals() do not share a queue.
+    private final Map<TargetKey, Map<Method, Executor>> serialExecutors = new HashMap<TargetKey, Map<Method, Executor>>();
+    private final ReferenceQueue<Object> collectedTargets = new ReferenceQueue<Object>();
+
+    @Inject
+    public SerialAsynchronousMethodInterceptor(AsynchronousExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) {
+        getSerialExecutor(invocation.getThis(), invocation.getMethod()).execute(new MethodInvocationRunnable(invocation));
+        //asynchronous, so cannot return
+        return null;
+    }
+
+    private synchronized Executor getSerialExecutor(Object target, Method method) {
+        expungeCollectedTargets();
+        Map<Method, Executor> methodExecutors = serialExecutors.get(new TargetKey(target, null));
+        if (methodExecutors == null) {
+            methodExecutors = new HashMap<Method, Executor>();
+            serialExecutors.put(new TargetKey(target, collectedTargets), methodExecutors);
+        }
+        Executor serialExecutor = methodExecutors.get(method);
+        if (serialExecutor == null) {
+            serialExecutor = executor.buildSerialExecutor();
+            methodExecutors.put(method, serialExecutor);
+        }
+        return serialExecutor;
+    }
+
+    private void expungeCollectedTargets() {
+        Reference<?> collected;
+        while ((collected = collectedTargets.poll()) != null) {
+            serialExecutors.remove(collected);
+        }
+    }
+
+    private static final class TargetKey extends WeakReference<Object> {
+
+        private final int hashCode;
+
+        private TargetKey(Object target, ReferenceQueue<Object> queue) {
+            super(target, queue);
+            this.hashCode = System.identityHashCode(target);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof TargetKey)) {
+                return false;
+            }
+            Object target = get();
+            return target != null && target == ((TargetKey) obj).get();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.aop;
+
+import java.util.LinkedList;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Executor running its calls one at a time, in submission order, on a shared delegate Executor.  Only a single call
+ * occupies a delegate thread at any time, so an idle serial queue holds no thread.
+ *
+ * @author John Ericksen
+ */
+class SerialExecutor implements Executor {
+
+    private final Executor delegate;
+    private final Queue<Runnable> pending = new LinkedList<Runnable>();
+    private Runnable active;
+
+    SerialExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Runnable next = null;
+        synchronized (this) {
+            pending.add(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        command.run();
+                    } finally {
+                        scheduleNext();
+                    }
+                }
+            });
+            if (active == null) {
+                next = activateNext();
+            }
+        }
+        submit(next);
+    }
+
+    private void scheduleNext() {
+        Runnable next;
+        synchronized (this) {
+            next = activateNext();
+        }
+        submit(next);
+    }
+
+    private Runnable activateNext() {
+        active = pending.poll();
+        return active;
+    }
+
+    /**
+     * Submits the given call to the delegate outside of the lock, as the delegate may block or reject the call.  A
+     * rejected call is dropped, allowing the following call to be scheduled.
+     */
+    private void submit(Runnable next) {
+        if (next != null) {
+            try {
+                delegate.execute(next);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    if (active == next) {
+                        active = null;
+                    }
+                }
+                throw e;
+            }
+        }
+    }
+}
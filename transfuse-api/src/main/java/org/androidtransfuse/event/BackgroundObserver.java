@@ -0,0 +1,40 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.event;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers each event to the delegate observer on the given Executor.
+ *
+ * @author John Ericksen
+ */
+class BackgroundObserver<T> extends ExecutorDeliveryObserver<T> {
+
+    public BackgroundObserver(EventObserver<T> delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public void trigger(final T event) {
+        execute(new Runnable() {
+            @Override
+            public void run() {
+                deliver(event);
+            }
+        });
+    }
+}
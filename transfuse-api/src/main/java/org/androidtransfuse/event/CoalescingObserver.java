@@ -0,0 +1,48 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.event;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Delivers only the latest event to the delegate observer on the given Executor.  Events triggered while a delivery is
+ * pending replace the pending event, so a burst of events results in a single delivery.
+ *
+ * @author John Ericksen
+ */
+class CoalescingObserver<T> extends ExecutorDeliveryObserver<T> {
+
+    private final AtomicReference<T> pending = new AtomicReference<T>();
+    private final Runnable drain = new Runnable() {
+        @Override
+        public void run() {
+            deliver(pending.getAndSet(null));
+        }
+    };
+
+    public CoalescingObserver(EventObserver<T> delegate, Executor executor) {
+        super(delegate, executor);
+    }
+
+    @Override
+    public void trigger(T event) {
+        if (pending.getAndSet(event) == null) {
+            //no delivery scheduled
+            execute(drain);
+        }
+    }
+}
@@ -15,16 +15,22 @@
  */
 package org.androidtransfuse.event;
 
+import android.os.Handler;
+import android.os.Looper;
+import org.androidtransfuse.annotations.Delivery;
 import org.androidtransfuse.util.TransfuseRuntimeException;
 
 import javax.inject.Singleton;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -64,36 +70,81 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * eventManager.register(Coffee.class, drinkCoffeeEventObserver);
  * --
  *
+ * `WeakObserver` registrations are removed automatically once their referenced object has been garbage collected,
+ * so registrations that are never unregistered do not accumulate.
+ *
+ * Observers registered with the `BACKGROUND` delivery policy are called on a background delivery executor, so slow
+ * observers do not stall the triggering thread.  Observers registered with the `COALESCE` delivery policy are called on
+ * the main thread, through a Handler on the main Looper.
  *
  * @author John Ericksen
  */
 @Singleton
 public class EventManager {
 
+    private static final EventObserver[] EMPTY = new EventObserver[0];
+
     private final ReadWriteLock observersLock = new ReentrantReadWriteLock();
     private final ConcurrentMap<Class, Set<EventObserver>> observers = new ConcurrentHashMap<Class, java.util.Set<EventObserver>>();
-    private final ThreadLocal<ConcurrentLinkedQueue<EventExecution>> executionQueue = new ExecutionQueueThreadLocal();
-    private final ThreadLocal<Boolean> executing = new BooleanThreadLocal();
+    private final ConcurrentMap<Class, Class[]> eventHierarchies = new ConcurrentHashMap<Class, Class[]>();
+    private final ConcurrentMap<Class, EventObserver[]> resolvedObservers = new ConcurrentHashMap<Class, EventObserver[]>();
+    private final ThreadLocal<TriggerState> triggerState = new TriggerStateThreadLocal();
+    private final ReferenceQueue<Object> collectedTargets = new ReferenceQueue<Object>();
+    //guarded by the observersLock write lock
+    private final Map<Class, Map<EventObserver, ObserverReference>> observerReferences = new HashMap<Class, Map<EventObserver, ObserverReference>>();
+    private final Map<Class, Long> prunedCounts = new HashMap<Class, Long>();
+    private Executor deliveryExecutor;
+    private Executor mainThreadExecutor;
+
+    public EventManager() {
+        //default background and main thread delivery executors are created on demand
+    }
+
+    /**
+     * @param deliveryExecutor executor used for `BACKGROUND` deliveries
+     */
+    public EventManager(Executor deliveryExecutor) {
+        this.deliveryExecutor = deliveryExecutor;
+    }
 
-    private static final class EventExecution<T>{
-        private final T event;
-        private final EventObserver<T> observer;
+    /**
+     * @param deliveryExecutor   executor used for `BACKGROUND` deliveries
+     * @param mainThreadExecutor executor used for `COALESCE` deliveries, expected to run on the main thread
+     */
+    public EventManager(Executor deliveryExecutor, Executor mainThreadExecutor) {
+        this.deliveryExecutor = deliveryExecutor;
+        this.mainThreadExecutor = mainThreadExecutor;
+    }
+
+    private static final class EventExecution {
+        private final Object event;
+        private final EventObserver[] observers;
 
-        private EventExecution(T event, EventObserver<T> observer) {
+        private EventExecution(Object event, EventObserver[] observers) {
             this.event = event;
-            this.observer = observer;
+            this.observers = observers;
         }
+    }
 
-        public void trigger() {
-            try{
-                observer.trigger(event);
-            }
-            catch (Exception e){
-                throw new TransfuseRuntimeException("Exception caught during event trigger", e);
-            }
+    /**
+     * Weak reference to the target of a registered WeakObserver, enqueued once the target has been collected.
+     */
+    private static final class ObserverReference extends WeakReference<Object> {
+        private final Class eventType;
+        private final EventObserver observer;
+
+        private ObserverReference(Class eventType, EventObserver observer, Object target, ReferenceQueue<Object> queue) {
+            super(target, queue);
+            this.eventType = eventType;
+            this.observer = observer;
         }
     }
 
+    private static final class TriggerState {
+        private boolean executing = false;
+        private final Queue<EventExecution> reentrantQueue = new LinkedList<EventExecution>();
+    }
+
     /**
      * Register the given observer to be triggered if the given event type is triggered.
      *
@@ -110,13 +161,83 @@ public class EventManager {
         }
         observersLock.writeLock().lock();
         try{
-            nullSafeGet(event).add(observer);
+            expungeCollectedObservers();
+            Object weakTarget = getWeakTarget(observer);
+            if(weakTarget != null || !isWeak(observer)){
+                if(nullSafeGet(event).add(observer) && weakTarget != null){
+                    nullSafeGetReferences(event).put(observer, new ObserverReference(event, observer, weakTarget, collectedTargets));
+                }
+                resolvedObservers.clear();
+            }
         }
         finally {
             observersLock.writeLock().unlock();
         }
     }
 
+    /**
+     * Register the given observer to be triggered with the given delivery policy if the given event type is triggered.
+     * The observer may be unregistered by passing the same observer to `unregister()`.
+     *
+     * @param event type
+     * @param observer event observer
+     * @param delivery delivery policy
+     * @param <T> relating type
+     */
+    public <T> void register(Class<T> event, EventObserver<T> observer, Delivery delivery){
+        if(observer == null){
+            throw new IllegalArgumentException("Null observer passed to register");
+        }
+        switch (delivery) {
+            case BACKGROUND:
+                register(event, new BackgroundObserver<T>(observer, getDeliveryExecutor()));
+                break;
+            case COALESCE:
+                register(event, new CoalescingObserver<T>(observer, getMainThreadExecutor()));
+                break;
+            default:
+                register(event, observer);
+        }
+    }
+
+    private synchronized Executor getDeliveryExecutor(){
+        if(deliveryExecutor == null){
+            deliveryExecutor = buildDeliveryExecutor();
+        }
+        return deliveryExecutor;
+    }
+
+    private synchronized Executor getMainThreadExecutor(){
+        if(mainThreadExecutor == null){
+            mainThreadExecutor = new HandlerExecutor(new Handler(Looper.getMainLooper()));
+        }
+        return mainThreadExecutor;
+    }
+
+    private static final class HandlerExecutor implements Executor {
+        private final Handler handler;
+
+        private HandlerExecutor(Handler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            handler.post(command);
+        }
+    }
+
+    private static ExecutorService buildDeliveryExecutor(){
+        return Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "EventManager delivery");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
     private Set<EventObserver> nullSafeGet(Class<?> clazz) {
         Set<EventObserver> result = observers.get(clazz);
         if (result == null) {
@@ -129,60 +250,159 @@ public class EventManager {
         return result;
     }
 
+    private Map<EventObserver, ObserverReference> nullSafeGetReferences(Class<?> clazz) {
+        Map<EventObserver, ObserverReference> result = observerReferences.get(clazz);
+        if (result == null) {
+            result = new HashMap<EventObserver, ObserverReference>();
+            observerReferences.put(clazz, result);
+        }
+        return result;
+    }
+
+    private static boolean isWeak(EventObserver observer){
+        return unwrap(observer) instanceof WeakObserver;
+    }
+
+    private static Object getWeakTarget(EventObserver observer){
+        EventObserver unwrapped = unwrap(observer);
+        if(unwrapped instanceof WeakObserver){
+            return ((WeakObserver) unwrapped).getTarget();
+        }
+        return null;
+    }
+
+    private static EventObserver unwrap(EventObserver observer){
+        if(observer instanceof ExecutorDeliveryObserver){
+            return ((ExecutorDeliveryObserver) observer).getDelegate();
+        }
+        return observer;
+    }
+
+    /**
+     * Removes the registrations of WeakObservers whose targets have been collected.  Must be called under the write
+     * lock.
+     */
+    private void expungeCollectedObservers(){
+        ObserverReference reference = (ObserverReference) collectedTargets.poll();
+        while(reference != null){
+            expunge(reference);
+            reference = (ObserverReference) collectedTargets.poll();
+        }
+    }
+
+    private void expunge(ObserverReference reference){
+        Map<EventObserver, ObserverReference> references = observerReferences.get(reference.eventType);
+        //the observer may have been unregistered and registered again under a new reference
+        if(references != null && references.get(reference.observer) == reference){
+            references.remove(reference.observer);
+            Set<EventObserver> typeObservers = observers.get(reference.eventType);
+            if(typeObservers != null && typeObservers.remove(reference.observer)){
+                Long pruned = prunedCounts.get(reference.eventType);
+                prunedCounts.put(reference.eventType, pruned == null ? 1L : pruned + 1);
+                resolvedObservers.clear();
+            }
+        }
+    }
+
     /**
      * Triggers an event through the EventManager.  This will call the registered EventObservers with the provided
      * event.
      *
+     * The observers of each event type, including those of its supertypes, are resolved once and cached until the next
+     * call to `register()` or `unregister()`, so the steady state trigger path does not allocate.
+     *
      * @param event object
      */
     public void trigger(Object event){
 
-        Set<Class> eventTypes = getAllInheritedClasses(event.getClass());
+        //polling an empty queue does not lock.  Nested triggers already hold the read lock, so they leave pruning to the
+        //outermost trigger.
+        if(!triggerState.get().executing){
+            ObserverReference collected = (ObserverReference) collectedTargets.poll();
+            if(collected != null){
+                observersLock.writeLock().lock();
+                try{
+                    expunge(collected);
+                    expungeCollectedObservers();
+                }
+                finally{
+                    observersLock.writeLock().unlock();
+                }
+            }
+        }
 
         observersLock.readLock().lock();
         try{
-            for (Class eventType : eventTypes) {
-                if(observers.containsKey(eventType)){
-                    for (EventObserver eventObserver : observers.get(eventType)) {
-                        executionQueue.get().add(new EventExecution(event, eventObserver));
-                    }
+            EventObserver[] eventObservers = getObservers(event.getClass());
+            TriggerState state = triggerState.get();
+
+            //avoid reentrant events
+            if(state.executing){
+                if(eventObservers.length > 0){
+                    state.reentrantQueue.add(new EventExecution(event, eventObservers));
                 }
+                return;
             }
 
-            triggerQueue();
+            state.executing = true;
+            try{
+                triggerObservers(event, eventObservers);
+
+                EventExecution execution = state.reentrantQueue.poll();
+                while(execution != null){
+                    triggerObservers(execution.event, execution.observers);
+                    execution = state.reentrantQueue.poll();
+                }
+            }
+            finally{
+                state.executing = false;
+            }
         }
         finally{
             observersLock.readLock().unlock();
         }
     }
 
-    private void triggerQueue(){
-
-        //avoid reentrant events
-        if(executing.get()){
-            return;
+    private void triggerObservers(Object event, EventObserver[] eventObservers){
+        for (EventObserver eventObserver : eventObservers) {
+            try{
+                eventObserver.trigger(event);
+            }
+            catch (Exception e){
+                throw new TransfuseRuntimeException("Exception caught during event trigger", e);
+            }
         }
+    }
 
-        executing.set(true);
-
-        try{
-            EventExecution execution = executionQueue.get().poll();
-            while(execution != null){
-                execution.trigger();
-                execution = executionQueue.get().poll();
+    /**
+     * Resolves the observers of the given event type and its supertypes.  Must be called under the read lock, so the
+     * result cannot race with the cache invalidation in `register()` and `unregister()`.
+     */
+    private EventObserver[] getObservers(Class eventType){
+        EventObserver[] eventObservers = resolvedObservers.get(eventType);
+        if(eventObservers == null){
+            List<EventObserver> resolved = new ArrayList<EventObserver>();
+            for (Class type : getEventHierarchy(eventType)) {
+                Set<EventObserver> typeObservers = observers.get(type);
+                if(typeObservers != null){
+                    resolved.addAll(typeObservers);
+                }
             }
+            eventObservers = resolved.isEmpty() ? EMPTY : resolved.toArray(new EventObserver[resolved.size()]);
+            resolvedObservers.put(eventType, eventObservers);
         }
-        finally{
-            executing.set(false);
-        }
+        return eventObservers;
     }
 
-    private Set<Class> getAllInheritedClasses(Class type){
-        Set<Class> inheritedClasses = new HashSet<Class>();
-
-        addAllInheritedClasses(inheritedClasses, type);
-
-        return inheritedClasses;
+    private Class[] getEventHierarchy(Class type){
+        Class[] hierarchy = eventHierarchies.get(type);
+        if(hierarchy == null){
+            Set<Class> inheritedClasses = new LinkedHashSet<Class>();
+            addAllInheritedClasses(inheritedClasses, type);
+            hierarchy = inheritedClasses.toArray(new Class[inheritedClasses.size()]);
+            eventHierarchies.put(type, hierarchy);
+        }
+        return hierarchy;
     }
 
     private void addAllInheritedClasses(Set<Class> inheritedClasses, Class type){
@@ -198,16 +418,27 @@ public class EventManager {
     }
 
     /**
-     * Unregisters an EventObserver by equality.
+     * Unregisters an EventObserver by equality, regardless of the delivery policy it was registered with.
      *
      * @param observer Event Observer
      */
     public void unregister(EventObserver<?> observer){
         observersLock.writeLock().lock();
         try{
+            expungeCollectedObservers();
             for (Map.Entry<Class, Set<EventObserver>> entry : observers.entrySet()) {
-                entry.getValue().remove(observer);
+                for (EventObserver registered : entry.getValue()) {
+                    if(observer.equals(registered)){
+                        remove(entry.getKey(), registered);
+                    }
+                    else if(registered instanceof ExecutorDeliveryObserver && ((ExecutorDeliveryObserver) registered).delegatesTo(observer)){
+                        //drop pending deliveries
+                        ((ExecutorDeliveryObserver) registered).cancel();
+                        remove(entry.getKey(), registered);
+                    }
+                }
             }
+            resolvedObservers.clear();
         }
         finally{
             observersLock.writeLock().unlock();
@@ -215,17 +446,50 @@ public class EventManager {
 
     }
 
-    private static class BooleanThreadLocal extends ThreadLocal<Boolean>{
-        @Override
-        protected Boolean initialValue() {
-            return false;
+    private void remove(Class eventType, EventObserver registered){
+        observers.get(eventType).remove(registered);
+        Map<EventObserver, ObserverReference> references = observerReferences.get(eventType);
+        if(references != null){
+            references.remove(registered);
+        }
+    }
+
+    /**
+     * Reports the registered observers of each event type.  Dead observers are WeakObservers whose target has been
+     * collected but which have not been pruned yet.
+     *
+     * @return observer counts by event type
+     */
+    public Map<Class, ObserverMetrics> getObserverMetrics(){
+        observersLock.readLock().lock();
+        try{
+            Map<Class, ObserverMetrics> metrics = new HashMap<Class, ObserverMetrics>();
+            for (Map.Entry<Class, Set<EventObserver>> entry : observers.entrySet()) {
+                int dead = 0;
+                for (EventObserver registered : entry.getValue()) {
+                    if(isWeak(registered) && getWeakTarget(registered) == null){
+                        dead++;
+                    }
+                }
+                Long pruned = prunedCounts.get(entry.getKey());
+                metrics.put(entry.getKey(), new ObserverMetrics(entry.getValue().size() - dead, dead, pruned == null ? 0 : pruned));
+            }
+            for (Map.Entry<Class, Long> entry : prunedCounts.entrySet()) {
+                if(!metrics.containsKey(entry.getKey())){
+                    metrics.put(entry.getKey(), new ObserverMetrics(0, 0, entry.getValue()));
+                }
+            }
+            return metrics;
+        }
+        finally{
+            observersLock.readLock().unlock();
         }
     }
 
-    private static class ExecutionQueueThreadLocal extends ThreadLocal<ConcurrentLinkedQueue<EventExecution>> {
+    private static class TriggerStateThreadLocal extends ThreadLocal<TriggerState>{
         @Override
-        protected ConcurrentLinkedQueue<EventExecution> initialValue() {
-            return new ConcurrentLinkedQueue<EventExecution>();
+        protected TriggerState initialValue() {
+            return new TriggerState();
         }
     }
 }
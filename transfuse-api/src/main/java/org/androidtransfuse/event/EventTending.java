@@ -15,13 +15,14 @@
  */
 package org.androidtransfuse.event;
 
+import org.androidtransfuse.annotations.Delivery;
 import org.androidtransfuse.annotations.OnCreate;
 import org.androidtransfuse.annotations.OnPause;
 import org.androidtransfuse.annotations.OnRestart;
 
 import javax.inject.Inject;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Coordinates registration/unregistration of observers to events based on Android lifecycle using Transfuse
@@ -33,7 +34,7 @@ public final class EventTending {
 
     public static final String ADD_OBSERVER_METHOD = "addObserver";
 
-    private final Map<Class, EventObserver> eventObservers = new HashMap<Class, EventObserver>();
+    private final List<ObserverRegistration> eventObservers = new ArrayList<ObserverRegistration>();
     private final EventManager eventManager;
 
     @Inject
@@ -49,7 +50,19 @@ public final class EventTending {
      * @param <T> relating Type
      */
     public <T> void addObserver(Class<T> event, EventObserver<T> observer){
-        eventObservers.put(event, observer);
+        addObserver(event, observer, Delivery.SYNCHRONOUS);
+    }
+
+    /**
+     * Associate an EventObserver with an Event by Class, delivered with the given policy.
+     *
+     * @param event class
+     * @param observer EventObserver
+     * @param delivery policy
+     * @param <T> relating Type
+     */
+    public <T> void addObserver(Class<T> event, EventObserver<T> observer, Delivery delivery){
+        eventObservers.add(new ObserverRegistration(event, observer, delivery));
     }
 
     /**
@@ -58,8 +71,13 @@ public final class EventTending {
     @OnRestart
     @OnCreate
     public void register(){
-        for (Map.Entry<Class, EventObserver> observerEntry : eventObservers.entrySet()) {
-            eventManager.register(observerEntry.getKey(), observerEntry.getValue());
+        for (ObserverRegistration registration : eventObservers) {
+            if(registration.delivery == Delivery.SYNCHRONOUS){
+                eventManager.register(registration.event, registration.observer);
+            }
+            else{
+                eventManager.register(registration.event, registration.observer, registration.delivery);
+            }
         }
     }
 
@@ -68,8 +86,20 @@ public final class EventTending {
      */
     @OnPause
     public void unregister(){
-        for (Map.Entry<Class, EventObserver> observerEntry : eventObservers.entrySet()) {
-            eventManager.unregister(observerEntry.getValue());
+        for (ObserverRegistration registration : eventObservers) {
+            eventManager.unregister(registration.observer);
+        }
+    }
+
+    private static final class ObserverRegistration {
+        private final Class event;
+        private final EventObserver observer;
+        private final Delivery delivery;
+
+        private ObserverRegistration(Class event, EventObserver observer, Delivery delivery) {
+            this.event = event;
+            this.observer = observer;
+            this.delivery = delivery;
         }
     }
 }
@@ -0,0 +1,58 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.event;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Observer decorator delivering events to the delegate observer through an Executor.  Once cancelled, by unregistering
+ * the delegate, pending deliveries are dropped.
+ *
+ * @author John Ericksen
+ */
+abstract class ExecutorDeliveryObserver<T> implements EventObserver<T> {
+
+    private final EventObserver<T> delegate;
+    private final Executor executor;
+    private volatile boolean cancelled = false;
+
+    protected ExecutorDeliveryObserver(EventObserver<T> delegate, Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    protected void execute(Runnable runnable) {
+        executor.execute(runnable);
+    }
+
+    protected void deliver(T event) {
+        if (!cancelled) {
+            delegate.trigger(event);
+        }
+    }
+
+    public EventObserver<T> getDelegate() {
+        return delegate;
+    }
+
+    public boolean delegatesTo(EventObserver<?> observer) {
+        return delegate == observer || delegate.equals(observer);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+}
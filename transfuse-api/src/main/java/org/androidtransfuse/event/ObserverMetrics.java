@@ -0,0 +1,60 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.event;
+
+/**
+ * Snapshot of the observers registered for a single event type within the EventManager.
+ *
+ * @author John Ericksen
+ */
+public class ObserverMetrics {
+
+    private final int live;
+    private final int dead;
+    private final long pruned;
+
+    public ObserverMetrics(int live, int dead, long pruned) {
+        this.live = live;
+        this.dead = dead;
+        this.pruned = pruned;
+    }
+
+    /**
+     * @return number of registered observers which may still be triggered
+     */
+    public int getLive() {
+        return live;
+    }
+
+    /**
+     * @return number of registered WeakObservers whose target has been collected, awaiting removal
+     */
+    public int getDead() {
+        return dead;
+    }
+
+    /**
+     * @return total number of WeakObservers removed after their target was collected
+     */
+    public long getPruned() {
+        return pruned;
+    }
+
+    @Override
+    public String toString() {
+        return "live: " + live + ", dead: " + dead + ", pruned: " + pruned;
+    }
+}
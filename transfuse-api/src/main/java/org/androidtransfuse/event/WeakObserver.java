@@ -40,4 +40,11 @@ public abstract class WeakObserver<E, T> implements EventObserver<E>{
     }
 
     public abstract void trigger(E event, T handle);
+
+    /**
+     * @return the referenced object, or null if it has been collected
+     */
+    protected T getTarget() {
+        return reference.get();
+    }
 }
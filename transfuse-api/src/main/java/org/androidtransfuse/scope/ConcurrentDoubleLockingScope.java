@@ -15,30 +15,160 @@
  */
 package org.androidtransfuse.scope;
 
+import org.androidtransfuse.util.TransfuseInjectionException;
+
 import javax.inject.Provider;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
- * Encapsulates a scope map utilizing the double-check locking algorithm.
+ * Encapsulates a scope map utilizing the double-check locking algorithm.  Each instance is constructed exactly once:
+ * the first thread to request a missing key registers an in-flight construction for that key, and concurrent requests
+ * for the same key wait for it to complete.  There is no global lock, so construction of unrelated keys never
+ * contends.  Should a construction fail, a waiting thread retries the construction with its own provider.
+ *
+ * Instances looked up by slot are additionally stored in a slot array, so subsequent slot lookups avoid the map.  Each
+ * slot keeps the key it was populated with: code generated by separate processing runs may assign the same slot to
+ * different keys, in which case the first key keeps the slot and the others are looked up by key.
  *
  * @author John Ericksen
  */
-public class ConcurrentDoubleLockingScope implements Scope {
+public class ConcurrentDoubleLockingScope implements IndexedScope {
+
+    private static final int INITIAL_SLOTS = 16;
 
     private final ConcurrentMap<ScopeKey, Object> singletonMap = new ConcurrentHashMap<ScopeKey, Object>();
+    //replaced, under lock, by a larger copy when a slot beyond the current length is populated
+    private volatile AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<Slot>(INITIAL_SLOTS);
 
     @Override
     public <T> T getScopedObject(ScopeKey<T> key, Provider<T> provider) {
         Object result = singletonMap.get(key);
+        if (result == null || result instanceof InFlight) {
+            result = construct(key, provider);
+        }
+
+        return (T) result;
+    }
+
+    private Object construct(ScopeKey key, Provider<?> provider) {
+        while (true) {
+            Object current = singletonMap.get(key);
+            if (current == null) {
+                InFlight inFlight = new InFlight();
+                current = singletonMap.putIfAbsent(key, inFlight);
+                if (current == null) {
+                    return build(key, provider, inFlight);
+                }
+            }
+            if (!(current instanceof InFlight)) {
+                return current;
+            }
+
+            InFlight inFlight = (InFlight) current;
+            if (inFlight.owner == Thread.currentThread()) {
+                throw new TransfuseInjectionException("Cyclic dependency detected while constructing scoped instance " + key);
+            }
+            Object value = inFlight.await();
+            if (value != null) {
+                return value;
+            }
+            //the in-flight construction failed, try again
+        }
+    }
+
+    private Object build(ScopeKey key, Provider<?> provider, InFlight inFlight) {
+        Object value = null;
+        try {
+            value = provider.get();
+            singletonMap.replace(key, inFlight, value);
+            return value;
+        } finally {
+            if (value == null) {
+                singletonMap.remove(key, inFlight);
+            }
+            inFlight.complete(value);
+        }
+    }
+
+    @Override
+    public <T> T getSlot(int slot, String signature) {
+        AtomicReferenceArray<Slot> current = slots;
+        if (slot < current.length()) {
+            Slot value = current.get(slot);
+            if (value != null && value.matches(signature)) {
+                return (T) value.value;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public <T> T getScopedObject(int slot, ScopeKey<T> key, Provider<T> provider) {
+        T result = getSlot(slot, key.getSignature());
         if (result == null) {
-            Object value = provider.get();
-            result = singletonMap.putIfAbsent(key, value);
-            if (result == null) {
-                result = value;
+            //the map remains authoritative, instances seeded by key are visible through their slot
+            result = getScopedObject(key, provider);
+            setSlot(slot, new Slot(key.getSignature(), result));
+        }
+        return result;
+    }
+
+    private synchronized void setSlot(int slot, Slot value) {
+        AtomicReferenceArray<Slot> current = slots;
+        if (slot >= current.length()) {
+            AtomicReferenceArray<Slot> grown = new AtomicReferenceArray<Slot>(Math.max(slot + 1, current.length() * 2));
+            for (int i = 0; i < current.length(); i++) {
+                grown.set(i, current.get(i));
             }
+            slots = grown;
+            current = grown;
         }
+        //a slot claimed by another key stays with that key
+        current.compareAndSet(slot, null, value);
+    }
 
-        return (T) result;
+    private static final class Slot {
+        private final String signature;
+        private final Object value;
+
+        private Slot(String signature, Object value) {
+            this.signature = signature;
+            this.value = value;
+        }
+
+        private boolean matches(String signature) {
+            //generated lookups pass the same interned literal, so the identity check is the common case
+            return this.signature == signature || this.signature.equals(signature);
+        }
+    }
+
+    private static final class InFlight {
+        private final Thread owner = Thread.currentThread();
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile Object value;
+
+        private void complete(Object value) {
+            this.value = value;
+            latch.countDown();
+        }
+
+        private Object await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            return value;
+        }
     }
 }
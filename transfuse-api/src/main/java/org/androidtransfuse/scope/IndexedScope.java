@@ -0,0 +1,53 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.scope;
+
+import javax.inject.Provider;
+
+/**
+ * Scope which, in addition to `ScopeKey` lookups, stores instances in integer slots assigned at compile time.  Reading
+ * an occupied slot is an array load, avoiding the `ScopeKey` lookup and the allocation of a `Provider`.  Slots are only
+ * unique within a single processing run, so each slot records the signature of the key it holds and a lookup under
+ * another signature misses.
+ *
+ * @author John Ericksen
+ */
+public interface IndexedScope extends Scope {
+
+    String GET_SLOT = "getSlot";
+
+    /**
+     * Lookup of the instance stored in the given slot.
+     *
+     * @param slot compile time assigned slot
+     * @param signature scope key signature expected in the slot
+     * @param <T> relating type
+     * @return scoped instance, or null if the slot has not been populated with the given signature
+     */
+    <T> T getSlot(int slot, String signature);
+
+    /**
+     * Lookup of the given instance by slot, falling back to the given key.  The resulting instance populates the slot,
+     * unless the slot is already held by another key.
+     *
+     * @param slot compile time assigned slot
+     * @param key scoping key
+     * @param provider required to build the instance if applicable
+     * @param <T> relating type
+     * @return scoped instance
+     */
+    <T> T getScopedObject(int slot, ScopeKey<T> key, Provider<T> provider);
+}
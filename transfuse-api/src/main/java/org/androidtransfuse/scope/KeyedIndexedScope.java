@@ -0,0 +1,47 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.scope;
+
+import javax.inject.Provider;
+
+/**
+ * Adapts a Scope without slot support to the `IndexedScope` interface by always looking up instances by key.
+ *
+ * @author John Ericksen
+ */
+class KeyedIndexedScope implements IndexedScope {
+
+    private final Scope scope;
+
+    KeyedIndexedScope(Scope scope) {
+        this.scope = scope;
+    }
+
+    @Override
+    public <T> T getSlot(int slot, String signature) {
+        return null;
+    }
+
+    @Override
+    public <T> T getScopedObject(int slot, ScopeKey<T> key, Provider<T> provider) {
+        return scope.getScopedObject(key, provider);
+    }
+
+    @Override
+    public <T> T getScopedObject(ScopeKey<T> key, Provider<T> provider) {
+        return scope.getScopedObject(key, provider);
+    }
+}
@@ -61,6 +61,10 @@ public final class ScopeKey<T> {
         return get(clazz, this.signature + annotation);
     }
 
+    String getSignature() {
+        return signature;
+    }
+
     @Override
     public String toString() {
         return signature;
@@ -15,6 +15,7 @@
  */
 package org.androidtransfuse.scope;
 
+import javax.inject.Singleton;
 import java.lang.annotation.Annotation;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -26,14 +27,28 @@ public class Scopes {
 
     public static final String ADD_SCOPE = "addScope";
     public static final String GET_SCOPE = "getScope";
+    public static final String GET_SINGLETON_SCOPE = "getSingletonScope";
 
     private final ConcurrentMap<Class<? extends Annotation>, Scope> scopeMapping = new ConcurrentHashMap<Class<? extends Annotation>, Scope>();
+    private volatile IndexedScope singletonScope;
 
     public Scopes addScope(Class<? extends Annotation> key, Scope scope){
         scopeMapping.put(key, scope);
+        if(key == Singleton.class){
+            singletonScope = scope instanceof IndexedScope ? (IndexedScope) scope : new KeyedIndexedScope(scope);
+        }
         return this;
     }
 
+    /**
+     * Direct access to the `@Singleton` scope, avoiding the scope lookup by annotation.
+     *
+     * @return singleton scope
+     */
+    public IndexedScope getSingletonScope(){
+        return singletonScope;
+    }
+
     public Scope getScope(Class<? extends Annotation> key){
         return scopeMapping.get(key);
     }
@@ -0,0 +1,46 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import java.lang.reflect.AccessibleObject;
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+
+/**
+ * Base of the reflective member handles.  The member is made accessible once, when the handle is created, rather than
+ * being toggled for each access.
+ *
+ * @author John Ericksen
+ */
+public abstract class AccessibleMemberHandle<E extends AccessibleObject> {
+
+    private final E member;
+
+    protected AccessibleMemberHandle(final E member) {
+        AccessController.doPrivileged(new PrivilegedAction<Void>() {
+            @Override
+            public Void run() {
+                member.setAccessible(true);
+                return null;
+            }
+        });
+        this.member = member;
+    }
+
+    protected E getMember() {
+        return member;
+    }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Accessible handle to a (usually private) constructor, resolved once.
+ *
+ * @author John Ericksen
+ */
+public final class ConstructorHandle<T> extends AccessibleMemberHandle<Constructor<T>> {
+
+    public static final String NEW_INSTANCE_METHOD = "newInstance";
+
+    public ConstructorHandle(Constructor<T> constructor) {
+        super(constructor);
+    }
+
+    /**
+     * Instantiates the class by calling the constructor.
+     *
+     * @param args constructor argument values
+     * @return instance created by constructor
+     */
+    public T newInstance(Object... args) {
+        try {
+            return getMember().newInstance(args);
+        } catch (InstantiationException e) {
+            throw new TransfuseInjectionException("InstantiationException Exception during constructor injection: " + getMember(), e);
+        } catch (IllegalAccessException e) {
+            throw new TransfuseInjectionException("IllegalAccessException Exception during constructor injection: " + getMember(), e);
+        } catch (IllegalArgumentException e) {
+            throw new TransfuseInjectionException("IllegalArgumentException Exception during constructor injection: " + getMember(), e);
+        } catch (InvocationTargetException e) {
+            throw new TransfuseInjectionException("InvocationTargetException Exception during constructor injection: " + getMember(), e);
+        }
+    }
+}
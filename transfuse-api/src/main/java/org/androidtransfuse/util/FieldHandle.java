@@ -0,0 +1,67 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import java.lang.reflect.Field;
+
+/**
+ * Accessible handle to a (usually private) field, resolved once.
+ *
+ * @author John Ericksen
+ */
+public final class FieldHandle extends AccessibleMemberHandle<Field> {
+
+    public static final String GET_METHOD = "get";
+    public static final String SET_METHOD = "set";
+
+    public FieldHandle(Field field) {
+        super(field);
+    }
+
+    /**
+     * Returns the value of the field.
+     *
+     * @param returnType type of the field
+     * @param target object containing the field
+     * @param <T> type parameter
+     * @return field value
+     */
+    public <T> T get(Class<T> returnType, Object target) {
+        try {
+            return (T) getMember().get(target);
+        } catch (IllegalAccessException e) {
+            throw new TransfuseInjectionException("IllegalAccessException Exception during field injection: " + getMember(), e);
+        } catch (IllegalArgumentException e) {
+            throw new TransfuseInjectionException("IllegalArgumentException Exception during field injection: " + getMember(), e);
+        }
+    }
+
+    /**
+     * Updates the field with the given value.
+     *
+     * @param target object containing the field to update
+     * @param value object to update the field to
+     */
+    public void set(Object target, Object value) {
+        try {
+            getMember().set(target, value);
+        } catch (IllegalAccessException e) {
+            throw new TransfuseInjectionException("IllegalAccessException Exception during field injection: " + getMember(), e);
+        } catch (IllegalArgumentException e) {
+            throw new TransfuseInjectionException("IllegalArgumentException Exception during field injection: " + getMember(), e);
+        }
+    }
+}
@@ -15,16 +15,10 @@
  */
 package org.androidtransfuse.util;
 
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.security.AccessController;
-import java.security.PrivilegedActionException;
-
 /**
- * Utility class for performing a variety of operations through reflection.  This functionality should be used sparingly
- * as frequent calls can cause performance issues.
+ * Utility class for performing a variety of operations through reflection.  Members are resolved and made accessible
+ * once, and cached by declaring class, but reflective access should still be used sparingly as frequent calls can
+ * cause performance issues.
  *
  * @author John Ericksen
  */
@@ -34,52 +28,81 @@ public final class InjectionUtil {
     public static final String SET_FIELD_METHOD = "setField";
     public static final String CALL_METHOD_METHOD = "callMethod";
     public static final String CALL_CONSTRUCTOR_METHOD = "callConstructor";
+    public static final String FIELD_HANDLE_METHOD = "fieldHandle";
+    public static final String METHOD_HANDLE_METHOD = "methodHandle";
+    public static final String CONSTRUCTOR_HANDLE_METHOD = "constructorHandle";
+
+    private static final MemberHandleCache HANDLES = new MemberHandleCache();
 
     private InjectionUtil() {
         //singleton constructor
     }
+
     /**
-     * Returns the value of a field.
+     * Resolves an accessible handle to the given field.  Intended to be called once, during class initialization, so
+     * that subsequent accesses avoid the member lookup entirely.
      *
-     * @param returnType type of the field
-     * @param targetClass class represented by the target parameter
-     * @param target object containing the field
+     * @param targetClass class declaring the field
      * @param field name of the field
-     * @param <T> type parameter
-     * @return field value
+     * @return FieldHandle
      */
-    public static <T> T getField(Class<T> returnType, Class<?> targetClass, Object target, String field) {
+    public static FieldHandle fieldHandle(Class<?> targetClass, String field) {
         try {
-            Field declaredField = targetClass.getDeclaredField(field);
-
-            return AccessController.doPrivileged(
-                    new GetFieldPrivilegedAction<T>(declaredField, target));
-
+            return HANDLES.getField(targetClass, field);
         } catch (NoSuchFieldException e) {
             throw new TransfuseInjectionException(
-                    "NoSuchFieldException Exception during field injection: " + field + " in " + target.getClass(), e);
-        } catch (PrivilegedActionException e) {
-            throw new TransfuseInjectionException("PrivilegedActionException Exception during field injection", e);
-        } catch (Exception e) {
-            throw new TransfuseInjectionException("Exception during field injection", e);
+                    "NoSuchFieldException Exception during field handle lookup: " + field + " in " + targetClass, e);
         }
     }
 
-    private static final class GetFieldPrivilegedAction<T> extends AccessibleElementPrivilegedAction<T, Field> {
-
-        private final Object target;
-
-        private GetFieldPrivilegedAction(Field classField, Object target) {
-            super(classField);
-            this.target = target;
+    /**
+     * Resolves an accessible handle to the given method.
+     *
+     * @param targetClass class declaring the method
+     * @param method the method name
+     * @param argClasses types of the method arguments
+     * @return MethodHandle
+     */
+    public static MethodHandle methodHandle(Class<?> targetClass, String method, Class... argClasses) {
+        try {
+            return HANDLES.getMethod(targetClass, method, argClasses);
+        } catch (NoSuchMethodException e) {
+            throw new TransfuseInjectionException(
+                    "NoSuchMethodException Exception during method handle lookup: " + method + " in " + targetClass, e);
         }
+    }
 
-        @Override
-        public T run(Field classField) throws IllegalAccessException {
-            return (T) classField.get(target);
+    /**
+     * Resolves an accessible handle to the given constructor.
+     *
+     * @param targetClass instance type to construct
+     * @param argClasses argument types accepted by the constructor
+     * @param <T> relating type parameter
+     * @return ConstructorHandle
+     */
+    public static <T> ConstructorHandle<T> constructorHandle(Class<T> targetClass, Class... argClasses) {
+        try {
+            return HANDLES.getConstructor(targetClass, argClasses);
+        } catch (NoSuchMethodException e) {
+            throw new TransfuseInjectionException(
+                    "NoSuchMethodException Exception during constructor handle lookup: " + targetClass, e);
         }
     }
 
+    /**
+     * Returns the value of a field.
+     *
+     * @param returnType type of the field
+     * @param targetClass class represented by the target parameter
+     * @param target object containing the field
+     * @param field name of the field
+     * @param <T> type parameter
+     * @return field value
+     */
+    public static <T> T getField(Class<T> returnType, Class<?> targetClass, Object target, String field) {
+        return fieldHandle(targetClass, field).get(returnType, target);
+    }
+
     /**
      * Updates field with the given value.
      *
@@ -89,39 +112,7 @@ public final class InjectionUtil {
      * @param value object to update the field to
      */
     public static void setField(Class<?> targetClass, Object target, String field, Object value) {
-        try {
-            Field classField = targetClass.getDeclaredField(field);
-
-            AccessController.doPrivileged(
-                    new SetFieldPrivilegedAction(classField, target, value));
-
-        } catch (NoSuchFieldException e) {
-            throw new TransfuseInjectionException(
-                    "NoSuchFieldException Exception during field injection: " + field + " in " + target.getClass(), e);
-        } catch (PrivilegedActionException e) {
-            throw new TransfuseInjectionException("PrivilegedActionException Exception during field injection", e);
-        } catch (Exception e) {
-            throw new TransfuseInjectionException("Exception during field injection", e);
-        }
-    }
-
-    private static final class SetFieldPrivilegedAction extends AccessibleElementPrivilegedAction<Void, Field> {
-
-        private final Object target;
-        private final Object value;
-
-        private SetFieldPrivilegedAction(Field classField, Object target, Object value) {
-            super(classField);
-            this.target = target;
-            this.value = value;
-        }
-
-        @Override
-        public Void run(Field classField) throws IllegalAccessException {
-            classField.set(target, value);
-
-            return null;
-        }
+        fieldHandle(targetClass, field).set(target, value);
     }
 
     /**
@@ -137,38 +128,9 @@ public final class InjectionUtil {
      * @return method return value
      */
     public static <T> T callMethod(Class<T> retClass, Class<?> targetClass, Object target, String method, Class[] argClasses, Object[] args) {
-        try {
-            Method classMethod = targetClass.getDeclaredMethod(method, argClasses);
-
-            return AccessController.doPrivileged(
-                    new SetMethodPrivilegedAction<T>(classMethod, target, args));
-
-        } catch (NoSuchMethodException e) {
-            throw new TransfuseInjectionException("Exception during method injection: NoSuchFieldException", e);
-        } catch (PrivilegedActionException e) {
-            throw new TransfuseInjectionException("PrivilegedActionException Exception during field injection", e);
-        } catch (Exception e) {
-            throw new TransfuseInjectionException("Exception during field injection", e);
-        }
+        return methodHandle(targetClass, method, argClasses).invoke(retClass, target, args);
     }
 
-    private static final class SetMethodPrivilegedAction<T> extends AccessibleElementPrivilegedAction<T, Method> {
-
-        private final Object target;
-        private final Object[] args;
-
-        private SetMethodPrivilegedAction(Method classMethod, Object target, Object[] args) {
-            super(classMethod);
-            this.target = target;
-            this.args = args;
-        }
-
-        public T run(Method classMethod) throws InvocationTargetException, IllegalAccessException {
-            return (T) classMethod.invoke(target, args);
-        }
-    }
-
-
     /**
      * Instantiates a class by calling the constructor.
      *
@@ -179,35 +141,6 @@ public final class InjectionUtil {
      * @return instance created by constructor
      */
     public static <T> T callConstructor(Class<T> targetClass, Class[] argClasses, Object[] args) {
-        T output;
-
-        try {
-            Constructor classConstructor = targetClass.getDeclaredConstructor(argClasses);
-
-            output = AccessController.doPrivileged(
-                    new SetConstructorPrivilegedAction<T>(classConstructor, args));
-
-        } catch (NoSuchMethodException e) {
-            throw new TransfuseInjectionException("Exception during method injection: NoSuchMethodException", e);
-        } catch (PrivilegedActionException e) {
-            throw new TransfuseInjectionException("PrivilegedActionException Exception during field injection", e);
-        } catch (Exception e) {
-            throw new TransfuseInjectionException("Exception during field injection", e);
-        }
-        return output;
-    }
-
-    private static final class SetConstructorPrivilegedAction<T> extends AccessibleElementPrivilegedAction<T, Constructor> {
-        private final Object[] args;
-
-        private SetConstructorPrivilegedAction(Constructor classConstructor, Object[] args) {
-            super(classConstructor);
-            this.args = args;
-        }
-
-        @Override
-        public T run(Constructor classConstructor) throws InvocationTargetException, InstantiationException, IllegalAccessException {
-            return (T) classConstructor.newInstance(args);
-        }
+        return constructorHandle(targetClass, argClasses).newInstance(args);
     }
 }
@@ -0,0 +1,43 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+/**
+ * Defers the construction of an injected instance until first use.  Unlike a `Provider`, which returns a new instance
+ * upon every call, a Lazy builds its instance upon the first call to `get()` and returns that same instance from then
+ * on.  Generated Lazy implementations are safe to share between threads.
+ *
+ * [source,java]
+ * --
+ * @Inject
+ * Lazy<ExpensiveDependency> dependency;
+ * ...
+ * dependency.get().use();
+ * --
+ *
+ * @author John Ericksen
+ */
+public interface Lazy<T> {
+
+    String GET_METHOD = "get";
+
+    /**
+     * Returns the memoized instance, building it upon the first call.
+     *
+     * @return instance
+     */
+    T get();
+}
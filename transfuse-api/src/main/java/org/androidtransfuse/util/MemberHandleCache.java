@@ -0,0 +1,199 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Concurrent cache of accessible member handles, keyed by declaring class.  Each Field, Method and Constructor is
+ * looked up and made accessible once.
+ *
+ * Classes are weakly referenced so their classloader may be unloaded.  Since every handle strongly references its
+ * declaring class, the per-class handles are softly referenced; a strongly held value would pin its own weak key.
+ *
+ * @author John Ericksen
+ */
+final class MemberHandleCache {
+
+    private final ConcurrentMap<Object, SoftReference<ClassHandles>> classes = new ConcurrentHashMap<Object, SoftReference<ClassHandles>>();
+    private final ReferenceQueue<Class<?>> queue = new ReferenceQueue<Class<?>>();
+
+    public FieldHandle getField(Class<?> targetClass, String field) throws NoSuchFieldException {
+        ConcurrentMap<String, FieldHandle> fields = getClassHandles(targetClass).fields;
+        FieldHandle handle = fields.get(field);
+        if (handle == null) {
+            handle = putIfAbsent(fields, field, new FieldHandle(targetClass.getDeclaredField(field)));
+        }
+        return handle;
+    }
+
+    public MethodHandle getMethod(Class<?> targetClass, String method, Class[] argClasses) throws NoSuchMethodException {
+        ConcurrentMap<MemberKey, MethodHandle> methods = getClassHandles(targetClass).methods;
+        MemberKey key = new MemberKey(method, argClasses);
+        MethodHandle handle = methods.get(key);
+        if (handle == null) {
+            handle = putIfAbsent(methods, key, new MethodHandle(targetClass.getDeclaredMethod(method, argClasses)));
+        }
+        return handle;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ConstructorHandle<T> getConstructor(Class<T> targetClass, Class[] argClasses) throws NoSuchMethodException {
+        ConcurrentMap<MemberKey, ConstructorHandle> constructors = getClassHandles(targetClass).constructors;
+        MemberKey key = new MemberKey(null, argClasses);
+        ConstructorHandle<T> handle = constructors.get(key);
+        if (handle == null) {
+            handle = putIfAbsent(constructors, key, new ConstructorHandle<T>(targetClass.getDeclaredConstructor(argClasses)));
+        }
+        return handle;
+    }
+
+    public int size() {
+        expunge();
+        return classes.size();
+    }
+
+    private ClassHandles getClassHandles(Class<?> targetClass) {
+        expunge();
+        LookupKey lookupKey = new LookupKey(targetClass);
+        while (true) {
+            SoftReference<ClassHandles> reference = classes.get(lookupKey);
+            ClassHandles handles = reference == null ? null : reference.get();
+            if (handles != null) {
+                return handles;
+            }
+            handles = new ClassHandles();
+            SoftReference<ClassHandles> created = new SoftReference<ClassHandles>(handles);
+            if (reference == null) {
+                if (classes.putIfAbsent(new ClassKey(targetClass, queue), created) == null) {
+                    return handles;
+                }
+            } else if (classes.replace(lookupKey, reference, created)) {
+                //softly cleared handles
+                return handles;
+            }
+        }
+    }
+
+    private void expunge() {
+        Reference<? extends Class<?>> reference;
+        while ((reference = queue.poll()) != null) {
+            classes.remove(reference);
+        }
+    }
+
+    private static <K, V> V putIfAbsent(ConcurrentMap<K, ? super V> map, K key, V value) {
+        Object existing = map.putIfAbsent(key, value);
+        return existing == null ? value : (V) existing;
+    }
+
+    private static final class ClassHandles {
+        private final ConcurrentMap<String, FieldHandle> fields = new ConcurrentHashMap<String, FieldHandle>();
+        private final ConcurrentMap<MemberKey, MethodHandle> methods = new ConcurrentHashMap<MemberKey, MethodHandle>();
+        private final ConcurrentMap<MemberKey, ConstructorHandle> constructors = new ConcurrentHashMap<MemberKey, ConstructorHandle>();
+    }
+
+    /**
+     * Weak class key stored in the cache.  Retains the identity hash so the entry may be removed once cleared.
+     */
+    private static final class ClassKey extends WeakReference<Class<?>> {
+        private final int hash;
+
+        private ClassKey(Class<?> referent, ReferenceQueue<Class<?>> queue) {
+            super(referent, queue);
+            this.hash = System.identityHashCode(referent);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            Class<?> referent = get();
+            if (o instanceof LookupKey) {
+                return referent != null && referent == ((LookupKey) o).clazz;
+            }
+            return o instanceof ClassKey && referent != null && referent == ((ClassKey) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Strong class key used for lookups, avoiding the allocation of a Reference for each query.
+     */
+    private static final class LookupKey {
+        private final Class<?> clazz;
+
+        private LookupKey(Class<?> clazz) {
+            this.clazz = clazz;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o instanceof ClassKey) {
+                return clazz == ((ClassKey) o).get();
+            }
+            return o instanceof LookupKey && clazz == ((LookupKey) o).clazz;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(clazz);
+        }
+    }
+
+    private static final class MemberKey {
+        private final String name;
+        private final Class[] argClasses;
+        private final int hash;
+
+        private MemberKey(String name, Class[] argClasses) {
+            this.name = name;
+            this.argClasses = argClasses;
+            this.hash = 31 * (name == null ? 0 : name.hashCode()) + Arrays.hashCode(argClasses);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof MemberKey)) {
+                return false;
+            }
+            MemberKey that = (MemberKey) o;
+            return (name == null ? that.name == null : name.equals(that.name)) && Arrays.equals(argClasses, that.argClasses);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,261 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.aop;
+
+import org.androidtransfuse.util.TransfuseInjectionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+public class AsynchronousMethodInterceptorTest {
+
+    private static final int CALLS = 100;
+
+    private AsynchronousExecutor executor;
+    private Object proxy;
+
+    @Before
+    public void setup() {
+        executor = new AsynchronousExecutor(4, CALLS, new ThreadPoolExecutor.AbortPolicy());
+        proxy = new Object();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testPooledExecution() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final List<String> threadNames = Collections.synchronizedList(new ArrayList<String>());
+
+        new MethodInterceptorChain(new TestExecution() {
+            @Override
+            public Object invoke() {
+                threadNames.add(Thread.currentThread().getName());
+                latch.countDown();
+                return null;
+            }
+        }, proxy, new AsynchronousMethodInterceptor(executor)).invoke(new Object[0]);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        assertTrue(threadNames.get(0).startsWith("Transfuse Asynchronous"));
+    }
+
+    @Test
+    public void testSerialOrder() throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(CALLS);
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<Integer>());
+        SerialAsynchronousMethodInterceptor interceptor = new SerialAsynchronousMethodInterceptor(executor);
+
+        for (int i = 0; i < CALLS; i++) {
+            final int call = i;
+            new MethodInterceptorChain(new TestExecution() {
+                @Override
+                public Object invoke() {
+                    order.add(call);
+                    latch.countDown();
+                    return null;
+                }
+            }, proxy, interceptor).invoke(new Object[0]);
+        }
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < CALLS; i++) {
+            assertEquals(i, order.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testBoundedQueue() throws InterruptedException {
+        executor.shutdown();
+        executor = new AsynchronousExecutor(1, 1, new ThreadPoolExecutor.AbortPolicy());
+        final CountDownLatch release = new CountDownLatch(1);
+        AsynchronousMethodInterceptor interceptor = new AsynchronousMethodInterceptor(executor);
+        TestExecution blocking = new TestExecution() {
+            @Override
+            public Object invoke() throws InterruptedException {
+                release.await();
+                return null;
+            }
+        };
+
+        //first call occupies the thread, the second is queued
+        new MethodInterceptorChain(blocking, proxy, interceptor).invoke(new Object[0]);
+        new MethodInterceptorChain(blocking, proxy, interceptor).invoke(new Object[0]);
+        try {
+            new MethodInterceptorChain(blocking, proxy, interceptor).invoke(new Object[0]);
+            fail();
+        } catch (TransfuseInjectionException e) {
+            //expected
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testOverflowThread() throws InterruptedException {
+        executor.shutdown();
+        executor = new AsynchronousExecutor(1, 1, new AsynchronousExecutor.OverflowThreadPolicy());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch overflowed = new CountDownLatch(1);
+        final List<String> threadNames = Collections.synchronizedList(new ArrayList<String>());
+        AsynchronousMethodInterceptor interceptor = new AsynchronousMethodInterceptor(executor);
+        TestExecution blocking = new TestExecution() {
+            @Override
+            public Object invoke() throws InterruptedException {
+                release.await();
+                return null;
+            }
+        };
+
+        try {
+            //first call occupies the thread, the second is queued
+            new MethodInterceptorChain(blocking, proxy, interceptor).invoke(new Object[0]);
+            new MethodInterceptorChain(blocking, proxy, interceptor).invoke(new Object[0]);
+            new MethodInterceptorChain(new TestExecution() {
+                @Override
+                public Object invoke() {
+                    threadNames.add(Thread.currentThread().getName());
+                    overflowed.countDown();
+                    return null;
+                }
+            }, proxy, interceptor).invoke(new Object[0]);
+
+            //the third call runs while the pool is still saturated
+            assertTrue(overflowed.await(5, TimeUnit.SECONDS));
+            assertTrue(threadNames.get(0).startsWith("Transfuse Asynchronous overflow"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testSerialQueuePerInstance() throws InterruptedException {
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch executed = new CountDownLatch(1);
+        SerialAsynchronousMethodInterceptor interceptor = new SerialAsynchronousMethodInterceptor(executor);
+
+        new MethodInterceptorChain(new TestExecution() {
+            @Override
+            public Object invoke() throws InterruptedException {
+                release.await();
+                return null;
+            }
+        }, new EqualTarget(), interceptor).invoke(new Object[0]);
+
+        //an equal, but distinct, instance does not wait on the first instance's queue
+        new MethodInterceptorChain(new TestExecution() {
+            @Override
+            public Object invoke() {
+                executed.countDown();
+                return null;
+            }
+        }, new EqualTarget(), interceptor).invoke(new Object[0]);
+
+        try {
+            assertTrue(executed.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testSerialRejectionClearsQueue() throws InterruptedException {
+        executor.shutdown();
+        executor = new AsynchronousExecutor(1, 1, new ThreadPoolExecutor.AbortPolicy());
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch executed = new CountDownLatch(1);
+        Runnable blocking = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        Executor serialExecutor = executor.buildSerialExecutor();
+
+        //saturate the pool
+        executor.execute(blocking);
+        executor.execute(blocking);
+        try {
+            serialExecutor.execute(blocking);
+            fail();
+        } catch (RejectedExecutionException e) {
+            //expected
+        } finally {
+            release.countDown();
+        }
+
+        //the rejected call does not block the serial queue
+        boolean submitted = false;
+        for (int attempt = 0; !submitted && attempt < 50; attempt++) {
+            try {
+                serialExecutor.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        executed.countDown();
+                    }
+                });
+                submitted = true;
+            } catch (RejectedExecutionException e) {
+                //pool still draining
+                Thread.sleep(100);
+            }
+        }
+        assertTrue(executed.await(5, TimeUnit.SECONDS));
+    }
+
+    private static final class EqualTarget {
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof EqualTarget;
+        }
+
+        @Override
+        public int hashCode() {
+            return 1;
+        }
+    }
+
+    private abstract static class TestExecution implements MethodInterceptorChain.MethodExecution {
+
+        @Override
+        public Method getMethod() throws Exception {
+            return TestExecution.class.getMethod(INVOKE);
+        }
+    }
+}
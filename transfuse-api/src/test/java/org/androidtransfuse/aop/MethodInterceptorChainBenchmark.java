@@ -0,0 +1,142 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.aop;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares a direct method call against the same call through a pass-through interceptor, using both the shared
+ * per-proxy interceptor chain built by generated AOP proxies and the previous chain-per-call approach.
+ *
+ * Run via the main method from the test classpath.
+ *
+ * @author John Ericksen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MethodInterceptorChainBenchmark {
+
+    private Target target;
+    private SharedChainProxy sharedChainProxy;
+    private ChainPerCallProxy chainPerCallProxy;
+
+    public static class Target {
+        private int count = 0;
+
+        public int increment() {
+            return ++count;
+        }
+    }
+
+    public static class PassThroughInterceptor implements MethodInterceptor {
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            return invocation.proceed();
+        }
+    }
+
+    /**
+     * Equivalent of the generated AOP proxy.
+     */
+    public static class SharedChainProxy extends Target {
+
+        private static final Method METHOD = MethodInterceptorChain.lookupMethod(SharedChainProxy.class, "increment");
+        private final MethodInterceptorChain chain;
+
+        public SharedChainProxy(MethodInterceptor interceptor) {
+            chain = new MethodInterceptorChain(METHOD, new Execution(), this, interceptor);
+        }
+
+        @Override
+        public int increment() {
+            return (Integer) chain.invoke(MethodInterceptorChain.NO_ARGUMENTS);
+        }
+
+        private final class Execution implements MethodInterceptorChain.ProxyMethodExecution {
+            @Override
+            public Object invoke(Object[] arguments) {
+                return SharedChainProxy.super.increment();
+            }
+        }
+    }
+
+    /**
+     * Equivalent of the previously generated AOP proxy.
+     */
+    public static class ChainPerCallProxy extends Target {
+
+        private final MethodInterceptor interceptor;
+
+        public ChainPerCallProxy(MethodInterceptor interceptor) {
+            this.interceptor = interceptor;
+        }
+
+        @Override
+        public int increment() {
+            return (Integer) new MethodInterceptorChain(new Execution(), this, interceptor).invoke(new Object[]{});
+        }
+
+        private final class Execution implements MethodInterceptorChain.MethodExecution {
+            @Override
+            public Method getMethod() throws Exception {
+                return ChainPerCallProxy.class.getMethod("increment");
+            }
+
+            @Override
+            public Object invoke() {
+                return ChainPerCallProxy.super.increment();
+            }
+        }
+    }
+
+    @Setup
+    public void setup() {
+        target = new Target();
+        sharedChainProxy = new SharedChainProxy(new PassThroughInterceptor());
+        chainPerCallProxy = new ChainPerCallProxy(new PassThroughInterceptor());
+    }
+
+    @Benchmark
+    public int direct() {
+        return target.increment();
+    }
+
+    @Benchmark
+    public int sharedChain() {
+        return sharedChainProxy.increment();
+    }
+
+    @Benchmark
+    public int chainPerCall() {
+        return chainPerCallProxy.increment();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(MethodInterceptorChainBenchmark.class.getSimpleName()).build()).run();
+    }
+}
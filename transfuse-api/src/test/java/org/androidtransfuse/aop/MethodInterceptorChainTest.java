@@ -24,6 +24,9 @@ import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import static org.junit.Assert.*;
 import static org.mockito.Matchers.any;
@@ -102,6 +105,160 @@ public class MethodInterceptorChainTest {
         verify(methodExecution, times(2)).getMethod();
     }
 
+    @Test
+    public void testProxyMethodExecution() throws Exception {
+        final Method method = MethodInterceptorChainTest.class.getMethod("targetMethod");
+        final List<MethodInvocation> invocations = new ArrayList<MethodInvocation>();
+
+        MethodInterceptorChain interceptorChain = new MethodInterceptorChain(method, new MethodInterceptorChain.ProxyMethodExecution() {
+            @Override
+            public Object invoke(Object[] arguments) {
+                return arguments[1];
+            }
+        }, proxy, new MethodInterceptor() {
+            @Override
+            public Object invoke(MethodInvocation invocation) throws Throwable {
+                assertEquals(method, invocation.getMethod());
+                invocations.add(invocation);
+                invocation.getArguments()[1] = "intercepted";
+                return invocation.proceed();
+            }
+        });
+
+        assertEquals("intercepted", interceptorChain.invoke(new Object[]{1, "test"}));
+        assertEquals("intercepted", interceptorChain.invoke(new Object[]{2, "test"}));
+
+        //invocation reused once released
+        assertSame(invocations.get(0), invocations.get(1));
+    }
+
+    @Test
+    public void testDeferredProceed() throws Throwable {
+        final List<MethodInvocation> deferred = new ArrayList<MethodInvocation>();
+        final List<Object> executed = new ArrayList<Object>();
+
+        MethodInterceptorChain interceptorChain = new MethodInterceptorChain(null, new MethodInterceptorChain.ProxyMethodExecution() {
+            @Override
+            public Object invoke(Object[] arguments) {
+                executed.add(arguments[0]);
+                return null;
+            }
+        }, proxy, new MethodInterceptor() {
+            @Override
+            public Object invoke(MethodInvocation invocation) throws Throwable {
+                deferred.add(invocation);
+                return null;
+            }
+        });
+
+        interceptorChain.invoke(new Object[]{1});
+        interceptorChain.invoke(new Object[]{2});
+
+        //pending invocations are not reused
+        assertNotSame(deferred.get(0), deferred.get(1));
+        deferred.get(1).proceed();
+        deferred.get(0).proceed();
+        assertEquals(Arrays.<Object>asList(2, 1), executed);
+    }
+
+    @Test
+    public void testSkippedProceed() throws Exception {
+        final List<MethodInvocation> invocations = new ArrayList<MethodInvocation>();
+        final List<Object> executed = new ArrayList<Object>();
+
+        MethodInterceptorChain interceptorChain = new MethodInterceptorChain(null, new MethodInterceptorChain.ProxyMethodExecution() {
+            @Override
+            public Object invoke(Object[] arguments) {
+                executed.add(arguments[0]);
+                return null;
+            }
+        }, proxy, new MethodInterceptor() {
+            @Override
+            public Object invoke(MethodInvocation invocation) throws Throwable {
+                invocations.add(invocation);
+                if ("skip".equals(invocation.getArguments()[0])) {
+                    return null;
+                }
+                return invocation.proceed();
+            }
+        });
+
+        interceptorChain.invoke(new Object[]{"skip"});
+        interceptorChain.invoke(new Object[]{1});
+        interceptorChain.invoke(new Object[]{2});
+
+        //a skipped invocation is not reused, but does not prevent later invocations from being reused
+        assertNotSame(invocations.get(0), invocations.get(1));
+        assertSame(invocations.get(1), invocations.get(2));
+        assertEquals(Arrays.<Object>asList(1, 2), executed);
+    }
+
+    @Test
+    public void testProceedOnOtherThread() throws Exception {
+        final List<MethodInvocation> invocations = new ArrayList<MethodInvocation>();
+        final List<Object> executed = new ArrayList<Object>();
+
+        MethodInterceptorChain interceptorChain = new MethodInterceptorChain(null, new MethodInterceptorChain.ProxyMethodExecution() {
+            @Override
+            public Object invoke(Object[] arguments) {
+                executed.add(arguments[0]);
+                return null;
+            }
+        }, proxy, new MethodInterceptor() {
+            @Override
+            public Object invoke(final MethodInvocation invocation) throws Throwable {
+                invocations.add(invocation);
+                Thread worker = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            invocation.proceed();
+                        } catch (Throwable e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                });
+                worker.start();
+                worker.join();
+                return null;
+            }
+        });
+
+        interceptorChain.invoke(new Object[]{1});
+        interceptorChain.invoke(new Object[]{2});
+
+        //invocations completed on another thread are not reused
+        assertNotSame(invocations.get(0), invocations.get(1));
+        assertEquals(Arrays.<Object>asList(1, 2), executed);
+    }
+
+    @Test
+    public void testReentrantInvocation() {
+        final List<Object> executed = new ArrayList<Object>();
+        final MethodInterceptorChain[] chain = new MethodInterceptorChain[1];
+
+        chain[0] = new MethodInterceptorChain(null, new MethodInterceptorChain.ProxyMethodExecution() {
+            @Override
+            public Object invoke(Object[] arguments) {
+                if (executed.isEmpty()) {
+                    executed.add("outer");
+                    chain[0].invoke(new Object[]{"inner"});
+                }
+                executed.add(arguments[0]);
+                return null;
+            }
+        }, proxy, new MethodInterceptor() {
+            @Override
+            public Object invoke(MethodInvocation invocation) throws Throwable {
+                return invocation.proceed();
+            }
+        });
+
+        chain[0].invoke(new Object[]{"first"});
+
+        assertEquals(Arrays.<Object>asList("outer", "inner", "first"), executed);
+    }
+
     public void targetMethod() {
         //used to avoid mocking issues
     }
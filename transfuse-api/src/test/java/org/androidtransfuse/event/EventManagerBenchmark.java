@@ -0,0 +1,78 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.event;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures EventManager trigger throughput, in events per second, for an event with observers registered against both
+ * its own type and a supertype.
+ *
+ * Run via the main method from the test classpath.
+ *
+ * @author John Ericksen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EventManagerBenchmark {
+
+    private static final int OBSERVER_COUNT = 5;
+
+    private EventManager eventManager;
+    private SensorEvent event;
+    private long observed = 0;
+
+    public static class SensorEvent {}
+
+    @Setup
+    public void setup() {
+        eventManager = new EventManager();
+        event = new SensorEvent();
+        for (int i = 0; i < OBSERVER_COUNT; i++) {
+            eventManager.register(SensorEvent.class, new EventObserver<SensorEvent>() {
+                @Override
+                public void trigger(SensorEvent object) {
+                    observed++;
+                }
+            });
+            eventManager.register(Object.class, new EventObserver<Object>() {
+                @Override
+                public void trigger(Object object) {
+                    observed++;
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public long trigger() {
+        eventManager.trigger(event);
+        return observed;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(EventManagerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
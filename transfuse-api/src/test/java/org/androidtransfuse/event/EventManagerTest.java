@@ -15,10 +15,14 @@
  */
 package org.androidtransfuse.event;
 
+import org.androidtransfuse.annotations.Delivery;
 import org.androidtransfuse.annotations.Observes;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.*;
+import java.util.concurrent.Executor;
+
 import static org.junit.Assert.*;
 
 /**
@@ -104,6 +108,123 @@ public class EventManagerTest {
         assertFalse(trigger.isTriggered());
     }
 
+    @Test
+    public void testRegisterAfterTrigger(){
+        eventManager.trigger(new ObservesEvent());
+
+        TargetEventTriggered trigger = new TargetEventTriggered();
+        eventManager.register(ObservesEvent.class, trigger);
+        eventManager.trigger(new ObservesEvent());
+
+        assertTrue(trigger.isTriggered());
+    }
+
+    @Test
+    public void testReentrantTriggerOrder(){
+        final List<String> order = new ArrayList<String>();
+        eventManager.register(ObservesEvent.class, new EventObserver<ObservesEvent>() {
+            @Override
+            public void trigger(ObservesEvent event) {
+                order.add("first");
+                eventManager.trigger("reentrant");
+            }
+        });
+        eventManager.register(Object.class, new EventObserver<Object>() {
+            @Override
+            public void trigger(Object event) {
+                order.add(event instanceof String ? "reentrant" : "second");
+            }
+        });
+
+        eventManager.trigger(new ObservesEvent());
+
+        assertEquals(Arrays.asList("first", "second", "reentrant"), order);
+    }
+
+    @Test
+    public void testBackgroundDelivery(){
+        QueuedExecutor executor = new QueuedExecutor();
+        eventManager = new EventManager(executor);
+        final List<ObservesEvent> delivered = new ArrayList<ObservesEvent>();
+        eventManager.register(ObservesEvent.class, new EventObserver<ObservesEvent>() {
+            @Override
+            public void trigger(ObservesEvent event) {
+                delivered.add(event);
+            }
+        }, Delivery.BACKGROUND);
+
+        ObservesEvent first = new ObservesEvent();
+        ObservesEvent second = new ObservesEvent();
+        eventManager.trigger(first);
+        eventManager.trigger(second);
+
+        assertTrue(delivered.isEmpty());
+        executor.runAll();
+        assertEquals(Arrays.asList(first, second), delivered);
+    }
+
+    @Test
+    public void testCoalescedDelivery(){
+        QueuedExecutor executor = new QueuedExecutor();
+        eventManager = new EventManager(new QueuedExecutor(), executor);
+        final List<ObservesEvent> delivered = new ArrayList<ObservesEvent>();
+        eventManager.register(ObservesEvent.class, new EventObserver<ObservesEvent>() {
+            @Override
+            public void trigger(ObservesEvent event) {
+                delivered.add(event);
+            }
+        }, Delivery.COALESCE);
+
+        ObservesEvent last = new ObservesEvent();
+        eventManager.trigger(new ObservesEvent());
+        eventManager.trigger(new ObservesEvent());
+        eventManager.trigger(last);
+
+        assertEquals(1, executor.size());
+        executor.runAll();
+        assertEquals(Collections.singletonList(last), delivered);
+
+        eventManager.trigger(last);
+        assertEquals(1, executor.size());
+    }
+
+    @Test
+    public void testUnregisterDropsPendingDelivery(){
+        QueuedExecutor executor = new QueuedExecutor();
+        eventManager = new EventManager(executor);
+        TargetEventTriggered trigger = new TargetEventTriggered();
+        eventManager.register(ObservesEvent.class, trigger, Delivery.BACKGROUND);
+
+        eventManager.trigger(new ObservesEvent());
+        eventManager.unregister(trigger);
+        executor.runAll();
+        eventManager.trigger(new ObservesEvent());
+
+        assertFalse(trigger.isTriggered());
+        assertEquals(0, executor.size());
+    }
+
+    private static final class QueuedExecutor implements Executor {
+        private final Queue<Runnable> queue = new LinkedList<Runnable>();
+
+        @Override
+        public void execute(Runnable command) {
+            queue.add(command);
+        }
+
+        public int size() {
+            return queue.size();
+        }
+
+        public void runAll() {
+            Runnable runnable = queue.poll();
+            while (runnable != null) {
+                runnable.run();
+                runnable = queue.poll();
+            }
+        }
+    }
+
     private void registerEvents(){
         eventManager.register(ObservesEvent.class, new EventObserver<ObservesEvent>() {
             @Override
@@ -15,6 +15,7 @@
  */
 package org.androidtransfuse.event;
 
+import org.androidtransfuse.annotations.Delivery;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -50,6 +51,16 @@ public class EventTendingTest {
         verify(mockEventManager).register(any(Class.class), eq(mockEventObserver));
     }
 
+    @Test
+    public void testRegisterDelivery(){
+        EventObserver<String> mockDeliveryObserver = mock(EventObserver.class);
+        eventTending.addObserver(String.class, mockDeliveryObserver, Delivery.COALESCE);
+        eventTending.register();
+
+        verify(mockEventManager).register(any(Class.class), eq(mockEventObserver));
+        verify(mockEventManager).register(String.class, mockDeliveryObserver, Delivery.COALESCE);
+    }
+
     @Test
     public void testUnregister(){
         eventTending.unregister();
@@ -93,6 +93,46 @@ public class WeakObserverTest {
 
     }
 
+    @Test
+    public void testCollectedObserverPruned() throws InterruptedException {
+        WeakObservable observable = new WeakObservable();
+        WeakReference<WeakObservable> reference = new WeakReference<WeakObservable>(observable);
+        eventManager.register(Event.class, new WeakObserverTarget(observable));
+
+        ObserverMetrics registered = eventManager.getObserverMetrics().get(Event.class);
+        assertEquals(1, registered.getLive());
+        assertEquals(0, registered.getDead());
+
+        observable = null;
+
+        //collected references are enqueued asynchronously
+        for(int i = 0; i < 50 && eventManager.getObserverMetrics().get(Event.class).getPruned() == 0; i++){
+            System.gc();
+            Thread.sleep(10);
+            eventManager.trigger(new Event());
+        }
+
+        assertNull(reference.get());
+        ObserverMetrics pruned = eventManager.getObserverMetrics().get(Event.class);
+        assertEquals(0, pruned.getLive());
+        assertEquals(0, pruned.getDead());
+        assertEquals(1, pruned.getPruned());
+    }
+
+    @Test
+    public void testUnregisterReleasesReference() {
+        WeakObservable observable = new WeakObservable();
+        WeakObserverTarget observer = new WeakObserverTarget(observable);
+
+        eventManager.register(Event.class, observer);
+        eventManager.unregister(observer);
+        eventManager.register(Event.class, observer);
+        eventManager.trigger(new Event());
+
+        assertTrue(observable.isCalled());
+        assertEquals(1, eventManager.getObserverMetrics().get(Event.class).getLive());
+    }
+
     @Test
     public void verifyMethod() throws NoSuchMethodException {
         Method triggerMethod = WeakObserver.class.getMethod(EventObserver.TRIGGER, Object.class, Object.class);
@@ -0,0 +1,111 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.scope;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.inject.Provider;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Measures ConcurrentDoubleLockingScope lookups from 4 threads over a fresh scope per iteration, each key being
+ * backed by an expensive provider.  The `shared` benchmark has all threads racing over the same keys, the `unrelated`
+ * benchmark gives each thread its own keys.  After each iteration the number of constructions is printed, which
+ * matches the number of distinct keys looked up when each key is constructed exactly once.
+ *
+ * Run via the main method from the test classpath.
+ *
+ * @author John Ericksen
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Threads(4)
+@Fork(1)
+public class ConcurrentDoubleLockingScopeBenchmark {
+
+    private static final int KEY_COUNT = 1024;
+    private static final int CONSTRUCTION_TOKENS = 10000;
+
+    @State(Scope.Benchmark)
+    public static class SharedScope {
+        private final ScopeKey[] keys = new ScopeKey[KEY_COUNT * 4];
+        private final AtomicInteger constructions = new AtomicInteger();
+        private final AtomicInteger threadIndex = new AtomicInteger();
+        private final Provider<ScopeTarget> provider = new Provider<ScopeTarget>() {
+            @Override
+            public ScopeTarget get() {
+                constructions.incrementAndGet();
+                Blackhole.consumeCPU(CONSTRUCTION_TOKENS);
+                return new ScopeTarget();
+            }
+        };
+        private ConcurrentDoubleLockingScope scope;
+
+        public SharedScope() {
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = ScopeKey.of(ScopeTarget.class).annotatedBy("@" + i);
+            }
+        }
+
+        @Setup(Level.Iteration)
+        public void setup() {
+            scope = new ConcurrentDoubleLockingScope();
+            constructions.set(0);
+        }
+
+        @TearDown(Level.Iteration)
+        public void report() {
+            System.out.println("constructions: " + constructions.get());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadKeys {
+        private int offset;
+        private int index = 0;
+
+        @Setup
+        public void setup(SharedScope shared) {
+            offset = (shared.threadIndex.getAndIncrement() % 4) * KEY_COUNT;
+        }
+
+        private int next() {
+            index = (index + 1) % KEY_COUNT;
+            return index;
+        }
+    }
+
+    @Benchmark
+    public ScopeTarget shared(SharedScope shared, ThreadKeys threadKeys) {
+        return (ScopeTarget) shared.scope.getScopedObject(shared.keys[threadKeys.next()], shared.provider);
+    }
+
+    @Benchmark
+    public ScopeTarget unrelated(SharedScope shared, ThreadKeys threadKeys) {
+        return (ScopeTarget) shared.scope.getScopedObject(shared.keys[threadKeys.offset + threadKeys.next()], shared.provider);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConcurrentDoubleLockingScopeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
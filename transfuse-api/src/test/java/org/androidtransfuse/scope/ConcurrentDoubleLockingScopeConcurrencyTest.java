@@ -0,0 +1,185 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.scope;
+
+import org.androidtransfuse.util.TransfuseInjectionException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Provider;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * Test cases highlighting the exactly-once construction of scoped instances under contention.
+ *
+ * @author John Ericksen
+ */
+public class ConcurrentDoubleLockingScopeConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int KEYS = 10;
+    private static final int WAIT_PERIOD = 5;
+
+    private ConcurrentDoubleLockingScope scope;
+    private ExecutorService executorService;
+
+    @Before
+    public void setup() {
+        scope = new ConcurrentDoubleLockingScope();
+        executorService = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testExactlyOnceConstruction() throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final ConcurrentMap<String, AtomicInteger> constructions = new ConcurrentHashMap<String, AtomicInteger>();
+        List<Callable<Object>> lookups = new ArrayList<Callable<Object>>();
+
+        for (int i = 0; i < THREADS * KEYS; i++) {
+            final String name = "key" + (i % KEYS);
+            constructions.putIfAbsent(name, new AtomicInteger());
+            lookups.add(new Callable<Object>() {
+                @Override
+                public Object call() throws Exception {
+                    start.await();
+                    return scope.getScopedObject(ScopeKey.of(ScopeTarget.class).annotatedBy(name), new Provider<ScopeTarget>() {
+                        @Override
+                        public ScopeTarget get() {
+                            constructions.get(name).incrementAndGet();
+                            //expensive construction widens the window for duplicates
+                            sleep(10);
+                            return new ScopeTarget();
+                        }
+                    });
+                }
+            });
+        }
+
+        List<Future<Object>> results = new ArrayList<Future<Object>>();
+        for (Callable<Object> lookup : lookups) {
+            results.add(executorService.submit(lookup));
+        }
+        start.countDown();
+
+        for (int i = 0; i < results.size(); i++) {
+            assertSame(results.get(i % KEYS).get(WAIT_PERIOD, TimeUnit.SECONDS), results.get(i).get(WAIT_PERIOD, TimeUnit.SECONDS));
+        }
+        for (AtomicInteger count : constructions.values()) {
+            assertEquals(1, count.get());
+        }
+    }
+
+    @Test
+    public void testUnrelatedKeysDoNotContend() throws Exception {
+        final CountDownLatch constructing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        Future<ScopeTarget> blocked = executorService.submit(new Callable<ScopeTarget>() {
+            @Override
+            public ScopeTarget call() throws Exception {
+                return scope.getScopedObject(ScopeKey.of(ScopeTarget.class).annotatedBy("slow"), new Provider<ScopeTarget>() {
+                    @Override
+                    public ScopeTarget get() {
+                        constructing.countDown();
+                        await(release);
+                        return new ScopeTarget();
+                    }
+                });
+            }
+        });
+
+        assertTrue(constructing.await(WAIT_PERIOD, TimeUnit.SECONDS));
+
+        //completes while the slow construction is in flight
+        Future<ScopeTarget> unrelated = executorService.submit(new Callable<ScopeTarget>() {
+            @Override
+            public ScopeTarget call() throws Exception {
+                return scope.getScopedObject(ScopeKey.of(ScopeTarget.class).annotatedBy("fast"), new Provider<ScopeTarget>() {
+                    @Override
+                    public ScopeTarget get() {
+                        return new ScopeTarget();
+                    }
+                });
+            }
+        });
+        assertNotNull(unrelated.get(WAIT_PERIOD, TimeUnit.SECONDS));
+        assertFalse(blocked.isDone());
+
+        release.countDown();
+        assertNotNull(blocked.get(WAIT_PERIOD, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testFailedConstructionRetried() {
+        final AtomicInteger attempts = new AtomicInteger();
+        Provider<ScopeTarget> failingOnce = new Provider<ScopeTarget>() {
+            @Override
+            public ScopeTarget get() {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException();
+                }
+                return new ScopeTarget();
+            }
+        };
+
+        try {
+            scope.getScopedObject(ScopeKey.of(ScopeTarget.class), failingOnce);
+            fail();
+        } catch (IllegalStateException e) {
+            //expected
+        }
+
+        assertNotNull(scope.getScopedObject(ScopeKey.of(ScopeTarget.class), failingOnce));
+        assertEquals(2, attempts.get());
+    }
+
+    @Test(expected = TransfuseInjectionException.class)
+    public void testCyclicConstruction() {
+        scope.getScopedObject(ScopeKey.of(ScopeTarget.class), new Provider<ScopeTarget>() {
+            @Override
+            public ScopeTarget get() {
+                return scope.getScopedObject(ScopeKey.of(ScopeTarget.class), this);
+            }
+        });
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -19,6 +19,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import javax.inject.Provider;
+import javax.inject.Singleton;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.mock;
@@ -78,4 +79,99 @@ public class ConcurrentDoubleLockingScopeTest {
         assertNotSame(scoped5, scoped6);
     }
 
+    @Test
+    public void testSlotScope() {
+        CountingProvider provider = new CountingProvider();
+        ConcurrentDoubleLockingScope indexedScope = new ConcurrentDoubleLockingScope();
+
+        assertNull(indexedScope.getSlot(0, ScopeKey.of(ScopeTarget.class).getSignature()));
+        ScopeTarget scoped = indexedScope.getScopedObject(0, ScopeKey.of(ScopeTarget.class), provider);
+
+        assertSame(scoped, indexedScope.getSlot(0, ScopeKey.of(ScopeTarget.class).getSignature()));
+        assertSame(scoped, indexedScope.getScopedObject(0, ScopeKey.of(ScopeTarget.class), provider));
+        assertSame(scoped, indexedScope.getScopedObject(ScopeKey.of(ScopeTarget.class), provider));
+        assertEquals(1, provider.count);
+    }
+
+    @Test
+    public void testSlotSeededByKey() {
+        ConcurrentDoubleLockingScope indexedScope = new ConcurrentDoubleLockingScope();
+        indexedScope.getScopedObject(ScopeKey.of(ScopeTarget.class), new InstanceProvider(scopeTarget));
+
+        assertSame(scopeTarget, indexedScope.getScopedObject(3, ScopeKey.of(ScopeTarget.class), new CountingProvider()));
+        assertSame(scopeTarget, indexedScope.getSlot(3, ScopeKey.of(ScopeTarget.class).getSignature()));
+    }
+
+    @Test
+    public void testSlotGrowth() {
+        ConcurrentDoubleLockingScope indexedScope = new ConcurrentDoubleLockingScope();
+        ScopeTarget first = indexedScope.getScopedObject(1, ScopeKey.of(ScopeTarget.class), new CountingProvider());
+        ScopeTarget distant = indexedScope.getScopedObject(100, ScopeKey.of(ScopeTarget.class).annotatedBy("@distant"), new CountingProvider());
+
+        assertSame(first, indexedScope.getSlot(1, ScopeKey.of(ScopeTarget.class).getSignature()));
+        assertSame(distant, indexedScope.getSlot(100, ScopeKey.of(ScopeTarget.class).annotatedBy("@distant").getSignature()));
+        assertNull(indexedScope.getSlot(1000, ScopeKey.of(ScopeTarget.class).getSignature()));
+    }
+
+    @Test
+    public void testSlotClaimedByAnotherRun() {
+        ConcurrentDoubleLockingScope indexedScope = new ConcurrentDoubleLockingScope();
+        ScopeKey<ScopeTarget> firstRunKey = ScopeKey.of(ScopeTarget.class).annotatedBy("@first");
+        ScopeKey<String> secondRunKey = ScopeKey.of(String.class);
+
+        //separately generated code assigning slot 0 to different keys
+        ScopeTarget first = indexedScope.getScopedObject(0, firstRunKey, new CountingProvider());
+        assertNull(indexedScope.getSlot(0, secondRunKey.getSignature()));
+        String second = indexedScope.getScopedObject(0, secondRunKey, new Provider<String>() {
+            @Override
+            public String get() {
+                return "second";
+            }
+        });
+
+        assertEquals("second", second);
+        assertSame(first, indexedScope.getSlot(0, firstRunKey.getSignature()));
+        assertNull(indexedScope.getSlot(0, secondRunKey.getSignature()));
+        assertSame(second, indexedScope.getScopedObject(0, secondRunKey, null));
+        assertSame(first, indexedScope.getScopedObject(0, firstRunKey, null));
+    }
+
+    @Test
+    public void testSingletonScopes() {
+        Scopes scopes = new Scopes().addScope(Singleton.class, scope);
+        assertSame(scope, scopes.getSingletonScope());
+
+        Scope keyedScope = new Scope() {
+            @Override
+            public <T> T getScopedObject(ScopeKey<T> key, Provider<T> provider) {
+                return provider.get();
+            }
+        };
+        IndexedScope adapted = new Scopes().addScope(Singleton.class, keyedScope).getSingletonScope();
+        assertNull(adapted.getSlot(0, ScopeKey.of(ScopeTarget.class).getSignature()));
+        assertSame(scopeTarget, adapted.getScopedObject(0, ScopeKey.of(ScopeTarget.class), new InstanceProvider(scopeTarget)));
+    }
+
+    private static final class InstanceProvider implements Provider<ScopeTarget> {
+        private final ScopeTarget instance;
+
+        private InstanceProvider(ScopeTarget instance) {
+            this.instance = instance;
+        }
+
+        @Override
+        public ScopeTarget get() {
+            return instance;
+        }
+    }
+
+    private static final class CountingProvider implements Provider<ScopeTarget> {
+        private int count = 0;
+
+        @Override
+        public ScopeTarget get() {
+            count++;
+            return new ScopeTarget();
+        }
+    }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.security.AccessController;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cached member handles used by InjectionUtil against the previous lookup-per-call path, which resolved
+ * the member by name and toggled its accessibility on every access.
+ *
+ * Run via the main method from the test classpath.
+ *
+ * @author John Ericksen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InjectionUtilBenchmark {
+
+    private static final String TEST_VALUE = "hello";
+    private static final Class[] STRING_ARG = {String.class};
+
+    private Target target;
+
+    @Setup
+    public void setup() {
+        target = new Target();
+    }
+
+    @Benchmark
+    public void uncachedFieldSet() throws Exception {
+        Field field = Target.class.getDeclaredField("value");
+        AccessController.doPrivileged(new AccessibleElementPrivilegedAction<Void, Field>(field) {
+            @Override
+            public Void run(Field element) throws Exception {
+                element.set(target, TEST_VALUE);
+                return null;
+            }
+        });
+    }
+
+    @Benchmark
+    public void cachedFieldSet() {
+        InjectionUtil.setField(Target.class, target, "value", TEST_VALUE);
+    }
+
+    @Benchmark
+    public Object uncachedMethodCall() throws Exception {
+        Method method = Target.class.getDeclaredMethod("setPrivateValue", STRING_ARG);
+        return AccessController.doPrivileged(new AccessibleElementPrivilegedAction<Object, Method>(method) {
+            @Override
+            public Object run(Method element) throws Exception {
+                return element.invoke(target, TEST_VALUE);
+            }
+        });
+    }
+
+    @Benchmark
+    public Object cachedMethodCall() {
+        return InjectionUtil.callMethod(Void.class, Target.class, target, "setPrivateValue", STRING_ARG, new Object[]{TEST_VALUE});
+    }
+
+    @Benchmark
+    public Target uncachedConstructorCall() throws Exception {
+        Constructor<Target> constructor = Target.class.getDeclaredConstructor(STRING_ARG);
+        return AccessController.doPrivileged(new AccessibleElementPrivilegedAction<Target, Constructor<Target>>(constructor) {
+            @Override
+            public Target run(Constructor<Target> element) throws Exception {
+                return element.newInstance(TEST_VALUE);
+            }
+        });
+    }
+
+    @Benchmark
+    public Target cachedConstructorCall() {
+        return InjectionUtil.callConstructor(Target.class, STRING_ARG, new Object[]{TEST_VALUE});
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(InjectionUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+}
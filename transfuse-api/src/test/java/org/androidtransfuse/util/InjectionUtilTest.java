@@ -100,6 +100,51 @@ public class InjectionUtilTest {
         assertEquals(TEST_VALUE, target.getSuperValue());
     }
 
+    @Test
+    public void testFieldHandle() {
+        Target target = new Target();
+        FieldHandle fieldHandle = InjectionUtil.fieldHandle(Target.class, "value");
+
+        fieldHandle.set(target, TEST_VALUE);
+
+        assertEquals(TEST_VALUE, target.getValue());
+        assertEquals(TEST_VALUE, fieldHandle.get(String.class, target));
+    }
+
+    @Test
+    public void testMethodHandle() {
+        Target target = new Target();
+        MethodHandle setHandle = InjectionUtil.methodHandle(Target.class, "setPrivateValue", String.class);
+        MethodHandle getHandle = InjectionUtil.methodHandle(Target.class, "getPrivateValue");
+
+        setHandle.invoke(Void.class, target, new Object[]{TEST_VALUE});
+
+        assertEquals(TEST_VALUE, target.getValue());
+        assertEquals(TEST_VALUE, getHandle.invoke(String.class, target, new Object[]{}));
+    }
+
+    @Test
+    public void testConstructorHandle() {
+        ConstructorHandle<Target> constructorHandle = InjectionUtil.constructorHandle(Target.class, String.class);
+
+        assertEquals(TEST_VALUE, constructorHandle.newInstance(new Object[]{TEST_VALUE}).getValue());
+    }
+
+    @Test
+    public void testHandlesCached() {
+        assertSame(InjectionUtil.fieldHandle(Target.class, "value"), InjectionUtil.fieldHandle(Target.class, "value"));
+        assertSame(InjectionUtil.methodHandle(Target.class, "setPrivateValue", String.class),
+                InjectionUtil.methodHandle(Target.class, "setPrivateValue", String.class));
+        assertSame(InjectionUtil.constructorHandle(Target.class, String.class), InjectionUtil.constructorHandle(Target.class, String.class));
+        assertNotSame(InjectionUtil.constructorHandle(Target.class), InjectionUtil.constructorHandle(Target.class, String.class));
+        assertNotSame(InjectionUtil.fieldHandle(Target.class, "value"), InjectionUtil.fieldHandle(TargetSuper.class, "superValue"));
+    }
+
+    @Test(expected = TransfuseInjectionException.class)
+    public void testMissingFieldHandle() {
+        InjectionUtil.fieldHandle(Target.class, "missing");
+    }
+
     @Test
     public void verifyMethodNames() throws NoSuchMethodException {
 
@@ -111,5 +156,15 @@ public class InjectionUtilTest {
         assertNotNull(getFieldMethod);
         Method setFieldMethod = InjectionUtil.class.getMethod(InjectionUtil.SET_FIELD_METHOD, Class.class, Object.class, String.class, Object.class);
         assertNotNull(setFieldMethod);
+        Method fieldHandleMethod = InjectionUtil.class.getMethod(InjectionUtil.FIELD_HANDLE_METHOD, Class.class, String.class);
+        assertNotNull(fieldHandleMethod);
+        Method methodHandleMethod = InjectionUtil.class.getMethod(InjectionUtil.METHOD_HANDLE_METHOD, Class.class, String.class, Class[].class);
+        assertNotNull(methodHandleMethod);
+        Method constructorHandleMethod = InjectionUtil.class.getMethod(InjectionUtil.CONSTRUCTOR_HANDLE_METHOD, Class.class, Class[].class);
+        assertNotNull(constructorHandleMethod);
+        assertNotNull(FieldHandle.class.getMethod(FieldHandle.GET_METHOD, Class.class, Object.class));
+        assertNotNull(FieldHandle.class.getMethod(FieldHandle.SET_METHOD, Object.class, Object.class));
+        assertNotNull(MethodHandle.class.getMethod(MethodHandle.INVOKE_METHOD, Class.class, Object.class, Object[].class));
+        assertNotNull(ConstructorHandle.class.getMethod(ConstructorHandle.NEW_INSTANCE_METHOD, Object[].class));
     }
 }
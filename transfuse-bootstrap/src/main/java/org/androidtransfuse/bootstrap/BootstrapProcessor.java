@@ -30,6 +30,7 @@ import org.androidtransfuse.annotations.Factory;
 import org.androidtransfuse.gen.FactoriesGenerator;
 import org.androidtransfuse.gen.FactoryGenerator;
 import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.transaction.TransactionRuntimeException;
 import org.androidtransfuse.util.Providers;
 
 import javax.annotation.processing.ProcessingEnvironment;
@@ -119,6 +120,12 @@ public class BootstrapProcessor extends AnnotationProcessorBase {
 
             } catch (IOException e) {
                 throw new TransfuseAnalysisException("Exception while writing Bootstrap class", e);
+            } catch (TransactionRuntimeException e) {
+                //Bootstrap generation is not retried, so any held back validation is reported immediately
+                if (e.getValidation() != null) {
+                    e.getValidation().build();
+                }
+                throw new TransfuseAnalysisException("Unable to generate Bootstrap classes", e);
             }
             ran = true;
         }
@@ -35,8 +35,10 @@ import org.androidtransfuse.gen.componentBuilder.InjectionNodeImplFactory;
 import org.androidtransfuse.gen.componentBuilder.MirroredMethodGeneratorFactory;
 import org.androidtransfuse.gen.invocationBuilder.*;
 import org.androidtransfuse.gen.proxy.AOPProxyGenerator;
+import org.androidtransfuse.gen.proxy.DeferredProxyGenerator;
 import org.androidtransfuse.gen.proxy.VirtualProxyGenerator;
 import org.androidtransfuse.gen.scopeBuilder.CustomScopeAspectFactoryFactory;
+import org.androidtransfuse.gen.scopeBuilder.ScopeSlotRepository;
 import org.androidtransfuse.gen.scopeBuilder.SingletonScopeAspectFactory;
 import org.androidtransfuse.gen.scopeBuilder.SingletonScopeBuilder;
 import org.androidtransfuse.gen.variableBuilder.*;
@@ -72,8 +74,12 @@ public class CoreFactory {
     private final ASTClassFactory astClassFactory = new ASTClassFactory(new ConcreteASTFactory());
     private final TypedExpressionFactory typedExpressionFactory = new TypedExpressionFactory(astClassFactory);
     private final UniqueVariableNamer namer = new UniqueVariableNamer();
+    private final ScopeSlotRepository scopeSlotRepository = new ScopeSlotRepository();
     private final ClassGenerationUtil generationUtil;
     private final ProviderGenerator.ProviderCache providerCache = new ProviderGenerator.ProviderCache();
+    private final InjectorGenerator.InjectorCache injectorCache = new InjectorGenerator.InjectorCache();
+    private final LazyGenerator.LazyCache lazyCache = new LazyGenerator.LazyCache();
+    private final DeferredProxyGenerator.DeferredProxyCache deferredProxyCache = new DeferredProxyGenerator.DeferredProxyCache();
     private final Filer filer;
     private final ModuleRepositoryImpl moduleRepository = new ModuleRepositoryImpl();
     private final Validator validator;
@@ -113,7 +119,8 @@ public class CoreFactory {
         return new InjectionPointFactory(astClassFactory, qualifierPredicate,
                 new VariableInjectionNodeBuilder(buildAnalyser(),
                 buildVariableInjectionBuilder()),
-                new GeneratedProviderInjectionNodeBuilderProvider());
+                new GeneratedProviderInjectionNodeBuilderProvider(),
+                new GeneratedLazyInjectionNodeBuilderProvider());
     }
 
     public ScopesGenerator buildScopesGenerator() {
@@ -128,6 +135,14 @@ public class CoreFactory {
         }
     }
 
+    private final class GeneratedLazyInjectionNodeBuilderProvider implements Provider<GeneratedLazyInjectionNodeBuilder>{
+
+        @Override
+        public GeneratedLazyInjectionNodeBuilder get() {
+            return buildGeneratedLazyInjectionNodeBuilder();
+        }
+    }
+
     private VariableInjectionBuilder buildVariableInjectionBuilder(){
         AOPProxyGenerator aopProxyGenerator = new AOPProxyGenerator(codeModel, namer, generationUtil, validator);
         InjectionExpressionBuilder injectionExpressionBuilder = new InjectionExpressionBuilder();
@@ -186,6 +201,22 @@ public class CoreFactory {
         return new GeneratedProviderInjectionNodeBuilder(generatedProviderBuilderFactory, buildInjectionPointFactory(), buildAnalyser());
     }
 
+    private GeneratedLazyInjectionNodeBuilder buildGeneratedLazyInjectionNodeBuilder(){
+
+        Provider<LazyGenerator> lazyGeneratorProvider = new Provider<LazyGenerator>() {
+            @Override
+            public LazyGenerator get() {
+                return new LazyGenerator(lazyCache, buildProviderGenerator(), generationUtil, namer);
+            }
+        };
+
+        GeneratedLazyBuilderFactory generatedLazyBuilderFactory = new GeneratedLazyBuilderFactory(lazyGeneratorProvider,
+                Providers.of(new DeferredProxyGenerator(deferredProxyCache, codeModel, namer, astClassFactory, generationUtil)),
+                Providers.of(namer), Providers.of(typedExpressionFactory));
+
+        return new GeneratedLazyInjectionNodeBuilder(generatedLazyBuilderFactory, buildInjectionPointFactory(), buildAnalyser());
+    }
+
     private ProviderGenerator buildProviderGenerator(){
         return new ProviderGenerator(providerCache, codeModel, buildInjectionGenerator(), generationUtil, namer);
     }
@@ -203,7 +234,7 @@ public class CoreFactory {
 
         InjectionNodeBuilderRepository scopeRepository = new InjectionNodeBuilderRepository(astClassFactory);
 
-        SingletonScopeBuilder singletonScopeBuilder = new SingletonScopeBuilder(codeModel, new ProviderGenerator(providerCache, codeModel, buildInjectionGenerator(), generationUtil, namer), generationUtil, typedExpressionFactory, namer);
+        SingletonScopeBuilder singletonScopeBuilder = new SingletonScopeBuilder(codeModel, new ProviderGenerator(providerCache, codeModel, buildInjectionGenerator(), generationUtil, namer), generationUtil, typedExpressionFactory, namer, scopeSlotRepository);
         scopeRepository.putScopeAspectFactory(astClassFactory.getType(Singleton.class), astClassFactory.getType(ConcurrentDoubleLockingScope.class), new SingletonScopeAspectFactory(Providers.of(singletonScopeBuilder)));
         scopeRepository.putScopeAspectFactory(astClassFactory.getType(BootstrapModule.class), astClassFactory.getType(ConcurrentDoubleLockingScope.class), new SingletonScopeAspectFactory(Providers.of(singletonScopeBuilder)));
 
@@ -409,6 +440,13 @@ public class CoreFactory {
 
             return new VirtualProxyExpressionDecorator(decorator, proxyVariableBuilder, virtualProxyGenerator, typedExpressionFactory);
         }
+
+        @Override
+        public SharedInjectorExpressionDecorator buildSharedInjectorExpressionDecorator(VariableExpressionBuilder decorator) {
+            InjectorGenerator injectorGenerator = new InjectorGenerator(injectorCache, buildInjectionGenerator(), generationUtil, namer);
+
+            return new SharedInjectorExpressionDecorator(decorator, injectorGenerator, generationUtil, namer, typedExpressionFactory);
+        }
     }
 
     private final class ModuleRepositoryImpl implements  ModuleRepository{
@@ -36,6 +36,7 @@ import java.util.*;
 public class Analyzer {
 
     private Provider<VariableInjectionBuilder> variableInjectionBuilderProvider;
+    private ClassHierarchyScanCache classHierarchyScanCache = new ClassHierarchyScanCache();
 
     public InjectionNode analyze(InjectionSignature signature, AnalysisContext context){
         return analyze(signature, signature, context);
@@ -103,59 +104,20 @@ public class Analyzer {
     }
 
     private void scanClassHierarchy(ASTType type, InjectionNode injectionNode, AnalysisContext context) {
-        scanClassHierarchy(new HashSet<MethodSignature>(), new HashMap<String, Set<MethodSignature>>(), type, injectionNode, context);
-    }
-
-    private void scanClassHierarchy(Set<MethodSignature> scanned, Map<String, Set<MethodSignature>> packagePrivateScanned, ASTType type, InjectionNode injectionNode, AnalysisContext context){
-        for (ASTAnalysis analysis : context.getAnalysisRepository().getAnalysisSet()) {
+        for (ClassHierarchyScanCache.ScanStep step : classHierarchyScanCache.getScan(type)) {
+            for (ASTAnalysis analysis : context.getAnalysisRepository().getAnalysisSet()) {
 
-            analysis.analyzeType(injectionNode, type, context);
+                analysis.analyzeType(injectionNode, step.getType(), context);
 
-            for (ASTMethod astMethod : type.getMethods()) {
-                if(!isOverridden(scanned, packagePrivateScanned, type, astMethod)){
-                    analysis.analyzeMethod(injectionNode, type, astMethod, context);
+                for (ASTMethod astMethod : step.getMethods()) {
+                    analysis.analyzeMethod(injectionNode, step.getType(), astMethod, context);
                 }
-            }
-
-            for (ASTField astField : type.getFields()) {
-                analysis.analyzeField(injectionNode, type, astField, context);
-            }
-        }
 
-        for (ASTMethod astMethod : type.getMethods()) {
-            MethodSignature signature = new MethodSignature(astMethod);
-            if(astMethod.getAccessModifier() == ASTAccessModifier.PUBLIC ||
-               astMethod.getAccessModifier() == ASTAccessModifier.PROTECTED){
-                scanned.add(signature);
-            }
-            else if(astMethod.getAccessModifier() == ASTAccessModifier.PACKAGE_PRIVATE){
-                if(!packagePrivateScanned.containsKey(type.getPackageClass().getPackage())){
-                    packagePrivateScanned.put(type.getPackageClass().getPackage(), new HashSet<MethodSignature>());
+                for (ASTField astField : step.getFields()) {
+                    analysis.analyzeField(injectionNode, step.getType(), astField, context);
                 }
-                packagePrivateScanned.get(type.getPackageClass().getPackage()).add(signature);
             }
         }
-
-        if (type.getSuperClass() != null) {
-            scanClassHierarchy(scanned, packagePrivateScanned, type.getSuperClass(), injectionNode, context);
-        }
-
-    }
-
-    private boolean isOverridden(Set<MethodSignature> scanned, Map<String, Set<MethodSignature>> packagePrivateScanned, ASTType type, ASTMethod method) {
-        MethodSignature signature = new MethodSignature(method);
-
-        if(method.getAccessModifier() == ASTAccessModifier.PRIVATE){
-            return false;
-        }
-
-        if(method.getAccessModifier() == ASTAccessModifier.PACKAGE_PRIVATE){
-            return packagePrivateScanned.containsKey(type.getPackageClass().getPackage()) &&
-                   packagePrivateScanned.get(type.getPackageClass().getPackage()).contains(signature);
-        }
-
-        // PUBLIC and PROTECTED handling
-        return scanned.contains(signature);
     }
 
     private VirtualProxyAspect getProxyAspect(InjectionNode injectionNode) {
@@ -169,4 +131,9 @@ public class Analyzer {
     public void setVariableInjectionBuilderProvider(Provider<VariableInjectionBuilder> variableInjectionBuilderProvider) {
         this.variableInjectionBuilderProvider = variableInjectionBuilderProvider;
     }
+
+    @Inject
+    public void setClassHierarchyScanCache(ClassHierarchyScanCache classHierarchyScanCache) {
+        this.classHierarchyScanCache = classHierarchyScanCache;
+    }
 }
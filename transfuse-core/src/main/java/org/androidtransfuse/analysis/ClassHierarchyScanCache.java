@@ -0,0 +1,155 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.analysis;
+
+import com.google.common.collect.ImmutableList;
+import org.androidtransfuse.adapter.*;
+
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared cache of class hierarchy scans used by the Analyzer.  A scan lists each type from the given concrete type up
+ * through its super classes, along with the methods not overridden lower in the hierarchy and the fields to analyze.
+ * Scans depend only on the type structure, not on the AnalysisContext, so a scan is computed once per type and reused
+ * by every component injecting it.  Scans are immutable and may be shared across analysis threads.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class ClassHierarchyScanCache {
+
+    private final ConcurrentMap<ASTType, ImmutableList<ScanStep>> scans = new ConcurrentHashMap<ASTType, ImmutableList<ScanStep>>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Returns the hierarchy scan of the given type, from the type itself up to its root super class.
+     *
+     * @param type concrete type
+     * @return scan steps
+     */
+    public ImmutableList<ScanStep> getScan(ASTType type) {
+        ImmutableList<ScanStep> scan = scans.get(type);
+        if (scan != null) {
+            hits.incrementAndGet();
+            return scan;
+        }
+        misses.incrementAndGet();
+        scan = buildScan(type);
+        ImmutableList<ScanStep> existing = scans.putIfAbsent(type, scan);
+        return existing == null ? scan : existing;
+    }
+
+    private ImmutableList<ScanStep> buildScan(ASTType concreteType) {
+        ImmutableList.Builder<ScanStep> steps = ImmutableList.builder();
+        Set<MethodSignature> scanned = new HashSet<MethodSignature>();
+        Map<String, Set<MethodSignature>> packagePrivateScanned = new HashMap<String, Set<MethodSignature>>();
+
+        for (ASTType type = concreteType; type != null; type = type.getSuperClass()) {
+            ImmutableList.Builder<ASTMethod> methods = ImmutableList.builder();
+            for (ASTMethod astMethod : type.getMethods()) {
+                if (!isOverridden(scanned, packagePrivateScanned, type, astMethod)) {
+                    methods.add(astMethod);
+                }
+            }
+
+            for (ASTMethod astMethod : type.getMethods()) {
+                MethodSignature signature = new MethodSignature(astMethod);
+                if (astMethod.getAccessModifier() == ASTAccessModifier.PUBLIC ||
+                        astMethod.getAccessModifier() == ASTAccessModifier.PROTECTED) {
+                    scanned.add(signature);
+                } else if (astMethod.getAccessModifier() == ASTAccessModifier.PACKAGE_PRIVATE) {
+                    if (!packagePrivateScanned.containsKey(type.getPackageClass().getPackage())) {
+                        packagePrivateScanned.put(type.getPackageClass().getPackage(), new HashSet<MethodSignature>());
+                    }
+                    packagePrivateScanned.get(type.getPackageClass().getPackage()).add(signature);
+                }
+            }
+
+            steps.add(new ScanStep(type, methods.build(), type.getFields().asList()));
+        }
+
+        return steps.build();
+    }
+
+    private boolean isOverridden(Set<MethodSignature> scanned, Map<String, Set<MethodSignature>> packagePrivateScanned, ASTType type, ASTMethod method) {
+        MethodSignature signature = new MethodSignature(method);
+
+        if (method.getAccessModifier() == ASTAccessModifier.PRIVATE) {
+            return false;
+        }
+
+        if (method.getAccessModifier() == ASTAccessModifier.PACKAGE_PRIVATE) {
+            return packagePrivateScanned.containsKey(type.getPackageClass().getPackage()) &&
+                    packagePrivateScanned.get(type.getPackageClass().getPackage()).contains(signature);
+        }
+
+        // PUBLIC and PROTECTED handling
+        return scanned.contains(signature);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        long total = getHits() + getMisses();
+        long hitRate = total == 0 ? 0 : (getHits() * 100) / total;
+        return "Class hierarchy scans: " + total + ", computed: " + getMisses() + ", reused: " + getHits() + " (" + hitRate + "%)";
+    }
+
+    /**
+     * A single type within a class hierarchy scan.
+     */
+    public static final class ScanStep {
+        private final ASTType type;
+        private final ImmutableList<ASTMethod> methods;
+        private final ImmutableList<ASTField> fields;
+
+        private ScanStep(ASTType type, ImmutableList<ASTMethod> methods, ImmutableList<ASTField> fields) {
+            this.type = type;
+            this.methods = methods;
+            this.fields = fields;
+        }
+
+        public ASTType getType() {
+            return type;
+        }
+
+        /**
+         * @return methods of this type not overridden by a type lower in the hierarchy
+         */
+        public ImmutableList<ASTMethod> getMethods() {
+            return methods;
+        }
+
+        public ImmutableList<ASTField> getFields() {
+            return fields;
+        }
+    }
+}
@@ -21,11 +21,17 @@ import org.androidtransfuse.TransfuseAnalysisException;
 import org.androidtransfuse.adapter.*;
 import org.androidtransfuse.adapter.classes.ASTClassFactory;
 import org.androidtransfuse.analysis.repository.InjectionNodeBuilderRepository;
+import org.androidtransfuse.annotations.Deferred;
 import org.androidtransfuse.gen.variableBuilder.InjectionNodeBuilder;
+import org.androidtransfuse.gen.variableBuilder.VariableBuilder;
+import org.androidtransfuse.gen.variableBuilder.VariableInjectionBuilder;
 import org.androidtransfuse.gen.variableBuilder.VariableInjectionNodeBuilder;
+import org.androidtransfuse.gen.variableDecorator.GeneratedLazyInjectionNodeBuilder;
 import org.androidtransfuse.gen.variableDecorator.GeneratedProviderInjectionNodeBuilder;
 import org.androidtransfuse.model.*;
+import org.androidtransfuse.util.Lazy;
 import org.androidtransfuse.util.QualifierPredicate;
+import org.androidtransfuse.util.matcher.InjectionSignatureMatcherIndex;
 import org.androidtransfuse.util.matcher.Matcher;
 import org.androidtransfuse.util.matcher.Matchers;
 import org.apache.commons.lang.StringUtils;
@@ -46,18 +52,23 @@ public class InjectionPointFactory {
     private final VariableInjectionNodeBuilder defaultBinding;
     private final Matcher<ASTType> providerMatcher;
     private final Provider<GeneratedProviderInjectionNodeBuilder> generatedProviderInjectionNodeBuilderProvider;
+    private final Matcher<ASTType> lazyMatcher;
+    private final Provider<GeneratedLazyInjectionNodeBuilder> generatedLazyInjectionNodeBuilderProvider;
 
     @Inject
     public InjectionPointFactory(ASTClassFactory astClassFactory,
                                  QualifierPredicate qualifierPredicate,
                                  VariableInjectionNodeBuilder defaultBinding,
-                                 Provider<GeneratedProviderInjectionNodeBuilder> generatedProviderInjectionNodeBuilderProvider) {
+                                 Provider<GeneratedProviderInjectionNodeBuilder> generatedProviderInjectionNodeBuilderProvider,
+                                 Provider<GeneratedLazyInjectionNodeBuilder> generatedLazyInjectionNodeBuilderProvider) {
         this.astClassFactory = astClassFactory;
         this.qualifierPredicate = qualifierPredicate;
         this.defaultBinding = defaultBinding;
         this.generatedProviderInjectionNodeBuilderProvider = generatedProviderInjectionNodeBuilderProvider;
+        this.generatedLazyInjectionNodeBuilderProvider = generatedLazyInjectionNodeBuilderProvider;
 
         this.providerMatcher = Matchers.type(astClassFactory.getType(Provider.class)).ignoreGenerics().build();
+        this.lazyMatcher = Matchers.type(astClassFactory.getType(Lazy.class)).ignoreGenerics().build();
     }
 
     /**
@@ -154,8 +165,26 @@ public class InjectionPointFactory {
     }
 
     private InjectionNode buildInjectionNode(InjectionNodeBuilderRepository repository, InjectionSignature injectionSignature, AnalysisContext context) {
+        InjectionNode injectionNode = resolveInjectionNode(repository, injectionSignature, context);
+
+        if(isDeferrable(injectionNode)){
+            return generatedLazyInjectionNodeBuilderProvider.get().buildDeferredInjectionNode(injectionNode);
+        }
+
+        return injectionNode;
+    }
+
+    private boolean isDeferrable(InjectionNode injectionNode) {
+        //@Deferred implementations may only be deferred behind an interface
+        return !injectionNode.getUsageType().isConcreteClass() &&
+                injectionNode.getASTType().isConcreteClass() &&
+                injectionNode.getASTType().isAnnotated(Deferred.class) &&
+                injectionNode.getAspect(VariableBuilder.class) instanceof VariableInjectionBuilder;
+    }
+
+    private InjectionNode resolveInjectionNode(InjectionNodeBuilderRepository repository, InjectionSignature injectionSignature, AnalysisContext context) {
         //check type and qualifiers
-        InjectionNodeBuilder typeQualifierBuilder = get(repository.getTypeQualifierBindings(), injectionSignature);
+        InjectionNodeBuilder typeQualifierBuilder = get(repository.getTypeQualifierIndex(), injectionSignature);
 
         if(typeQualifierBuilder != null){
             return typeQualifierBuilder.buildInjectionNode(injectionSignature, context);
@@ -177,17 +206,17 @@ public class InjectionPointFactory {
             return generatedProviderInjectionNodeBuilderProvider.get().buildInjectionNode(injectionSignature, context);
         }
 
+        //generated lazy
+        if(lazyMatcher.matches(injectionSignature.getType())){
+            return generatedLazyInjectionNodeBuilderProvider.get().buildInjectionNode(injectionSignature, context);
+        }
+
         //default case
         return defaultBinding.buildInjectionNode(injectionSignature, context);
     }
 
-    private <T> InjectionNodeBuilder get(Map<Matcher<T>, InjectionNodeBuilder> builderMap, T input){
-        List<InjectionNodeBuilder> builders = new ArrayList<InjectionNodeBuilder>();
-        for (Map.Entry<Matcher<T>, InjectionNodeBuilder> bindingEntry : builderMap.entrySet()) {
-            if (bindingEntry.getKey().matches(input)) {
-                builders.add(bindingEntry.getValue());
-            }
-        }
+    private InjectionNodeBuilder get(InjectionSignatureMatcherIndex<InjectionNodeBuilder> index, InjectionSignature input){
+        List<InjectionNodeBuilder> builders = index.getMatches(input);
         if(builders.size() > 1){
             throw new TransfuseAnalysisException("Multiple types matched on type " + input + ":" + StringUtils.join(builders, ","));
         }
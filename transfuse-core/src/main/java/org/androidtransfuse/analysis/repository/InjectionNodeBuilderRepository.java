@@ -21,6 +21,7 @@ import org.androidtransfuse.adapter.classes.ASTClassFactory;
 import org.androidtransfuse.gen.scopeBuilder.ScopeAspectFactory;
 import org.androidtransfuse.gen.variableBuilder.InjectionNodeBuilder;
 import org.androidtransfuse.model.InjectionSignature;
+import org.androidtransfuse.util.matcher.InjectionSignatureMatcherIndex;
 import org.androidtransfuse.util.matcher.Matcher;
 import org.androidtransfuse.util.matcher.Matchers;
 
@@ -41,6 +42,7 @@ public class InjectionNodeBuilderRepository {
     private final Map<InjectionSignature, ASTType> scoping = new HashMap<InjectionSignature, ASTType>();
     private final Map<ASTType, ASTType> interceptorAnnotationMap = new HashMap<ASTType, ASTType>();
     private final ASTClassFactory astClassFactory;
+    private volatile InjectionSignatureMatcherIndex<InjectionNodeBuilder> typeQualifierIndex = null;
 
     @Inject
     public InjectionNodeBuilderRepository(ASTClassFactory astClassFactory) {
@@ -65,12 +67,27 @@ public class InjectionNodeBuilderRepository {
 
     public void putSignatureMatcher(Matcher<InjectionSignature> matcher, InjectionNodeBuilder variableBuilder) {
         this.typeQualifierBindings.put(matcher, variableBuilder);
+        this.typeQualifierIndex = null;
     }
 
     public Map<Matcher<InjectionSignature>, InjectionNodeBuilder> getTypeQualifierBindings() {
         return typeQualifierBindings;
     }
 
+    /**
+     * Index of the type and qualifier bindings, rebuilt on first use after the bindings change.
+     *
+     * @return index
+     */
+    public InjectionSignatureMatcherIndex<InjectionNodeBuilder> getTypeQualifierIndex() {
+        InjectionSignatureMatcherIndex<InjectionNodeBuilder> index = typeQualifierIndex;
+        if (index == null) {
+            index = new InjectionSignatureMatcherIndex<InjectionNodeBuilder>(typeQualifierBindings);
+            typeQualifierIndex = index;
+        }
+        return index;
+    }
+
     public Map<InjectionSignature, InjectionNodeBuilder> getTypeBindings() {
         return typeBindings;
     }
@@ -130,6 +147,7 @@ public class InjectionNodeBuilderRepository {
 
     public void addRepository(InjectionNodeBuilderRepository repository){
         this.typeQualifierBindings.putAll(repository.getTypeQualifierBindings());
+        this.typeQualifierIndex = null;
         this.typeBindings.putAll(repository.getTypeBindings());
         this.scopeVariableBuilderMap.putAll(repository.getScopeVariableBuilderMap());
         this.scopeAnnotations.putAll(repository.getScopeAnnotations());
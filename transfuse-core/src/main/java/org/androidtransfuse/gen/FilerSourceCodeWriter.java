@@ -22,6 +22,7 @@ import org.androidtransfuse.adapter.PackageClass;
 import javax.annotation.processing.Filer;
 import javax.inject.Inject;
 import javax.tools.JavaFileObject;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.Collection;
@@ -34,12 +35,20 @@ import java.util.HashSet;
  */
 public class FilerSourceCodeWriter extends CodeWriter {
 
+    private static final String JAVA_EXTENSION = ".java";
+
     private final Filer filer;
+    private final GeneratedCodeStatistics statistics;
     private final Collection<OutputStream> openStreams = new HashSet<OutputStream>();
 
-    @Inject
     public FilerSourceCodeWriter(Filer filer) {
+        this(filer, new GeneratedCodeStatistics());
+    }
+
+    @Inject
+    public FilerSourceCodeWriter(Filer filer, GeneratedCodeStatistics statistics) {
         this.filer = filer;
+        this.statistics = statistics;
     }
 
     @Override
@@ -47,7 +56,11 @@ public class FilerSourceCodeWriter extends CodeWriter {
         //generate a source file based on package and filename
         JavaFileObject sourceFile = filer.createSourceFile(toQualifiedClassName(jPackage, fileName));
 
-        OutputStream os = sourceFile.openOutputStream();
+        if (fileName.endsWith(JAVA_EXTENSION)) {
+            statistics.recordFile(jPackage._getClass(fileName.substring(0, fileName.length() - JAVA_EXTENSION.length())));
+        }
+
+        OutputStream os = new LineCountingOutputStream(sourceFile.openOutputStream());
         openStreams.add(os);
 
         return os;
@@ -64,4 +77,31 @@ public class FilerSourceCodeWriter extends CodeWriter {
             openStream.close();
         }
     }
+
+    private final class LineCountingOutputStream extends FilterOutputStream {
+
+        private LineCountingOutputStream(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            if (b == '\n') {
+                statistics.recordLines(1);
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            int count = 0;
+            for (int i = off; i < off + len; i++) {
+                if (b[i] == '\n') {
+                    count++;
+                }
+            }
+            statistics.recordLines(count);
+        }
+    }
 }
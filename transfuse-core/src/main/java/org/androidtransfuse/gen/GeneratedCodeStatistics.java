@@ -0,0 +1,93 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen;
+
+import com.sun.codemodel.JDefinedClass;
+
+import javax.inject.Singleton;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Running totals of the generated source files, classes, methods (including constructors) and lines, used to compare
+ * the size of the generated code across generation modes.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class GeneratedCodeStatistics {
+
+    private final AtomicLong files = new AtomicLong();
+    private final AtomicLong classes = new AtomicLong();
+    private final AtomicLong methods = new AtomicLong();
+    private final AtomicLong lines = new AtomicLong();
+
+    /**
+     * Records a generated top level class, along with its nested classes.
+     *
+     * @param definedClass generated class
+     */
+    public void recordFile(JDefinedClass definedClass) {
+        files.incrementAndGet();
+        if (definedClass != null) {
+            recordClass(definedClass);
+        }
+    }
+
+    private void recordClass(JDefinedClass definedClass) {
+        classes.incrementAndGet();
+        methods.addAndGet(definedClass.methods().size());
+        for (Iterator<?> constructors = definedClass.constructors(); constructors.hasNext(); constructors.next()) {
+            methods.incrementAndGet();
+        }
+        for (Iterator<JDefinedClass> nested = definedClass.classes(); nested.hasNext(); ) {
+            recordClass(nested.next());
+        }
+    }
+
+    public void recordLines(long count) {
+        lines.addAndGet(count);
+    }
+
+    public long getFiles() {
+        return files.get();
+    }
+
+    public long getClasses() {
+        return classes.get();
+    }
+
+    public long getMethods() {
+        return methods.get();
+    }
+
+    public long getLines() {
+        return lines.get();
+    }
+
+    public void reset() {
+        files.set(0);
+        classes.set(0);
+        methods.set(0);
+        lines.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "Generated sources: " + getFiles() + ", classes: " + getClasses() + ", methods: " + getMethods() +
+                ", lines: " + getLines();
+    }
+}
@@ -0,0 +1,250 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.TransfuseAnalysisException;
+import org.androidtransfuse.analysis.astAnalyzer.AOPProxyAspect;
+import org.androidtransfuse.analysis.astAnalyzer.ASTInjectionAspect;
+import org.androidtransfuse.analysis.astAnalyzer.ScopeAspect;
+import org.androidtransfuse.analysis.astAnalyzer.VirtualProxyAspect;
+import org.androidtransfuse.gen.scopeBuilder.SingletonScopeBuilder;
+import org.androidtransfuse.gen.variableBuilder.CustomScopeVariableBuilder;
+import org.androidtransfuse.gen.variableBuilder.VariableBuilder;
+import org.androidtransfuse.gen.variableBuilder.VariableInjectionBuilder;
+import org.androidtransfuse.model.FieldInjectionPoint;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.model.InjectionSignature;
+import org.androidtransfuse.model.MethodInjectionPoint;
+import org.androidtransfuse.model.TypedExpression;
+import org.androidtransfuse.scope.Scopes;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates a single shared injector per injection signature:
+ *
+ * [source,java]
+ * --
+ * public final class Target$Injector {
+ *     public static Target inject(Scopes scopes){
+ *         Dependency dependency = Dependency$Injector.inject(scopes);
+ *         Target target = new Target(dependency);
+ *         ...
+ *         return target;
+ *     }
+ * }
+ * --
+ *
+ * Only injection nodes whose entire dependency graph may be built from the Scopes alone are shareable.  Nodes
+ * depending upon the enclosing component (Context, Extras, Views, etc), cyclic graphs requiring virtual proxies, AOP
+ * proxies and field assigned nodes are left to be built inline.
+ *
+ * @author John Ericksen
+ */
+public class InjectorGenerator {
+
+    public static final String INJECT_METHOD = "inject";
+    private static final String INJECTOR_EXTENSION = "$Injector";
+
+    private final InjectorCache cache;
+    private final InjectionFragmentGenerator injectionFragmentGenerator;
+    private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer namer;
+
+    @Singleton
+    public static class InjectorCache {
+        private final Map<InjectionSignature, JDefinedClass> injectors = new HashMap<InjectionSignature, JDefinedClass>();
+        private final Map<JDefinedClass, InjectionSignature> injectorSignatures = new HashMap<JDefinedClass, InjectionSignature>();
+        private final AtomicLong references = new AtomicLong();
+
+        public JDefinedClass getCached(InjectionNode injectionNode, InjectorGenerator injectorGenerator) {
+            references.incrementAndGet();
+            JDefinedClass injectorClass;
+            synchronized (this) {
+                injectorClass = injectors.get(injectionNode.getTypeSignature());
+                if (injectorClass != null) {
+                    return injectorClass;
+                }
+                injectorClass = injectorGenerator.innerGenerateInjector(injectionNode);
+                injectors.put(injectionNode.getTypeSignature(), injectorClass);
+                injectorSignatures.put(injectorClass, injectionNode.getTypeSignature());
+            }
+            //filled outside of the lock, as building the graph may generate providers guarded by their own cache.
+            //Referencing classes only require the injector's name, and it is written along with the owning code model.
+            try {
+                injectorGenerator.fillInInjector(injectionNode, injectorClass);
+            } catch (RuntimeException e) {
+                //the failed transaction's code model is discarded along with the injector
+                synchronized (this) {
+                    injectors.remove(injectionNode.getTypeSignature());
+                    injectorSignatures.remove(injectorClass);
+                }
+                throw e;
+            }
+            return injectorClass;
+        }
+
+        public synchronized boolean isInjector(JDefinedClass definedClass, InjectionNode injectionNode) {
+            return injectionNode.getTypeSignature().equals(injectorSignatures.get(definedClass));
+        }
+
+        public synchronized int size() {
+            return injectors.size();
+        }
+
+        /**
+         * Number of generated expressions delegating to a shared injector, each replacing an inlined copy of the
+         * injector's body.
+         *
+         * @return references
+         */
+        public long getReferences() {
+            return references.get();
+        }
+
+        @Override
+        public String toString() {
+            return "Shared injectors: " + size() + ", referenced: " + getReferences();
+        }
+    }
+
+    @Inject
+    public InjectorGenerator(InjectorCache cache,
+                             InjectionFragmentGenerator injectionFragmentGenerator,
+                             ClassGenerationUtil generationUtil,
+                             UniqueVariableNamer namer) {
+        this.cache = cache;
+        this.injectionFragmentGenerator = injectionFragmentGenerator;
+        this.generationUtil = generationUtil;
+        this.namer = namer;
+    }
+
+    public JDefinedClass generateInjector(InjectionNode injectionNode) {
+        return cache.getCached(injectionNode, this);
+    }
+
+    /**
+     * Determines if the given class is the shared injector of the given node, in which case the node must be built
+     * inline.
+     *
+     * @param definedClass  class being generated
+     * @param injectionNode node
+     * @return true if definedClass is the node's injector
+     */
+    public boolean isInjector(JDefinedClass definedClass, InjectionNode injectionNode) {
+        return cache.isInjector(definedClass, injectionNode);
+    }
+
+    /**
+     * Determines if the given node, and every node in its dependency graph, may be built within a shared injector.
+     *
+     * @param injectionNode node
+     * @return shareable
+     */
+    public boolean isShareable(InjectionNode injectionNode) {
+        return isShareable(injectionNode, new IdentityHashMap<InjectionNode, Boolean>());
+    }
+
+    private boolean isShareable(InjectionNode injectionNode, Map<InjectionNode, Boolean> visited) {
+        if (visited.containsKey(injectionNode)) {
+            //a node under evaluation is referenced by its own graph
+            Boolean shareable = visited.get(injectionNode);
+            return shareable != null && shareable;
+        }
+        visited.put(injectionNode, null);
+
+        boolean shareable = isConstructible(injectionNode);
+        if (shareable) {
+            for (InjectionNode dependency : getDependencies(injectionNode)) {
+                if (!isScopeOnly(dependency) && !isShareable(dependency, visited)) {
+                    shareable = false;
+                    break;
+                }
+            }
+        }
+
+        visited.put(injectionNode, shareable);
+        return shareable;
+    }
+
+    private boolean isConstructible(InjectionNode injectionNode) {
+        VirtualProxyAspect proxyAspect = injectionNode.getAspect(VirtualProxyAspect.class);
+        ASTInjectionAspect injectionAspect = injectionNode.getAspect(ASTInjectionAspect.class);
+        return (proxyAspect == null || !proxyAspect.isProxyRequired()) &&
+                !injectionNode.containsAspect(AOPProxyAspect.class) &&
+                !injectionNode.containsAspect(ScopeAspect.class) &&
+                injectionNode.getAspect(VariableBuilder.class) instanceof VariableInjectionBuilder &&
+                injectionAspect != null &&
+                injectionAspect.getConstructorInjectionPoint() != null &&
+                injectionAspect.getAssignmentType() == ASTInjectionAspect.InjectionAssignmentType.LOCAL;
+    }
+
+    private boolean isScopeOnly(InjectionNode injectionNode) {
+        //scoped instances looked up exclusively through the Scopes
+        ScopeAspect scopeAspect = injectionNode.getAspect(ScopeAspect.class);
+        return scopeAspect != null &&
+                (scopeAspect.getScopeBuilder() instanceof SingletonScopeBuilder ||
+                        scopeAspect.getScopeBuilder() instanceof CustomScopeVariableBuilder);
+    }
+
+    private List<InjectionNode> getDependencies(InjectionNode injectionNode) {
+        ASTInjectionAspect injectionAspect = injectionNode.getAspect(ASTInjectionAspect.class);
+        List<InjectionNode> dependencies = new ArrayList<InjectionNode>();
+        dependencies.addAll(injectionAspect.getConstructorInjectionPoint().getInjectionNodes());
+        for (ASTInjectionAspect.InjectionGroup injectionGroup : injectionAspect.getGroups()) {
+            for (FieldInjectionPoint fieldInjectionPoint : injectionGroup.getFieldInjectionPoints()) {
+                dependencies.add(fieldInjectionPoint.getInjectionNode());
+            }
+            for (MethodInjectionPoint methodInjectionPoint : injectionGroup.getMethodInjectionPoints()) {
+                dependencies.addAll(methodInjectionPoint.getInjectionNodes());
+            }
+        }
+        return dependencies;
+    }
+
+    protected JDefinedClass innerGenerateInjector(InjectionNode injectionNode) {
+        try {
+            JDefinedClass injectorClass = generationUtil.defineClass(injectionNode.getASTType().getPackageClass().append(INJECTOR_EXTENSION), true);
+            injectorClass.mods().setFinal(true);
+            injectorClass.constructor(JMod.PRIVATE);
+
+            return injectorClass;
+        } catch (JClassAlreadyExistsException e) {
+            throw new TransfuseAnalysisException("Error while creating injector", e);
+        }
+    }
+
+    protected void fillInInjector(InjectionNode injectionNode, JDefinedClass injectorClass) {
+        try {
+            JMethod injectMethod = injectorClass.method(JMod.PUBLIC | JMod.STATIC, generationUtil.ref(injectionNode.getASTType()), INJECT_METHOD);
+            JVar scopesParam = injectMethod.param(Scopes.class, namer.generateName(Scopes.class));
+
+            JBlock injectMethodBody = injectMethod.body();
+
+            Map<InjectionNode, TypedExpression> expressionMap = injectionFragmentGenerator.buildFragment(injectMethodBody, injectorClass, injectionNode, scopesParam);
+
+            injectMethodBody._return(expressionMap.get(injectionNode).getExpression());
+        } catch (ClassNotFoundException e) {
+            throw new TransfuseAnalysisException("Error while creating injector", e);
+        } catch (JClassAlreadyExistsException e) {
+            throw new TransfuseAnalysisException("Error while creating injector", e);
+        }
+    }
+}
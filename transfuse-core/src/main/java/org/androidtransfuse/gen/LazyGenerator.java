@@ -0,0 +1,136 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.TransfuseAnalysisException;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.model.InjectionSignature;
+import org.androidtransfuse.scope.Scopes;
+import org.androidtransfuse.util.Lazy;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import javax.inject.Singleton;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Generates a memoizing Lazy implementation per injection signature, building its instance through the signature's
+ * generated Provider upon first use:
+ *
+ * [source,java]
+ * --
+ * public class Target$Lazy implements Lazy<Target> {
+ *     private Provider<Target> provider;
+ *     private volatile Target instance;
+ *
+ *     public Target$Lazy(Scopes scopes){
+ *         provider = new Target$Provider(scopes);
+ *     }
+ *
+ *     public Target get(){
+ *         Target target = instance;
+ *         if(target == null){
+ *             target = initialize();
+ *         }
+ *         return target;
+ *     }
+ *
+ *     private synchronized Target initialize(){
+ *         if(instance == null){
+ *             instance = provider.get();
+ *             provider = null;
+ *         }
+ *         return instance;
+ *     }
+ * }
+ * --
+ *
+ * @author John Ericksen
+ */
+public class LazyGenerator {
+
+    private static final String LAZY_EXTENSION = "$Lazy";
+    private static final String INITIALIZE_METHOD = "initialize";
+    private static final String PROVIDER_GET_METHOD = "get";
+
+    private final LazyCache cache;
+    private final ProviderGenerator providerGenerator;
+    private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer namer;
+
+    @Singleton
+    public static class LazyCache {
+        private final Map<InjectionSignature, JDefinedClass> lazyClasses = new HashMap<InjectionSignature, JDefinedClass>();
+
+        public synchronized JDefinedClass getCached(InjectionNode injectionNode, JDefinedClass providerClass, LazyGenerator lazyGenerator) {
+            if (!lazyClasses.containsKey(injectionNode.getTypeSignature())) {
+                lazyClasses.put(injectionNode.getTypeSignature(), lazyGenerator.innerGenerateLazy(injectionNode, providerClass));
+            }
+            return lazyClasses.get(injectionNode.getTypeSignature());
+        }
+    }
+
+    @Inject
+    public LazyGenerator(LazyCache cache, ProviderGenerator providerGenerator, ClassGenerationUtil generationUtil, UniqueVariableNamer namer) {
+        this.cache = cache;
+        this.providerGenerator = providerGenerator;
+        this.generationUtil = generationUtil;
+        this.namer = namer;
+    }
+
+    public JDefinedClass generateLazy(InjectionNode injectionNode) {
+        //provider generated ahead of the lazy cache lock, as providers may themselves generate lazy classes.
+        JDefinedClass providerClass = providerGenerator.generateProvider(injectionNode, false);
+
+        return cache.getCached(injectionNode, providerClass, this);
+    }
+
+    protected JDefinedClass innerGenerateLazy(InjectionNode injectionNode, JDefinedClass providerClass) {
+        try {
+            JClass injectionNodeClassRef = generationUtil.ref(injectionNode.getASTType());
+
+            JDefinedClass lazyClass = generationUtil.defineClass(injectionNode.getASTType().getPackageClass().append(LAZY_EXTENSION), true);
+
+            lazyClass._implements(generationUtil.ref(Lazy.class).narrow(injectionNodeClassRef));
+
+            JFieldVar providerField = lazyClass.field(JMod.PRIVATE, generationUtil.ref(Provider.class).narrow(injectionNodeClassRef), namer.generateName(Provider.class));
+            JFieldVar instanceField = lazyClass.field(JMod.PRIVATE | JMod.VOLATILE, injectionNodeClassRef, namer.generateName(injectionNode));
+
+            JMethod constructor = lazyClass.constructor(JMod.PUBLIC);
+            JVar scopesParam = constructor.param(Scopes.class, namer.generateName(Scopes.class));
+            constructor.body().assign(providerField, JExpr._new(providerClass).arg(scopesParam));
+
+            //initialize() builds the instance under lock, releasing the provider (and the scopes it holds) once built
+            JMethod initializeMethod = lazyClass.method(JMod.PRIVATE | JMod.SYNCHRONIZED, injectionNodeClassRef, INITIALIZE_METHOD);
+            JBlock uninitializedBlock = initializeMethod.body()._if(instanceField.eq(JExpr._null()))._then();
+            uninitializedBlock.assign(instanceField, providerField.invoke(PROVIDER_GET_METHOD));
+            uninitializedBlock.assign(providerField, JExpr._null());
+            initializeMethod.body()._return(instanceField);
+
+            //get() only locks until the instance has been published
+            JMethod getMethod = lazyClass.method(JMod.PUBLIC, injectionNodeClassRef, Lazy.GET_METHOD);
+            JVar instanceVar = getMethod.body().decl(injectionNodeClassRef, namer.generateName(injectionNode), instanceField);
+            getMethod.body()._if(instanceVar.eq(JExpr._null()))._then().assign(instanceVar, JExpr.invoke(initializeMethod));
+            getMethod.body()._return(instanceVar);
+
+            return lazyClass;
+        } catch (JClassAlreadyExistsException e) {
+            throw new TransfuseAnalysisException("Error while creating lazy", e);
+        }
+    }
+}
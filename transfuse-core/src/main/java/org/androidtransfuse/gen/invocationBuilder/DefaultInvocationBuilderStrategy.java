@@ -27,12 +27,12 @@ public class DefaultInvocationBuilderStrategy implements InvocationBuilderStrate
 
     private final Provider<PublicInjectionBuilder> publicProvider;
     private final Provider<ProtectedInjectionBuilder> protectedProvider;
-    private final Provider<PrivateInjectionBuilder> privateProvider;
+    private final Provider<PrivateAccessorInjectionBuilder> privateProvider;
 
     @Inject
     public DefaultInvocationBuilderStrategy(Provider<PublicInjectionBuilder> publicProvider,
                                             Provider<ProtectedInjectionBuilder> protectedProvider,
-                                            Provider<PrivateInjectionBuilder> privateProvider) {
+                                            Provider<PrivateAccessorInjectionBuilder> privateProvider) {
         this.publicProvider = publicProvider;
         this.protectedProvider = protectedProvider;
         this.privateProvider = privateProvider;
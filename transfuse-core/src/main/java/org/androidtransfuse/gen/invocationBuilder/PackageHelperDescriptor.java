@@ -30,6 +30,10 @@ public class PackageHelperDescriptor {
     private final Map<FieldReference, String> fieldSetMapping = new HashMap<FieldReference, String>();
     private final Map<FieldReference, String> fieldGetMapping = new HashMap<FieldReference, String>();
     private final Map<MethodCall, String> methodCallMapping = new HashMap<MethodCall, String>();
+    private final Map<ConstructorCall, String> privateConstructorMapping = new HashMap<ConstructorCall, String>();
+    private final Map<FieldReference, String> privateFieldSetMapping = new HashMap<FieldReference, String>();
+    private final Map<FieldReference, String> privateFieldGetMapping = new HashMap<FieldReference, String>();
+    private final Map<MethodCall, String> privateMethodCallMapping = new HashMap<MethodCall, String>();
 
     public PackageHelperDescriptor(PackageClass name) {
         this.name = name;
@@ -54,4 +58,20 @@ public class PackageHelperDescriptor {
     public Map<MethodCall, String> getMethodCallMapping() {
         return methodCallMapping;
     }
+
+    public Map<ConstructorCall, String> getPrivateConstructorMapping() {
+        return privateConstructorMapping;
+    }
+
+    public Map<FieldReference, String> getPrivateFieldSetMapping() {
+        return privateFieldSetMapping;
+    }
+
+    public Map<FieldReference, String> getPrivateFieldGetMapping() {
+        return privateFieldGetMapping;
+    }
+
+    public Map<MethodCall, String> getPrivateMethodCallMapping() {
+        return privateMethodCallMapping;
+    }
 }
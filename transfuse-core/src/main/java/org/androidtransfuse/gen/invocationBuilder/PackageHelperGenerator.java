@@ -22,6 +22,10 @@ import org.androidtransfuse.adapter.ASTVoidType;
 import org.androidtransfuse.adapter.PackageClass;
 import org.androidtransfuse.gen.ClassGenerationUtil;
 import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.androidtransfuse.util.ConstructorHandle;
+import org.androidtransfuse.util.FieldHandle;
+import org.androidtransfuse.util.InjectionUtil;
+import org.androidtransfuse.util.MethodHandle;
 
 import javax.inject.Inject;
 import java.util.List;
@@ -32,6 +36,8 @@ import java.util.Map;
  */
 public class PackageHelperGenerator {
 
+    private static final String HANDLE_FIELD = "HANDLE";
+
     private final PackageHelperRepository repository;
     private final JCodeModel codeModel;
     private final UniqueVariableNamer namer;
@@ -80,6 +86,26 @@ public class PackageHelperGenerator {
             for (Map.Entry<FieldReference, String> fieldSetEntry : packageHelper.getFieldSetMapping().entrySet()) {
                 buildFieldSet(fieldSetEntry.getKey(), fieldSetEntry.getValue(), packageHelperClass);
             }
+
+            //private constructor
+            for (Map.Entry<ConstructorCall, String> constructorEntry : packageHelper.getPrivateConstructorMapping().entrySet()) {
+                buildPrivateConstructorCall(constructorEntry.getKey(), constructorEntry.getValue(), packageHelperClass);
+            }
+
+            //private method
+            for (Map.Entry<MethodCall, String> methodCallEntry : packageHelper.getPrivateMethodCallMapping().entrySet()) {
+                buildPrivateMethodCall(methodCallEntry.getKey(), methodCallEntry.getValue(), packageHelperClass);
+            }
+
+            //private field get
+            for (Map.Entry<FieldReference, String> fieldGetEntry : packageHelper.getPrivateFieldGetMapping().entrySet()) {
+                buildPrivateFieldGet(fieldGetEntry.getKey(), fieldGetEntry.getValue(), packageHelperClass);
+            }
+
+            //private field set
+            for (Map.Entry<FieldReference, String> fieldSetEntry : packageHelper.getPrivateFieldSetMapping().entrySet()) {
+                buildPrivateFieldSet(fieldSetEntry.getKey(), fieldSetEntry.getValue(), packageHelperClass);
+            }
         }
     }
 
@@ -148,6 +174,125 @@ public class PackageHelperGenerator {
         body.assign(containerParam.ref(fieldReference.getName()), inputParam);
     }
 
+    private void buildPrivateConstructorCall(ConstructorCall constructorCall, String accessorMethodName, JDefinedClass helperClass) {
+        JClass returnTypeRef = generationUtil.ref(constructorCall.getType());
+        JClass handleType = generationUtil.ref(ConstructorHandle.class).narrow(returnTypeRef);
+
+        //ConstructorHandle<Type> handle = InjectionUtil.constructorHandle(Type.class, Param.class...);
+        JInvocation handleLookup = generationUtil.ref(InjectionUtil.class).staticInvoke(InjectionUtil.CONSTRUCTOR_HANDLE_METHOD)
+                .arg(returnTypeRef.dotclass());
+        for (ASTType paramType : constructorCall.getParamTypes()) {
+            handleLookup.arg(generationUtil.ref(paramType).dotclass());
+        }
+        JFieldRef handle = buildHandle(helperClass, handleType, handleLookup);
+
+        JMethod accessorMethod = helperClass.method(JMod.PUBLIC | JMod.STATIC, returnTypeRef, accessorMethodName);
+        //arguments are passed as an explicit array, avoiding varargs ambiguity with a single array parameter
+        JArray argArray = JExpr.newArray(generationUtil.ref(Object.class));
+        for (ASTType paramType : constructorCall.getParamTypes()) {
+            JClass paramRef = generationUtil.ref(paramType);
+            JVar param = accessorMethod.param(paramRef, namer.generateName(paramRef));
+            argArray.add(param);
+        }
+
+        accessorMethod.body()._return(handle.invoke(ConstructorHandle.NEW_INSTANCE_METHOD).arg(argArray));
+    }
+
+    private void buildPrivateMethodCall(MethodCall methodCall, String accessorMethodName, JDefinedClass helperClass) {
+        ASTType returnType = methodCall.getReturnType();
+        JClass targetRef = generationUtil.ref(methodCall.getType());
+
+        //MethodHandle handle = InjectionUtil.methodHandle(Type.class, "method", Param.class...);
+        JInvocation handleLookup = generationUtil.ref(InjectionUtil.class).staticInvoke(InjectionUtil.METHOD_HANDLE_METHOD)
+                .arg(targetRef.dotclass())
+                .arg(methodCall.getMethodName());
+        for (ASTType paramType : methodCall.getParamTypes()) {
+            handleLookup.arg(generationUtil.ref(paramType).dotclass());
+        }
+        JFieldRef handle = buildHandle(helperClass, generationUtil.ref(MethodHandle.class), handleLookup);
+
+        boolean isVoid = returnType.equals(ASTVoidType.VOID);
+        JType returnTypeRef = isVoid ? codeModel.VOID : generationUtil.ref(returnType);
+        JMethod accessorMethod = helperClass.method(JMod.PUBLIC | JMod.STATIC, returnTypeRef, accessorMethodName);
+
+        JVar targetParam = accessorMethod.param(targetRef, namer.generateName(targetRef));
+        JArray argArray = JExpr.newArray(generationUtil.ref(Object.class));
+        for (ASTType argType : methodCall.getParamTypes()) {
+            JClass ref = generationUtil.ref(argType);
+            JVar param = accessorMethod.param(ref, namer.generateName(ref));
+            argArray.add(param);
+        }
+
+        JInvocation invocation = handle.invoke(MethodHandle.INVOKE_METHOD)
+                .arg(isVoid ? generationUtil.ref(Void.class).dotclass() : generationUtil.ref(returnType).dotclass())
+                .arg(targetParam)
+                .arg(argArray);
+
+        if (isVoid) {
+            accessorMethod.body().add(invocation);
+        } else {
+            accessorMethod.body()._return(invocation);
+        }
+    }
+
+    private void buildPrivateFieldGet(FieldReference fieldReference, String accessorMethodName, JDefinedClass helperClass) {
+        JClass returnTypeRef = generationUtil.ref(fieldReference.getReturnType());
+        JClass variableTypeRef = generationUtil.ref(fieldReference.getVariableType());
+
+        JFieldRef handle = buildFieldHandle(helperClass, variableTypeRef, fieldReference.getName());
+
+        JMethod accessorMethod = helperClass.method(JMod.PUBLIC | JMod.STATIC, returnTypeRef, accessorMethodName);
+        JVar variableParam = accessorMethod.param(variableTypeRef, namer.generateName(variableTypeRef));
+
+        accessorMethod.body()._return(handle.invoke(FieldHandle.GET_METHOD)
+                .arg(returnTypeRef.dotclass())
+                .arg(variableParam));
+    }
+
+    private void buildPrivateFieldSet(FieldReference fieldReference, String accessorMethodName, JDefinedClass helperClass) {
+        JClass containerType = generationUtil.ref(fieldReference.getVariableType());
+
+        JFieldRef handle = buildFieldHandle(helperClass, containerType, fieldReference.getName());
+
+        JMethod accessorMethod = helperClass.method(JMod.PUBLIC | JMod.STATIC, codeModel.VOID, accessorMethodName);
+        JVar containerParam = accessorMethod.param(containerType, namer.generateName(containerType));
+
+        JClass inputType = generationUtil.ref(fieldReference.getReturnType());
+        JVar inputParam = accessorMethod.param(inputType, namer.generateName(inputType));
+
+        accessorMethod.body().add(handle.invoke(FieldHandle.SET_METHOD).arg(containerParam).arg(inputParam));
+    }
+
+    private JFieldRef buildFieldHandle(JDefinedClass helperClass, JClass containerType, String name) {
+        //FieldHandle handle = InjectionUtil.fieldHandle(Type.class, "field");
+        return buildHandle(helperClass, generationUtil.ref(FieldHandle.class),
+                generationUtil.ref(InjectionUtil.class).staticInvoke(InjectionUtil.FIELD_HANDLE_METHOD)
+                        .arg(containerType.dotclass())
+                        .arg(name));
+    }
+
+    /**
+     * Each handle is held by its own nested holder class, so it is looked up on first use of its accessor.  A failed
+     * lookup then only breaks that accessor, rather than failing the helper's static initializer and with it every
+     * other accessor:
+     *
+     * [source,java]
+     * --
+     * private static final class FieldHandle$0 {
+     *     private static final FieldHandle HANDLE = InjectionUtil.fieldHandle(Type.class, "field");
+     * }
+     * --
+     */
+    private JFieldRef buildHandle(JDefinedClass helperClass, JClass handleType, JExpression handleLookup) {
+        try {
+            JDefinedClass holderClass = helperClass._class(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, namer.generateClassName(handleType.erasure()));
+            JFieldVar handle = holderClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, handleType, HANDLE_FIELD, handleLookup);
+            return holderClass.staticRef(handle);
+        } catch (JClassAlreadyExistsException e) {
+            throw new TransfuseAnalysisException("Unable to create handle holder", e);
+        }
+    }
+
     private JDefinedClass buildPackageHelper(PackageClass helperClassName) {
         try {
             return generationUtil.defineClass(helperClassName);
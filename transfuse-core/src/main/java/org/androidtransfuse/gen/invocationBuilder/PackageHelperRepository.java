@@ -36,24 +36,65 @@ public class PackageHelperRepository {
     private final Map<PackageClass, PackageHelperDescriptor> packageHelpers = new HashMap<PackageClass, PackageHelperDescriptor>();
 
     public synchronized ProtectedAccessorMethod getConstructorCall(ConstructorInjectionPoint constructorInjectionPoint) {
+        PackageHelperDescriptor helperClass = getPackageHelper(constructorInjectionPoint.getContainingType().getPackageClass());
+        return getConstructorCall(constructorInjectionPoint, helperClass, helperClass.getConstructorMapping(), "$INIT");
+    }
+
+    public synchronized ProtectedAccessorMethod getMethodCall(ASTType returnType, ASTType targetExpressionsType, String methodName, List<ASTType> argTypes) {
+        PackageHelperDescriptor helperClass = getPackageHelper(targetExpressionsType.getPackageClass());
+        return getMethodCall(returnType, targetExpressionsType, methodName, argTypes, helperClass, helperClass.getMethodCallMapping(), "$M$");
+    }
+
+    public synchronized ProtectedAccessorMethod getFieldGetter(ASTType returnType, ASTType variableType, String name) {
+        PackageHelperDescriptor helperClass = getPackageHelper(variableType.getPackageClass());
+        return getFieldGetter(returnType, variableType, name, helperClass, helperClass.getFieldGetMapping(), "$FG$");
+    }
+
+    public synchronized ProtectedAccessorMethod getFieldSetter(FieldInjectionPoint fieldInjectionPoint) {
+        PackageHelperDescriptor helperClass = getPackageHelper(fieldInjectionPoint.getContainingType().getPackageClass());
+        return getFieldSetter(fieldInjectionPoint, helperClass, helperClass.getFieldSetMapping(), "$FS$");
+    }
+
+    /**
+     * Private members are accessed through package helper methods backed by reflective handles which are resolved once,
+     * on the first call of each helper method.
+     */
+    public synchronized ProtectedAccessorMethod getPrivateConstructorCall(ConstructorInjectionPoint constructorInjectionPoint) {
+        PackageHelperDescriptor helperClass = getPackageHelper(constructorInjectionPoint.getContainingType().getPackageClass());
+        return getConstructorCall(constructorInjectionPoint, helperClass, helperClass.getPrivateConstructorMapping(), "$PINIT");
+    }
+
+    public synchronized ProtectedAccessorMethod getPrivateMethodCall(ASTType returnType, ASTType targetExpressionsType, String methodName, List<ASTType> argTypes) {
+        PackageHelperDescriptor helperClass = getPackageHelper(targetExpressionsType.getPackageClass());
+        return getMethodCall(returnType, targetExpressionsType, methodName, argTypes, helperClass, helperClass.getPrivateMethodCallMapping(), "$PM$");
+    }
+
+    public synchronized ProtectedAccessorMethod getPrivateFieldGetter(ASTType returnType, ASTType variableType, String name) {
+        PackageHelperDescriptor helperClass = getPackageHelper(variableType.getPackageClass());
+        return getFieldGetter(returnType, variableType, name, helperClass, helperClass.getPrivateFieldGetMapping(), "$PFG$");
+    }
+
+    public synchronized ProtectedAccessorMethod getPrivateFieldSetter(FieldInjectionPoint fieldInjectionPoint) {
+        PackageHelperDescriptor helperClass = getPackageHelper(fieldInjectionPoint.getContainingType().getPackageClass());
+        return getFieldSetter(fieldInjectionPoint, helperClass, helperClass.getPrivateFieldSetMapping(), "$PFS$");
+    }
+
+    private ProtectedAccessorMethod getConstructorCall(ConstructorInjectionPoint constructorInjectionPoint, PackageHelperDescriptor helperClass, Map<ConstructorCall, String> mapping, String infix) {
         List<ASTType> parameterTypes = new ArrayList<ASTType>();
         for (InjectionNode injectionNode : constructorInjectionPoint.getInjectionNodes()){
             parameterTypes.add(injectionNode.getASTType());
         }
         ConstructorCall constructorCall = new ConstructorCall(constructorInjectionPoint.getContainingType(), parameterTypes);
 
-        PackageClass containedPackageClass = constructorInjectionPoint.getContainingType().getPackageClass();
-        PackageHelperDescriptor helperClass = getPackageHelper(containedPackageClass);
-
-        if (!helperClass.getConstructorMapping().containsKey(constructorCall)) {
-            String helperMethod = PRE_METHOD + containedPackageClass.getClassName() + "$INIT";
-            helperClass.getConstructorMapping().put(constructorCall, helperMethod);
+        if (!mapping.containsKey(constructorCall)) {
+            String helperMethod = PRE_METHOD + constructorInjectionPoint.getContainingType().getPackageClass().getClassName() + infix;
+            mapping.put(constructorCall, helperMethod);
         }
 
-        return new ProtectedAccessorMethod(helperClass.getName(), helperClass.getConstructorMapping().get(constructorCall));
+        return new ProtectedAccessorMethod(helperClass.getName(), mapping.get(constructorCall));
     }
 
-    public synchronized ProtectedAccessorMethod getMethodCall(ASTType returnType, ASTType targetExpressionsType, String methodName, List<ASTType> argTypes) {
+    private ProtectedAccessorMethod getMethodCall(ASTType returnType, ASTType targetExpressionsType, String methodName, List<ASTType> argTypes, PackageHelperDescriptor helperClass, Map<MethodCall, String> mapping, String infix) {
 
         List<ASTType> paramTypes = new ArrayList<ASTType>();
         for (ASTType argType : argTypes) {
@@ -62,44 +103,34 @@ public class PackageHelperRepository {
 
         MethodCall methodSignature = new MethodCall(targetExpressionsType, returnType, methodName, paramTypes);
 
-        PackageClass containedPackageClass = targetExpressionsType.getPackageClass();
-        PackageHelperDescriptor helperClass = getPackageHelper(containedPackageClass);
-
-        if (!helperClass.getMethodCallMapping().containsKey(methodSignature)) {
-            String accessorMethod = PRE_METHOD + containedPackageClass.getClassName() + "$M$" + methodName;
-            helperClass.getMethodCallMapping().put(methodSignature, accessorMethod);
+        if (!mapping.containsKey(methodSignature)) {
+            String accessorMethod = PRE_METHOD + targetExpressionsType.getPackageClass().getClassName() + infix + methodName;
+            mapping.put(methodSignature, accessorMethod);
         }
 
-        return new ProtectedAccessorMethod(helperClass.getName(), helperClass.getMethodCallMapping().get(methodSignature));
+        return new ProtectedAccessorMethod(helperClass.getName(), mapping.get(methodSignature));
     }
 
-    public synchronized ProtectedAccessorMethod getFieldGetter(ASTType returnType, ASTType variableType, String name) {
+    private ProtectedAccessorMethod getFieldGetter(ASTType returnType, ASTType variableType, String name, PackageHelperDescriptor helperClass, Map<FieldReference, String> mapping, String infix) {
         FieldReference fieldReference = new FieldReference(returnType, variableType, name);
 
-        PackageClass containedPackageClass = variableType.getPackageClass();
-        PackageHelperDescriptor helperClass = getPackageHelper(containedPackageClass);
-
-        if (!helperClass.getFieldGetMapping().containsKey(fieldReference)) {
-            String accessorMethod = PRE_METHOD + containedPackageClass.getClassName() + "$FG$" + name;
-            helperClass.getFieldGetMapping().put(fieldReference, accessorMethod);
+        if (!mapping.containsKey(fieldReference)) {
+            String accessorMethod = PRE_METHOD + variableType.getPackageClass().getClassName() + infix + name;
+            mapping.put(fieldReference, accessorMethod);
         }
 
-        return new ProtectedAccessorMethod(helperClass.getName(), helperClass.getFieldGetMapping().get(fieldReference));
+        return new ProtectedAccessorMethod(helperClass.getName(), mapping.get(fieldReference));
     }
 
-
-    public synchronized ProtectedAccessorMethod getFieldSetter(FieldInjectionPoint fieldInjectionPoint) {
+    private ProtectedAccessorMethod getFieldSetter(FieldInjectionPoint fieldInjectionPoint, PackageHelperDescriptor helperClass, Map<FieldReference, String> mapping, String infix) {
         FieldReference fieldReference = new FieldReference(fieldInjectionPoint.getInjectionNode().getASTType(), fieldInjectionPoint.getContainingType(), fieldInjectionPoint.getName());
 
-        PackageClass containedPackageClass = fieldInjectionPoint.getContainingType().getPackageClass();
-        PackageHelperDescriptor helperClass = getPackageHelper(containedPackageClass);
-
-        if (!helperClass.getFieldSetMapping().containsKey(fieldReference)) {
-            String accessorMethod = PRE_METHOD + containedPackageClass.getClassName().replace('.', '$') + "$FS$" + fieldInjectionPoint.getName();
-            helperClass.getFieldSetMapping().put(fieldReference, accessorMethod);
+        if (!mapping.containsKey(fieldReference)) {
+            String accessorMethod = PRE_METHOD + fieldInjectionPoint.getContainingType().getPackageClass().getClassName().replace('.', '$') + infix + fieldInjectionPoint.getName();
+            mapping.put(fieldReference, accessorMethod);
         }
 
-        return new ProtectedAccessorMethod(helperClass.getName(), helperClass.getFieldSetMapping().get(fieldReference));
+        return new ProtectedAccessorMethod(helperClass.getName(), mapping.get(fieldReference));
     }
 
     protected Collection<PackageHelperDescriptor> getPackageHelpers() {
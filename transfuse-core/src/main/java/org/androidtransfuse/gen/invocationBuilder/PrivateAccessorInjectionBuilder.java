@@ -0,0 +1,111 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.invocationBuilder;
+
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JInvocation;
+import com.sun.codemodel.JStatement;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.model.ConstructorInjectionPoint;
+import org.androidtransfuse.model.FieldInjectionPoint;
+import org.androidtransfuse.model.TypedExpression;
+
+import javax.inject.Inject;
+import java.util.List;
+
+/**
+ * Injection Builder for building privately scoped elements through generated package helper accessors.  Each accessor
+ * is backed by a reflective handle resolved once, during the helper's class initialization, so the per-injection cost
+ * is a plain static call rather than a member lookup and accessibility toggle through `InjectionUtil`.
+ * <p/>
+ * Helpers are only generated into the packages of types from the current compilation.  Private members of library
+ * types, such as the private fields of a library super class, are accessed through the reflective
+ * PrivateInjectionBuilder instead.
+ *
+ * @author John Ericksen
+ */
+public class PrivateAccessorInjectionBuilder implements ModifierInjectionBuilder {
+
+    private final PackageHelperRepository packageHelperRepository;
+    private final ClassGenerationUtil generationUtil;
+    private final TypeInvocationHelper invocationHelper;
+    private final SourceTypeRegistry sourceTypeRegistry;
+    private final PrivateInjectionBuilder reflectionInjectionBuilder;
+
+    @Inject
+    public PrivateAccessorInjectionBuilder(PackageHelperRepository packageHelperRepository,
+                                           ClassGenerationUtil generationUtil,
+                                           TypeInvocationHelper invocationHelper,
+                                           SourceTypeRegistry sourceTypeRegistry,
+                                           PrivateInjectionBuilder reflectionInjectionBuilder) {
+        this.packageHelperRepository = packageHelperRepository;
+        this.generationUtil = generationUtil;
+        this.invocationHelper = invocationHelper;
+        this.sourceTypeRegistry = sourceTypeRegistry;
+        this.reflectionInjectionBuilder = reflectionInjectionBuilder;
+    }
+
+    @Override
+    public JExpression buildConstructorCall(ConstructorInjectionPoint constructorInjectionPoint, Iterable<JExpression> parameters, ASTType type) {
+        if (!sourceTypeRegistry.contains(constructorInjectionPoint.getContainingType())) {
+            return reflectionInjectionBuilder.buildConstructorCall(constructorInjectionPoint, parameters, type);
+        }
+
+        ProtectedAccessorMethod accessorMethod = packageHelperRepository.getPrivateConstructorCall(constructorInjectionPoint);
+        JInvocation invocation = accessorMethod.invoke(generationUtil);
+        for (JExpression parameter : parameters) {
+            invocation.arg(parameter);
+        }
+        return invocation;
+    }
+
+    @Override
+    public JInvocation buildMethodCall(ASTType returnType, String methodName, Iterable<JExpression> parameters, List<ASTType> injectionNodeType, ASTType targetExpressionType, JExpression targetExpression) {
+        if (!sourceTypeRegistry.contains(targetExpressionType)) {
+            return reflectionInjectionBuilder.buildMethodCall(returnType, methodName, parameters, injectionNodeType, targetExpressionType, targetExpression);
+        }
+
+        ProtectedAccessorMethod accessorMethod = packageHelperRepository.getPrivateMethodCall(returnType, targetExpressionType, methodName, injectionNodeType);
+        JInvocation invocation = accessorMethod.invoke(generationUtil).arg(targetExpression);
+        for (JExpression parameter : parameters) {
+            invocation.arg(parameter);
+        }
+        return invocation;
+    }
+
+    @Override
+    public JExpression buildFieldGet(ASTType returnType, ASTType variableType, JExpression variable, String name) {
+        if (!sourceTypeRegistry.contains(variableType)) {
+            return reflectionInjectionBuilder.buildFieldGet(returnType, variableType, variable, name);
+        }
+
+        ProtectedAccessorMethod accessorMethod = packageHelperRepository.getPrivateFieldGetter(returnType, variableType, name);
+        return accessorMethod.invoke(generationUtil).arg(variable);
+    }
+
+    @Override
+    public JStatement buildFieldSet(TypedExpression expression, FieldInjectionPoint fieldInjectionPoint, JExpression variable) {
+        if (!sourceTypeRegistry.contains(fieldInjectionPoint.getContainingType())) {
+            return reflectionInjectionBuilder.buildFieldSet(expression, fieldInjectionPoint, variable);
+        }
+
+        ProtectedAccessorMethod accessorMethod = packageHelperRepository.getPrivateFieldSetter(fieldInjectionPoint);
+        return accessorMethod.invoke(generationUtil)
+                .arg(variable)
+                .arg(invocationHelper.coerceType(fieldInjectionPoint.getInjectionNode().getASTType(), expression));
+    }
+}
@@ -28,7 +28,8 @@ import javax.inject.Inject;
 import java.util.List;
 
 /**
- * Injection Builder for building privately scoped elements.
+ * Injection Builder for building privately scoped elements.  Each access performs a reflective lookup through
+ * `InjectionUtil`; see PrivateAccessorInjectionBuilder for the generated accessor equivalent.
  *
  * @author John Ericksen
  */
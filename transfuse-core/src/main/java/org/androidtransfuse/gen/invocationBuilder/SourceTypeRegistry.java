@@ -0,0 +1,67 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.invocationBuilder;
+
+import org.androidtransfuse.adapter.ASTType;
+
+import javax.inject.Singleton;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.ElementFilter;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the types declared by the sources of the current compilation.  Package helpers may only be generated
+ * into the packages of these types; members of library types (compiled classes on the classpath) must be reached
+ * without a helper in the library's package.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class SourceTypeRegistry {
+
+    private final Set<String> sourceTypes = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+
+    /**
+     * Registers the given root elements of a processing round, along with their nested types.
+     *
+     * @param rootElements round root elements
+     */
+    public void register(Set<? extends Element> rootElements) {
+        for (TypeElement typeElement : ElementFilter.typesIn(rootElements)) {
+            register(typeElement);
+        }
+    }
+
+    private void register(TypeElement typeElement) {
+        sourceTypes.add(typeElement.getQualifiedName().toString());
+        for (TypeElement nestedElement : ElementFilter.typesIn(typeElement.getEnclosedElements())) {
+            register(nestedElement);
+        }
+    }
+
+    /**
+     * Determines if the given type is declared by a source of the current compilation.
+     *
+     * @param type type
+     * @return true if the type is part of the current compilation
+     */
+    public boolean contains(ASTType type) {
+        return sourceTypes.contains(type.getPackageClass().getCanonicalName());
+    }
+}
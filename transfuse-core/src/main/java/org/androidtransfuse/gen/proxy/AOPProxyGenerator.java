@@ -39,7 +39,8 @@ import java.util.*;
 public class AOPProxyGenerator {
 
     private static final String SUPER_REF = "super";
-    private static final String CLASS_GET_METHOD = "getMethod";
+    private static final String NO_ARGUMENTS = "NO_ARGUMENTS";
+    private static final String ARGUMENTS = "arguments";
     private static final String AOPPROXY_EXT = "$AOPProxy";
     private static final String METHOD_INTERCEPTOR_INVOKE = "invoke";
 
@@ -96,10 +97,9 @@ public class AOPProxyGenerator {
             }
 
             //method interceptors
-            Map<ASTMethod, Map<InjectionNode, JFieldVar>> interceptorFields = new HashMap<ASTMethod, Map<InjectionNode, JFieldVar>>();
             for (Map.Entry<ASTMethod, Set<InjectionNode>> methodInterceptorEntry : aopProxyAspect.getMethodInterceptors().entrySet()) {
 
-                buildMethodInterceptor(definedClass, proxyConstructorInjectionPoint, constructor, constructorBody, interceptorFields, methodInterceptorEntry);
+                buildMethodInterceptor(definedClass, proxyConstructorInjectionPoint, constructor, constructorBody, methodInterceptorEntry);
             }
 
         } catch (JClassAlreadyExistsException e) {
@@ -130,7 +130,7 @@ public class AOPProxyGenerator {
         return proxyInjectionNode;
     }
 
-    private void buildMethodInterceptor(JDefinedClass definedClass, ConstructorInjectionPoint proxyConstructorInjectionPoint, JMethod constructor, JBlock constructorBody, Map<ASTMethod, Map<InjectionNode, JFieldVar>> interceptorFields, Map.Entry<ASTMethod, Set<InjectionNode>> methodInterceptorEntry) throws ClassNotFoundException {
+    private void buildMethodInterceptor(JDefinedClass definedClass, ConstructorInjectionPoint proxyConstructorInjectionPoint, JMethod constructor, JBlock constructorBody, Map.Entry<ASTMethod, Set<InjectionNode>> methodInterceptorEntry) throws ClassNotFoundException {
         ASTMethod method = methodInterceptorEntry.getKey();
 
         if (method.getAccessModifier().equals(ASTAccessModifier.PRIVATE)) {
@@ -139,22 +139,10 @@ public class AOPProxyGenerator {
             return;
         }
 
-        if (!interceptorFields.containsKey(methodInterceptorEntry.getKey())) {
-            interceptorFields.put(methodInterceptorEntry.getKey(), new HashMap<InjectionNode, JFieldVar>());
-        }
-        Map<InjectionNode, JFieldVar> injectionNodeInstanceNameMap = interceptorFields.get(methodInterceptorEntry.getKey());
-
-        //setup interceptor fields
+        //interceptors are injected through the constructor
+        List<JVar> interceptorParams = new ArrayList<JVar>();
         for (InjectionNode interceptorInjectionNode : methodInterceptorEntry.getValue()) {
-            String interceptorInstanceName = namer.generateName(interceptorInjectionNode);
-
-            JFieldVar interceptorField = definedClass.field(JMod.PRIVATE, generationUtil.ref(interceptorInjectionNode.getASTType()), interceptorInstanceName);
-
-            injectionNodeInstanceNameMap.put(interceptorInjectionNode, interceptorField);
-
-            JVar interceptorParam = constructor.param(generationUtil.ref(interceptorInjectionNode.getASTType()), namer.generateName(interceptorInjectionNode));
-
-            constructorBody.assign(interceptorField, interceptorParam);
+            interceptorParams.add(constructor.param(generationUtil.ref(interceptorInjectionNode.getASTType()), namer.generateName(interceptorInjectionNode)));
 
             proxyConstructorInjectionPoint.addInjectionNode(interceptorInjectionNode);
         }
@@ -166,24 +154,28 @@ public class AOPProxyGenerator {
         JBlock body = methodDeclaration.body();
 
         //define method parameter
-        Map<ASTParameter, JVar> parameterMap = new HashMap<ASTParameter, JVar>();
+        List<JVar> parameters = new ArrayList<JVar>();
         for (ASTParameter parameter : method.getParameters()) {
-            parameterMap.put(parameter,
-                    methodDeclaration.param(JMod.FINAL, generationUtil.ref(parameter.getASTType()),
-                            namer.generateName(parameter.getASTType())));
+            parameters.add(methodDeclaration.param(JMod.FINAL, generationUtil.ref(parameter.getASTType()),
+                    namer.generateName(parameter.getASTType())));
         }
 
-        //aop interceptor
-        Map<InjectionNode, JFieldVar> interceptorNameMap = interceptorFields.get(methodInterceptorEntry.getKey());
+        //one interceptor chain per proxy instance and method
+        JFieldVar chainField = definedClass.field(JMod.PRIVATE | JMod.FINAL, MethodInterceptorChain.class, namer.generateName(MethodInterceptorChain.class));
+        constructorBody.assign(chainField, buildInterceptorChain(definedClass, method, interceptorParams));
 
-        JArray paramArray = JExpr.newArray(codeModel.ref(Object.class));
-
-        for (ASTParameter astParameter : method.getParameters()) {
-            paramArray.add(parameterMap.get(astParameter));
+        JExpression arguments;
+        if (parameters.isEmpty()) {
+            arguments = codeModel.ref(MethodInterceptorChain.class).staticRef(NO_ARGUMENTS);
+        } else {
+            JArray paramArray = JExpr.newArray(codeModel.ref(Object.class));
+            for (JVar parameter : parameters) {
+                paramArray.add(parameter);
+            }
+            arguments = paramArray;
         }
 
-        JInvocation interceptorInvocation = buildInterceptorChain(definedClass, method, parameterMap, methodInterceptorEntry.getValue(), interceptorNameMap).invoke(METHOD_INTERCEPTOR_INVOKE);
-        interceptorInvocation.arg(paramArray);
+        JInvocation interceptorInvocation = chainField.invoke(METHOD_INTERCEPTOR_INVOKE).arg(arguments);
 
         if (method.getReturnType().equals(ASTVoidType.VOID)) {
             body.add(interceptorInvocation);
@@ -192,40 +184,25 @@ public class AOPProxyGenerator {
         }
     }
 
-    private JExpression buildInterceptorChain(JDefinedClass definedClass, ASTMethod method, Map<ASTParameter, JVar> parameterMap, Set<InjectionNode> interceptors, Map<InjectionNode, JFieldVar> interceptorNameMap) {
+    private JExpression buildInterceptorChain(JDefinedClass definedClass, ASTMethod method, List<JVar> interceptorParams) {
 
         try {
-            JDefinedClass methodExecutionClass = definedClass._class(JMod.PRIVATE | JMod.FINAL, namer.generateClassName(MethodInterceptorChain.MethodExecution.class));
-            methodExecutionClass._implements(MethodInterceptorChain.MethodExecution.class);
-
-            //setup constructor with needed parameters
-            JMethod constructor = methodExecutionClass.constructor(JMod.PUBLIC);
-            JBlock constructorBody = constructor.body();
-            List<JExpression> methodParameters = new ArrayList<JExpression>();
-            for (ASTParameter parameter : method.getParameters()) {
-                JType parameterType = parameterMap.get(parameter).type();
-                JVar param = constructor.param(parameterType, namer.generateName(parameterType));
-                JFieldVar field = methodExecutionClass.field(JMod.PRIVATE, parameterType, namer.generateName(parameterType));
-                constructorBody.assign(field, param);
-                methodParameters.add(field);
-            }
-
-
-            //getMethod()
-            JMethod getMethod = methodExecutionClass.method(JMod.PUBLIC, Method.class, MethodInterceptorChain.MethodExecution.GET_METHOD);
-            getMethod.annotate(Override.class);
-
-            JInvocation getMethodInvocation = definedClass.dotclass().invoke(CLASS_GET_METHOD).arg(method.getName());
-            getMethod.body()._return(getMethodInvocation);
-            getMethod._throws(NoSuchMethodException.class);
-
+            //Method looked up once per proxy class
+            JInvocation lookupMethodInvocation = codeModel.ref(MethodInterceptorChain.class).staticInvoke(MethodInterceptorChain.LOOKUP_METHOD)
+                    .arg(definedClass.dotclass())
+                    .arg(method.getName());
             for (ASTParameter astParameter : method.getParameters()) {
-                getMethodInvocation.arg(generationUtil.ref(astParameter.getASTType()).dotclass());
+                lookupMethodInvocation.arg(generationUtil.ref(astParameter.getASTType()).dotclass());
             }
+            JFieldVar methodField = definedClass.field(JMod.PRIVATE | JMod.STATIC | JMod.FINAL, Method.class, namer.generateName(Method.class), lookupMethodInvocation);
+
+            JDefinedClass methodExecutionClass = definedClass._class(JMod.PRIVATE | JMod.FINAL, namer.generateClassName(MethodInterceptorChain.ProxyMethodExecution.class));
+            methodExecutionClass._implements(MethodInterceptorChain.ProxyMethodExecution.class);
 
-            //invoke()
-            JMethod invokeMethod = methodExecutionClass.method(JMod.PUBLIC, Object.class, MethodInterceptorChain.MethodExecution.INVOKE);
+            //invoke(Object[] arguments)
+            JMethod invokeMethod = methodExecutionClass.method(JMod.PUBLIC, Object.class, MethodInterceptorChain.ProxyMethodExecution.INVOKE);
             invokeMethod.annotate(Override.class);
+            JVar argumentsParam = invokeMethod.param(codeModel.ref(Object.class).array(), namer.generateName(ARGUMENTS));
 
             //add all throws of contained method
             for (ASTType throwable : method.getThrowsTypes()) {
@@ -234,8 +211,9 @@ public class AOPProxyGenerator {
 
             JInvocation superCall = definedClass.staticRef(SUPER_REF).invoke(method.getName());
 
-            for (JExpression methodParam : methodParameters) {
-                superCall.arg(methodParam);
+            int argumentIndex = 0;
+            for (ASTParameter astParameter : method.getParameters()) {
+                superCall.arg(JExpr.cast(generationUtil.ref(astParameter.getASTType()).boxify(), argumentsParam.component(JExpr.lit(argumentIndex++))));
             }
 
             if (method.getReturnType().equals(ASTVoidType.VOID)) {
@@ -245,18 +223,13 @@ public class AOPProxyGenerator {
                 invokeMethod.body()._return(superCall);
             }
 
-            JInvocation methodExecutionInvocation = JExpr._new(methodExecutionClass);
-
-            for (ASTParameter astParameter : method.getParameters()) {
-                methodExecutionInvocation.arg(parameterMap.get(astParameter));
-            }
-
             JInvocation newInterceptorInvocation = JExpr._new(codeModel.ref(MethodInterceptorChain.class))
-                    .arg(methodExecutionInvocation)
+                    .arg(methodField)
+                    .arg(JExpr._new(methodExecutionClass))
                     .arg(JExpr._this());
 
-            for (InjectionNode interceptor : interceptors) {
-                newInterceptorInvocation.arg(interceptorNameMap.get(interceptor));
+            for (JVar interceptorParam : interceptorParams) {
+                newInterceptorInvocation.arg(interceptorParam);
             }
 
             return newInterceptorInvocation;
@@ -0,0 +1,192 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.proxy;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.TransfuseAnalysisException;
+import org.androidtransfuse.adapter.*;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.model.InjectionSignature;
+import org.androidtransfuse.util.Lazy;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates proxies of the usage interface of a deferred injection node, delegating every method to a Lazy instance
+ * of the node's implementation:
+ *
+ * [source,java]
+ * --
+ * public class Target$DeferredProxy implements TargetInterface {
+ *     private final Lazy<Target> delegate;
+ *
+ *     public Target$DeferredProxy(Lazy<Target> delegate){
+ *         this.delegate = delegate;
+ *     }
+ *
+ *     public void method(){
+ *         delegate.get().method();
+ *     }
+ *     ...
+ * }
+ * --
+ *
+ * @author John Ericksen
+ */
+public class DeferredProxyGenerator {
+
+    private static final String DELEGATE_NAME = "delegate";
+    private static final String DEFERRED_EXTENSION = "$DeferredProxy";
+
+    private final DeferredProxyCache cache;
+    private final JCodeModel codeModel;
+    private final UniqueVariableNamer namer;
+    private final ASTClassFactory astClassFactory;
+    private final ClassGenerationUtil generationUtil;
+
+    @Singleton
+    public static final class DeferredProxyCache {
+        private final Map<InjectionSignature, Map<ASTType, JDefinedClass>> proxies = new HashMap<InjectionSignature, Map<ASTType, JDefinedClass>>();
+
+        public synchronized JDefinedClass getCached(InjectionNode injectionNode, DeferredProxyGenerator deferredProxyGenerator) {
+            if (!proxies.containsKey(injectionNode.getTypeSignature())) {
+                proxies.put(injectionNode.getTypeSignature(), new HashMap<ASTType, JDefinedClass>());
+            }
+            Map<ASTType, JDefinedClass> usageProxies = proxies.get(injectionNode.getTypeSignature());
+
+            if (!usageProxies.containsKey(injectionNode.getUsageType())) {
+                usageProxies.put(injectionNode.getUsageType(), deferredProxyGenerator.innerGenerateProxy(injectionNode));
+            }
+            return usageProxies.get(injectionNode.getUsageType());
+        }
+    }
+
+    @Inject
+    public DeferredProxyGenerator(DeferredProxyCache cache, JCodeModel codeModel, UniqueVariableNamer namer, ASTClassFactory astClassFactory, ClassGenerationUtil generationUtil) {
+        this.cache = cache;
+        this.codeModel = codeModel;
+        this.namer = namer;
+        this.astClassFactory = astClassFactory;
+        this.generationUtil = generationUtil;
+    }
+
+    /**
+     * Generates a proxy implementing the usage type of the given node, accepting a Lazy of the node's type.
+     *
+     * @param injectionNode deferred node
+     * @return proxy class
+     */
+    public JDefinedClass generateProxy(InjectionNode injectionNode) {
+        return cache.getCached(injectionNode, this);
+    }
+
+    protected JDefinedClass innerGenerateProxy(InjectionNode injectionNode) {
+        try {
+            JDefinedClass proxyClass = generationUtil.defineClass(injectionNode.getASTType().getPackageClass().append(DEFERRED_EXTENSION), true);
+
+            proxyClass._implements(generationUtil.ref(injectionNode.getUsageType()));
+
+            JClass lazyClass = generationUtil.ref(Lazy.class).narrow(generationUtil.ref(injectionNode.getASTType()));
+            JFieldVar delegateField = proxyClass.field(JMod.PRIVATE | JMod.FINAL, lazyClass, DELEGATE_NAME);
+
+            JMethod constructor = proxyClass.constructor(JMod.PUBLIC);
+            JVar delegateParam = constructor.param(lazyClass, namer.generateName(Lazy.class));
+            constructor.body().assign(delegateField, delegateParam);
+
+            Set<MethodSignature> methodSignatures = new HashSet<MethodSignature>();
+
+            buildProxyMethods(proxyClass, delegateField, injectionNode.getUsageType(), methodSignatures);
+
+            //equals, hashcode, and toString()
+            for (ASTMethod objectMethod : new ASTMethod[]{
+                    getASTMethod("equals", Object.class),
+                    getASTMethod("hashCode"),
+                    getASTMethod("toString")}) {
+                if (methodSignatures.add(new MethodSignature(objectMethod))) {
+                    buildProxyMethod(proxyClass, delegateField, objectMethod);
+                }
+            }
+
+            return proxyClass;
+        } catch (JClassAlreadyExistsException e) {
+            throw new TransfuseAnalysisException("Error while creating deferred proxy", e);
+        } catch (NoSuchMethodException e) {
+            throw new TransfuseAnalysisException("Unable to find expected method", e);
+        }
+    }
+
+    private void buildProxyMethods(JDefinedClass proxyClass, JFieldVar delegateField, ASTType interfaceType, Set<MethodSignature> methodSignatures) {
+        for (ASTMethod method : interfaceType.getMethods()) {
+            //checking uniqueness
+            if (methodSignatures.add(new MethodSignature(method))) {
+                buildProxyMethod(proxyClass, delegateField, method);
+            }
+        }
+        for (ASTType superInterface : interfaceType.getInterfaces()) {
+            buildProxyMethods(proxyClass, delegateField, superInterface, methodSignatures);
+        }
+    }
+
+    private void buildProxyMethod(JDefinedClass proxyClass, JFieldVar delegateField, ASTMethod method) {
+        // public <type> <method_name> ( <parameters...>) throws <throws...>
+        JType returnType;
+        if (method.getReturnType() != null) {
+            returnType = generationUtil.ref(method.getReturnType());
+        } else {
+            returnType = codeModel.VOID;
+        }
+        JMethod methodDeclaration = proxyClass.method(JMod.PUBLIC, returnType, method.getName());
+
+        for (ASTType throwsType : method.getThrowsTypes()) {
+            methodDeclaration._throws(generationUtil.ref(throwsType));
+        }
+
+        //define method parameter
+        Map<ASTParameter, JVar> parameterMap = new HashMap<ASTParameter, JVar>();
+        for (ASTParameter parameter : method.getParameters()) {
+            parameterMap.put(parameter,
+                    methodDeclaration.param(generationUtil.ref(parameter.getASTType()),
+                            namer.generateName(parameter.getASTType())));
+        }
+
+        //delegate invocation, building the delegate upon first use
+        JInvocation invocation = delegateField.invoke(Lazy.GET_METHOD).invoke(method.getName());
+
+        for (ASTParameter parameter : method.getParameters()) {
+            invocation.arg(parameterMap.get(parameter));
+        }
+
+        if (method.getReturnType().equals(ASTVoidType.VOID)) {
+            methodDeclaration.body().add(invocation);
+        } else {
+            methodDeclaration.body()._return(invocation);
+        }
+    }
+
+    private ASTMethod getASTMethod(String name, Class... parameters) throws NoSuchMethodException {
+        Method method = Object.class.getMethod(name, parameters);
+        return astClassFactory.getMethod(method);
+    }
+}
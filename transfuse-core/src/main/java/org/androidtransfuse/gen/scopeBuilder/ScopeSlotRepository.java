@@ -0,0 +1,52 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.scopeBuilder;
+
+import javax.inject.Singleton;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns a stable integer slot to each singleton scoped binding, by scope key signature, for use with
+ * `IndexedScope`.  Slots are unique within a single processing run only; the scope checks the signature stored with
+ * each slot, so code generated by separate runs sharing the same scope never reads another run's instance.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class ScopeSlotRepository {
+
+    private final ConcurrentMap<String, Integer> slots = new ConcurrentHashMap<String, Integer>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    public int getSlot(String scopeKeySignature) {
+        Integer slot = slots.get(scopeKeySignature);
+        if (slot == null) {
+            //may skip a slot when racing, which only wastes an array entry
+            Integer value = nextSlot.getAndIncrement();
+            slot = slots.putIfAbsent(scopeKeySignature, value);
+            if (slot == null) {
+                slot = value;
+            }
+        }
+        return slot;
+    }
+
+    public int size() {
+        return nextSlot.get();
+    }
+}
@@ -25,14 +25,25 @@ import org.androidtransfuse.gen.variableDecorator.TypedExpressionFactory;
 import org.androidtransfuse.model.InjectionNode;
 import org.androidtransfuse.model.InjectionSignature;
 import org.androidtransfuse.model.TypedExpression;
-import org.androidtransfuse.scope.Scope;
+import org.androidtransfuse.scope.IndexedScope;
 import org.androidtransfuse.scope.ScopeKey;
 import org.androidtransfuse.scope.Scopes;
 
 import javax.inject.Inject;
-import javax.inject.Singleton;
 
 /**
+ * Builds the lookup of a singleton scoped instance through its compile time assigned slot in the singleton
+ * `IndexedScope`.  Only the first lookup of a slot builds a Provider and falls back to the `ScopeKey` lookup:
+ *
+ * [source,java]
+ * --
+ * IndexedScope scope = scopes.getSingletonScope();
+ * Target target = scope.getSlot(0, "...");
+ * if(target == null){
+ *     target = scope.getScopedObject(0, ScopeKey.get(Target.class, "..."), new Target$$Provider(scopes));
+ * }
+ * --
+ *
  * @author John Ericksen
  */
 public class SingletonScopeBuilder implements VariableBuilder {
@@ -42,18 +53,21 @@ public class SingletonScopeBuilder implements VariableBuilder {
     private final ClassGenerationUtil generationUtil;
     private final TypedExpressionFactory typedExpressionFactory;
     private final UniqueVariableNamer namer;
+    private final ScopeSlotRepository slotRepository;
 
     @Inject
     public SingletonScopeBuilder(JCodeModel codeModel,
                                  ProviderGenerator providerGenerator,
                                  ClassGenerationUtil generationUtil,
                                  TypedExpressionFactory typedExpressionFactory,
-                                 UniqueVariableNamer namer) {
+                                 UniqueVariableNamer namer,
+                                 ScopeSlotRepository slotRepository) {
         this.codeModel = codeModel;
         this.providerGenerator = providerGenerator;
         this.generationUtil = generationUtil;
         this.typedExpressionFactory = typedExpressionFactory;
         this.namer = namer;
+        this.slotRepository = slotRepository;
     }
 
     public TypedExpression buildVariable(InjectionBuilderContext context, InjectionNode injectionNode) {
@@ -62,14 +76,20 @@ public class SingletonScopeBuilder implements VariableBuilder {
         JDefinedClass providerClass = providerGenerator.generateProvider(injectionNode, true);
         JExpression provider = JExpr._new(providerClass).arg(context.getScopeVar());
 
+        JBlock block = context.getBlock();
+        String signature = injectionNode.getTypeSignature().buildScopeKeySignature();
+        JExpression slot = JExpr.lit(slotRepository.getSlot(signature));
+
         //build scope call
         JExpression scopesVar = context.getScopeVar();
-        JExpression scopeVar = scopesVar.invoke(Scopes.GET_SCOPE).arg(codeModel.ref(Singleton.class).dotclass());
+        JVar scopeVar = block.decl(codeModel.ref(IndexedScope.class), namer.generateName(IndexedScope.class), scopesVar.invoke(Scopes.GET_SINGLETON_SCOPE));
 
-        JExpression expression = scopeVar.invoke(Scope.GET_SCOPED_OBJECT).arg(buildScopeKey(injectionNode)).arg(provider);
+        JVar decl = block.decl(generationUtil.ref(injectionNode.getASTType()),
+                namer.generateName(injectionNode), scopeVar.invoke(IndexedScope.GET_SLOT).arg(slot).arg(JExpr.lit(signature)));
 
-        JVar decl = context.getBlock().decl(generationUtil.ref(injectionNode.getASTType()),
-                namer.generateName(injectionNode), expression);
+        //first lookup of the slot
+        block._if(decl.eq(JExpr._null()))._then()
+                .assign(decl, scopeVar.invoke(IndexedScope.GET_SCOPED_OBJECT).arg(slot).arg(buildScopeKey(injectionNode)).arg(provider));
 
         return typedExpressionFactory.build(injectionNode.getASTType(), decl);
     }
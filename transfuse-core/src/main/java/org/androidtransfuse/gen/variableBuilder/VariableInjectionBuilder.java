@@ -86,10 +86,10 @@ public class VariableInjectionBuilder implements VariableBuilder {
             JBlock block = injectionBuilderContext.getBlock();
 
             if (injectionAspect == null) {
-                validator.error(proxyableInjectionNode.getASTType() + " injection not specified")
-                        .element(injectionNode.getASTType())
-                        .build();
-                throw new TransactionRuntimeException("Injection node not mapped: " + proxyableInjectionNode.getASTType());
+                //reported only once the transaction is abandoned, as the node may be mapped by a later round
+                throw new TransactionRuntimeException("Injection node not mapped: " + proxyableInjectionNode.getASTType(),
+                        validator.error(proxyableInjectionNode.getASTType() + " injection not specified")
+                                .element(injectionNode.getASTType()));
             } else if (injectionNode.getAspect(ASTInjectionAspect.class).getConstructorInjectionPoint() == null) {
                 validator.error("Injection requires either a default no-argument constructor or an @Inject annotated constructor.")
                         .element(injectionNode.getASTType())
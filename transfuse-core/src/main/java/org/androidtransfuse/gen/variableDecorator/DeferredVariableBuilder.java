@@ -0,0 +1,64 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.variableDecorator;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import org.androidtransfuse.gen.InjectionBuilderContext;
+import org.androidtransfuse.gen.LazyGenerator;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.androidtransfuse.gen.proxy.DeferredProxyGenerator;
+import org.androidtransfuse.gen.variableBuilder.ConsistentTypeVariableBuilder;
+import org.androidtransfuse.model.InjectionNode;
+
+import javax.inject.Inject;
+
+/**
+ * Builds a deferred proxy of the given node's usage type, delegating to a Lazy instance of the node.
+ *
+ * @author John Ericksen
+ */
+public class DeferredVariableBuilder extends ConsistentTypeVariableBuilder {
+
+    private final LazyGenerator lazyGenerator;
+    private final DeferredProxyGenerator deferredProxyGenerator;
+    private final UniqueVariableNamer variableNamer;
+    private final InjectionNode deferredInjectionNode;
+
+    @Inject
+    public DeferredVariableBuilder(/*@Assisted*/ InjectionNode deferredInjectionNode,
+                                   LazyGenerator lazyGenerator,
+                                   DeferredProxyGenerator deferredProxyGenerator,
+                                   UniqueVariableNamer variableNamer,
+                                   TypedExpressionFactory typedExpressionFactory) {
+        super(deferredInjectionNode.getUsageType(), typedExpressionFactory);
+        this.lazyGenerator = lazyGenerator;
+        this.deferredProxyGenerator = deferredProxyGenerator;
+        this.variableNamer = variableNamer;
+        this.deferredInjectionNode = deferredInjectionNode;
+    }
+
+    @Override
+    public JExpression buildExpression(InjectionBuilderContext injectionBuilderContext, InjectionNode injectionNode) {
+
+        JDefinedClass lazyClass = lazyGenerator.generateLazy(deferredInjectionNode);
+        JDefinedClass proxyClass = deferredProxyGenerator.generateProxy(deferredInjectionNode);
+
+        return injectionBuilderContext.getBlock().decl(proxyClass, variableNamer.generateName(proxyClass),
+                JExpr._new(proxyClass).arg(JExpr._new(lazyClass).arg(injectionBuilderContext.getScopeVar())));
+    }
+}
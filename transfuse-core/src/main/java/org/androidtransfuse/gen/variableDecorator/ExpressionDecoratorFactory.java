@@ -16,6 +16,7 @@
 package org.androidtransfuse.gen.variableDecorator;
 
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
 
 /**
@@ -23,17 +24,34 @@ import javax.inject.Provider;
  */
 public class ExpressionDecoratorFactory implements Provider<VariableExpressionBuilder> {
 
+    public static final String SHARED_INJECTORS = "sharedInjectors";
+
     private final VariableExpressionBuilderFactory decoratorFactory;
+    private final boolean sharedInjectors;
 
-    @Inject
     public ExpressionDecoratorFactory(VariableExpressionBuilderFactory decoratorFactory) {
+        this(decoratorFactory, false);
+    }
+
+    /**
+     * @param decoratorFactory decorator factory
+     * @param sharedInjectors  build shareable injection nodes through a shared injector instead of inline
+     */
+    @Inject
+    public ExpressionDecoratorFactory(VariableExpressionBuilderFactory decoratorFactory,
+                                      @Named(SHARED_INJECTORS) Boolean sharedInjectors) {
         this.decoratorFactory = decoratorFactory;
+        this.sharedInjectors = sharedInjectors;
     }
 
     public VariableExpressionBuilder get() {
+        VariableExpressionBuilder variableBuilderDecorator = decoratorFactory.buildVariableBuilderExpressionDecorator();
+        if (sharedInjectors) {
+            variableBuilderDecorator = decoratorFactory.buildSharedInjectorExpressionDecorator(variableBuilderDecorator);
+        }
         return decoratorFactory.buildCachedExpressionDecorator(
                decoratorFactory.buildScopedExpressionDecorator(
                decoratorFactory.buildVirtualProxyExpressionDecorator(
-               decoratorFactory.buildVariableBuilderExpressionDecorator())));
+               variableBuilderDecorator)));
     }
 }
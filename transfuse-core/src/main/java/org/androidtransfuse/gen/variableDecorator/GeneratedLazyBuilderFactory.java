@@ -0,0 +1,54 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.variableDecorator;
+
+import org.androidtransfuse.gen.LazyGenerator;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.androidtransfuse.gen.proxy.DeferredProxyGenerator;
+import org.androidtransfuse.model.InjectionNode;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+
+/**
+ * @author John Ericksen
+ */
+public class GeneratedLazyBuilderFactory {
+
+    private final Provider<LazyGenerator> lazyGeneratorProvider;
+    private final Provider<DeferredProxyGenerator> deferredProxyGeneratorProvider;
+    private final Provider<UniqueVariableNamer> namerProvider;
+    private final Provider<TypedExpressionFactory> typedExpressionFactoryProvider;
+
+    @Inject
+    public GeneratedLazyBuilderFactory(Provider<LazyGenerator> lazyGeneratorProvider,
+                                       Provider<DeferredProxyGenerator> deferredProxyGeneratorProvider,
+                                       Provider<UniqueVariableNamer> namerProvider,
+                                       Provider<TypedExpressionFactory> typedExpressionFactoryProvider) {
+        this.lazyGeneratorProvider = lazyGeneratorProvider;
+        this.deferredProxyGeneratorProvider = deferredProxyGeneratorProvider;
+        this.namerProvider = namerProvider;
+        this.typedExpressionFactoryProvider = typedExpressionFactoryProvider;
+    }
+
+    public GeneratedLazyVariableBuilder buildLazyVariableBuilder(InjectionNode lazyTypeInjectionNode){
+        return new GeneratedLazyVariableBuilder(lazyTypeInjectionNode, lazyGeneratorProvider.get(), namerProvider.get(), typedExpressionFactoryProvider.get());
+    }
+
+    public DeferredVariableBuilder buildDeferredVariableBuilder(InjectionNode deferredInjectionNode){
+        return new DeferredVariableBuilder(deferredInjectionNode, lazyGeneratorProvider.get(), deferredProxyGeneratorProvider.get(), namerProvider.get(), typedExpressionFactoryProvider.get());
+    }
+}
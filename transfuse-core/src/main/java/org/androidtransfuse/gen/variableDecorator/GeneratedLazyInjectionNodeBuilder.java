@@ -0,0 +1,79 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.variableDecorator;
+
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.analysis.AnalysisContext;
+import org.androidtransfuse.analysis.Analyzer;
+import org.androidtransfuse.analysis.InjectionPointFactory;
+import org.androidtransfuse.gen.variableBuilder.InjectionNodeBuilder;
+import org.androidtransfuse.gen.variableBuilder.VariableBuilder;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.model.InjectionSignature;
+
+import javax.inject.Inject;
+
+/**
+ * Builds `Lazy<T>` injections, along with deferred injections of `@Deferred` implementations.
+ *
+ * @author John Ericksen
+ */
+public class GeneratedLazyInjectionNodeBuilder implements InjectionNodeBuilder {
+
+    private final GeneratedLazyBuilderFactory variableBuilderFactory;
+    private final InjectionPointFactory injectionPointFactory;
+    private final Analyzer analyzer;
+
+    @Inject
+    public GeneratedLazyInjectionNodeBuilder(GeneratedLazyBuilderFactory variableBuilderFactory,
+                                             InjectionPointFactory injectionPointFactory,
+                                             Analyzer analyzer) {
+        this.variableBuilderFactory = variableBuilderFactory;
+        this.injectionPointFactory = injectionPointFactory;
+        this.analyzer = analyzer;
+    }
+
+    @Override
+    public InjectionNode buildInjectionNode(InjectionSignature signature, AnalysisContext context) {
+
+        ASTType lazyGenericType = getLazyTemplateType(signature.getType());
+
+        InjectionNode injectionNode = analyzer.analyze(signature, context);
+        InjectionNode lazyInjectionNode = injectionPointFactory.buildInjectionNode(signature.getAnnotations(), lazyGenericType, context.addDependent(injectionNode));
+
+        injectionNode.addAspect(VariableBuilder.class, variableBuilderFactory.buildLazyVariableBuilder(lazyInjectionNode));
+
+        return injectionNode;
+    }
+
+    /**
+     * Wraps the given node with a proxy of its usage type, building the node upon first use.
+     *
+     * @param injectionNode deferred node
+     * @return deferred proxy injection node
+     */
+    public InjectionNode buildDeferredInjectionNode(InjectionNode injectionNode) {
+        InjectionNode deferredInjectionNode = new InjectionNode(injectionNode.getSignature());
+
+        deferredInjectionNode.addAspect(VariableBuilder.class, variableBuilderFactory.buildDeferredVariableBuilder(injectionNode));
+
+        return deferredInjectionNode;
+    }
+
+    private ASTType getLazyTemplateType(ASTType astType) {
+        return astType.getGenericParameters().iterator().next();
+    }
+}
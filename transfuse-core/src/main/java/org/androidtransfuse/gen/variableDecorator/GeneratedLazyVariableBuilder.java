@@ -0,0 +1,58 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.variableDecorator;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import org.androidtransfuse.gen.InjectionBuilderContext;
+import org.androidtransfuse.gen.LazyGenerator;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.androidtransfuse.gen.variableBuilder.ConsistentTypeVariableBuilder;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.util.Lazy;
+
+import javax.inject.Inject;
+
+/**
+ * @author John Ericksen
+ */
+public class GeneratedLazyVariableBuilder extends ConsistentTypeVariableBuilder {
+
+    private final LazyGenerator lazyGenerator;
+    private final UniqueVariableNamer variableNamer;
+    private final InjectionNode lazyTypeInjectionNode;
+
+    @Inject
+    public GeneratedLazyVariableBuilder(/*@Assisted*/ InjectionNode lazyTypeInjectionNode,
+                                        LazyGenerator lazyGenerator,
+                                        UniqueVariableNamer variableNamer,
+                                        TypedExpressionFactory typedExpressionFactory) {
+        super(Lazy.class, typedExpressionFactory);
+        this.lazyGenerator = lazyGenerator;
+        this.variableNamer = variableNamer;
+        this.lazyTypeInjectionNode = lazyTypeInjectionNode;
+    }
+
+    @Override
+    public JExpression buildExpression(InjectionBuilderContext injectionBuilderContext, InjectionNode injectionNode) {
+
+        JDefinedClass lazyClass = lazyGenerator.generateLazy(lazyTypeInjectionNode);
+
+        return injectionBuilderContext.getBlock().decl(lazyClass, variableNamer.generateName(lazyClass),
+                JExpr._new(lazyClass).arg(injectionBuilderContext.getScopeVar()));
+    }
+}
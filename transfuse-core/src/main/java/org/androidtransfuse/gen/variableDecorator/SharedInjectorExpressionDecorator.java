@@ -0,0 +1,72 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.variableDecorator;
+
+import com.sun.codemodel.JDefinedClass;
+import com.sun.codemodel.JExpression;
+import com.sun.codemodel.JVar;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.InjectionBuilderContext;
+import org.androidtransfuse.gen.InjectorGenerator;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.model.TypedExpression;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+
+/**
+ * Delegates the construction of shareable injection nodes to their shared injector instead of inlining the node's
+ * dependency graph.
+ *
+ * @author John Ericksen
+ */
+public class SharedInjectorExpressionDecorator extends VariableExpressionBuilderDecorator {
+
+    private final InjectorGenerator injectorGenerator;
+    private final ClassGenerationUtil generationUtil;
+    private final UniqueVariableNamer namer;
+    private final TypedExpressionFactory typedExpressionFactory;
+
+    @Inject
+    public SharedInjectorExpressionDecorator(/*@Assisted*/ @Named("variableExpressionBuilder") VariableExpressionBuilder decorated,
+                                             InjectorGenerator injectorGenerator,
+                                             ClassGenerationUtil generationUtil,
+                                             UniqueVariableNamer namer,
+                                             TypedExpressionFactory typedExpressionFactory) {
+        super(decorated);
+        this.injectorGenerator = injectorGenerator;
+        this.generationUtil = generationUtil;
+        this.namer = namer;
+        this.typedExpressionFactory = typedExpressionFactory;
+    }
+
+    @Override
+    public TypedExpression buildVariableExpression(InjectionBuilderContext context, InjectionNode injectionNode) {
+        JExpression scopesVar = context.getScopeVar();
+        if (scopesVar != null &&
+                !injectorGenerator.isInjector(context.getDefinedClass(), injectionNode) &&
+                injectorGenerator.isShareable(injectionNode)) {
+            JDefinedClass injector = injectorGenerator.generateInjector(injectionNode);
+
+            JVar variable = context.getBlock().decl(generationUtil.ref(injectionNode.getASTType()), namer.generateName(injectionNode),
+                    injector.staticInvoke(InjectorGenerator.INJECT_METHOD).arg(scopesVar));
+
+            return typedExpressionFactory.build(injectionNode.getASTType(), variable);
+        }
+        return getDecorated().buildVariableExpression(context, injectionNode);
+    }
+}
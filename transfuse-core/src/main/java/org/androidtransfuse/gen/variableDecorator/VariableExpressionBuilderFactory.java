@@ -32,4 +32,6 @@ public interface VariableExpressionBuilderFactory {
     VariableBuilderExpressionDecorator buildVariableBuilderExpressionDecorator();
 
     VirtualProxyExpressionDecorator buildVirtualProxyExpressionDecorator(@Named("variableExpressionBuilder") VariableExpressionBuilder decorator);
+
+    SharedInjectorExpressionDecorator buildSharedInjectorExpressionDecorator(@Named("variableExpressionBuilder") VariableExpressionBuilder decorator);
 }
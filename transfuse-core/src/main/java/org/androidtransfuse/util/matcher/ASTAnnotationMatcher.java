@@ -73,4 +73,18 @@ public class ASTAnnotationMatcher implements Matcher<Collection<ASTAnnotation>>
 
         return true;
     }
+
+    /**
+     * Annotation type names of which at least one must be present on a matched annotation collection, or null if an
+     * empty collection may match.
+     *
+     * @return index names
+     */
+    ImmutableSet<String> getIndexNames() {
+        if (annotation.isEmpty()) {
+            return null;
+        }
+        //every annotation must be found, so the first is sufficient
+        return ImmutableSet.of(annotation.iterator().next().getASTType().getName());
+    }
 }
@@ -53,4 +53,21 @@ public class ASTAnnotationTypeMatcher implements Matcher<Collection<ASTAnnotatio
 
         return true;
     }
+
+    /**
+     * Annotation type names of which at least one must be present on a matched annotation collection, or null if an
+     * empty collection may match.
+     *
+     * @return index names
+     */
+    ImmutableSet<String> getIndexNames() {
+        if (types.isEmpty()) {
+            return null;
+        }
+        ImmutableSet.Builder<String> names = ImmutableSet.builder();
+        for (ASTType type : types) {
+            names.add(type.getName());
+        }
+        return names.build();
+    }
 }
@@ -54,4 +54,16 @@ public class ASTTypeMatcher implements Matcher<ASTType> {
 
         return true;
     }
+
+    /**
+     * Name every matched type must share, or null if this matcher accepts types of differing names.
+     *
+     * @return index name
+     */
+    String getIndexName() {
+        if (astType != null && (ignoreGenerics || !subtypesAllowed)) {
+            return astType.getName();
+        }
+        return null;
+    }
 }
@@ -15,6 +15,7 @@
  */
 package org.androidtransfuse.util.matcher;
 
+import com.google.common.collect.ImmutableSet;
 import org.androidtransfuse.adapter.ASTAnnotation;
 import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.model.InjectionSignature;
@@ -51,4 +52,38 @@ public class InjectionSignatureMatcher implements Matcher<InjectionSignature> {
 
         return true;
     }
+
+    /**
+     * Name every matched signature type must share, or null if not restricted by name.
+     *
+     * @return index name
+     */
+    String getIndexTypeName() {
+        if (astTypeMatcher instanceof ASTTypeMatcher) {
+            return ((ASTTypeMatcher) astTypeMatcher).getIndexName();
+        }
+        return null;
+    }
+
+    /**
+     * Smallest set of annotation type names of which at least one must be present on a matched signature, or null if
+     * not restricted by annotation.
+     *
+     * @return index names
+     */
+    ImmutableSet<String> getIndexAnnotationNames() {
+        ImmutableSet<String> indexNames = null;
+        for (Matcher<Collection<ASTAnnotation>> annotationMatcher : annotationMatchers) {
+            ImmutableSet<String> names = null;
+            if (annotationMatcher instanceof ASTAnnotationTypeMatcher) {
+                names = ((ASTAnnotationTypeMatcher) annotationMatcher).getIndexNames();
+            } else if (annotationMatcher instanceof ASTAnnotationMatcher) {
+                names = ((ASTAnnotationMatcher) annotationMatcher).getIndexNames();
+            }
+            if (names != null && (indexNames == null || names.size() < indexNames.size())) {
+                indexNames = names;
+            }
+        }
+        return indexNames;
+    }
 }
@@ -0,0 +1,149 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util.matcher;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.ImmutableSet;
+import org.androidtransfuse.adapter.ASTAnnotation;
+import org.androidtransfuse.model.InjectionSignature;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Index of InjectionSignature Matchers, avoiding a scan of every binding per injection point.  InjectionSignatureMatchers
+ * are indexed by the type name they require or, failing that, by the annotation type names they require.  All other
+ * matchers are kept in a residual list that is checked for every signature.  Only candidates sharing the signature's
+ * type or annotation names are evaluated, and each candidate is still confirmed through its matches() method, so the
+ * matched set (and its order) is identical to a full scan of the given bindings.
+ *
+ * @author John Ericksen
+ */
+public class InjectionSignatureMatcherIndex<V> {
+
+    private final ImmutableListMultimap<String, Entry<V>> byType;
+    private final ImmutableListMultimap<String, Entry<V>> byAnnotation;
+    private final ImmutableList<Entry<V>> residual;
+
+    public InjectionSignatureMatcherIndex(Map<? extends Matcher<InjectionSignature>, V> bindings) {
+        ImmutableListMultimap.Builder<String, Entry<V>> typeBuilder = ImmutableListMultimap.builder();
+        ImmutableListMultimap.Builder<String, Entry<V>> annotationBuilder = ImmutableListMultimap.builder();
+        ImmutableList.Builder<Entry<V>> residualBuilder = ImmutableList.builder();
+
+        int ordinal = 0;
+        for (Map.Entry<? extends Matcher<InjectionSignature>, V> binding : bindings.entrySet()) {
+            Entry<V> entry = new Entry<V>(ordinal++, binding.getKey(), binding.getValue());
+            String typeName = null;
+            ImmutableSet<String> annotationNames = null;
+            if (binding.getKey() instanceof InjectionSignatureMatcher) {
+                InjectionSignatureMatcher signatureMatcher = (InjectionSignatureMatcher) binding.getKey();
+                typeName = signatureMatcher.getIndexTypeName();
+                annotationNames = signatureMatcher.getIndexAnnotationNames();
+            }
+
+            if (typeName != null) {
+                typeBuilder.put(typeName, entry);
+            } else if (annotationNames != null) {
+                for (String annotationName : annotationNames) {
+                    annotationBuilder.put(annotationName, entry);
+                }
+            } else {
+                residualBuilder.add(entry);
+            }
+        }
+
+        this.byType = typeBuilder.build();
+        this.byAnnotation = annotationBuilder.build();
+        this.residual = residualBuilder.build();
+    }
+
+    /**
+     * Returns the values of all bindings matching the given signature, in binding iteration order.
+     *
+     * @param signature input
+     * @return matched values
+     */
+    public ImmutableList<V> getMatches(InjectionSignature signature) {
+        List<Entry<V>> matches = match(byType.get(signature.getType().getName()), signature, null);
+        if (!byAnnotation.isEmpty()) {
+            for (ASTAnnotation annotation : signature.getAnnotations()) {
+                matches = match(byAnnotation.get(annotation.getASTType().getName()), signature, matches);
+            }
+        }
+        matches = match(residual, signature, matches);
+
+        if (matches == null) {
+            return ImmutableList.of();
+        }
+        if (matches.size() == 1) {
+            return ImmutableList.of(matches.get(0).getValue());
+        }
+        Collections.sort(matches);
+        ImmutableList.Builder<V> values = ImmutableList.builder();
+        for (Entry<V> match : matches) {
+            values.add(match.getValue());
+        }
+        return values.build();
+    }
+
+    private List<Entry<V>> match(List<Entry<V>> candidates, InjectionSignature signature, List<Entry<V>> matches) {
+        List<Entry<V>> result = matches;
+        for (Entry<V> candidate : candidates) {
+            if (candidate.getMatcher().matches(signature)) {
+                if (result == null) {
+                    result = new ArrayList<Entry<V>>(2);
+                }
+                //entries indexed by multiple annotations may be visited more than once
+                if (!result.contains(candidate)) {
+                    result.add(candidate);
+                }
+            }
+        }
+        return result;
+    }
+
+    public int getResidualSize() {
+        return residual.size();
+    }
+
+    private static final class Entry<V> implements Comparable<Entry<V>> {
+        private final int ordinal;
+        private final Matcher<InjectionSignature> matcher;
+        private final V value;
+
+        private Entry(int ordinal, Matcher<InjectionSignature> matcher, V value) {
+            this.ordinal = ordinal;
+            this.matcher = matcher;
+            this.value = value;
+        }
+
+        public Matcher<InjectionSignature> getMatcher() {
+            return matcher;
+        }
+
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public int compareTo(Entry<V> entry) {
+            return ordinal < entry.ordinal ? -1 : (ordinal == entry.ordinal ? 0 : 1);
+        }
+    }
+}
@@ -36,6 +36,13 @@ public class ASTArrayType implements ASTType {
         this.delegate = delegate;
     }
 
+    /**
+     * @return the type of the array elements
+     */
+    public ASTType getComponentType() {
+        return delegate;
+    }
+
     @Override
     public boolean isArray() {
         return true;
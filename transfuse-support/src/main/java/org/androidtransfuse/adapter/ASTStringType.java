@@ -16,20 +16,20 @@
 package org.androidtransfuse.adapter;
 
 import com.google.common.collect.ImmutableSet;
-import org.apache.commons.lang.builder.EqualsBuilder;
-import org.apache.commons.lang.builder.HashCodeBuilder;
 
 import java.lang.annotation.Annotation;
 
 /**
  * @author John Ericksen
  */
-public class ASTStringType implements ASTType {
+public class ASTStringType implements ASTType, ASTTypeIdentity.Identified {
 
     private final String name;
+    private final ASTTypeIdentity identity;
 
     public ASTStringType(String name) {
         this.name = name;
+        this.identity = new ASTTypeIdentity(name);
     }
 
     @Override
@@ -119,21 +119,17 @@ public class ASTStringType implements ASTType {
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (!(o instanceof ASTType)) {
-            return false;
-        }
-
-        ASTType that = (ASTType) o;
-
-        return new EqualsBuilder().append(getName(), that.getName()).isEquals();
+        return this == o || identity.matches(o);
     }
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(getName()).hashCode();
+        return identity.hashCode();
+    }
+
+    @Override
+    public ASTTypeIdentity getIdentity() {
+        return identity;
     }
 
     @Override
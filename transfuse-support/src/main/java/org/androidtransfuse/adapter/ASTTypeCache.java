@@ -0,0 +1,363 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.adapter;
+
+import com.google.common.base.Supplier;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Concurrent ASTType cache.  Cached types are read without locking.  Each type is built exactly once, by the first
+ * thread to request it.  As in the single threaded approach, an ASTTypeVirtualProxy placeholder is registered before
+ * the type's children are built, allowing recursive (and cross-thread cyclic) references to resolve to the placeholder
+ * without deadlocking.
+ *
+ * A built type is only published to other threads once the outermost build of its thread has returned and every
+ * placeholder borrowed from other threads' builds (transitively) has been loaded.  Callers outside of a build wait for
+ * publication, so a returned type never exposes an unloaded placeholder.  If a build fails, every type built within
+ * the same outermost build is removed and the failure is rethrown to the threads waiting on them.
+ *
+ * @author John Ericksen
+ */
+public class ASTTypeCache<K> {
+
+    public interface ASTTypeBuilder<K> {
+
+        /**
+         * Builds the identity of the given key, used to construct the placeholder.
+         *
+         * @param key input
+         * @return PackageClass
+         */
+        PackageClass buildPackageClass(K key);
+
+        /**
+         * Builds the full ASTType for the given key.
+         *
+         * @param key input
+         * @return ASTType
+         */
+        ASTType buildType(K key);
+    }
+
+    private final ConcurrentMap<K, CacheEntry> cache = new ConcurrentHashMap<K, CacheEntry>();
+    private final ThreadLocal<BuildContext> buildContext = new ThreadLocal<BuildContext>() {
+        @Override
+        protected BuildContext initialValue() {
+            return new BuildContext();
+        }
+    };
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong contention = new AtomicLong();
+
+    /**
+     * Seeds the cache with a pre-built type.
+     *
+     * @param key  input
+     * @param type ASTType
+     */
+    public void put(K key, ASTType type) {
+        cache.put(key, new CacheEntry(type));
+    }
+
+    public ASTType get(K key, ASTTypeBuilder<K> builder) {
+        CacheEntry entry = cache.get(key);
+        if (entry != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            CacheEntry created = new CacheEntry(new ASTTypeVirtualProxy(builder.buildPackageClass(key)));
+            entry = cache.putIfAbsent(key, created);
+            if (entry == null) {
+                return build(key, created, builder);
+            }
+            contention.incrementAndGet();
+        }
+
+        return resolve(entry);
+    }
+
+    private ASTType build(K key, CacheEntry entry, ASTTypeBuilder<K> builder) {
+        BuildContext context = buildContext.get();
+        context.depth++;
+        context.built.add(entry);
+        try {
+            ASTType astType = builder.buildType(key);
+            //the placeholder is loaded immediately, as other threads' builds may already reference it
+            entry.load(astType, new ArrayList<CacheEntry>(context.borrowed));
+
+            if (context.depth == 1) {
+                context.awaitBorrowed();
+                context.publish();
+            }
+            return astType;
+        } catch (RuntimeException e) {
+            if (context.depth == 1) {
+                context.fail(e);
+            } else {
+                context.built.remove(entry);
+                fail(entry, e);
+            }
+            throw e;
+        } finally {
+            context.depth--;
+        }
+    }
+
+    /**
+     * Runs the given loader as if it were building a type: types requested by the loader that are being built by other
+     * threads resolve to their placeholders instead of blocking, and the result is only returned once those
+     * placeholders have loaded.  Allows types to be lazily loaded while holding a lock that builders also acquire.
+     *
+     * @param loader work referencing cached types
+     * @param <T> result type
+     * @return loader result
+     */
+    public <T> T load(Supplier<T> loader) {
+        BuildContext context = buildContext.get();
+        context.depth++;
+        try {
+            T result = loader.get();
+
+            if (context.depth == 1) {
+                context.awaitBorrowed();
+                context.publish();
+            }
+            return result;
+        } catch (RuntimeException e) {
+            if (context.depth == 1) {
+                context.fail(e);
+            }
+            throw e;
+        } finally {
+            context.depth--;
+        }
+    }
+
+    /**
+     * Determines if the current thread is building a type.  Results computed while building may reference unloaded
+     * placeholders until the outermost build completes.
+     *
+     * @return building status
+     */
+    public boolean isBuilding() {
+        return buildContext.get().depth > 0;
+    }
+
+    private ASTType resolve(CacheEntry entry) {
+        if (entry.isPublished()) {
+            return entry.getType();
+        }
+        if (entry.getOwner() == Thread.currentThread()) {
+            //recursive reference during our own build, or a type built earlier in our own build
+            return entry.isLoaded() ? entry.getType() : entry.getPlaceholder();
+        }
+        contention.incrementAndGet();
+        BuildContext context = buildContext.get();
+        if (context.depth > 0) {
+            //referenced by another thread's build, the placeholder will be loaded before this thread's build publishes
+            entry.checkFailure();
+            context.borrowed.add(entry);
+            return entry.getPlaceholder();
+        }
+        entry.awaitPublished();
+        entry.checkFailure();
+        return entry.getType();
+    }
+
+    private void fail(CacheEntry entry, RuntimeException failure) {
+        cache.values().remove(entry);
+        entry.fail(failure);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Number of times a thread encountered a type being built by another thread.
+     *
+     * @return contention count
+     */
+    public long getContention() {
+        return contention.get();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    @Override
+    public String toString() {
+        return "size: " + size() + ", hits: " + getHits() + ", misses: " + getMisses() + ", contention: " + getContention();
+    }
+
+    private final class BuildContext {
+        private int depth = 0;
+        private final List<CacheEntry> built = new ArrayList<CacheEntry>();
+        private final List<CacheEntry> borrowed = new ArrayList<CacheEntry>();
+
+        /**
+         * Waits for the borrowed placeholders, and the placeholders borrowed by their builds, to load.  Only waits on
+         * loading, which never blocks, so cross-thread cycles may not deadlock.
+         */
+        private void awaitBorrowed() {
+            Set<CacheEntry> visited = Collections.newSetFromMap(new IdentityHashMap<CacheEntry, Boolean>());
+            LinkedList<CacheEntry> pending = new LinkedList<CacheEntry>(borrowed);
+            while (!pending.isEmpty()) {
+                CacheEntry entry = pending.removeFirst();
+                if (visited.add(entry)) {
+                    entry.awaitLoaded();
+                    entry.checkFailure();
+                    pending.addAll(entry.getDependencies());
+                }
+            }
+        }
+
+        private void publish() {
+            for (CacheEntry entry : built) {
+                entry.publish();
+            }
+            built.clear();
+            borrowed.clear();
+        }
+
+        private void fail(RuntimeException failure) {
+            for (CacheEntry entry : built) {
+                ASTTypeCache.this.fail(entry, failure);
+            }
+            built.clear();
+            borrowed.clear();
+        }
+    }
+
+    private static final class CacheEntry {
+        private final ASTTypeVirtualProxy placeholder;
+        private final Thread owner;
+        private final CountDownLatch loaded;
+        private final CountDownLatch published;
+        private volatile ASTType type;
+        private volatile List<CacheEntry> dependencies = Collections.emptyList();
+        private volatile RuntimeException failure;
+
+        private CacheEntry(ASTType type) {
+            this.placeholder = null;
+            this.owner = null;
+            this.loaded = new CountDownLatch(0);
+            this.published = new CountDownLatch(0);
+            this.type = type;
+        }
+
+        private CacheEntry(ASTTypeVirtualProxy placeholder) {
+            this.placeholder = placeholder;
+            this.owner = Thread.currentThread();
+            this.loaded = new CountDownLatch(1);
+            this.published = new CountDownLatch(1);
+        }
+
+        public boolean isLoaded() {
+            return loaded.getCount() == 0 && type != null;
+        }
+
+        public boolean isPublished() {
+            return published.getCount() == 0 && type != null;
+        }
+
+        public ASTType getType() {
+            return type;
+        }
+
+        public ASTTypeVirtualProxy getPlaceholder() {
+            return placeholder;
+        }
+
+        public Thread getOwner() {
+            return owner;
+        }
+
+        public List<CacheEntry> getDependencies() {
+            return dependencies;
+        }
+
+        /**
+         * Loads the placeholder with the built type.
+         *
+         * @param astType      built type
+         * @param dependencies entries borrowed from other threads while building, whose placeholders must be loaded
+         *                     before publishing
+         */
+        public void load(ASTType astType, List<CacheEntry> dependencies) {
+            placeholder.load(astType);
+            this.dependencies = dependencies;
+            this.type = astType;
+            loaded.countDown();
+        }
+
+        public void publish() {
+            published.countDown();
+        }
+
+        public void fail(RuntimeException failure) {
+            this.failure = failure;
+            this.type = null;
+            loaded.countDown();
+            published.countDown();
+        }
+
+        public void checkFailure() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+
+        public void awaitLoaded() {
+            await(loaded);
+        }
+
+        public void awaitPublished() {
+            await(published);
+        }
+
+        private static void await(CountDownLatch latch) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
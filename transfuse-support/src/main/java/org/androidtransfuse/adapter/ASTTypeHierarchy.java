@@ -0,0 +1,111 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.adapter;
+
+import com.google.common.collect.ImmutableListMultimap;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Memoized inheritance queries for a single ASTType.  Each query mode (inherits, extends and implements) walks the
+ * supertype graph once, on first use, and indexes every reachable type by name.  Subsequent queries are answered by a
+ * single name lookup followed by the same equality check ASTUtils.inherits() performs against each visited type, so
+ * results match the recursive walk exactly.
+ *
+ * Indexes are immutable and published through volatile fields, so a hierarchy may be queried from multiple threads.
+ * Because supertypes may be virtual proxies, the hierarchy must not be queried until the root type is fully built.
+ *
+ * @author John Ericksen
+ */
+public final class ASTTypeHierarchy {
+
+    private final ASTType root;
+    private volatile Supertypes inherited;
+    private volatile Supertypes extended;
+    private volatile Supertypes implemented;
+
+    public ASTTypeHierarchy(ASTType root) {
+        this.root = root;
+    }
+
+    public boolean inheritsFrom(ASTType type) {
+        Supertypes supertypes = inherited;
+        if (supertypes == null) {
+            supertypes = new Supertypes(root, true, true);
+            inherited = supertypes;
+        }
+        return supertypes.contains(type);
+    }
+
+    public boolean extendsFrom(ASTType type) {
+        Supertypes supertypes = extended;
+        if (supertypes == null) {
+            supertypes = new Supertypes(root, false, true);
+            extended = supertypes;
+        }
+        return supertypes.contains(type);
+    }
+
+    public boolean implementsFrom(ASTType type) {
+        Supertypes supertypes = implemented;
+        if (supertypes == null) {
+            supertypes = new Supertypes(root, true, false);
+            implemented = supertypes;
+        }
+        return supertypes.contains(type);
+    }
+
+    private static final class Supertypes {
+
+        private final ImmutableListMultimap<String, ASTType> types;
+
+        private Supertypes(ASTType root, boolean implement, boolean extend) {
+            ImmutableListMultimap.Builder<String, ASTType> builder = ImmutableListMultimap.builder();
+            Set<ASTType> visited = Collections.newSetFromMap(new IdentityHashMap<ASTType, Boolean>());
+            add(builder, visited, root, implement, extend);
+            this.types = builder.build();
+        }
+
+        private void add(ImmutableListMultimap.Builder<String, ASTType> builder, Set<ASTType> visited, ASTType astType, boolean implement, boolean extend) {
+            if (astType == null || !visited.add(astType)) {
+                return;
+            }
+            builder.put(astType.getName(), astType);
+            if (implement) {
+                for (ASTType typeInterface : astType.getInterfaces()) {
+                    add(builder, visited, typeInterface, implement, extend);
+                }
+            }
+            if (extend) {
+                add(builder, visited, astType.getSuperClass(), implement, extend);
+            }
+        }
+
+        public boolean contains(ASTType type) {
+            if (type == null) {
+                return false;
+            }
+            for (ASTType candidate : types.get(type.getName())) {
+                if (candidate.equals(type)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.adapter;
+
+import org.apache.commons.lang.builder.HashCodeBuilder;
+
+/**
+ * Canonical, interned name of an ASTType with a precomputed hash code.  Types carrying an identity compare to each
+ * other by reference on the interned name and hash without rebuilding the name.  Comparison to any other ASTType
+ * falls back to the name based equality shared by all ASTType implementations, so the hash code is kept identical to
+ * the HashCodeBuilder hash of the name.
+ *
+ * @author John Ericksen
+ */
+public final class ASTTypeIdentity {
+
+    /**
+     * An ASTType carrying a precomputed identity.
+     */
+    public interface Identified {
+        ASTTypeIdentity getIdentity();
+    }
+
+    private final String name;
+    private final int hashCode;
+
+    public ASTTypeIdentity(String name) {
+        this.name = name.intern();
+        this.hashCode = new HashCodeBuilder().append(this.name).hashCode();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Determines if the given object is an ASTType with this identity.
+     *
+     * @param o input
+     * @return equality
+     */
+    public boolean matches(Object o) {
+        if (o instanceof Identified) {
+            ASTTypeIdentity that = ((Identified) o).getIdentity();
+            //names are interned, so equal identities share the same name instance
+            return that == this || (hashCode == that.hashCode && name == that.name);
+        }
+        return o instanceof ASTType && name.equals(((ASTType) o).getName());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof ASTTypeIdentity && name == ((ASTTypeIdentity) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
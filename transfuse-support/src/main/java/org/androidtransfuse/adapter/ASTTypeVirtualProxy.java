@@ -27,7 +27,7 @@ import java.lang.annotation.Annotation;
 public class ASTTypeVirtualProxy implements ASTType {
 
     private final PackageClass packageClass;
-    private ASTType proxy;
+    private volatile ASTType proxy;
 
     public ASTTypeVirtualProxy(PackageClass packageClass) {
         this.packageClass = packageClass;
@@ -23,8 +23,6 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Factory building AST objects from the relevant class attributes
@@ -34,7 +32,7 @@ import java.util.Map;
 @Singleton
 public class ASTClassFactory {
 
-    private final Map<String, ASTType> typeCache = new HashMap<String, ASTType>();
+    private final ASTTypeCache<String> typeCache = new ASTTypeCache<String>();
     private final ASTFactory astFactory;
 
     @Inject
@@ -57,12 +55,18 @@ public class ASTClassFactory {
         return getType(clazz, null);
     }
 
-    private synchronized ASTType getType(Class<?> clazz, Type genericType) {
-        if (!typeCache.containsKey(clazz.getName())) {
-            typeCache.put(clazz.getName(), buildType(clazz));
-        }
+    private ASTType getType(final Class<?> clazz, Type genericType) {
+        ASTType astType = typeCache.get(clazz.getName(), new ASTTypeCache.ASTTypeBuilder<String>() {
+            @Override
+            public PackageClass buildPackageClass(String name) {
+                return new PackageClass(clazz);
+            }
 
-        ASTType astType = typeCache.get(clazz.getName());
+            @Override
+            public ASTType buildType(String name) {
+                return ASTClassFactory.this.buildType(clazz);
+            }
+        });
 
         if (genericType instanceof ParameterizedType) {
             //wrap with a parametrized type
@@ -72,6 +76,15 @@ public class ASTClassFactory {
         return astType;
     }
 
+    /**
+     * Returns the type cache, exposing hit, miss and contention counts.
+     *
+     * @return type cache
+     */
+    public ASTTypeCache<String> getTypeCache() {
+        return typeCache;
+    }
+
     private ASTType buildType(Class<?> clazz) {
         ImmutableSet.Builder<ASTConstructor> constructorBuilder = ImmutableSet.builder();
         ImmutableSet.Builder<ASTMethod> methodBuilder = ImmutableSet.builder();
@@ -88,10 +101,6 @@ public class ASTClassFactory {
 
         PackageClass packageClass = new PackageClass(clazz);
 
-        ASTTypeVirtualProxy astClassTypeProxy = new ASTTypeVirtualProxy(packageClass);
-
-        typeCache.put(clazz.getName(), astClassTypeProxy);
-
         Class<?>[] classInterfaces = clazz.getInterfaces();
         Type[] classGenericInterfaces = clazz.getGenericInterfaces();
 
@@ -123,8 +132,6 @@ public class ASTClassFactory {
                 superClass,
                 interfaceBuilder.build());
 
-        astClassTypeProxy.load(astType);
-
         return astType;
     }
 
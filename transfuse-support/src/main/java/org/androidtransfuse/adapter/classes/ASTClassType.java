@@ -17,8 +17,6 @@ package org.androidtransfuse.adapter.classes;
 
 import com.google.common.collect.ImmutableSet;
 import org.androidtransfuse.adapter.*;
-import org.apache.commons.lang.builder.EqualsBuilder;
-import org.apache.commons.lang.builder.HashCodeBuilder;
 
 import java.lang.annotation.Annotation;
 
@@ -27,7 +25,7 @@ import java.lang.annotation.Annotation;
  *
  * @author John Ericksen
  */
-public class ASTClassType implements ASTType {
+public class ASTClassType implements ASTType, ASTTypeIdentity.Identified {
 
     private final Class<?> clazz;
     private final PackageClass packageClass;
@@ -37,6 +35,8 @@ public class ASTClassType implements ASTType {
     private final ImmutableSet<ASTField> fields;
     private final ASTType superClass;
     private final ImmutableSet<ASTType> interfaces;
+    private final ASTTypeIdentity identity;
+    private final ASTTypeHierarchy hierarchy = new ASTTypeHierarchy(this);
 
     public ASTClassType(Class<?> clazz,
                         PackageClass packageClass,
@@ -54,6 +54,7 @@ public class ASTClassType implements ASTType {
         this.fields = fields;
         this.superClass = superClass;
         this.interfaces = interfaces;
+        this.identity = new ASTTypeIdentity(packageClass.getCanonicalName());
     }
 
     @Override
@@ -83,7 +84,7 @@ public class ASTClassType implements ASTType {
 
     @Override
     public String getName() {
-        return packageClass.getCanonicalName();
+        return identity.getName();
     }
 
     @Override
@@ -118,21 +119,17 @@ public class ASTClassType implements ASTType {
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (!(o instanceof ASTType)) {
-            return false;
-        }
-
-        ASTType that = (ASTType) o;
-
-        return new EqualsBuilder().append(getName(), that.getName()).isEquals();
+        return this == o || identity.matches(o);
     }
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(getName()).hashCode();
+        return identity.hashCode();
+    }
+
+    @Override
+    public ASTTypeIdentity getIdentity() {
+        return identity;
     }
 
     @Override
@@ -142,17 +139,17 @@ public class ASTClassType implements ASTType {
 
     @Override
     public boolean inheritsFrom(ASTType type) {
-        return ASTUtils.getInstance().inherits(this, type, true, true);
+        return hierarchy.inheritsFrom(type);
     }
 
     @Override
     public boolean extendsFrom(ASTType type) {
-        return ASTUtils.getInstance().inherits(this, type, false, true);
+        return hierarchy.extendsFrom(type);
     }
 
     @Override
     public boolean implementsFrom(ASTType type) {
-        return ASTUtils.getInstance().inherits(this, type, true, false);
+        return hierarchy.implementsFrom(type);
     }
 
     @Override
@@ -15,6 +15,8 @@
  */
 package org.androidtransfuse.adapter.element;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableSet;
 import org.androidtransfuse.adapter.ASTAnnotation;
 import org.androidtransfuse.adapter.ASTBase;
@@ -31,9 +33,19 @@ import java.lang.annotation.Annotation;
 public class ASTElementBase implements ASTBase {
 
     private final Element element;
-    private final ImmutableSet<ASTAnnotation> annotations;
+    private final Supplier<ImmutableSet<ASTAnnotation>> annotations;
 
     public ASTElementBase(Element element, ImmutableSet<ASTAnnotation> annotations) {
+        this(element, Suppliers.ofInstance(annotations));
+    }
+
+    /**
+     * Constructor for an element whose annotations are converted on first access.
+     *
+     * @param element     base element
+     * @param annotations memoized annotation supplier
+     */
+    public ASTElementBase(Element element, Supplier<ImmutableSet<ASTAnnotation>> annotations) {
         this.element = element;
         this.annotations = annotations;
     }
@@ -52,7 +64,7 @@ public class ASTElementBase implements ASTBase {
 
     @Override
     public ImmutableSet<ASTAnnotation> getAnnotations() {
-        return annotations;
+        return annotations.get();
     }
 
     @Override
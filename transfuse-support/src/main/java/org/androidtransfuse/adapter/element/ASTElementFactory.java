@@ -16,6 +16,7 @@
 package org.androidtransfuse.adapter.element;
 
 import com.google.common.base.Predicates;
+import com.google.common.base.Supplier;
 import com.google.common.collect.FluentIterable;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -27,9 +28,8 @@ import javax.lang.model.element.*;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.TypeMirror;
 import javax.lang.model.util.Elements;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Factory class to build a specific AST tree element from the provided Element base type
@@ -39,7 +39,18 @@ import java.util.Map;
 @Singleton
 public class ASTElementFactory {
 
-    private final Map<TypeElement, ASTType> typeCache = new HashMap<TypeElement, ASTType>();
+    private final ASTTypeCache<TypeElement> typeCache = new ASTTypeCache<TypeElement>();
+    private final ASTTypeCache.ASTTypeBuilder<TypeElement> typeBuilder = new ASTTypeCache.ASTTypeBuilder<TypeElement>() {
+        @Override
+        public PackageClass buildPackageClass(TypeElement typeElement) {
+            return ASTElementFactory.this.buildPackageClass(typeElement);
+        }
+
+        @Override
+        public ASTType buildType(TypeElement typeElement) {
+            return ASTElementFactory.this.buildType(typeElement);
+        }
+    };
 
     private final ASTElementConverterFactory astElementConverterFactory;
     private final ASTTypeBuilderVisitor astTypeBuilderVisitor;
@@ -68,31 +79,31 @@ public class ASTElementFactory {
     }
 
     /**
-     * Build a ASTType from the provided TypeElement.
+     * Build a ASTType from the provided TypeElement.  Cached types are returned without locking, while cache misses
+     * are built under the factory lock.
      *
      * @param typeElement required input Element
      * @return ASTType constructed using teh input Element
      */
-    public synchronized ASTType getType(TypeElement typeElement) {
-        if (!typeCache.containsKey(typeElement)) {
-            typeCache.put(typeElement, buildType(typeElement));
-        }
+    public ASTType getType(TypeElement typeElement) {
+        return typeCache.get(typeElement, typeBuilder);
+    }
 
-        return typeCache.get(typeElement);
+    /**
+     * Returns the type cache, exposing hit, miss and contention counts.
+     *
+     * @return type cache
+     */
+    public ASTTypeCache<TypeElement> getTypeCache() {
+        return typeCache;
     }
 
-    private ASTType buildType(TypeElement typeElement) {
-        //build placeholder for ASTElementType and contained data structures to allow for children population
-        //while avoiding back link loops
+    private synchronized ASTType buildType(final TypeElement typeElement) {
+        //javac elements may not be traversed concurrently, types are built under the factory lock
+        //the type cache registers a placeholder for ASTElementType prior to calling this method to allow for children
+        //population while avoiding back link loops
         PackageClass packageClass = buildPackageClass(typeElement);
 
-        ASTTypeVirtualProxy astTypeProxy = new ASTTypeVirtualProxy(packageClass);
-        typeCache.put(typeElement, astTypeProxy);
-
-        ImmutableSet.Builder<ASTConstructor> constructors = ImmutableSet.builder();
-        ImmutableSet.Builder<ASTField> fields = ImmutableSet.builder();
-        ImmutableSet.Builder<ASTMethod> methods = ImmutableSet.builder();
-
         ASTType superClass = null;
         if (typeElement.getSuperclass() != null) {
             superClass = typeElement.getSuperclass().accept(astTypeBuilderVisitor, null);
@@ -102,30 +113,24 @@ public class ASTElementFactory {
                 .transform(astTypeBuilderVisitor)
                 .toImmutableSet();
 
-        ImmutableSet.Builder<ASTAnnotation> annotations = ImmutableSet.builder();
-
-        //iterate and build the contained elements within this TypeElement
-        constructors.addAll(transformAST(typeElement.getEnclosedElements(), ASTConstructor.class));
-        fields.addAll(transformAST(typeElement.getEnclosedElements(), ASTField.class));
-        methods.addAll(transformAST(typeElement.getEnclosedElements(), ASTMethod.class));
-
-        annotations.addAll(getAnnotations(typeElement));
-
-        ASTType astType = new ASTElementType(packageClass,
+        //the contained elements and annotations are only converted when first accessed, as most types only have a
+        //handful of members inspected
+        return new ASTElementType(packageClass,
                 typeElement,
-                constructors.build(),
-                methods.build(),
-                fields.build(),
+                lazyTransformAST(typeElement, ASTConstructor.class),
+                lazyTransformAST(typeElement, ASTMethod.class),
+                lazyTransformAST(typeElement, ASTField.class),
                 superClass,
                 interfaces,
-                annotations.build());
-
-        astTypeProxy.load(astType);
-
-        return astType;
+                new LazyConversion<ImmutableSet<ASTAnnotation>>(new Supplier<ImmutableSet<ASTAnnotation>>() {
+                    @Override
+                    public ImmutableSet<ASTAnnotation> get() {
+                        return getAnnotations(typeElement);
+                    }
+                }));
     }
 
-    private PackageClass buildPackageClass(TypeElement typeElement) {
+    private synchronized PackageClass buildPackageClass(TypeElement typeElement) {
 
         PackageElement packageElement = elements.getPackageOf(typeElement);
 
@@ -135,6 +140,51 @@ public class ASTElementFactory {
         return new PackageClass(pkg, name);
     }
 
+    private <T extends ASTBase> Supplier<ImmutableSet<T>> lazyTransformAST(final TypeElement typeElement, final Class<T> astType) {
+        return new LazyConversion<ImmutableSet<T>>(new Supplier<ImmutableSet<T>>() {
+            @Override
+            public ImmutableSet<T> get() {
+                return ImmutableSet.copyOf(transformAST(typeElement.getEnclosedElements(), astType));
+            }
+        });
+    }
+
+    /**
+     * Memoized conversion of javac elements, run on first access under the factory lock like the type builds.  The
+     * conversion is run through the type cache so types built by other threads are never waited upon while holding the
+     * lock.  Results computed during a type build may reference placeholders that are not yet loaded, so they are not
+     * memoized.
+     */
+    private final class LazyConversion<T> implements Supplier<T> {
+
+        private final Supplier<T> conversion;
+        private final AtomicReference<T> value = new AtomicReference<T>();
+
+        private LazyConversion(Supplier<T> conversion) {
+            this.conversion = conversion;
+        }
+
+        @Override
+        public T get() {
+            T converted = value.get();
+            if (converted == null) {
+                converted = typeCache.load(new Supplier<T>() {
+                    @Override
+                    public T get() {
+                        synchronized (ASTElementFactory.this) {
+                            return conversion.get();
+                        }
+                    }
+                });
+                if (!typeCache.isBuilding()) {
+                    value.compareAndSet(null, converted);
+                    converted = value.get();
+                }
+            }
+            return converted;
+        }
+    }
+
     private <T extends ASTBase> List<T> transformAST(List<? extends Element> enclosedElements, Class<T> astType) {
         return FluentIterable
                 .from(enclosedElements)
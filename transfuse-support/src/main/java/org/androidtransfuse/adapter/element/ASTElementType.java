@@ -15,10 +15,10 @@
  */
 package org.androidtransfuse.adapter.element;
 
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableSet;
 import org.androidtransfuse.adapter.*;
-import org.apache.commons.lang.builder.EqualsBuilder;
-import org.apache.commons.lang.builder.HashCodeBuilder;
 
 import javax.lang.model.element.TypeElement;
 
@@ -27,15 +27,17 @@ import javax.lang.model.element.TypeElement;
  *
  * @author John Ericksen
  */
-public class ASTElementType extends ASTElementBase implements ASTType {
+public class ASTElementType extends ASTElementBase implements ASTType, ASTTypeIdentity.Identified {
 
     private final TypeElement typeElement;
     private final PackageClass packageClass;
-    private final ImmutableSet<ASTMethod> methods;
-    private final ImmutableSet<ASTConstructor> constructors;
-    private final ImmutableSet<ASTField> fields;
+    private final Supplier<ImmutableSet<ASTMethod>> methods;
+    private final Supplier<ImmutableSet<ASTConstructor>> constructors;
+    private final Supplier<ImmutableSet<ASTField>> fields;
     private final ImmutableSet<ASTType> interfaces;
     private final ASTType superClass;
+    private final ASTTypeIdentity identity;
+    private final ASTTypeHierarchy hierarchy = new ASTTypeHierarchy(this);
 
     public ASTElementType(PackageClass packageClass,
                           TypeElement typeElement,
@@ -45,6 +47,37 @@ public class ASTElementType extends ASTElementBase implements ASTType {
                           ASTType superClass,
                           ImmutableSet<ASTType> interfaces,
                           ImmutableSet<ASTAnnotation> annotations) {
+        this(packageClass,
+                typeElement,
+                Suppliers.ofInstance(constructors),
+                Suppliers.ofInstance(methods),
+                Suppliers.ofInstance(fields),
+                superClass,
+                interfaces,
+                Suppliers.ofInstance(annotations));
+    }
+
+    /**
+     * Constructor for a type whose members and annotations are converted on first access.  The given suppliers are
+     * expected to memoize their results and be safe to call from multiple threads.
+     *
+     * @param packageClass type name
+     * @param typeElement  base element
+     * @param constructors constructor supplier
+     * @param methods      method supplier
+     * @param fields       field supplier
+     * @param superClass   super class
+     * @param interfaces   directly implemented interfaces
+     * @param annotations  annotation supplier
+     */
+    public ASTElementType(PackageClass packageClass,
+                          TypeElement typeElement,
+                          Supplier<ImmutableSet<ASTConstructor>> constructors,
+                          Supplier<ImmutableSet<ASTMethod>> methods,
+                          Supplier<ImmutableSet<ASTField>> fields,
+                          ASTType superClass,
+                          ImmutableSet<ASTType> interfaces,
+                          Supplier<ImmutableSet<ASTAnnotation>> annotations) {
         super(typeElement, annotations);
         this.packageClass = packageClass;
         this.typeElement = typeElement;
@@ -53,11 +86,12 @@ public class ASTElementType extends ASTElementBase implements ASTType {
         this.fields = fields;
         this.superClass = superClass;
         this.interfaces = interfaces;
+        this.identity = new ASTTypeIdentity(packageClass.getCanonicalName());
     }
 
     @Override
     public String getName() {
-        return packageClass.getCanonicalName();
+        return identity.getName();
     }
 
     @Override
@@ -67,17 +101,17 @@ public class ASTElementType extends ASTElementBase implements ASTType {
 
     @Override
     public ImmutableSet<ASTMethod> getMethods() {
-        return methods;
+        return methods.get();
     }
 
     @Override
     public ImmutableSet<ASTField> getFields() {
-        return fields;
+        return fields.get();
     }
 
     @Override
     public ImmutableSet<ASTConstructor> getConstructors() {
-        return constructors;
+        return constructors.get();
     }
 
     @Override
@@ -102,21 +136,17 @@ public class ASTElementType extends ASTElementBase implements ASTType {
 
     @Override
     public boolean equals(Object o) {
-        if (this == o) {
-            return true;
-        }
-        if (!(o instanceof ASTType)) {
-            return false;
-        }
-
-        ASTType that = (ASTType) o;
-
-        return new EqualsBuilder().append(getName(), that.getName()).isEquals();
+        return this == o || identity.matches(o);
     }
 
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().append(getName()).hashCode();
+        return identity.hashCode();
+    }
+
+    @Override
+    public ASTTypeIdentity getIdentity() {
+        return identity;
     }
 
     @Override
@@ -126,17 +156,17 @@ public class ASTElementType extends ASTElementBase implements ASTType {
 
     @Override
     public boolean inheritsFrom(ASTType type) {
-        return ASTUtils.getInstance().inherits(this, type, true, true);
+        return hierarchy.inheritsFrom(type);
     }
 
     @Override
     public boolean extendsFrom(ASTType type) {
-        return ASTUtils.getInstance().inherits(this, type, false, true);
+        return hierarchy.extendsFrom(type);
     }
 
     @Override
     public boolean implementsFrom(ASTType type) {
-        return ASTUtils.getInstance().inherits(this, type, true, false);
+        return hierarchy.implementsFrom(type);
     }
 
     @Override
@@ -109,9 +109,22 @@ public class AnnotationValueConverterVisitor<T> extends SimpleAnnotationValueVis
 
     @Override
     public T visitEnumConstant(VariableElement variableElement, Void aVoid) {
+        if (type.isEnum()) {
+            return enumConstant(variableElement.getSimpleName().toString());
+        }
         return variableElement.accept(astTypeElementConverterFactory.buildTypeConverter(type), null);
     }
 
+    private T enumConstant(String name) {
+        //matched by name against the typed constants, avoiding the raw Enum.valueOf() call
+        for (T constant : type.getEnumConstants()) {
+            if (((Enum<?>) constant).name().equals(name)) {
+                return constant;
+            }
+        }
+        throw new TransactionRuntimeException("Unable to find enum constant " + type.getName() + "." + name);
+    }
+
     @Override
     public T visitArray(List<? extends AnnotationValue> annotationValues, Void aVoid) {
         List annotationASTTypes = new ArrayList();
@@ -17,25 +17,46 @@ package org.androidtransfuse.transaction;
 
 import com.google.common.collect.ImmutableSet;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
+ * Composite of independent TransactionProcessors.  As the composed processors do not depend on each other they are
+ * executed concurrently on the shared TransactionScheduler.  Dependencies between processors are expressed via the
+ * TransactionProcessorChain and TransactionProcessorChannel.
+ *
  * @author John Ericksen
  */
 public class TransactionProcessorComposite<V, R> implements TransactionProcessor<V, R> {
 
+    private static final String STAGE = "Composite";
+
     private final ImmutableSet<TransactionProcessor<V, R>> processors;
+    private final TransactionScheduler scheduler;
 
     public TransactionProcessorComposite(ImmutableSet<TransactionProcessor<V, R>> processors) {
+        this(processors, TransactionScheduler.getInstance());
+    }
+
+    public TransactionProcessorComposite(ImmutableSet<TransactionProcessor<V, R>> processors, TransactionScheduler scheduler) {
         this.processors = processors;
+        this.scheduler = scheduler;
     }
 
     @Override
     public void execute() {
-        for (TransactionProcessor processor : processors) {
-            processor.execute();
+        List<Runnable> executions = new ArrayList<Runnable>();
+        for (final TransactionProcessor processor : processors) {
+            executions.add(new Runnable() {
+                @Override
+                public void run() {
+                    processor.execute();
+                }
+            });
         }
+        scheduler.execute(STAGE, executions);
     }
 
     @Override
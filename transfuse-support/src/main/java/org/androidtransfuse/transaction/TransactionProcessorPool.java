@@ -18,9 +18,6 @@ package org.androidtransfuse.transaction;
 import com.google.common.collect.ImmutableSet;
 
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
 
 /**
  * Runs the set of submitted Transactions.  If any of the transactions fails (isComplete() == false) the associated
@@ -30,11 +27,30 @@ import java.util.concurrent.TimeUnit;
  * Additionally, if any external processors depend on code generated in a Transaction, this approach will generate
  * as much as possible despite encountering any errors.
  *
+ * Transactions are executed on the shared, long lived TransactionScheduler and reported under the given stage name.
+ *
  * @author John Ericksen
  */
 public class TransactionProcessorPool<V, R> implements TransactionProcessor<V, R> {
 
+    private static final String DEFAULT_STAGE = "Transactions";
+
     private final List<Transaction<V, R>> transactions = new ArrayList<Transaction<V, R>>();
+    private final TransactionScheduler scheduler;
+    private final String stage;
+
+    public TransactionProcessorPool() {
+        this(DEFAULT_STAGE);
+    }
+
+    public TransactionProcessorPool(String stage) {
+        this(TransactionScheduler.getInstance(), stage);
+    }
+
+    public TransactionProcessorPool(TransactionScheduler scheduler, String stage) {
+        this.scheduler = scheduler;
+        this.stage = stage;
+    }
 
     /**
      * Submit a new transaction to the collection of transactions to execute.
@@ -50,20 +66,15 @@ public class TransactionProcessorPool<V, R> implements TransactionProcessor<V, R
      */
     public void execute() {
 
-        ExecutorService executorService = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        List<Transaction<V, R>> incomplete = new ArrayList<Transaction<V, R>>();
 
         for (Transaction<V, R> transaction : transactions) {
             if (!transaction.isComplete()) {
-                executorService.execute(transaction);
+                incomplete.add(transaction);
             }
         }
 
-        try {
-            executorService.shutdown();
-            executorService.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
-        } catch (InterruptedException e) {
-            throw new TransfuseTransactionException("Pool executor interrupted", e);
-        }
+        scheduler.execute(stage, incomplete);
     }
 
     public Map<V, R> getResults() {
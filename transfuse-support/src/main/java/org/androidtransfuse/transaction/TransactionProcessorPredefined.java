@@ -24,9 +24,14 @@ import java.util.Map;
  */
 public class TransactionProcessorPredefined implements TransactionProcessor<Void, Void> {
 
-    private TransactionProcessorPool<Void, Void> transactionProcessor = new TransactionProcessorPool<Void, Void>();
+    private final TransactionProcessorPool<Void, Void> transactionProcessor;
 
     public TransactionProcessorPredefined(ImmutableSet<Transaction<Void, Void>> transactions) {
+        this("Predefined", transactions);
+    }
+
+    public TransactionProcessorPredefined(String stage, ImmutableSet<Transaction<Void, Void>> transactions) {
+        transactionProcessor = new TransactionProcessorPool<Void, Void>(stage);
         for (Transaction<Void, Void> transaction : transactions) {
             transactionProcessor.submit(transaction);
         }
@@ -15,9 +15,12 @@
  */
 package org.androidtransfuse.transaction;
 
+import org.androidtransfuse.validation.Validator;
+
 /**
  * Exception to be thrown during the execution of a Transaction which will quit the transaction and flag it to be
- * retried.
+ * retried.  As the retry may succeed, any validation error describing the failure is held back with the exception and
+ * only reported once the Transaction is abandoned.
  *
  * @author John Ericksen
  */
@@ -25,18 +28,39 @@ public class TransactionRuntimeException extends RuntimeException {
 
     private static final long serialVersionUID = 7412381702624636463L;
 
+    private final transient Validator.ValidationBuilder validation;
+
     public TransactionRuntimeException() {
+        this.validation = null;
     }
 
     public TransactionRuntimeException(String message) {
         super(message);
+        this.validation = null;
+    }
+
+    public TransactionRuntimeException(String message, Validator.ValidationBuilder validation) {
+        super(message);
+        this.validation = validation;
     }
 
     public TransactionRuntimeException(String message, Throwable cause) {
         super(message, cause);
+        this.validation = null;
     }
 
     public TransactionRuntimeException(Throwable cause) {
         super(cause);
+        this.validation = null;
+    }
+
+    /**
+     * Returns the unreported validation error describing this failure, if any.  The validation should only be built
+     * (reported) once the Transaction will no longer be retried.
+     *
+     * @return validation or null
+     */
+    public Validator.ValidationBuilder getValidation() {
+        return validation;
     }
 }
@@ -0,0 +1,176 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.transaction;
+
+import com.google.common.collect.ImmutableMap;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Long lived scheduler shared by all TransactionProcessors.  Work is submitted as a batch associated with a named
+ * stage.  While waiting for its batch to complete the submitting thread steals and runs any of its own work that has
+ * not yet been picked up by the shared threads.  This allows nested processors (Composites of Pools, for instance) to
+ * share a single fixed set of threads without deadlocking and without leaving cores idle at stage boundaries.
+ *
+ * @author John Ericksen
+ */
+public class TransactionScheduler {
+
+    private static final TransactionScheduler INSTANCE = new TransactionScheduler(Runtime.getRuntime().availableProcessors());
+
+    private final ExecutorService executorService;
+    private final ConcurrentMap<String, TransactionStageStatistics> statistics = new ConcurrentHashMap<String, TransactionStageStatistics>();
+
+    public TransactionScheduler(int threads) {
+        this.executorService = Executors.newFixedThreadPool(threads, new DaemonThreadFactory());
+    }
+
+    /**
+     * Returns the scheduler shared across processing rounds and processor instances.
+     *
+     * @return shared scheduler
+     */
+    public static TransactionScheduler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Executes the given batch of work, returning once every member of the batch has run.  If any member throws an
+     * exception the remainder of the batch is still executed and the first exception is rethrown.
+     *
+     * @param stage name used to aggregate statistics
+     * @param work  batch to execute
+     */
+    public void execute(String stage, Collection<? extends Runnable> work) {
+        if (work.isEmpty()) {
+            return;
+        }
+        TransactionStageStatistics stageStatistics = getStageStatistics(stage);
+        long start = System.nanoTime();
+
+        List<ScheduledWork> scheduled = new ArrayList<ScheduledWork>();
+        for (Runnable runnable : work) {
+            scheduled.add(new ScheduledWork(runnable, stageStatistics));
+        }
+
+        stageStatistics.enqueued(scheduled.size());
+        for (ScheduledWork scheduledWork : scheduled) {
+            executorService.execute(scheduledWork);
+        }
+
+        // help out with any of our own work that has not been started yet
+        for (ScheduledWork scheduledWork : scheduled) {
+            scheduledWork.run();
+        }
+
+        RuntimeException error = null;
+        try {
+            for (ScheduledWork scheduledWork : scheduled) {
+                scheduledWork.await();
+                if (error == null) {
+                    error = scheduledWork.getError();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransfuseTransactionException("Scheduler interrupted", e);
+        } finally {
+            stageStatistics.addWallTime(System.nanoTime() - start);
+        }
+
+        if (error != null) {
+            throw new TransfuseTransactionException("Exception thrown during transaction execution in stage " + stage, error);
+        }
+    }
+
+    private TransactionStageStatistics getStageStatistics(String stage) {
+        TransactionStageStatistics stageStatistics = statistics.get(stage);
+        if (stageStatistics == null) {
+            TransactionStageStatistics created = new TransactionStageStatistics(stage);
+            stageStatistics = statistics.putIfAbsent(stage, created);
+            if (stageStatistics == null) {
+                stageStatistics = created;
+            }
+        }
+        return stageStatistics;
+    }
+
+    /**
+     * Returns a snapshot of the statistics gathered for each stage executed by this scheduler.
+     *
+     * @return stage statistics, keyed by stage name
+     */
+    public ImmutableMap<String, TransactionStageStatistics> getStatistics() {
+        return ImmutableMap.copyOf(statistics);
+    }
+
+    public void resetStatistics() {
+        statistics.clear();
+    }
+
+    private static final class ScheduledWork implements Runnable {
+
+        private final Runnable runnable;
+        private final TransactionStageStatistics statistics;
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile RuntimeException error;
+
+        private ScheduledWork(Runnable runnable, TransactionStageStatistics statistics) {
+            this.runnable = runnable;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public void run() {
+            if (claimed.compareAndSet(false, true)) {
+                statistics.dequeued();
+                try {
+                    runnable.run();
+                } catch (RuntimeException e) {
+                    error = e;
+                } finally {
+                    finished.countDown();
+                }
+            }
+        }
+
+        public void await() throws InterruptedException {
+            finished.await();
+        }
+
+        public RuntimeException getError() {
+            return error;
+        }
+    }
+
+    private static final class DaemonThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "transfuse-transaction-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.transaction;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Queue depth and timing statistics for a single named stage executed by the TransactionScheduler.
+ *
+ * @author John Ericksen
+ */
+public class TransactionStageStatistics {
+
+    private final String stage;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+    private final AtomicLong executed = new AtomicLong();
+    private final AtomicLong wallTime = new AtomicLong();
+
+    public TransactionStageStatistics(String stage) {
+        this.stage = stage;
+    }
+
+    protected void enqueued(int count) {
+        int depth = queueDepth.addAndGet(count);
+        int max = maxQueueDepth.get();
+        while (depth > max && !maxQueueDepth.compareAndSet(max, depth)) {
+            max = maxQueueDepth.get();
+        }
+    }
+
+    protected void dequeued() {
+        queueDepth.decrementAndGet();
+        executed.incrementAndGet();
+    }
+
+    protected void addWallTime(long nanos) {
+        wallTime.addAndGet(nanos);
+    }
+
+    public String getStage() {
+        return stage;
+    }
+
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    public long getExecuted() {
+        return executed.get();
+    }
+
+    public long getWallTime(TimeUnit unit) {
+        return unit.convert(wallTime.get(), TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public String toString() {
+        return stage + ": " + getExecuted() + " transactions, max queue depth " + getMaxQueueDepth() +
+                ", " + getWallTime(TimeUnit.MILLISECONDS) + "ms";
+    }
+}
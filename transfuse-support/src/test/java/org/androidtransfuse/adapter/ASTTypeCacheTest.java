@@ -0,0 +1,329 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.adapter;
+
+import com.google.common.base.Supplier;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author John Ericksen
+ */
+public class ASTTypeCacheTest {
+
+    private static final String TEST_PACKAGE = "org.test";
+    private static final int THREADS = 8;
+
+    private ASTTypeCache<String> cache;
+    private ConcurrentMap<String, AtomicInteger> buildCounts;
+
+    @Before
+    public void setUp() throws Exception {
+        cache = new ASTTypeCache<String>();
+        buildCounts = new ConcurrentHashMap<String, AtomicInteger>();
+    }
+
+    @Test
+    public void testBuildOnce() {
+        TestBuilder builder = new TestBuilder(null);
+
+        ASTType first = cache.get("A", builder);
+        ASTType second = cache.get("A", builder);
+
+        Assert.assertSame(first, second);
+        Assert.assertEquals(1, buildCounts.get("A").get());
+        Assert.assertEquals(1, cache.getMisses());
+        Assert.assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    public void testRecursivePlaceholder() {
+        TestBuilder builder = new TestBuilder("A");
+
+        ASTType type = cache.get("A", builder);
+
+        Assert.assertTrue(type.getSuperClass() instanceof ASTTypeVirtualProxy);
+        Assert.assertEquals(type.getName(), type.getSuperClass().getName());
+        Assert.assertEquals(type.getName(), type.getSuperClass().getSuperClass().getName());
+    }
+
+    @Test
+    public void testConcurrentBuildOnce() throws Exception {
+        final TestBuilder builder = new TestBuilder(null);
+        List<Callable<ASTType>> tasks = new ArrayList<Callable<ASTType>>();
+        for (int i = 0; i < THREADS * 10; i++) {
+            final String key = "T" + (i % 10);
+            tasks.add(new Callable<ASTType>() {
+                @Override
+                public ASTType call() throws Exception {
+                    ASTType type = cache.get(key, builder);
+                    //must be loaded for callers outside of a build
+                    type.getSuperClass();
+                    return type;
+                }
+            });
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (Future<ASTType> future : executorService.invokeAll(tasks)) {
+                Assert.assertNotNull(future.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+
+        for (AtomicInteger count : buildCounts.values()) {
+            Assert.assertEquals(1, count.get());
+        }
+        Assert.assertEquals(10, cache.size());
+    }
+
+    @Test
+    public void testCrossThreadCycle() throws Exception {
+        final CountDownLatch bothBuilding = new CountDownLatch(2);
+        final ASTTypeCache.ASTTypeBuilder<String> builder = new ASTTypeCache.ASTTypeBuilder<String>() {
+            @Override
+            public PackageClass buildPackageClass(String key) {
+                return new PackageClass(TEST_PACKAGE, key);
+            }
+
+            @Override
+            public ASTType buildType(String key) {
+                bothBuilding.countDown();
+                try {
+                    bothBuilding.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                String other = key.equals("A") ? "B" : "A";
+                return new ASTStringTestType(key, cache.get(other, this));
+            }
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<ASTType> a = executorService.submit(new Callable<ASTType>() {
+                @Override
+                public ASTType call() throws Exception {
+                    return cache.get("A", builder);
+                }
+            });
+            Future<ASTType> b = executorService.submit(new Callable<ASTType>() {
+                @Override
+                public ASTType call() throws Exception {
+                    return cache.get("B", builder);
+                }
+            });
+
+            Assert.assertEquals(TEST_PACKAGE + ".B", a.get(5, TimeUnit.SECONDS).getSuperClass().getName());
+            Assert.assertEquals(TEST_PACKAGE + ".A", b.get(5, TimeUnit.SECONDS).getSuperClass().getName());
+            Assert.assertEquals(TEST_PACKAGE + ".A", a.get().getSuperClass().getSuperClass().getName());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testFailedBuildIsRetried() {
+        final AtomicInteger attempts = new AtomicInteger();
+        ASTTypeCache.ASTTypeBuilder<String> builder = new ASTTypeCache.ASTTypeBuilder<String>() {
+            @Override
+            public PackageClass buildPackageClass(String key) {
+                return new PackageClass(TEST_PACKAGE, key);
+            }
+
+            @Override
+            public ASTType buildType(String key) {
+                if (attempts.incrementAndGet() == 1) {
+                    throw new IllegalStateException();
+                }
+                return new ASTStringTestType(key, null);
+            }
+        };
+
+        try {
+            cache.get("A", builder);
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            //expected
+        }
+
+        Assert.assertNotNull(cache.get("A", builder));
+        Assert.assertEquals(2, attempts.get());
+    }
+
+    @Test
+    public void testFailedBuildRethrownToWaiters() throws Exception {
+        final CountDownLatch building = new CountDownLatch(1);
+        final CountDownLatch waiting = new CountDownLatch(1);
+        final AtomicInteger attempts = new AtomicInteger();
+        final IllegalStateException failure = new IllegalStateException();
+        final ASTTypeCache.ASTTypeBuilder<String> builder = new ASTTypeCache.ASTTypeBuilder<String>() {
+            @Override
+            public PackageClass buildPackageClass(String key) {
+                return new PackageClass(TEST_PACKAGE, key);
+            }
+
+            @Override
+            public ASTType buildType(String key) {
+                attempts.incrementAndGet();
+                building.countDown();
+                try {
+                    waiting.await(1, TimeUnit.SECONDS);
+                    //allow the waiting thread to block on the in-flight build
+                    Thread.sleep(100);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                throw failure;
+            }
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<ASTType> owner = executorService.submit(new Callable<ASTType>() {
+                @Override
+                public ASTType call() throws Exception {
+                    return cache.get("A", builder);
+                }
+            });
+            building.await(1, TimeUnit.SECONDS);
+            Future<ASTType> waiter = executorService.submit(new Callable<ASTType>() {
+                @Override
+                public ASTType call() throws Exception {
+                    waiting.countDown();
+                    return cache.get("A", builder);
+                }
+            });
+
+            assertFailure(failure, owner);
+            assertFailure(failure, waiter);
+            Assert.assertEquals(1, attempts.get());
+            Assert.assertEquals(0, cache.size());
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testLoadBorrowsInFlightTypes() throws Exception {
+        final CountDownLatch building = new CountDownLatch(1);
+        final CountDownLatch borrowed = new CountDownLatch(1);
+        final ASTTypeCache.ASTTypeBuilder<String> builder = new ASTTypeCache.ASTTypeBuilder<String>() {
+            @Override
+            public PackageClass buildPackageClass(String key) {
+                return new PackageClass(TEST_PACKAGE, key);
+            }
+
+            @Override
+            public ASTType buildType(String key) {
+                building.countDown();
+                try {
+                    borrowed.await(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                return new ASTStringTestType(key, null);
+            }
+        };
+
+        ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            Future<ASTType> owner = executorService.submit(new Callable<ASTType>() {
+                @Override
+                public ASTType call() throws Exception {
+                    return cache.get("A", builder);
+                }
+            });
+            building.await(1, TimeUnit.SECONDS);
+            Future<ASTType> loader = executorService.submit(new Callable<ASTType>() {
+                @Override
+                public ASTType call() throws Exception {
+                    return cache.load(new Supplier<ASTType>() {
+                        @Override
+                        public ASTType get() {
+                            //does not block on the in-flight build
+                            ASTType type = cache.get("A", builder);
+                            borrowed.countDown();
+                            return type;
+                        }
+                    });
+                }
+            });
+
+            ASTType loaded = loader.get(5, TimeUnit.SECONDS);
+            Assert.assertTrue(loaded instanceof ASTTypeVirtualProxy);
+            //loaded prior to returning from load()
+            Assert.assertNull(loaded.getSuperClass());
+            Assert.assertNotNull(owner.get(5, TimeUnit.SECONDS));
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    private void assertFailure(Exception expected, Future<ASTType> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertSame(expected, e.getCause());
+        }
+    }
+
+    private class TestBuilder implements ASTTypeCache.ASTTypeBuilder<String> {
+
+        private final String superKey;
+
+        private TestBuilder(String superKey) {
+            this.superKey = superKey;
+        }
+
+        @Override
+        public PackageClass buildPackageClass(String key) {
+            return new PackageClass(TEST_PACKAGE, key);
+        }
+
+        @Override
+        public ASTType buildType(String key) {
+            buildCounts.putIfAbsent(key, new AtomicInteger());
+            buildCounts.get(key).incrementAndGet();
+            ASTType superClass = superKey == null ? null : cache.get(superKey, this);
+            return new ASTStringTestType(key, superClass);
+        }
+    }
+
+    private static class ASTStringTestType extends ASTStringType {
+
+        private final ASTType superClass;
+
+        private ASTStringTestType(String name, ASTType superClass) {
+            super(TEST_PACKAGE + "." + name);
+            this.superClass = superClass;
+        }
+
+        @Override
+        public ASTType getSuperClass() {
+            return superClass;
+        }
+    }
+}
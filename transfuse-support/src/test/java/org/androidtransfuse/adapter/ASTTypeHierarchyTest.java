@@ -0,0 +1,118 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.adapter;
+
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author John Ericksen
+ */
+public class ASTTypeHierarchyTest {
+
+    private static final String TEST_PACKAGE = "org.test";
+
+    private HierarchyTestType base;
+    private HierarchyTestType baseInterface;
+    private HierarchyTestType superInterface;
+    private HierarchyTestType child;
+    private HierarchyTestType unrelated;
+
+    @Before
+    public void setUp() throws Exception {
+        superInterface = new HierarchyTestType("SuperInterface", null);
+        baseInterface = new HierarchyTestType("BaseInterface", null, superInterface);
+        base = new HierarchyTestType("Base", null, baseInterface);
+        child = new HierarchyTestType("Child", base);
+        unrelated = new HierarchyTestType("Unrelated", null);
+    }
+
+    @Test
+    public void testMatchesRecursiveWalk() {
+        ASTType[] types = {base, baseInterface, superInterface, child, unrelated};
+
+        for (ASTType type : types) {
+            ASTTypeHierarchy hierarchy = new ASTTypeHierarchy(type);
+            for (ASTType target : types) {
+                Assert.assertEquals(ASTUtils.getInstance().inherits(type, target, true, true), hierarchy.inheritsFrom(target));
+                Assert.assertEquals(ASTUtils.getInstance().inherits(type, target, false, true), hierarchy.extendsFrom(target));
+                Assert.assertEquals(ASTUtils.getInstance().inherits(type, target, true, false), hierarchy.implementsFrom(target));
+            }
+        }
+    }
+
+    @Test
+    public void testInheritance() {
+        ASTTypeHierarchy hierarchy = new ASTTypeHierarchy(child);
+
+        Assert.assertTrue(hierarchy.inheritsFrom(child));
+        Assert.assertTrue(hierarchy.inheritsFrom(new ASTStringType(TEST_PACKAGE + ".SuperInterface")));
+        Assert.assertTrue(hierarchy.extendsFrom(base));
+        Assert.assertFalse(hierarchy.extendsFrom(baseInterface));
+        Assert.assertFalse(hierarchy.implementsFrom(baseInterface));
+        Assert.assertTrue(new ASTTypeHierarchy(base).implementsFrom(superInterface));
+        Assert.assertFalse(hierarchy.inheritsFrom(unrelated));
+        Assert.assertFalse(hierarchy.inheritsFrom(null));
+    }
+
+    @Test
+    public void testWalkedOnce() {
+        ASTTypeHierarchy hierarchy = new ASTTypeHierarchy(child);
+
+        hierarchy.inheritsFrom(superInterface);
+        hierarchy.inheritsFrom(unrelated);
+        hierarchy.inheritsFrom(base);
+
+        Assert.assertEquals(1, child.getSuperClassCalls());
+        Assert.assertEquals(1, base.getInterfacesCalls());
+    }
+
+    private static class HierarchyTestType extends ASTStringType {
+
+        private final ASTType superClass;
+        private final ImmutableSet<ASTType> interfaces;
+        private int superClassCalls = 0;
+        private int interfacesCalls = 0;
+
+        private HierarchyTestType(String name, ASTType superClass, ASTType... interfaces) {
+            super(TEST_PACKAGE + "." + name);
+            this.superClass = superClass;
+            this.interfaces = ImmutableSet.copyOf(interfaces);
+        }
+
+        @Override
+        public ASTType getSuperClass() {
+            superClassCalls++;
+            return superClass;
+        }
+
+        @Override
+        public ImmutableSet<ASTType> getInterfaces() {
+            interfacesCalls++;
+            return interfaces;
+        }
+
+        public int getSuperClassCalls() {
+            return superClassCalls;
+        }
+
+        public int getInterfacesCalls() {
+            return interfacesCalls;
+        }
+    }
+}
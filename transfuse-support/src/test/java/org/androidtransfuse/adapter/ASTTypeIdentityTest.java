@@ -0,0 +1,66 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.adapter;
+
+import com.google.common.collect.ImmutableSet;
+import org.apache.commons.lang.builder.HashCodeBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author John Ericksen
+ */
+public class ASTTypeIdentityTest {
+
+    private static final String TEST_TYPE = "org.test.Tester";
+    private static final String OTHER_TYPE = "org.test.Other";
+
+    @Test
+    public void testInternedName() {
+        ASTTypeIdentity first = new ASTTypeIdentity(new StringBuilder("org.test").append(".Tester").toString());
+        ASTTypeIdentity second = new ASTTypeIdentity(TEST_TYPE);
+
+        Assert.assertSame(first.getName(), second.getName());
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(new HashCodeBuilder().append(TEST_TYPE).hashCode(), first.hashCode());
+    }
+
+    @Test
+    public void testEqualityAcrossAdapters() {
+        ASTType type = new ASTStringType(new StringBuilder("org.test").append(".Tester").toString());
+        ASTType sameType = new ASTStringType(TEST_TYPE);
+        ASTType otherType = new ASTStringType(OTHER_TYPE);
+
+        Assert.assertEquals(type, sameType);
+        Assert.assertEquals(sameType, type);
+        Assert.assertEquals(type.hashCode(), sameType.hashCode());
+        Assert.assertFalse(type.equals(otherType));
+    }
+
+    @Test
+    public void testEqualityToUnidentifiedType() {
+        ASTType type = new ASTStringType(TEST_TYPE);
+        ASTType wrapped = new ASTGenericTypeWrapper(new ASTStringType(TEST_TYPE), new LazyTypeParameterBuilder() {
+            @Override
+            public ImmutableSet<ASTType> buildGenericParameters() {
+                return ImmutableSet.of();
+            }
+        });
+
+        Assert.assertTrue(type.equals(wrapped));
+        Assert.assertEquals(type.hashCode(), wrapped.hashCode());
+    }
+}
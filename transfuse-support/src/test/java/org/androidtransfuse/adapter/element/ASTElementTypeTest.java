@@ -0,0 +1,83 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.adapter.element;
+
+import com.google.common.base.Supplier;
+import com.google.common.base.Suppliers;
+import com.google.common.collect.ImmutableSet;
+import org.androidtransfuse.adapter.*;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.lang.model.element.TypeElement;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author John Ericksen
+ */
+public class ASTElementTypeTest {
+
+    private CountingSupplier<ASTMethod> methodSupplier;
+    private CountingSupplier<ASTAnnotation> annotationSupplier;
+    private ASTElementType astType;
+
+    @Before
+    public void setUp() throws Exception {
+        methodSupplier = new CountingSupplier<ASTMethod>();
+        annotationSupplier = new CountingSupplier<ASTAnnotation>();
+
+        astType = new ASTElementType(new PackageClass("org.test", "Tester"),
+                mock(TypeElement.class),
+                Suppliers.memoize(new CountingSupplier<ASTConstructor>()),
+                Suppliers.memoize(methodSupplier),
+                Suppliers.memoize(new CountingSupplier<ASTField>()),
+                null,
+                ImmutableSet.<ASTType>of(),
+                Suppliers.memoize(annotationSupplier));
+    }
+
+    @Test
+    public void testMembersLoadedOnAccess() {
+        Assert.assertEquals("org.test.Tester", astType.getName());
+        Assert.assertEquals(0, methodSupplier.getCalls());
+        Assert.assertEquals(0, annotationSupplier.getCalls());
+
+        astType.getMethods();
+        astType.getMethods();
+        astType.isAnnotated(Deprecated.class);
+        astType.getAnnotations();
+
+        Assert.assertEquals(1, methodSupplier.getCalls());
+        Assert.assertEquals(1, annotationSupplier.getCalls());
+    }
+
+    private static final class CountingSupplier<T> implements Supplier<ImmutableSet<T>> {
+
+        private int calls = 0;
+
+        @Override
+        public ImmutableSet<T> get() {
+            calls++;
+            return ImmutableSet.of();
+        }
+
+        public int getCalls() {
+            return calls;
+        }
+    }
+}
@@ -65,4 +65,24 @@ public class CodeGenerationScopedTransactionWorkerTest {
 
         Assert.assertTrue(worker.isComplete());
     }
+
+    @Test
+    public void testFailureSkipsCodeModel() throws Exception {
+
+        Object mockValue = PowerMockito.mock(Object.class);
+        TransactionRuntimeException failure = new TransactionRuntimeException("failure");
+
+        Mockito.when(mockWorker.run(mockValue)).thenThrow(failure);
+
+        try {
+            worker.run(mockValue);
+            Assert.fail();
+        } catch (TransactionRuntimeException e) {
+            Assert.assertSame(failure, e);
+        }
+
+        Mockito.verify(mockCodeModel, Mockito.never()).build(mockCodeWriter, mockResourceWriter);
+
+        Assert.assertFalse(worker.isComplete());
+    }
 }
@@ -0,0 +1,118 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.transaction;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author John Ericksen
+ */
+public class TransactionSchedulerTest {
+
+    private static final String TEST_STAGE = "test";
+    private static final int WORK_COUNT = 100;
+
+    private TransactionScheduler scheduler;
+    private AtomicInteger counter;
+
+    @Before
+    public void setUp() throws Exception {
+        scheduler = new TransactionScheduler(1);
+        counter = new AtomicInteger();
+    }
+
+    @Test
+    public void testExecute() {
+        scheduler.execute(TEST_STAGE, buildWork(WORK_COUNT));
+
+        Assert.assertEquals(WORK_COUNT, counter.get());
+    }
+
+    @Test
+    public void testNestedExecutionDoesNotDeadlock() {
+        List<Runnable> outer = new ArrayList<Runnable>();
+        for (int i = 0; i < 10; i++) {
+            outer.add(new Runnable() {
+                @Override
+                public void run() {
+                    scheduler.execute(TEST_STAGE, buildWork(10));
+                }
+            });
+        }
+
+        scheduler.execute("outer", outer);
+
+        Assert.assertEquals(WORK_COUNT, counter.get());
+    }
+
+    @Test
+    public void testStatistics() {
+        scheduler.execute(TEST_STAGE, buildWork(WORK_COUNT));
+
+        TransactionStageStatistics statistics = scheduler.getStatistics().get(TEST_STAGE);
+
+        Assert.assertEquals(WORK_COUNT, statistics.getExecuted());
+        Assert.assertEquals(WORK_COUNT, statistics.getMaxQueueDepth());
+        Assert.assertEquals(0, statistics.getQueueDepth());
+    }
+
+    @Test
+    public void testErrorPropagation() {
+        List<Runnable> work = buildWork(WORK_COUNT);
+        work.add(new Runnable() {
+            @Override
+            public void run() {
+                throw new TransactionRuntimeException();
+            }
+        });
+
+        try {
+            scheduler.execute(TEST_STAGE, work);
+            Assert.fail();
+        } catch (TransfuseTransactionException e) {
+            Assert.assertTrue(e.getCause() instanceof TransactionRuntimeException);
+        }
+
+        Assert.assertEquals(WORK_COUNT, counter.get());
+    }
+
+    @Test
+    public void testEmpty() {
+        scheduler.execute(TEST_STAGE, Collections.<Runnable>emptyList());
+
+        Assert.assertFalse(scheduler.getStatistics().containsKey(TEST_STAGE));
+    }
+
+    private List<Runnable> buildWork(int count) {
+        List<Runnable> work = new ArrayList<Runnable>();
+        for (int i = 0; i < count; i++) {
+            work.add(new Runnable() {
+                @Override
+                public void run() {
+                    counter.incrementAndGet();
+                }
+            });
+        }
+        return work;
+    }
+}
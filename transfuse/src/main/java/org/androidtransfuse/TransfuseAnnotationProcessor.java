@@ -16,42 +16,56 @@
 package org.androidtransfuse;
 
 import org.androidtransfuse.adapter.ASTType;
-import org.androidtransfuse.adapter.element.ASTElementConverterFactory;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.adapter.element.ASTElementFactory;
+import org.androidtransfuse.analysis.ClassHierarchyScanCache;
 import org.androidtransfuse.annotations.*;
 import org.androidtransfuse.bootstrap.Bootstrap;
 import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.config.CachedElements;
 import org.androidtransfuse.config.ConfigurationScope;
 import org.androidtransfuse.config.EnterableScope;
+import org.androidtransfuse.config.ErrorCountingMessager;
+import org.androidtransfuse.config.RecordingFiler;
 import org.androidtransfuse.config.TransfuseAndroidModule;
+import org.androidtransfuse.gen.GeneratedCodeStatistics;
+import org.androidtransfuse.gen.InjectorGenerator;
+import org.androidtransfuse.gen.invocationBuilder.SourceTypeRegistry;
+import org.androidtransfuse.gen.variableDecorator.ExpressionDecoratorFactory;
 import org.androidtransfuse.model.manifest.Manifest;
 import org.androidtransfuse.model.r.RBuilder;
 import org.androidtransfuse.model.r.RResource;
 import org.androidtransfuse.model.r.RResourceComposite;
+import org.androidtransfuse.processor.ASTTypeFingerprinter;
+import org.androidtransfuse.processor.IncrementalBuildCache;
 import org.androidtransfuse.processor.ReloadableASTElementFactory;
 import org.androidtransfuse.processor.TransfuseProcessor;
 import org.androidtransfuse.scope.ScopeKey;
+import org.androidtransfuse.transaction.TransactionScheduler;
+import org.androidtransfuse.transaction.TransactionStageStatistics;
 import org.androidtransfuse.util.Logger;
+import org.androidtransfuse.util.ManifestCache;
 import org.androidtransfuse.util.ManifestLocator;
-import org.androidtransfuse.util.ManifestSerializer;
 
 import javax.annotation.processing.ProcessingEnvironment;
 import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedOptions;
 import javax.annotation.processing.SupportedSourceVersion;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
 import javax.lang.model.util.ElementFilter;
 import javax.lang.model.util.Elements;
 import java.io.File;
 import java.lang.annotation.Annotation;
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Set;
-
-import static com.google.common.collect.Collections2.transform;
+import java.net.URL;
+import java.security.CodeSource;
+import java.util.*;
 
 /**
  * Transfuse Annotation processor.  Kicks off the process of analyzing and generating code based on the compiled
@@ -76,13 +90,24 @@ import static com.google.common.collect.Collections2.transform;
         Factory.class,
         ImplementedBy.class})
 @SupportedSourceVersion(SourceVersion.RELEASE_6)
+@SupportedOptions(TransfuseAndroidModule.SHARED_INJECTORS_OPTION)
 @Bootstrap
 public class TransfuseAnnotationProcessor extends AnnotationProcessorBase {
 
+    private static final List<Class<? extends Annotation>> ROOT_ANNOTATIONS = Arrays.asList(
+            Activity.class,
+            Application.class,
+            BroadcastReceiver.class,
+            Service.class,
+            Fragment.class,
+            TransfuseModule.class,
+            Factory.class,
+            ImplementedBy.class);
+
     @Inject
-    private ASTElementConverterFactory astElementConverterFactory;
+    private ManifestCache manifestCache;
     @Inject
-    private ManifestSerializer manifestParser;
+    private ClassHierarchyScanCache classHierarchyScanCache;
     @Inject
     private RBuilder rBuilder;
     @Inject
@@ -98,7 +123,35 @@ public class TransfuseAnnotationProcessor extends AnnotationProcessorBase {
     private Provider<TransfuseProcessor> processorProvider;
     @Inject
     private Elements elements;
+    @Inject
+    private CachedElements cachedElements;
+    @Inject
+    private ASTElementFactory astElementFactory;
+    @Inject
+    private ASTClassFactory astClassFactory;
+    @Inject
+    private ASTTypeFingerprinter astTypeFingerprinter;
+    @Inject
+    private IncrementalBuildCache incrementalBuildCache;
+    @Inject
+    private RecordingFiler recordingFiler;
+    @Inject
+    private ErrorCountingMessager errorCountingMessager;
+    @Inject
+    private GeneratedCodeStatistics generatedCodeStatistics;
+    @Inject
+    private SourceTypeRegistry sourceTypeRegistry;
+    @Inject
+    private InjectorGenerator.InjectorCache injectorCache;
+    @Inject
+    @Named(ExpressionDecoratorFactory.SHARED_INJECTORS)
+    private Boolean sharedInjectors;
     private boolean baseModuleConfiguration = false;
+    private String inputFingerprint = null;
+    private boolean replayed = false;
+    private boolean cacheable = true;
+    private File manifestFile = null;
+    private final Map<String, CachedR> rCache = new HashMap<String, CachedR>();
 
     @Override
     public void init(final ProcessingEnvironment processingEnv) {
@@ -112,11 +165,46 @@ public class TransfuseAnnotationProcessor extends AnnotationProcessorBase {
     @Override
     public boolean process(Set<? extends TypeElement> typeElements, RoundEnvironment roundEnvironment) {
 
+        if (replayed) {
+            //the output of this build was replayed from the incremental build cache in the first round
+            return true;
+        }
+
         long start = System.currentTimeMillis();
 
+        if (roundEnvironment.errorRaised()) {
+            //output generated alongside compilation errors may be incomplete
+            cacheable = false;
+        }
+
+        //Elements queries may return different results once new sources are introduced in this round
+        cachedElements.invalidate();
+
         //setup transfuse processor with manifest and R classes
-        File manifestFile = manifestLocator.findManifest();
-        Manifest manifest = manifestParser.readManifest(manifestFile);
+        if (manifestFile == null) {
+            manifestFile = manifestLocator.findManifest();
+        }
+
+        if (inputFingerprint == null) {
+            inputFingerprint = fingerprintInputs(roundEnvironment);
+            IncrementalBuildCache.Entry cached = incrementalBuildCache.lookup(inputFingerprint, manifestFile);
+            if (cached != null) {
+                incrementalBuildCache.replay(cached);
+                replayed = true;
+                logger.info("Transfuse replayed " + cached.getGeneratedFiles().size() +
+                        " unchanged files from the incremental build cache in " + (System.currentTimeMillis() - start) + "ms");
+                return true;
+            }
+            recordingFiler.startRecording();
+        } else if (hasRootTypes(roundEnvironment)) {
+            //roots introduced by other processors in later rounds are not covered by the fingerprint
+            cacheable = false;
+        }
+
+        //package helpers are only generated for types compiled from source
+        sourceTypeRegistry.register(roundEnvironment.getRootElements());
+
+        Manifest manifest = manifestCache.readManifest(manifestFile);
 
         RResourceComposite r = new RResourceComposite(
                 buildR(rBuilder, manifest.getApplicationPackage() + ".R"),
@@ -161,7 +249,12 @@ public class TransfuseAnnotationProcessor extends AnnotationProcessorBase {
         transfuseProcessor.execute();
 
         if (roundEnvironment.processingOver()) {
+            logStatistics();
             transfuseProcessor.checkForErrors();
+            //validation errors are reported without failing the transactions
+            if (cacheable && errorCountingMessager.getErrorCount() == 0) {
+                incrementalBuildCache.store(inputFingerprint, manifestFile, recordingFiler.stopRecording());
+            }
         }
 
         logger.info("Transfuse took " + (System.currentTimeMillis() - start) + "ms to process");
@@ -171,11 +264,87 @@ public class TransfuseAnnotationProcessor extends AnnotationProcessorBase {
         return true;
     }
 
+    private void logStatistics() {
+        TransactionScheduler scheduler = TransactionScheduler.getInstance();
+        for (TransactionStageStatistics stageStatistics : scheduler.getStatistics().values()) {
+            logger.info(stageStatistics.toString());
+        }
+        scheduler.resetStatistics();
+        logger.info("Element type cache: " + astElementFactory.getTypeCache());
+        logger.info("Class type cache: " + astClassFactory.getTypeCache());
+        logger.info(cachedElements.toString());
+        logger.info(manifestCache.toString());
+        logger.info(classHierarchyScanCache.toString());
+        logger.info(generatedCodeStatistics.toString() + " (" + TransfuseAndroidModule.SHARED_INJECTORS_OPTION + "=" +
+                sharedInjectors + ")");
+        logger.info(injectorCache.toString());
+    }
+
+    private String fingerprintInputs(RoundEnvironment roundEnvironment) {
+        List<ASTType> roots = new ArrayList<ASTType>();
+        roots.add(astElementFactory.getType(elements.getTypeElement(APIModule.class.getName())));
+        for (Class<? extends Annotation> rootAnnotation : ROOT_ANNOTATIONS) {
+            for (TypeElement rootType : ElementFilter.typesIn(roundEnvironment.getElementsAnnotatedWith(rootAnnotation))) {
+                roots.add(astElementFactory.getType(rootType));
+            }
+        }
+
+        Manifest manifest = manifestCache.readManifest(manifestFile);
+
+        return astTypeFingerprinter.fingerprint(roots,
+                describeR(manifest.getApplicationPackage() + ".R"),
+                describeR("android.R"),
+                describeProcessor(),
+                TransfuseAndroidModule.SHARED_INJECTORS_OPTION + "=" + sharedInjectors);
+    }
+
+    private boolean hasRootTypes(RoundEnvironment roundEnvironment) {
+        for (Class<? extends Annotation> rootAnnotation : ROOT_ANNOTATIONS) {
+            if (!roundEnvironment.getElementsAnnotatedWith(rootAnnotation).isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String describeR(String className) {
+        StringBuilder builder = new StringBuilder(className);
+        TypeElement rTypeElement = elements.getTypeElement(className);
+        if (rTypeElement != null) {
+            for (TypeElement rInnerTypeElement : ElementFilter.typesIn(rTypeElement.getEnclosedElements())) {
+                builder.append('\n').append(rInnerTypeElement.getSimpleName());
+                for (VariableElement resource : ElementFilter.fieldsIn(rInnerTypeElement.getEnclosedElements())) {
+                    builder.append(' ').append(resource.getSimpleName()).append('=').append(resource.getConstantValue());
+                }
+            }
+        }
+        return builder.toString();
+    }
+
+    private String describeProcessor() {
+        //output generated by a different Transfuse build must not be replayed
+        CodeSource codeSource = TransfuseAnnotationProcessor.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return "";
+        }
+        URL location = codeSource.getLocation();
+        if ("file".equals(location.getProtocol())) {
+            File processorFile = new File(location.getPath());
+            return location + " " + processorFile.length() + " " + processorFile.lastModified();
+        }
+        return location.toString();
+    }
+
     private RResource buildR(RBuilder rBuilder, String className) {
         TypeElement rTypeElement = elements.getTypeElement(className);
         if (rTypeElement != null) {
-            Collection<ASTType> rInnerTypes = wrapASTCollection(ElementFilter.typesIn(rTypeElement.getEnclosedElements()));
-            return rBuilder.buildR(rInnerTypes);
+            //the R mapping is rebuilt only if the compiler presents a different R class
+            CachedR cachedR = rCache.get(className);
+            if (cachedR == null || cachedR.typeElement != rTypeElement) {
+                cachedR = new CachedR(rTypeElement, rBuilder.buildR(rTypeElement));
+                rCache.put(className, cachedR);
+            }
+            return cachedR.resource;
         }
         return null;
     }
@@ -184,9 +353,13 @@ public class TransfuseAnnotationProcessor extends AnnotationProcessorBase {
         return reloadableASTElementFactory.buildProviders(round.getElementsAnnotatedWith(annotation));
     }
 
-    private Collection<ASTType> wrapASTCollection(Collection<? extends Element> elementCollection) {
-        return transform(elementCollection,
-                astElementConverterFactory.buildASTElementConverter(ASTType.class)
-        );
+    private static final class CachedR {
+        private final TypeElement typeElement;
+        private final RResource resource;
+
+        private CachedR(TypeElement typeElement, RResource resource) {
+            this.typeElement = typeElement;
+            this.resource = resource;
+        }
     }
 }
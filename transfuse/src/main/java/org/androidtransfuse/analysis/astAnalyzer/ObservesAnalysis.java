@@ -16,12 +16,14 @@
 package org.androidtransfuse.analysis.astAnalyzer;
 
 import org.androidtransfuse.TransfuseAnalysisException;
+import org.androidtransfuse.adapter.ASTAnnotation;
 import org.androidtransfuse.adapter.ASTMethod;
 import org.androidtransfuse.adapter.ASTParameter;
 import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.adapter.classes.ASTClassFactory;
 import org.androidtransfuse.analysis.AnalysisContext;
 import org.androidtransfuse.analysis.Analyzer;
+import org.androidtransfuse.annotations.Delivery;
 import org.androidtransfuse.annotations.Observes;
 import org.androidtransfuse.event.EventTending;
 import org.androidtransfuse.model.InjectionNode;
@@ -81,7 +83,21 @@ public class ObservesAnalysis extends ASTAnalysisAdaptor {
             }
             ObservesAspect aspect = injectionNode.getAspect(ObservesAspect.class);
 
-            aspect.addObserver(firstParameter.getASTType(), astMethod);
+            aspect.addObserver(firstParameter.getASTType(), astMethod, getDelivery(astMethod, firstParameter));
         }
     }
+
+    private Delivery getDelivery(ASTMethod astMethod, ASTParameter firstParameter) {
+        ASTAnnotation observesAnnotation;
+        if (astMethod.isAnnotated(Observes.class)) {
+            observesAnnotation = astMethod.getASTAnnotation(Observes.class);
+        } else {
+            observesAnnotation = firstParameter.getASTAnnotation(Observes.class);
+        }
+        Delivery delivery = observesAnnotation.getProperty("delivery", Delivery.class);
+        if (delivery == null) {
+            return Delivery.SYNCHRONOUS;
+        }
+        return delivery;
+    }
 }
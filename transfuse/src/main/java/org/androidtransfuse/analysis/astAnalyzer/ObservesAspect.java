@@ -18,6 +18,7 @@ package org.androidtransfuse.analysis.astAnalyzer;
 import org.androidtransfuse.adapter.ASTMethod;
 import org.androidtransfuse.adapter.ASTMethodUniqueSignatureDecorator;
 import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.annotations.Delivery;
 import org.androidtransfuse.model.InjectionNode;
 
 import java.util.*;
@@ -27,28 +28,40 @@ import java.util.*;
  */
 public class ObservesAspect {
 
-    private final Map<ASTType, Set<ASTMethod>> observesMap = new HashMap<ASTType, Set<ASTMethod>>();
+    private final Map<ASTType, Map<Delivery, Set<ASTMethod>>> observesMap = new HashMap<ASTType, Map<Delivery, Set<ASTMethod>>>();
     private final InjectionNode observerTendingInjectionNode;
 
     public ObservesAspect(InjectionNode observerTendingInjectionNode) {
         this.observerTendingInjectionNode = observerTendingInjectionNode;
     }
 
-    public void addObserver(ASTType event, ASTMethod method){
+    public void addObserver(ASTType event, ASTMethod method, Delivery delivery){
         if(!observesMap.containsKey(event)){
-            observesMap.put(event, new HashSet<ASTMethod>());
+            observesMap.put(event, new EnumMap<Delivery, Set<ASTMethod>>(Delivery.class));
+        }
+        Map<Delivery, Set<ASTMethod>> deliveryMap = observesMap.get(event);
+        if(!deliveryMap.containsKey(delivery)){
+            deliveryMap.put(delivery, new HashSet<ASTMethod>());
         }
 
-        observesMap.get(event).add(new ASTMethodUniqueSignatureDecorator(method));
+        deliveryMap.get(delivery).add(new ASTMethodUniqueSignatureDecorator(method));
     }
 
     public Set<ASTType> getEvents(){
         return observesMap.keySet();
     }
 
-    public Set<ASTMethod> getObserverMethods(ASTType event){
+    public Set<Delivery> getDeliveries(ASTType event){
         if(observesMap.containsKey(event)){
-            return observesMap.get(event);
+            return observesMap.get(event).keySet();
+        }
+
+        return Collections.emptySet();
+    }
+
+    public Set<ASTMethod> getObserverMethods(ASTType event, Delivery delivery){
+        if(observesMap.containsKey(event) && observesMap.get(event).containsKey(delivery)){
+            return observesMap.get(event).get(delivery);
         }
 
         return Collections.emptySet();
@@ -164,7 +164,9 @@ public class InjectionNodeBuilderRepositoryFactory implements ModuleRepository {
 
     public InjectionNodeBuilderRepository buildModuleConfiguration() {
         InjectionNodeBuilderRepository builderRepository = injectionNodeBuilderRepositoryProvider.get();
-        builderRepository.addRepository(this.repository.moduleRepository);
+        synchronized (this.repository) {
+            builderRepository.addRepository(this.repository.moduleRepository);
+        }
         builderRepository.addRepository(scopeAspectFactoryRepositoryProvider.get());
         builderRepository.addRepository(injectionNodeBuilderRepositoryProvider.get());
 
@@ -191,6 +193,8 @@ public class InjectionNodeBuilderRepositoryFactory implements ModuleRepository {
 
     @Override
     public void addModuleRepository(InjectionNodeBuilderRepository repository) {
-        this.repository.moduleRepository.addRepository(repository);
+        synchronized (this.repository) {
+            this.repository.moduleRepository.addRepository(repository);
+        }
     }
 }
@@ -0,0 +1,211 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.config;
+
+import javax.lang.model.element.*;
+import javax.lang.model.util.Elements;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-mostly memoizing Elements decorator.  Repeated queries are answered from a concurrent cache without touching
+ * the (globally synchronized) delegate.  The results of Elements queries are stable during a processing round, but
+ * may change between rounds as new sources are introduced, so the cache must be invalidated at each round boundary.
+ *
+ * @author John Ericksen
+ */
+public class CachedElements implements Elements {
+
+    private static final Object NULL = new Object();
+
+    private final Elements elements;
+    private final ConcurrentMap<String, Object> typeElements = new ConcurrentHashMap<String, Object>();
+    private final ConcurrentMap<String, Object> packageElements = new ConcurrentHashMap<String, Object>();
+    private final ConcurrentMap<Element, Object> packageOf = new ConcurrentHashMap<Element, Object>();
+    private final ConcurrentMap<Element, Object> allAnnotationMirrors = new ConcurrentHashMap<Element, Object>();
+    private final ConcurrentMap<Element, Object> allMembers = new ConcurrentHashMap<Element, Object>();
+    private final ConcurrentMap<AnnotationMirror, Object> elementValuesWithDefaults = new ConcurrentHashMap<AnnotationMirror, Object>();
+    private final ConcurrentMap<TypeElement, Object> binaryNames = new ConcurrentHashMap<TypeElement, Object>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public CachedElements(Elements elements) {
+        this.elements = elements;
+    }
+
+    /**
+     * Clears all memoized results.  To be called at the beginning of each processing round.
+     */
+    public void invalidate() {
+        typeElements.clear();
+        packageElements.clear();
+        packageOf.clear();
+        allAnnotationMirrors.clear();
+        allMembers.clear();
+        elementValuesWithDefaults.clear();
+        binaryNames.clear();
+    }
+
+    @Override
+    public PackageElement getPackageElement(CharSequence charSequence) {
+        String key = charSequence.toString();
+        Object value = lookup(packageElements, key);
+        if (value == null) {
+            value = store(packageElements, key, elements.getPackageElement(charSequence));
+        }
+        return unwrap(value);
+    }
+
+    @Override
+    public TypeElement getTypeElement(CharSequence charSequence) {
+        String key = charSequence.toString();
+        Object value = lookup(typeElements, key);
+        if (value == null) {
+            value = store(typeElements, key, elements.getTypeElement(charSequence));
+        }
+        return unwrap(value);
+    }
+
+    @Override
+    public Map<? extends ExecutableElement, ? extends AnnotationValue> getElementValuesWithDefaults(AnnotationMirror annotationMirror) {
+        Object value = lookup(elementValuesWithDefaults, annotationMirror);
+        if (value == null) {
+            value = store(elementValuesWithDefaults, annotationMirror, elements.getElementValuesWithDefaults(annotationMirror));
+        }
+        return unwrap(value);
+    }
+
+    @Override
+    public String getDocComment(Element element) {
+        return elements.getDocComment(element);
+    }
+
+    @Override
+    public boolean isDeprecated(Element element) {
+        return elements.isDeprecated(element);
+    }
+
+    @Override
+    public Name getBinaryName(TypeElement typeElement) {
+        Object value = lookup(binaryNames, typeElement);
+        if (value == null) {
+            value = store(binaryNames, typeElement, elements.getBinaryName(typeElement));
+        }
+        return unwrap(value);
+    }
+
+    @Override
+    public PackageElement getPackageOf(Element element) {
+        Object value = lookup(packageOf, element);
+        if (value == null) {
+            value = store(packageOf, element, elements.getPackageOf(element));
+        }
+        return unwrap(value);
+    }
+
+    @Override
+    public List<? extends Element> getAllMembers(TypeElement typeElement) {
+        Object value = lookup(allMembers, typeElement);
+        if (value == null) {
+            value = store(allMembers, typeElement, elements.getAllMembers(typeElement));
+        }
+        return unwrap(value);
+    }
+
+    @Override
+    public List<? extends AnnotationMirror> getAllAnnotationMirrors(Element element) {
+        Object value = lookup(allAnnotationMirrors, element);
+        if (value == null) {
+            value = store(allAnnotationMirrors, element, elements.getAllAnnotationMirrors(element));
+        }
+        return unwrap(value);
+    }
+
+    @Override
+    public boolean hides(Element element, Element element1) {
+        return elements.hides(element, element1);
+    }
+
+    @Override
+    public boolean overrides(ExecutableElement executableElement, ExecutableElement executableElement1, TypeElement typeElement) {
+        return elements.overrides(executableElement, executableElement1, typeElement);
+    }
+
+    @Override
+    public String getConstantExpression(Object o) {
+        return elements.getConstantExpression(o);
+    }
+
+    @Override
+    public void printElements(Writer writer, Element... elements) {
+        this.elements.printElements(writer, elements);
+    }
+
+    @Override
+    public Name getName(CharSequence charSequence) {
+        return elements.getName(charSequence);
+    }
+
+    private <K> Object lookup(ConcurrentMap<K, Object> cache, K key) {
+        Object value = cache.get(key);
+        if (value == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return value;
+    }
+
+    private <K> Object store(ConcurrentMap<K, Object> cache, K key, Object value) {
+        Object wrapped = value == null ? NULL : value;
+        Object existing = cache.putIfAbsent(key, wrapped);
+        return existing == null ? wrapped : existing;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T unwrap(Object value) {
+        return value == NULL ? null : (T) value;
+    }
+
+    /**
+     * Number of queries answered from the cache.
+     *
+     * @return hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Number of memoizable queries delegated (each acquiring the delegate's lock).
+     *
+     * @return misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        long total = getHits() + getMisses();
+        return "Elements queries: " + total + " (previously synchronized), delegated: " + getMisses() +
+                ", answered from cache: " + getHits();
+    }
+}
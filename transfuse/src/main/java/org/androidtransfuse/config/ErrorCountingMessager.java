@@ -0,0 +1,76 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.config;
+
+import javax.annotation.processing.Messager;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.tools.Diagnostic;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Messager decorator counting the errors reported through it.  Validation errors are reported without interrupting
+ * processing, so the error count is the only indication that the output of a run is incomplete.
+ *
+ * @author John Ericksen
+ */
+public class ErrorCountingMessager implements Messager {
+
+    private final Messager delegate;
+    private final AtomicInteger errors = new AtomicInteger();
+
+    public ErrorCountingMessager(Messager delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public void printMessage(Diagnostic.Kind kind, CharSequence msg) {
+        count(kind);
+        delegate.printMessage(kind, msg);
+    }
+
+    @Override
+    public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e) {
+        count(kind);
+        delegate.printMessage(kind, msg, e);
+    }
+
+    @Override
+    public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e, AnnotationMirror a) {
+        count(kind);
+        delegate.printMessage(kind, msg, e, a);
+    }
+
+    @Override
+    public void printMessage(Diagnostic.Kind kind, CharSequence msg, Element e, AnnotationMirror a, AnnotationValue v) {
+        count(kind);
+        delegate.printMessage(kind, msg, e, a, v);
+    }
+
+    private void count(Diagnostic.Kind kind) {
+        if (kind == Diagnostic.Kind.ERROR) {
+            errors.incrementAndGet();
+        }
+    }
+
+    /**
+     * @return number of errors reported
+     */
+    public int getErrorCount() {
+        return errors.get();
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.config;
+
+import com.google.common.collect.ImmutableList;
+import org.androidtransfuse.processor.IncrementalBuildCache.GeneratedFile;
+
+import javax.annotation.processing.Filer;
+import javax.lang.model.element.Element;
+import javax.tools.*;
+import java.io.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Filer decorator which, while recording, captures the contents of every file written through it so the output of a
+ * run may be stored in the incremental build cache.
+ *
+ * @author John Ericksen
+ */
+public class RecordingFiler implements Filer {
+
+    private final Filer delegate;
+    private final List<GeneratedFile> recorded = new ArrayList<GeneratedFile>();
+    private volatile boolean recording = false;
+
+    public RecordingFiler(Filer delegate) {
+        this.delegate = delegate;
+    }
+
+    public synchronized void startRecording() {
+        recorded.clear();
+        recording = true;
+    }
+
+    /**
+     * Stops recording, returning the files closed since recording started in the order they were closed.
+     *
+     * @return recorded files
+     */
+    public synchronized List<GeneratedFile> stopRecording() {
+        recording = false;
+        return ImmutableList.copyOf(recorded);
+    }
+
+    private synchronized void record(GeneratedFile generatedFile) {
+        if (recording) {
+            recorded.add(generatedFile);
+        }
+    }
+
+    @Override
+    public JavaFileObject createSourceFile(CharSequence name, Element... elements) throws IOException {
+        return new RecordingJavaFileObject(delegate.createSourceFile(name, elements),
+                GeneratedFile.Kind.SOURCE, "", "", name.toString());
+    }
+
+    @Override
+    public JavaFileObject createClassFile(CharSequence name, Element... elements) throws IOException {
+        return new RecordingJavaFileObject(delegate.createClassFile(name, elements),
+                GeneratedFile.Kind.CLASS, "", "", name.toString());
+    }
+
+    @Override
+    public FileObject createResource(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName, Element... elements) throws IOException {
+        return new RecordingFileObject(delegate.createResource(location, pkg, relativeName, elements),
+                GeneratedFile.Kind.RESOURCE, location.getName(), pkg.toString(), relativeName.toString());
+    }
+
+    @Override
+    public FileObject getResource(JavaFileManager.Location location, CharSequence pkg, CharSequence relativeName) throws IOException {
+        return delegate.getResource(location, pkg, relativeName);
+    }
+
+    private final class RecordingJavaFileObject extends ForwardingJavaFileObject<JavaFileObject> {
+
+        private final FileRecorder recorder;
+
+        private RecordingJavaFileObject(JavaFileObject fileObject, GeneratedFile.Kind kind, String location, String pkg, String name) {
+            super(fileObject);
+            this.recorder = new FileRecorder(kind, location, pkg, name);
+        }
+
+        @Override
+        public OutputStream openOutputStream() throws IOException {
+            return recorder.capture(super.openOutputStream());
+        }
+
+        @Override
+        public Writer openWriter() throws IOException {
+            return recorder.capture(super.openWriter());
+        }
+    }
+
+    private final class RecordingFileObject extends ForwardingFileObject<FileObject> {
+
+        private final FileRecorder recorder;
+
+        private RecordingFileObject(FileObject fileObject, GeneratedFile.Kind kind, String location, String pkg, String name) {
+            super(fileObject);
+            this.recorder = new FileRecorder(kind, location, pkg, name);
+        }
+
+        @Override
+        public OutputStream openOutputStream() throws IOException {
+            return recorder.capture(super.openOutputStream());
+        }
+
+        @Override
+        public Writer openWriter() throws IOException {
+            return recorder.capture(super.openWriter());
+        }
+    }
+
+    private final class FileRecorder {
+        private final GeneratedFile.Kind kind;
+        private final String location;
+        private final String pkg;
+        private final String name;
+
+        private FileRecorder(GeneratedFile.Kind kind, String location, String pkg, String name) {
+            this.kind = kind;
+            this.location = location;
+            this.pkg = pkg;
+            this.name = name;
+        }
+
+        public OutputStream capture(final OutputStream outputStream) {
+            final ByteArrayOutputStream contents = new ByteArrayOutputStream();
+            return new FilterOutputStream(outputStream) {
+                private boolean closed = false;
+
+                @Override
+                public void write(int b) throws IOException {
+                    out.write(b);
+                    contents.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) throws IOException {
+                    out.write(b, off, len);
+                    contents.write(b, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    if (!closed) {
+                        closed = true;
+                        record(new GeneratedFile(kind, location, pkg, name, false, contents.toByteArray()));
+                    }
+                }
+            };
+        }
+
+        public Writer capture(final Writer writer) {
+            final StringWriter contents = new StringWriter();
+            return new FilterWriter(writer) {
+                private boolean closed = false;
+
+                @Override
+                public void write(int c) throws IOException {
+                    out.write(c);
+                    contents.write(c);
+                }
+
+                @Override
+                public void write(char[] cbuf, int off, int len) throws IOException {
+                    out.write(cbuf, off, len);
+                    contents.write(cbuf, off, len);
+                }
+
+                @Override
+                public void write(String str, int off, int len) throws IOException {
+                    out.write(str, off, len);
+                    contents.write(str, off, len);
+                }
+
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    if (!closed) {
+                        closed = true;
+                        record(new GeneratedFile(kind, location, pkg, name, true, contents.toString().getBytes("UTF-8")));
+                    }
+                }
+            };
+        }
+    }
+}
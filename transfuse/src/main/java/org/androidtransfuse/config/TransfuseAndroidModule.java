@@ -17,7 +17,6 @@ package org.androidtransfuse.config;
 
 import com.sun.codemodel.JCodeModel;
 import com.sun.codemodel.JDefinedClass;
-import com.thoughtworks.xstream.XStream;
 import org.androidtransfuse.adapter.ASTFactory;
 import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.analysis.module.ModuleRepository;
@@ -59,7 +58,6 @@ import java.util.Map;
         @Bind(type = InvocationBuilderStrategy.class, to = DefaultInvocationBuilderStrategy.class)
 })
 @BindProviders({
-        @BindProvider(type = XStream.class, provider = XStreamProvider.class),
         @BindProvider(type = VariableExpressionBuilder.class, provider = ExpressionDecoratorFactory.class),
         @BindProvider(type = GeneratorRepository.class, provider = GeneratorRepositoryProvider.class),
         @BindProvider(type = AnalysisRepository.class, provider = AnalysisRepositoryFactory.class)
@@ -79,6 +77,7 @@ public class TransfuseAndroidModule {
     public static final String SCOPES_UTIL_TRANSACTION_WORKER = "scopesUtilTransactionWorker";
     public static final String ORIGINAL_MANIFEST = "originalManifest";
     public static final String MANIFEST_FILE = "manifestFile";
+    public static final String SHARED_INJECTORS_OPTION = "transfuse.sharedInjectors";
 
     @Provides
     @CodeGenerationScope
@@ -88,26 +87,51 @@ public class TransfuseAndroidModule {
 
     @Provides
     @Singleton
-    public Elements getElements(ProcessingEnvironment processingEnvironment){
-        return new SynchronizedElements(processingEnvironment.getElementUtils());
+    @Named(ExpressionDecoratorFactory.SHARED_INJECTORS)
+    public Boolean getSharedInjectors(ProcessingEnvironment processingEnvironment){
+        return Boolean.parseBoolean(processingEnvironment.getOptions().get(SHARED_INJECTORS_OPTION));
     }
 
     @Provides
     @Singleton
-    public Messager getMessenger(ProcessingEnvironment processingEnvironment){
-        return processingEnvironment.getMessager();
+    public CachedElements getCachedElements(ProcessingEnvironment processingEnvironment){
+        return new CachedElements(new SynchronizedElements(processingEnvironment.getElementUtils()));
     }
 
     @Provides
     @Singleton
-    public Logger getLogger(ProcessingEnvironment processingEnvironment){
-        return new MessagerLogger(processingEnvironment.getMessager());
+    public Elements getElements(CachedElements cachedElements){
+        return cachedElements;
     }
 
     @Provides
     @Singleton
-    public Filer getFiler(ProcessingEnvironment processingEnvironment){
-        return new SynchronizedFiler(processingEnvironment.getFiler());
+    public Messager getMessenger(ErrorCountingMessager errorCountingMessager){
+        return errorCountingMessager;
+    }
+
+    @Provides
+    @Singleton
+    public ErrorCountingMessager getErrorCountingMessager(ProcessingEnvironment processingEnvironment){
+        return new ErrorCountingMessager(processingEnvironment.getMessager());
+    }
+
+    @Provides
+    @Singleton
+    public Logger getLogger(Messager messager){
+        return new MessagerLogger(messager);
+    }
+
+    @Provides
+    @Singleton
+    public Filer getFiler(RecordingFiler recordingFiler){
+        return recordingFiler;
+    }
+
+    @Provides
+    @Singleton
+    public RecordingFiler getRecordingFiler(ProcessingEnvironment processingEnvironment){
+        return new RecordingFiler(new SynchronizedFiler(processingEnvironment.getFiler()));
     }
 
     @Provides
@@ -194,9 +218,9 @@ public class TransfuseAndroidModule {
     public FactoryProcessor getFactoryProcessor(FactoryTransactionFactory factoryTransactionFactory,
                                                 FactoriesTransactionFactory factoriesTransactionFactory) {
         TransactionProcessorPool<Provider<ASTType>, JDefinedClass> factoryProcessor =
-                new TransactionProcessorPool<Provider<ASTType>, JDefinedClass>();
+                new TransactionProcessorPool<Provider<ASTType>, JDefinedClass>("Factory");
         TransactionProcessorPool<Map<Provider<ASTType>, JDefinedClass>, Void> factoriesProcessor =
-                new TransactionProcessorPool<Map<Provider<ASTType>, JDefinedClass>, Void>();
+                new TransactionProcessorPool<Map<Provider<ASTType>, JDefinedClass>, Void>("Factories");
 
         TransactionProcessor processor =
                 new TransactionProcessorChannel<Provider<ASTType>, JDefinedClass, Void>(factoryProcessor, factoriesProcessor, factoriesTransactionFactory);
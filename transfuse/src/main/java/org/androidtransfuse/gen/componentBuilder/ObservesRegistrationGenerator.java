@@ -21,6 +21,7 @@ import org.androidtransfuse.adapter.ASTMethod;
 import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.adapter.ASTVoidType;
 import org.androidtransfuse.analysis.astAnalyzer.ObservesAspect;
+import org.androidtransfuse.annotations.Delivery;
 import org.androidtransfuse.event.EventObserver;
 import org.androidtransfuse.event.EventTending;
 import org.androidtransfuse.event.WeakObserver;
@@ -69,16 +70,19 @@ public class ObservesRegistrationGenerator implements ExpressionVariableDependen
             //mapping from event type -> observer
             InjectionNode tendingInjectionNode = getTendingInjectionNode(expressionMap);
             JBlock block = methodDescriptor.getMethod().body();
-            Map<JClass, JVar> observerTuples = getObservers(definedClass, block, expressionMap);
+            List<ObserverTuple> observerTuples = getObservers(definedClass, block, expressionMap);
 
             if (!observerTuples.isEmpty() && tendingInjectionNode != null) {
                 //build observer tuple array and observer tending class
                 TypedExpression tendingExpression = buildEventTending(block, definedClass, tendingInjectionNode, scopesExpression, expressionMap);
 
-                for (Map.Entry<JClass, JVar> tupleEntry : observerTuples.entrySet()) {
-                    block.invoke(tendingExpression.getExpression(), EventTending.ADD_OBSERVER_METHOD)
-                            .arg(tupleEntry.getKey().dotclass())
-                            .arg(tupleEntry.getValue());
+                for (ObserverTuple tuple : observerTuples) {
+                    JInvocation addObserver = block.invoke(tendingExpression.getExpression(), EventTending.ADD_OBSERVER_METHOD)
+                            .arg(tuple.getEvent().dotclass())
+                            .arg(tuple.getObserver());
+                    if (tuple.getDelivery() != Delivery.SYNCHRONOUS) {
+                        addObserver.arg(codeModel.ref(Delivery.class).staticRef(tuple.getDelivery().name()));
+                    }
                 }
             }
 
@@ -90,8 +94,8 @@ public class ObservesRegistrationGenerator implements ExpressionVariableDependen
 
     }
 
-    private Map<JClass, JVar> getObservers(JDefinedClass definedClass, JBlock block, Map<InjectionNode, TypedExpression> expressionMap) throws JClassAlreadyExistsException {
-        Map<JClass, JVar> observerTuples = new HashMap<JClass, JVar>();
+    private List<ObserverTuple> getObservers(JDefinedClass definedClass, JBlock block, Map<InjectionNode, TypedExpression> expressionMap) throws JClassAlreadyExistsException {
+        List<ObserverTuple> observerTuples = new ArrayList<ObserverTuple>();
 
         for (Map.Entry<InjectionNode, TypedExpression> expressionEntry : expressionMap.entrySet()) {
 
@@ -101,47 +105,11 @@ public class ObservesRegistrationGenerator implements ExpressionVariableDependen
 
 
                 for (ASTType event : aspect.getEvents()) {
+                    for (Delivery delivery : aspect.getDeliveries(event)) {
+                        JVar observer = buildObserver(definedClass, block, aspect, typedExpression, event, delivery);
 
-                    //generate WeakObserver<E, T> (E = event, T = target injection node)
-                    JClass eventRef = generationUtil.ref(event);
-                    JClass targetRef = generationUtil.ref(typedExpression.getType());
-
-                    JDefinedClass observerClass = definedClass._class(JMod.PROTECTED | JMod.STATIC | JMod.FINAL, namer.generateClassName(typedExpression.getType()));
-
-                    //match default constructor public WeakObserver(T target){
-                    JMethod constructor = observerClass.constructor(JMod.PUBLIC);
-                    JVar constTargetParam = constructor.param(targetRef, namer.generateName(targetRef));
-                    constructor.body().invoke(SUPER_REF).arg(constTargetParam);
-
-                    observerClass._extends(
-                            codeModel.ref(WeakObserver.class)
-                                    .narrow(eventRef)
-                                    .narrow(targetRef));
-
-
-                    JMethod triggerMethod = observerClass.method(JMod.PUBLIC, codeModel.VOID, EventObserver.TRIGGER);
-                    triggerMethod.annotate(Override.class);
-                    JVar eventParam = triggerMethod.param(eventRef, namer.generateName(event));
-                    JVar targetParam = triggerMethod.param(targetRef, namer.generateName(typedExpression.getType()));
-                    JBlock triggerBody = triggerMethod.body();
-
-                    Set<JExpression> parameters = new HashSet<JExpression>();
-                    parameters.add(eventParam);
-
-                    for (ASTMethod observerMethod : aspect.getObserverMethods(event)) {
-                        triggerBody.add(invocationBuilder.buildMethodCall(
-                                observerMethod.getAccessModifier(),
-                                ASTVoidType.VOID,
-                                observerMethod.getName(),
-                                parameters,
-                                Collections.singletonList(event),
-                                typedExpression.getType(),
-                                targetParam));
+                        observerTuples.add(new ObserverTuple(generationUtil.ref(event), observer, delivery));
                     }
-
-                    JVar observer = block.decl(observerClass, namer.generateName(EventObserver.class), JExpr._new(observerClass).arg(typedExpression.getExpression()));
-
-                    observerTuples.put(eventRef, observer);
                 }
             }
         }
@@ -149,6 +117,47 @@ public class ObservesRegistrationGenerator implements ExpressionVariableDependen
         return observerTuples;
     }
 
+    private JVar buildObserver(JDefinedClass definedClass, JBlock block, ObservesAspect aspect, TypedExpression typedExpression, ASTType event, Delivery delivery) throws JClassAlreadyExistsException {
+        //generate WeakObserver<E, T> (E = event, T = target injection node)
+        JClass eventRef = generationUtil.ref(event);
+        JClass targetRef = generationUtil.ref(typedExpression.getType());
+
+        JDefinedClass observerClass = definedClass._class(JMod.PROTECTED | JMod.STATIC | JMod.FINAL, namer.generateClassName(typedExpression.getType()));
+
+        //match default constructor public WeakObserver(T target){
+        JMethod constructor = observerClass.constructor(JMod.PUBLIC);
+        JVar constTargetParam = constructor.param(targetRef, namer.generateName(targetRef));
+        constructor.body().invoke(SUPER_REF).arg(constTargetParam);
+
+        observerClass._extends(
+                codeModel.ref(WeakObserver.class)
+                        .narrow(eventRef)
+                        .narrow(targetRef));
+
+
+        JMethod triggerMethod = observerClass.method(JMod.PUBLIC, codeModel.VOID, EventObserver.TRIGGER);
+        triggerMethod.annotate(Override.class);
+        JVar eventParam = triggerMethod.param(eventRef, namer.generateName(event));
+        JVar targetParam = triggerMethod.param(targetRef, namer.generateName(typedExpression.getType()));
+        JBlock triggerBody = triggerMethod.body();
+
+        Set<JExpression> parameters = new HashSet<JExpression>();
+        parameters.add(eventParam);
+
+        for (ASTMethod observerMethod : aspect.getObserverMethods(event, delivery)) {
+            triggerBody.add(invocationBuilder.buildMethodCall(
+                    observerMethod.getAccessModifier(),
+                    ASTVoidType.VOID,
+                    observerMethod.getName(),
+                    parameters,
+                    Collections.singletonList(event),
+                    typedExpression.getType(),
+                    targetParam));
+        }
+
+        return block.decl(observerClass, namer.generateName(EventObserver.class), JExpr._new(observerClass).arg(typedExpression.getExpression()));
+    }
+
     private InjectionNode getTendingInjectionNode(Map<InjectionNode, TypedExpression> expressionMap) {
         for (Map.Entry<InjectionNode, TypedExpression> expressionEntry : expressionMap.entrySet()) {
 
@@ -165,4 +174,28 @@ public class ObservesRegistrationGenerator implements ExpressionVariableDependen
 
         return expressionMap.get(tendingInjectionNode);
     }
+
+    private static final class ObserverTuple {
+        private final JClass event;
+        private final JVar observer;
+        private final Delivery delivery;
+
+        private ObserverTuple(JClass event, JVar observer, Delivery delivery) {
+            this.event = event;
+            this.observer = observer;
+            this.delivery = delivery;
+        }
+
+        public JClass getEvent() {
+            return event;
+        }
+
+        public JVar getObserver() {
+            return observer;
+        }
+
+        public Delivery getDelivery() {
+            return delivery;
+        }
+    }
 }
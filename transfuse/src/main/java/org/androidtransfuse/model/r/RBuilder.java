@@ -17,25 +17,117 @@ package org.androidtransfuse.model.r;
 
 import org.androidtransfuse.adapter.ASTField;
 import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.element.ASTElementFactory;
 
+import javax.inject.Inject;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.util.ElementFilter;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 /**
  * @author John Ericksen
  */
 public class RBuilder {
 
-    public RResourceMapping buildR(Collection<? extends ASTType> rInnerTypes) {
+    private final ASTElementFactory astElementFactory;
 
-        RResourceMapping resourceMapping = new RResourceMapping();
+    @Inject
+    public RBuilder(ASTElementFactory astElementFactory) {
+        this.astElementFactory = astElementFactory;
+    }
 
+    public RResourceMapping buildR(Collection<? extends ASTType> rInnerTypes) {
+        List<RInnerType> innerTypes = new ArrayList<RInnerType>();
         for (ASTType rInnerType : rInnerTypes) {
+            innerTypes.add(new ASTRInnerType(rInnerType));
+        }
+        return new RResourceMapping(innerTypes);
+    }
+
+    /**
+     * Builds the resource mapping directly from the R class' constant fields, without converting the inner classes to
+     * ASTTypes until one of their resources is referenced.  Unlike the ASTType based mapping, every inner class is
+     * indexed eagerly: the constants are read here, on the processing thread, as javac elements may not be traversed by
+     * the analysis and generation workers looking up resources.  Reading the constants is cheap next to the ASTType
+     * conversion that remains deferred.
+     *
+     * @param rTypeElement R class
+     * @return resource mapping
+     */
+    public RResourceMapping buildR(TypeElement rTypeElement) {
+        List<RInnerType> innerTypes = new ArrayList<RInnerType>();
+        for (TypeElement rInnerTypeElement : ElementFilter.typesIn(rTypeElement.getEnclosedElements())) {
+            innerTypes.add(new ElementRInnerType(rInnerTypeElement, indexFields(rInnerTypeElement), astElementFactory));
+        }
+        return new RResourceMapping(innerTypes);
+    }
 
-            for (ASTField idField : rInnerType.getFields()) {
-                resourceMapping.addResource(rInnerType, idField.getName(), (Integer) idField.getConstantValue());
+    private ResourceIdIndex indexFields(TypeElement rInnerTypeElement) {
+        List<? extends Element> enclosedElements = rInnerTypeElement.getEnclosedElements();
+        ResourceIdIndex index = new ResourceIdIndex(enclosedElements.size());
+        for (VariableElement field : ElementFilter.fieldsIn(enclosedElements)) {
+            Object value = field.getConstantValue();
+            if (value instanceof Integer) {
+                index.put((Integer) value, field.getSimpleName().toString());
             }
         }
+        return index;
+    }
+
+    private static final class ASTRInnerType extends RInnerType {
+
+        private final ASTType type;
 
-        return resourceMapping;
+        private ASTRInnerType(ASTType type) {
+            this.type = type;
+        }
+
+        @Override
+        public ASTType getType() {
+            return type;
+        }
+
+        @Override
+        protected ResourceIdIndex buildIndex() {
+            ResourceIdIndex index = new ResourceIdIndex(type.getFields().size());
+            for (ASTField idField : type.getFields()) {
+                Object value = idField.getConstantValue();
+                if (value instanceof Integer) {
+                    index.put((Integer) value, idField.getName());
+                }
+            }
+            return index;
+        }
+    }
+
+    private static final class ElementRInnerType extends RInnerType {
+
+        private final TypeElement typeElement;
+        private final ResourceIdIndex index;
+        private final ASTElementFactory astElementFactory;
+        private volatile ASTType type = null;
+
+        private ElementRInnerType(TypeElement typeElement, ResourceIdIndex index, ASTElementFactory astElementFactory) {
+            this.typeElement = typeElement;
+            this.index = index;
+            this.astElementFactory = astElementFactory;
+        }
+
+        @Override
+        public ASTType getType() {
+            if (type == null) {
+                type = astElementFactory.getType(typeElement);
+            }
+            return type;
+        }
+
+        @Override
+        protected ResourceIdIndex buildIndex() {
+            return index;
+        }
     }
 }
@@ -0,0 +1,63 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.model.r;
+
+import org.androidtransfuse.adapter.ASTType;
+
+/**
+ * A single R inner class (`layout`, `id`, `string`...) whose resource id index is built on first use, unless the
+ * implementation supplies an index built up front.  Lookups may be made concurrently by the analysis and generation
+ * workers.
+ *
+ * @author John Ericksen
+ */
+public abstract class RInnerType {
+
+    private volatile ResourceIdIndex index = null;
+
+    /**
+     * @return the R inner class type, used to reference its resources
+     */
+    public abstract ASTType getType();
+
+    protected abstract ResourceIdIndex buildIndex();
+
+    /**
+     * @param id resource id
+     * @return the name of the resource with the given id declared by this inner class, null if absent
+     */
+    public String getName(int id) {
+        return getIndex().get(id);
+    }
+
+    protected ResourceIdIndex getIndex() {
+        ResourceIdIndex result = index;
+        if (result == null) {
+            synchronized (this) {
+                result = index;
+                if (result == null) {
+                    result = buildIndex();
+                    index = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    public boolean isIndexed() {
+        return index != null;
+    }
+}
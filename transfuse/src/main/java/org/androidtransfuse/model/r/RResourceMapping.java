@@ -18,20 +18,83 @@ package org.androidtransfuse.model.r;
 import org.androidtransfuse.adapter.ASTType;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
+ * Resource id lookup across the inner classes of an R class.  Inner classes are indexed lazily, in order, until the
+ * requested id is found, so lookups typically only index the few inner classes (`layout`, `id`) actually referenced.
+ * Inner classes read from javac elements are the exception, and are indexed up front by the RBuilder.
+ *
  * @author John Ericksen
  */
 public class RResourceMapping implements RResource {
 
-    private final Map<Integer, ResourceIdentifier> resourceMap = new HashMap<Integer, ResourceIdentifier>();
+    private final List<RInnerType> innerTypes = new CopyOnWriteArrayList<RInnerType>();
+    private final Map<ASTType, ExplicitRInnerType> explicitInnerTypes = new HashMap<ASTType, ExplicitRInnerType>();
+
+    public RResourceMapping() {
+        //empty bean constructor
+    }
 
-    public void addResource(ASTType rInnerType, String name, Integer id) {
-        resourceMap.put(id, new ResourceIdentifier(rInnerType, name));
+    public RResourceMapping(List<? extends RInnerType> innerTypes) {
+        this.innerTypes.addAll(innerTypes);
+    }
+
+    public synchronized void addResource(ASTType rInnerType, String name, Integer id) {
+        ExplicitRInnerType innerType = explicitInnerTypes.get(rInnerType);
+        if (innerType == null) {
+            innerType = new ExplicitRInnerType(rInnerType);
+            explicitInnerTypes.put(rInnerType, innerType);
+            innerTypes.add(innerType);
+        }
+        innerType.put(id, name);
     }
 
     public ResourceIdentifier getResourceIdentifier(Integer id) {
-        return resourceMap.get(id);
+        if (id == null) {
+            return null;
+        }
+        int resourceId = id;
+        for (RInnerType innerType : innerTypes) {
+            String name = innerType.getName(resourceId);
+            if (name != null) {
+                return new ResourceIdentifier(innerType.getType(), name);
+            }
+        }
+        return null;
+    }
+
+    private static final class ExplicitRInnerType extends RInnerType {
+
+        private static final int INITIAL_SIZE = 16;
+
+        private final ASTType type;
+        private final ResourceIdIndex index = new ResourceIdIndex(INITIAL_SIZE);
+
+        private ExplicitRInnerType(ASTType type) {
+            this.type = type;
+        }
+
+        @Override
+        public ASTType getType() {
+            return type;
+        }
+
+        @Override
+        protected ResourceIdIndex buildIndex() {
+            return index;
+        }
+
+        //resources may be added while other threads look up ids
+        public synchronized void put(int id, String name) {
+            index.put(id, name);
+        }
+
+        @Override
+        public synchronized String getName(int id) {
+            return index.get(id);
+        }
     }
 }
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.model.r;
+
+/**
+ * Compact open-addressed map from primitive resource id to resource name.  Avoids boxing the ids and allocating an
+ * entry per resource, as the `android.R` class alone declares tens of thousands of constants.  Later puts of an
+ * existing id replace its name.
+ *
+ * @author John Ericksen
+ */
+public final class ResourceIdIndex {
+
+    private static final int MAX_LOAD_PERCENT = 50;
+
+    private int[] ids;
+    private String[] names;
+    private int size = 0;
+
+    public ResourceIdIndex(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    private static int capacityFor(int size) {
+        int capacity = 2;
+        while (capacity * MAX_LOAD_PERCENT / 100 < size + 1) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    private void allocate(int capacity) {
+        ids = new int[capacity];
+        names = new String[capacity];
+    }
+
+    public void put(int id, String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Resource name may not be null");
+        }
+        if ((size + 1) * 100 > names.length * MAX_LOAD_PERCENT) {
+            rehash(names.length << 1);
+        }
+        int slot = slot(id);
+        while (names[slot] != null) {
+            if (ids[slot] == id) {
+                names[slot] = name;
+                return;
+            }
+            slot = (slot + 1) & (names.length - 1);
+        }
+        ids[slot] = id;
+        names[slot] = name;
+        size++;
+    }
+
+    /**
+     * @param id resource id
+     * @return the name registered for the given id, null if absent
+     */
+    public String get(int id) {
+        int slot = slot(id);
+        while (names[slot] != null) {
+            if (ids[slot] == id) {
+                return names[slot];
+            }
+            slot = (slot + 1) & (names.length - 1);
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(int id) {
+        int hash = id * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & (names.length - 1);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldIds = ids;
+        String[] oldNames = names;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldNames.length; i++) {
+            if (oldNames[i] != null) {
+                put(oldIds[i], oldNames[i]);
+            }
+        }
+    }
+}
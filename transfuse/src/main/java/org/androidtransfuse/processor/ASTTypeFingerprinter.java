@@ -0,0 +1,241 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.processor;
+
+import org.androidtransfuse.TransfuseAnalysisException;
+import org.androidtransfuse.adapter.*;
+
+import java.io.UnsupportedEncodingException;
+import java.lang.reflect.Array;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Builds a stable digest of the signatures of a set of root types and every type reachable from their annotations,
+ * supertypes, fields, constructors and methods.  Transfuse generates code from signatures alone, so method bodies are
+ * not considered: editing an implementation leaves the fingerprint unchanged, while changing anything that could
+ * influence analysis (an injection point, a qualifier, an annotation value, a supertype) changes it.
+ * <p/>
+ * Platform types are referenced by name but not descended into, as they may only change along with the classpath.
+ * Library types shipped under platform package names, such as the Android support library, are compiled into the
+ * application and are fingerprinted like any other type.
+ *
+ * @author John Ericksen
+ */
+public class ASTTypeFingerprinter {
+
+    private static final String[] PLATFORM_PACKAGES = {"java.", "javax.", "android.", "dalvik."};
+    private static final String[] LIBRARY_PACKAGES = {"android.support."};
+    private static final int MAX_GENERIC_DEPTH = 4;
+
+    /**
+     * Calculates the fingerprint of the given roots, their reachable types and any additional inputs.
+     *
+     * @param roots            root types
+     * @param additionalInputs non-type inputs (configuration files, etc) influencing the output
+     * @return hex encoded digest
+     */
+    public String fingerprint(Collection<? extends ASTType> roots, String... additionalInputs) {
+        SortedMap<String, String> descriptions = new TreeMap<String, String>();
+        Deque<ASTType> queue = new ArrayDeque<ASTType>(roots);
+        Set<String> rootNames = new TreeSet<String>();
+        for (ASTType root : roots) {
+            rootNames.add(root.getName());
+        }
+
+        while (!queue.isEmpty()) {
+            ASTType type = queue.pop();
+            if (!descriptions.containsKey(type.getName())) {
+                //placeholder, guards against recursive references while describing
+                descriptions.put(type.getName(), "");
+                descriptions.put(type.getName(), describeType(type, queue));
+            }
+        }
+
+        MessageDigest digest = buildDigest();
+        update(digest, rootNames.toString());
+        for (Map.Entry<String, String> entry : descriptions.entrySet()) {
+            update(digest, entry.getKey());
+            update(digest, entry.getValue());
+        }
+        for (String additionalInput : additionalInputs) {
+            update(digest, additionalInput);
+        }
+
+        return toHex(digest.digest());
+    }
+
+    private String describeType(ASTType type, Deque<ASTType> queue) {
+        StringBuilder builder = new StringBuilder();
+        builder.append("type ").append(type.isConcreteClass());
+        appendAnnotations(builder, type, queue);
+        builder.append(" extends ");
+        appendReference(builder, type.getSuperClass(), queue);
+        builder.append(" implements");
+        for (ASTType interfaceType : type.getInterfaces()) {
+            builder.append(' ');
+            appendReference(builder, interfaceType, queue);
+        }
+        builder.append('\n');
+
+        for (ASTField field : type.getFields()) {
+            builder.append("field ").append(field.getAccessModifier()).append(' ').append(field.getName()).append(' ');
+            appendReference(builder, field.getASTType(), queue);
+            builder.append(" = ").append(field.getConstantValue());
+            appendAnnotations(builder, field, queue);
+            builder.append('\n');
+        }
+        for (ASTConstructor constructor : type.getConstructors()) {
+            builder.append("constructor ").append(constructor.getAccessModifier());
+            appendParameters(builder, constructor.getParameters(), queue);
+            appendReferences(builder, constructor.getThrowsTypes(), queue);
+            appendAnnotations(builder, constructor, queue);
+            builder.append('\n');
+        }
+        for (ASTMethod method : type.getMethods()) {
+            builder.append("method ").append(method.getAccessModifier()).append(' ').append(method.getName());
+            appendParameters(builder, method.getParameters(), queue);
+            builder.append(' ');
+            appendReference(builder, method.getReturnType(), queue);
+            appendReferences(builder, method.getThrowsTypes(), queue);
+            appendAnnotations(builder, method, queue);
+            builder.append('\n');
+        }
+        return builder.toString();
+    }
+
+    private void appendParameters(StringBuilder builder, List<ASTParameter> parameters, Deque<ASTType> queue) {
+        builder.append('(');
+        for (ASTParameter parameter : parameters) {
+            appendReference(builder, parameter.getASTType(), queue);
+            appendAnnotations(builder, parameter, queue);
+            builder.append(',');
+        }
+        builder.append(')');
+    }
+
+    private void appendReferences(StringBuilder builder, Collection<ASTType> types, Deque<ASTType> queue) {
+        builder.append(" throws");
+        for (ASTType type : types) {
+            builder.append(' ');
+            appendReference(builder, type, queue);
+        }
+    }
+
+    private void appendAnnotations(StringBuilder builder, ASTBase base, Deque<ASTType> queue) {
+        for (ASTAnnotation annotation : base.getAnnotations()) {
+            builder.append(' ');
+            appendAnnotation(builder, annotation, queue);
+        }
+    }
+
+    private void appendAnnotation(StringBuilder builder, ASTAnnotation annotation, Deque<ASTType> queue) {
+        builder.append('@');
+        appendReference(builder, annotation.getASTType(), queue);
+        builder.append('(');
+        for (String propertyName : new TreeSet<String>(annotation.getPropertyNames())) {
+            builder.append(propertyName).append('=');
+            appendValue(builder, annotation.getProperty(propertyName, Object.class), queue);
+            builder.append(',');
+        }
+        builder.append(')');
+    }
+
+    private void appendValue(StringBuilder builder, Object value, Deque<ASTType> queue) {
+        if (value instanceof ASTType) {
+            appendReference(builder, (ASTType) value, queue);
+        } else if (value instanceof ASTAnnotation) {
+            appendAnnotation(builder, (ASTAnnotation) value, queue);
+        } else if (value != null && value.getClass().isArray()) {
+            builder.append('{');
+            for (int i = 0; i < Array.getLength(value); i++) {
+                appendValue(builder, Array.get(value, i), queue);
+                builder.append(',');
+            }
+            builder.append('}');
+        } else {
+            builder.append(value);
+        }
+    }
+
+    private void appendReference(StringBuilder builder, ASTType type, Deque<ASTType> queue) {
+        appendReference(builder, type, queue, 0);
+    }
+
+    private void appendReference(StringBuilder builder, ASTType type, Deque<ASTType> queue, int depth) {
+        if (type == null) {
+            builder.append("null");
+            return;
+        }
+        builder.append(type.getName());
+        ASTType componentType = type;
+        while (componentType instanceof ASTArrayType) {
+            componentType = ((ASTArrayType) componentType).getComponentType();
+        }
+        if (!componentType.isArray() && !isPlatform(componentType.getName())) {
+            queue.add(componentType);
+        }
+        if (depth < MAX_GENERIC_DEPTH && !type.getGenericParameters().isEmpty()) {
+            builder.append('<');
+            for (ASTType genericParameter : type.getGenericParameters()) {
+                appendReference(builder, genericParameter, queue, depth + 1);
+                builder.append(',');
+            }
+            builder.append('>');
+        }
+    }
+
+    private boolean isPlatform(String name) {
+        for (String libraryPackage : LIBRARY_PACKAGES) {
+            if (name.startsWith(libraryPackage)) {
+                return false;
+            }
+        }
+        for (String platformPackage : PLATFORM_PACKAGES) {
+            if (name.startsWith(platformPackage)) {
+                return true;
+            }
+        }
+        //primitives and void
+        return !name.contains(".");
+    }
+
+    private MessageDigest buildDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-1");
+        } catch (NoSuchAlgorithmException e) {
+            throw new TransfuseAnalysisException("Unable to build SHA-1 digest", e);
+        }
+    }
+
+    private void update(MessageDigest digest, String value) {
+        try {
+            digest.update(value.getBytes("UTF-8"));
+            digest.update((byte) 0);
+        } catch (UnsupportedEncodingException e) {
+            throw new TransfuseAnalysisException("UTF-8 encoding unavailable", e);
+        }
+    }
+
+    private String toHex(byte[] bytes) {
+        StringBuilder builder = new StringBuilder();
+        for (byte b : bytes) {
+            builder.append(String.format("%02x", b));
+        }
+        return builder.toString();
+    }
+}
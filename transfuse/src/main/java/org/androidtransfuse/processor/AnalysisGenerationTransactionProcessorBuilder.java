@@ -35,6 +35,8 @@ import javax.inject.Provider;
  */
 public class AnalysisGenerationTransactionProcessorBuilder implements TransactionProcessorBuilder<Provider<ASTType>, JDefinedClass> {
 
+    private static final String STAGE = "Components";
+
     private final ScopedTransactionFactory scopedTransactionFactory;
     private final TransactionProcessorPool<Provider<ASTType>, JDefinedClass> transactionProcessor;
     private final CodeGenerationWrapperProvider<Provider<ASTType>, JDefinedClass> workerProvider;
@@ -47,7 +49,7 @@ public class AnalysisGenerationTransactionProcessorBuilder implements Transactio
             Provider<FilerResourceWriter> resourceCodeWriterProvider,
             ScopedTransactionFactory scopedTransactionFactory) {
         this.scopedTransactionFactory = scopedTransactionFactory;
-        transactionProcessor = new TransactionProcessorPool<Provider<ASTType>, JDefinedClass>();
+        transactionProcessor = new TransactionProcessorPool<Provider<ASTType>, JDefinedClass>(STAGE);
         this.workerProvider = new CodeGenerationWrapperProvider<Provider<ASTType>, JDefinedClass>(workerProvider, codeModelProvider, sourceCodeWriterProvider, resourceCodeWriterProvider);
     }
 
@@ -34,15 +34,23 @@ import java.util.Map;
 /**
  * Configures the Processor chain
  *
- *     +---------+             +--------------+    +----------+          +-----------------+
- * -+->| Modules +-------+--+->| Component(s) +-+->| Manifest |---+-+-+->| Package Helpers |
- *  |  +---------+       |  |  +--------------+ |  +----------+   | | |  +-----------------+
- *  |  +---------------+ |  |                   |  +------------+ | | |  +-----------------+
- *  +->| ImplementedBy +-+  |                   +->| Components |-+ | +->| Virtual Proxies |
- *     +---------------+    |                      +------------+   | |  +-----------------+
- *                          |  +-------------+     +-----------+    | |  +-------------+
- *                          +->| Factory(s)  +---->| Factories +----+ +->| Scopes Util |
- *                             +-------------+     +-----------+         +-------------+
+ *     +---------+           +------------+  +-----------+  +--------------+    +----------+          +-----------------+
+ * -+->| Modules +-------+-->| Factory(s) +->| Factories +->| Component(s) +-+->| Manifest |---+-+-+->| Package Helpers |
+ *  |  +---------+       |   +------------+  +-----------+  +--------------+ |  +----------+   | | |  +-----------------+
+ *  |  +---------------+ |                                                   |  +------------+ | | |  +-----------------+
+ *  +->| ImplementedBy +-+                                                   +->| Components |-+ | +->| Virtual Proxies |
+ *     +---------------+                                                        +------------+   | |  +-----------------+
+ *                                                                                               | |  +-------------+
+ *                                                                                               | +->| Scopes Util |
+ *                                                                                               |    +-------------+
+ *
+ * Branches of the graph (Composites) are executed concurrently on the shared TransactionScheduler, each branch only
+ * waiting on the processors that precede it (Chains and Channels).  Components are analyzed after the Factory(s), as
+ * they depend on the @Factory bindings registered there.
+ *
+ * Dependencies are tracked between stages rather than between individual transactions.  The bindings a given
+ * component requires are only known once it has been analyzed, so each stage waits on every transaction of the stages
+ * preceding it, while the transactions within a stage run concurrently.
  *
  * @author John Ericksen
  */
@@ -135,26 +143,22 @@ public class GeneratorRepositoryProvider implements Provider<GeneratorRepository
         TransactionProcessor<Provider<ASTType>, JDefinedClass> componentsProcessor = new TransactionProcessorComposite<Provider<ASTType>, JDefinedClass>(componentProcessors.build());
 
         // Manifest processing (depends on components)
-        TransactionProcessor<Void, Void> manifestProcessor = new TransactionProcessorPredefined(ImmutableSet.of(new Transaction<Void, Void>(generateModuleProcessor)));
+        TransactionProcessor<Void, Void> manifestProcessor = new TransactionProcessorPredefined("Manifest", ImmutableSet.of(new Transaction<Void, Void>(generateModuleProcessor)));
         TransactionProcessor<Void, Void> componentProcessorCompletion = new TransactionProcessorChain(
 
                 new TransactionProcessorChannel<Provider<ASTType>, JDefinedClass, Void>(componentsProcessor, componentsRepositoryProcessor, componentsTransactionFactory), manifestProcessor);
 
-        ImmutableSet.Builder<TransactionProcessor<?, ?>> configurationDependentBuilders = ImmutableSet.builder();
-
-        configurationDependentBuilders.add(factoryProcessor.getTransactionProcessor());
-        configurationDependentBuilders.add(componentProcessorCompletion);
-
         processorMapBuilder.put(Factory.class, factoryProcessor);
 
         // Package Helper processing (to be run last)
-        TransactionProcessor<Void, Void> packageHelperProcessor = new TransactionProcessorPredefined(
+        TransactionProcessor<Void, Void> packageHelperProcessor = new TransactionProcessorPredefined("PackageHelpers",
                 ImmutableSet.of(packageHelperTransactionFactory.buildTransaction(),
                         virtualProxyTransactionFactory.buildTransaction(),
                         scopesUtilityTransactionFactory.buildTransaction()));
 
-        TransactionProcessor<?, ?> configurationDependentProcessors =
-                new TransactionProcessorComposite(configurationDependentBuilders.build());
+        // Components depend on the @Factory bindings registered by the Factory processing
+        TransactionProcessor<Void, Void> configurationDependentProcessors =
+                new TransactionProcessorChain(factoryProcessor.getTransactionProcessor(), componentProcessorCompletion);
 
         TransactionProcessor<Void, Void> processor = new TransactionProcessorChain(configurationProcessors,
                 new TransactionProcessorChain(configurationDependentProcessors, packageHelperProcessor));
@@ -29,6 +29,8 @@ import javax.inject.Provider;
  */
 public class ImplementedByProcessorBuilder implements TransactionProcessorBuilder<Provider<ASTType>, Void> {
 
+    private static final String STAGE = "ImplementedBy";
+
     private final ScopedTransactionFactory scopedTransactionFactory;
     private final TransactionProcessorPool<Provider<ASTType>, Void> transactionProcessor;
     private final Provider<ImplementedByTransactionWorker> workerProvider;
@@ -38,7 +40,7 @@ public class ImplementedByProcessorBuilder implements TransactionProcessorBuilde
             Provider<ImplementedByTransactionWorker> workerProvider,
             ScopedTransactionFactory scopedTransactionFactory) {
         this.scopedTransactionFactory = scopedTransactionFactory;
-        this.transactionProcessor = new TransactionProcessorPool<Provider<ASTType>, Void>();
+        this.transactionProcessor = new TransactionProcessorPool<Provider<ASTType>, Void>(STAGE);
         this.workerProvider = workerProvider;
     }
 
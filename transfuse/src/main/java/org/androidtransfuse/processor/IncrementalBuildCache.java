@@ -0,0 +1,332 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.processor;
+
+import com.google.common.collect.ImmutableList;
+import org.androidtransfuse.TransfuseAnalysisException;
+import org.androidtransfuse.util.Logger;
+
+import javax.annotation.processing.Filer;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.net.URI;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * On-disk cache of the output of a complete Transfuse run, stored alongside the generated sources.  An entry is keyed
+ * by the fingerprint of the processed inputs and the resulting AndroidManifest.xml.  If a later build presents the
+ * same fingerprint and an untouched manifest the recorded sources and resources are replayed through the Filer in
+ * place of analysis and generation.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class IncrementalBuildCache {
+
+    public static final String CACHE_FILE_NAME = "transfuse-incremental.cache";
+    private static final int FORMAT_VERSION = 1;
+    private static final int READ_CHUNK_SIZE = 8192;
+
+    private final Filer filer;
+    private final Logger logger;
+    private File cacheFile = null;
+    private boolean located = false;
+
+    @Inject
+    public IncrementalBuildCache(Filer filer, Logger logger) {
+        this.filer = filer;
+        this.logger = logger;
+    }
+
+    /**
+     * Looks up the cached output matching the given fingerprint and current manifest contents.
+     *
+     * @param fingerprint  input fingerprint
+     * @param manifestFile AndroidManifest.xml
+     * @return matching entry, null if none exists
+     */
+    public Entry lookup(String fingerprint, File manifestFile) {
+        File file = getCacheFile();
+        if (file == null || !file.exists()) {
+            return null;
+        }
+        try {
+            Entry entry = read(file);
+            if (entry != null && entry.getFingerprint().equals(fingerprint) &&
+                    Arrays.equals(entry.getManifestContents(), readContents(manifestFile))) {
+                return entry;
+            }
+        } catch (IOException e) {
+            discard(file, e);
+        } catch (RuntimeException e) {
+            //a truncated or corrupt cache file (unknown kind, invalid length, etc) is treated as a miss
+            discard(file, e);
+        }
+        return null;
+    }
+
+    private void discard(File file, Exception e) {
+        logger.info("Unable to read incremental build cache, discarding it: " + e);
+        file.delete();
+    }
+
+    /**
+     * Writes the given entry's generated files through the Filer.
+     *
+     * @param entry cached output
+     */
+    public void replay(Entry entry) {
+        try {
+            for (GeneratedFile generatedFile : entry.getGeneratedFiles()) {
+                generatedFile.replay(filer);
+            }
+        } catch (IOException e) {
+            throw new TransfuseAnalysisException("IOException while replaying incremental build cache", e);
+        }
+    }
+
+    /**
+     * Stores the output of the current run, replacing any existing entry.
+     *
+     * @param fingerprint    input fingerprint
+     * @param manifestFile   AndroidManifest.xml, as written by the current run
+     * @param generatedFiles recorded output
+     */
+    public void store(String fingerprint, File manifestFile, List<GeneratedFile> generatedFiles) {
+        File file = getCacheFile();
+        if (file == null) {
+            return;
+        }
+        try {
+            write(file, new Entry(fingerprint, readContents(manifestFile), generatedFiles));
+        } catch (IOException e) {
+            logger.info("Unable to write incremental build cache: " + e.getMessage());
+            file.delete();
+        }
+    }
+
+    private File getCacheFile() {
+        if (!located) {
+            located = true;
+            try {
+                FileObject cacheResource = filer.getResource(StandardLocation.SOURCE_OUTPUT, "", CACHE_FILE_NAME);
+                URI cacheURI = cacheResource.toUri();
+                if ("file".equals(cacheURI.getScheme())) {
+                    cacheFile = new File(cacheURI);
+                }
+            } catch (IOException e) {
+                logger.info("Unable to locate incremental build cache: " + e.getMessage());
+            } catch (IllegalArgumentException e) {
+                logger.info("Unable to locate incremental build cache: " + e.getMessage());
+            }
+            if (cacheFile == null) {
+                logger.info("Incremental build cache disabled, source output is not a directory");
+            }
+        }
+        return cacheFile;
+    }
+
+    private static Entry read(File file) throws IOException {
+        DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new GZIPInputStream(new FileInputStream(file))));
+        try {
+            if (inputStream.readInt() != FORMAT_VERSION) {
+                return null;
+            }
+            String fingerprint = inputStream.readUTF();
+            byte[] manifestContents = readBytes(inputStream);
+            int fileCount = inputStream.readInt();
+            ImmutableList.Builder<GeneratedFile> generatedFiles = ImmutableList.builder();
+            for (int i = 0; i < fileCount; i++) {
+                GeneratedFile.Kind kind = GeneratedFile.Kind.valueOf(inputStream.readUTF());
+                String location = inputStream.readUTF();
+                String packageName = inputStream.readUTF();
+                String name = inputStream.readUTF();
+                boolean text = inputStream.readBoolean();
+                generatedFiles.add(new GeneratedFile(kind, location, packageName, name, text, readBytes(inputStream)));
+            }
+            return new Entry(fingerprint, manifestContents, generatedFiles.build());
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    private static void write(File file, Entry entry) throws IOException {
+        DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(new FileOutputStream(file))));
+        try {
+            outputStream.writeInt(FORMAT_VERSION);
+            outputStream.writeUTF(entry.getFingerprint());
+            writeBytes(outputStream, entry.getManifestContents());
+            outputStream.writeInt(entry.getGeneratedFiles().size());
+            for (GeneratedFile generatedFile : entry.getGeneratedFiles()) {
+                outputStream.writeUTF(generatedFile.getKind().name());
+                outputStream.writeUTF(generatedFile.getLocation());
+                outputStream.writeUTF(generatedFile.getPackageName());
+                outputStream.writeUTF(generatedFile.getName());
+                outputStream.writeBoolean(generatedFile.isText());
+                writeBytes(outputStream, generatedFile.getContents());
+            }
+        } finally {
+            outputStream.close();
+        }
+    }
+
+    private static byte[] readBytes(DataInputStream inputStream) throws IOException {
+        int length = inputStream.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid length " + length);
+        }
+        //read in bounded chunks, so a corrupt length fails at the end of the stream rather than allocating its size
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.min(length, READ_CHUNK_SIZE));
+        byte[] chunk = new byte[READ_CHUNK_SIZE];
+        int remaining = length;
+        while (remaining > 0) {
+            int read = inputStream.read(chunk, 0, Math.min(remaining, READ_CHUNK_SIZE));
+            if (read < 0) {
+                throw new EOFException("Expected " + remaining + " more bytes");
+            }
+            bytes.write(chunk, 0, read);
+            remaining -= read;
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeBytes(DataOutputStream outputStream, byte[] bytes) throws IOException {
+        outputStream.writeInt(bytes.length);
+        outputStream.write(bytes);
+    }
+
+    private static byte[] readContents(File file) throws IOException {
+        if (!file.exists()) {
+            return new byte[0];
+        }
+        DataInputStream inputStream = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            byte[] contents = new byte[(int) file.length()];
+            inputStream.readFully(contents);
+            return contents;
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    public static final class Entry {
+        private final String fingerprint;
+        private final byte[] manifestContents;
+        private final List<GeneratedFile> generatedFiles;
+
+        public Entry(String fingerprint, byte[] manifestContents, List<GeneratedFile> generatedFiles) {
+            this.fingerprint = fingerprint;
+            this.manifestContents = manifestContents;
+            this.generatedFiles = generatedFiles;
+        }
+
+        public String getFingerprint() {
+            return fingerprint;
+        }
+
+        public byte[] getManifestContents() {
+            return manifestContents;
+        }
+
+        public List<GeneratedFile> getGeneratedFiles() {
+            return generatedFiles;
+        }
+    }
+
+    /**
+     * A source, class or resource file created through the Filer.
+     */
+    public static final class GeneratedFile {
+
+        public enum Kind {SOURCE, CLASS, RESOURCE}
+
+        private final Kind kind;
+        private final String location;
+        private final String packageName;
+        private final String name;
+        private final boolean text;
+        private final byte[] contents;
+
+        public GeneratedFile(Kind kind, String location, String packageName, String name, boolean text, byte[] contents) {
+            this.kind = kind;
+            this.location = location;
+            this.packageName = packageName;
+            this.name = name;
+            this.text = text;
+            this.contents = contents;
+        }
+
+        public void replay(Filer filer) throws IOException {
+            FileObject fileObject;
+            switch (kind) {
+                case SOURCE:
+                    fileObject = filer.createSourceFile(name);
+                    break;
+                case CLASS:
+                    fileObject = filer.createClassFile(name);
+                    break;
+                default:
+                    fileObject = filer.createResource(StandardLocation.locationFor(location), packageName, name);
+            }
+
+            if (text) {
+                Writer writer = fileObject.openWriter();
+                try {
+                    writer.write(new String(contents, "UTF-8"));
+                } finally {
+                    writer.close();
+                }
+            } else {
+                OutputStream outputStream = fileObject.openOutputStream();
+                try {
+                    outputStream.write(contents);
+                } finally {
+                    outputStream.close();
+                }
+            }
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getLocation() {
+            return location;
+        }
+
+        public String getPackageName() {
+            return packageName;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isText() {
+            return text;
+        }
+
+        public byte[] getContents() {
+            return contents;
+        }
+    }
+}
@@ -19,18 +19,10 @@ import org.androidtransfuse.TransfuseAnalysisException;
 import org.androidtransfuse.config.TransfuseAndroidModule;
 import org.androidtransfuse.model.Mergeable;
 import org.androidtransfuse.model.manifest.*;
-import org.apache.commons.beanutils.PropertyUtils;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -47,10 +39,13 @@ public class ManifestManager {
     private final List<Service> services = new ArrayList<Service>();
     private final List<UsesPermission> usesPermissions = new ArrayList<UsesPermission>();
     private UsesSDK usesSdk;
+    private final MergePlanRepository mergePlanRepository;
 
     @Inject
-    public ManifestManager(@Named(TransfuseAndroidModule.ORIGINAL_MANIFEST) Manifest originalManifest) {
+    public ManifestManager(@Named(TransfuseAndroidModule.ORIGINAL_MANIFEST) Manifest originalManifest,
+                           MergePlanRepository mergePlanRepository) {
         this.manifestPackage = originalManifest.getApplicationPackage();
+        this.mergePlanRepository = mergePlanRepository;
     }
 
     public void setApplication(Application application) {
@@ -141,42 +136,12 @@ public class ManifestManager {
     }
 
     private <T extends Mergeable> void updateMergeTags(Class<T> clazz, T mergeable) throws MergerException {
-        try {
-            mergeable.setGenerated(true);
-
-            BeanInfo beanInfo = Introspector.getBeanInfo(clazz);
-
-            for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
-                Method readMethod = propertyDescriptor.getReadMethod();
-                Method writeMethod = propertyDescriptor.getWriteMethod();
-
-                Merge mergeAnnotation = findAnnotation(Merge.class, writeMethod, readMethod);
-                Object property = PropertyUtils.getProperty(mergeable, propertyDescriptor.getName());
-
-                if (mergeAnnotation != null && property != null) {
-                    mergeable.addMergeTag(mergeAnnotation.value());
-                }
-            }
-        } catch (IntrospectionException e) {
-            throw new MergerException(e);
-        } catch (InvocationTargetException e) {
-            throw new MergerException(e);
-        } catch (NoSuchMethodException e) {
-            throw new MergerException(e);
-        } catch (IllegalAccessException e) {
-            throw new MergerException(e);
-        }
-    }
+        mergeable.setGenerated(true);
 
-    private <T extends Annotation> T findAnnotation(Class<T> annotationClass, Method... methods) {
-        T annotation = null;
-        if (methods != null) {
-            for (Method method : methods) {
-                if (annotation == null && method != null && method.isAnnotationPresent(annotationClass)) {
-                    annotation = method.getAnnotation(annotationClass);
-                }
+        for (MergePlan.MergeProperty property : mergePlanRepository.getPlan(clazz).getTaggedProperties()) {
+            if (property.get(mergeable) != null) {
+                mergeable.addMergeTag(property.getMerge().value());
             }
         }
-        return annotation;
     }
 }
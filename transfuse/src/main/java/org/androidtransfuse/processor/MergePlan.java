@@ -0,0 +1,161 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.processor;
+
+import java.beans.BeanInfo;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Precompiled description of how to merge a `Mergeable` type: its bean properties, their accessors and their
+ * `@Merge` and `@MergeCollection` metadata.  Built once per type by the `MergePlanRepository`.
+ *
+ * @author John Ericksen
+ */
+public final class MergePlan {
+
+    private final List<MergeProperty> writeableProperties;
+    private final List<MergeProperty> taggedProperties;
+
+    private MergePlan(List<MergeProperty> writeableProperties, List<MergeProperty> taggedProperties) {
+        this.writeableProperties = writeableProperties;
+        this.taggedProperties = taggedProperties;
+    }
+
+    public static MergePlan build(Class<?> type) throws MergerException {
+        try {
+            BeanInfo beanInfo = Introspector.getBeanInfo(type);
+
+            List<MergeProperty> writeableProperties = new ArrayList<MergeProperty>();
+            List<MergeProperty> taggedProperties = new ArrayList<MergeProperty>();
+            for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
+                Method getter = propertyDescriptor.getReadMethod();
+                Method setter = propertyDescriptor.getWriteMethod();
+
+                MergeProperty property = new MergeProperty(
+                        propertyDescriptor.getName(),
+                        propertyDescriptor.getPropertyType(),
+                        getter,
+                        setter,
+                        findAnnotation(Merge.class, getter, setter),
+                        findAnnotation(MergeCollection.class, getter, setter));
+
+                if (setter != null) {
+                    writeableProperties.add(property);
+                }
+                if (property.getMerge() != null) {
+                    taggedProperties.add(property);
+                }
+            }
+
+            return new MergePlan(Collections.unmodifiableList(writeableProperties), Collections.unmodifiableList(taggedProperties));
+        } catch (IntrospectionException e) {
+            throw new MergerException("IntrospectionException while building merge plan for " + type, e);
+        }
+    }
+
+    private static <T extends Annotation> T findAnnotation(Class<T> annotationClass, Method... methods) {
+        for (Method method : methods) {
+            if (method != null && method.isAnnotationPresent(annotationClass)) {
+                return method.getAnnotation(annotationClass);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return properties which may be set by a merge
+     */
+    public List<MergeProperty> getWriteableProperties() {
+        return writeableProperties;
+    }
+
+    /**
+     * @return properties annotated with `@Merge`
+     */
+    public List<MergeProperty> getTaggedProperties() {
+        return taggedProperties;
+    }
+
+    public static final class MergeProperty {
+        private final String name;
+        private final Class<?> type;
+        private final boolean collection;
+        private final Method getter;
+        private final Method setter;
+        private final Merge merge;
+        private final MergeCollection mergeCollection;
+
+        private MergeProperty(String name, Class<?> type, Method getter, Method setter, Merge merge, MergeCollection mergeCollection) {
+            this.name = name;
+            this.type = type;
+            this.collection = type != null && Collection.class.isAssignableFrom(type);
+            this.getter = getter;
+            this.setter = setter;
+            this.merge = merge;
+            this.mergeCollection = mergeCollection;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        public boolean isCollection() {
+            return collection;
+        }
+
+        public Merge getMerge() {
+            return merge;
+        }
+
+        public MergeCollection getMergeCollection() {
+            return mergeCollection;
+        }
+
+        public Object get(Object bean) throws MergerException {
+            if (getter == null) {
+                throw new MergerException("Property " + name + " is not readable");
+            }
+            return invoke(getter, bean);
+        }
+
+        public void set(Object bean, Object value) throws MergerException {
+            invoke(setter, bean, value);
+        }
+
+        private Object invoke(Method method, Object bean, Object... arguments) throws MergerException {
+            try {
+                return method.invoke(bean, arguments);
+            } catch (IllegalAccessException e) {
+                throw new MergerException("IllegalAccessException while trying to merge", e);
+            } catch (InvocationTargetException e) {
+                throw new MergerException("InvocationTargetException while trying to merge", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.processor;
+
+import javax.inject.Singleton;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches a `MergePlan` per merged type, so JavaBeans introspection runs once per type rather than once per merge.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class MergePlanRepository {
+
+    private final ConcurrentMap<Class<?>, MergePlan> plans = new ConcurrentHashMap<Class<?>, MergePlan>();
+
+    public MergePlan getPlan(Class<?> type) throws MergerException {
+        MergePlan plan = plans.get(type);
+        if (plan == null) {
+            MergePlan value = MergePlan.build(type);
+            plan = plans.putIfAbsent(type, value);
+            if (plan == null) {
+                plan = value;
+            }
+        }
+        return plan;
+    }
+}
@@ -18,15 +18,8 @@ package org.androidtransfuse.processor;
 import org.androidtransfuse.TransfuseAnalysisException;
 import org.androidtransfuse.model.Identified;
 import org.androidtransfuse.model.Mergeable;
-import org.apache.commons.beanutils.PropertyUtils;
-
-import java.beans.BeanInfo;
-import java.beans.IntrospectionException;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
-import java.lang.annotation.Annotation;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+
+import javax.inject.Inject;
 import java.util.*;
 
 /**
@@ -34,6 +27,13 @@ import java.util.*;
  */
 public class Merger {
 
+    private final MergePlanRepository mergePlanRepository;
+
+    @Inject
+    public Merger(MergePlanRepository mergePlanRepository) {
+        this.mergePlanRepository = mergePlanRepository;
+    }
+
     public <T> T merge(Class<? extends T> targetClass, T target, T source) throws MergerException {
 
         if (target == null) {
@@ -51,86 +51,41 @@ public class Merger {
 
     private <T extends Mergeable> T mergeMergeable(Class<? extends T> targetClass, T target, T source) throws MergerException {
 
-        try {
-
-            BeanInfo beanInfo = Introspector.getBeanInfo(targetClass);
-
-            PropertyDescriptor[] propertyDescriptors = beanInfo.getPropertyDescriptors();
-
-            for (PropertyDescriptor propertyDescriptor : propertyDescriptors) {
-                Method getter = propertyDescriptor.getReadMethod();
-                Method setter = propertyDescriptor.getWriteMethod();
+        MergePlan plan = mergePlanRepository.getPlan(targetClass);
 
-                String propertyName = propertyDescriptor.getDisplayName();
+        for (MergePlan.MergeProperty property : plan.getWriteableProperties()) {
 
-                if (PropertyUtils.isWriteable(target, propertyName)) {
-
-                    //check for mergeCollection
-                    MergeCollection mergeCollection = findAnnotation(MergeCollection.class, getter, setter);
-                    if (Collection.class.isAssignableFrom(propertyDescriptor.getPropertyType())) {
-                        PropertyUtils.setProperty(target, propertyName, mergeList(mergeCollection, propertyName, target, source));
-                    }
-
-                    //check for merge
-                    Merge mergeAnnotation = findAnnotation(Merge.class, getter, setter);
-                    PropertyUtils.setProperty(target, propertyName, mergeProperties(mergeAnnotation, propertyName, target, source));
-                }
+            //check for mergeCollection
+            if (property.isCollection()) {
+                property.set(target, mergeList(property, target, source));
             }
-        } catch (NoSuchMethodException e) {
-            throw new MergerException("NoSuchMethodException while trying to merge", e);
-        } catch (IntrospectionException e) {
-            throw new MergerException("IntrospectionException while trying to merge", e);
-        } catch (IllegalAccessException e) {
-            throw new MergerException("IllegalAccessException while trying to merge", e);
-        } catch (InvocationTargetException e) {
-            throw new MergerException("InvocationTargetException while trying to merge", e);
+
+            //check for merge
+            property.set(target, mergeProperties(property, target, source));
         }
 
         return target;
     }
 
-    private <T extends Annotation> T findAnnotation(Class<T> annotationClass, Method... methods) {
-        T annotation = null;
-        if (methods != null) {
-            for (Method method : methods) {
-                if (annotation == null && method != null && method.isAnnotationPresent(annotationClass)) {
-                    annotation = method.getAnnotation(annotationClass);
-                }
-            }
-        }
-        return annotation;
-    }
-
-    private <T extends Mergeable> Object mergeProperties(Merge mergeAnnotation, String propertyName, T target, T source) throws MergerException {
-
-        try {
-
-            String tag = null;
-            if (mergeAnnotation != null) {
-                tag = mergeAnnotation.value();
-            }
-
-            Object targetProperty = PropertyUtils.getProperty(target, propertyName);
-            Object sourceProperty = PropertyUtils.getProperty(source, propertyName);
-            Class propertyType = PropertyUtils.getPropertyType(target, propertyName);
+    private <T extends Mergeable> Object mergeProperties(MergePlan.MergeProperty property, T target, T source) throws MergerException {
 
-            Object merged;
-            if (tag != null && target.isGenerated() && target.containsTag(tag)) {
-                merged = sourceProperty;
-            } else {
-                merged = merge(propertyType, targetProperty, sourceProperty);
-            }
+        String tag = null;
+        if (property.getMerge() != null) {
+            tag = property.getMerge().value();
+        }
 
-            updateTag(target, tag, merged == null);
-            return merged;
+        Object targetProperty = property.get(target);
+        Object sourceProperty = property.get(source);
 
-        } catch (NoSuchMethodException e) {
-            throw new MergerException("NoSuchMethodException while trying to merge", e);
-        } catch (IllegalAccessException e) {
-            throw new MergerException("IllegalAccessException while trying to merge", e);
-        } catch (InvocationTargetException e) {
-            throw new MergerException("InvocationTargetException while trying to merge", e);
+        Object merged;
+        if (tag != null && target.isGenerated() && target.containsTag(tag)) {
+            merged = sourceProperty;
+        } else {
+            merged = merge(property.getType(), targetProperty, sourceProperty);
         }
+
+        updateTag(target, tag, merged == null);
+        return merged;
     }
 
     private <T extends Mergeable> void updateTag(T target, String tag, boolean remove) {
@@ -144,37 +99,28 @@ public class Merger {
         }
     }
 
-    private <T extends Mergeable> List mergeList(MergeCollection mergeCollectionAnnotation, String propertyName, T target, T source) throws MergerException {
-
-        try {
+    private <T extends Mergeable> List mergeList(MergePlan.MergeProperty property, T target, T source) throws MergerException {
 
-            List targetCollection = (List) PropertyUtils.getProperty(target, propertyName);
-            List sourceCollection = (List) PropertyUtils.getProperty(source, propertyName);
-
-            if (mergeCollectionAnnotation == null) {
-                return (List) merge(PropertyUtils.getPropertyType(target, propertyName), targetCollection, sourceCollection);
-            }
+        List targetCollection = (List) property.get(target);
+        List sourceCollection = (List) property.get(source);
 
-            //update collection from source
-            Collection<Mergeable> merged = updateFromSource(targetCollection, sourceCollection, mergeCollectionAnnotation.type());
+        MergeCollection mergeCollectionAnnotation = property.getMergeCollection();
+        if (mergeCollectionAnnotation == null) {
+            return (List) merge(property.getType(), targetCollection, sourceCollection);
+        }
 
-            List targetResult = makeCollection(targetCollection, mergeCollectionAnnotation.collectionType(), target, propertyName);
+        //update collection from source
+        Collection<Mergeable> merged = updateFromSource(targetCollection, sourceCollection, mergeCollectionAnnotation.type());
 
-            targetResult.clear();
-            targetResult.addAll(merged);
+        List targetResult = makeCollection(targetCollection, mergeCollectionAnnotation.collectionType(), property);
 
-            return targetResult;
+        targetResult.clear();
+        targetResult.addAll(merged);
 
-        } catch (NoSuchMethodException e) {
-            throw new MergerException("NoSuchMethodException while trying to merge", e);
-        } catch (IllegalAccessException e) {
-            throw new MergerException("IllegalAccessException while trying to merge", e);
-        } catch (InvocationTargetException e) {
-            throw new MergerException("InvocationTargetException while trying to merge", e);
-        }
+        return targetResult;
     }
 
-    private <T extends Mergeable> List makeCollection(List targetList, Class<? extends List> listType, T target, String propertyName) throws MergerException {
+    private List makeCollection(List targetList, Class<? extends List> listType, MergePlan.MergeProperty property) throws MergerException {
 
         try {
             //merger only supports Lists
@@ -184,19 +130,15 @@ public class Merger {
                     return listType.newInstance();
                 } else {
                     //try to instantiate field type
-                    return (List) PropertyUtils.getPropertyType(target, propertyName).newInstance();
+                    return (List) property.getType().newInstance();
                 }
             }
 
             return targetList;
-        } catch (NoSuchMethodException e) {
-            throw new MergerException("NoSuchMethodException while trying to merge", e);
         } catch (IllegalAccessException e) {
             throw new MergerException("IllegalAccessException while trying to merge", e);
         } catch (InstantiationException e) {
             throw new MergerException("InstantiationException while trying to merge", e);
-        } catch (InvocationTargetException e) {
-            throw new MergerException("InvocationTargetException while trying to merge", e);
         }
     }
 
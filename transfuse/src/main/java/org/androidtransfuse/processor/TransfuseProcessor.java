@@ -20,6 +20,7 @@ import org.androidtransfuse.TransfuseAnalysisException;
 import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.gen.ManifestBuilder;
 import org.androidtransfuse.transaction.TransactionProcessorBuilder;
+import org.androidtransfuse.transaction.TransactionRuntimeException;
 
 import javax.inject.Inject;
 import javax.inject.Provider;
@@ -74,7 +75,21 @@ public class TransfuseProcessor {
         }
 
         if (errored) {
-            throw new TransfuseAnalysisException("Code generation did not complete successfully.", exceptions.build());
+            ImmutableSet<Exception> errors = exceptions.build();
+            for (Exception error : errors) {
+                reportValidation(error);
+            }
+            throw new TransfuseAnalysisException("Code generation did not complete successfully.", errors);
+        }
+    }
+
+    private void reportValidation(Throwable error) {
+        //validation errors of retried transactions are held back until the transaction is abandoned
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TransactionRuntimeException && ((TransactionRuntimeException) cause).getValidation() != null) {
+                ((TransactionRuntimeException) cause).getValidation().build();
+                return;
+            }
         }
     }
 }
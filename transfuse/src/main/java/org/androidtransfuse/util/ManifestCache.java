@@ -0,0 +1,141 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import org.androidtransfuse.model.manifest.Manifest;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches parsed manifests across processing rounds and across processor instances sharing a JVM (build daemons).
+ * A cached manifest is reused while the file's modification time and size are unchanged.  Files modified too
+ * recently to be distinguished by their timestamp are re-parsed.  As the merge updates the manifest model in place,
+ * each caller receives its own copy of the cached model.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class ManifestCache {
+
+    //filesystem timestamp resolution may be as coarse as 2 seconds
+    private static final long TIMESTAMP_RESOLUTION = 2000;
+    private static final ConcurrentMap<File, CachedManifest> MANIFESTS = new ConcurrentHashMap<File, CachedManifest>();
+
+    private final ManifestSerializer manifestSerializer;
+    private final ManifestMappingRepository mappingRepository;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    @Inject
+    public ManifestCache(ManifestSerializer manifestSerializer, ManifestMappingRepository mappingRepository) {
+        this.manifestSerializer = manifestSerializer;
+        this.mappingRepository = mappingRepository;
+    }
+
+    public Manifest readManifest(File manifestFile) {
+        File key = manifestFile.getAbsoluteFile();
+        long lastModified = key.lastModified();
+        long length = key.length();
+
+        CachedManifest cached = MANIFESTS.get(key);
+        if (cached != null && cached.matches(lastModified, length)) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            long readTime = System.currentTimeMillis();
+            cached = new CachedManifest(lastModified, length, readTime, manifestSerializer.readManifest(key));
+            MANIFESTS.put(key, cached);
+        }
+
+        return copy(cached.getManifest(), mappingRepository.getMapping(Manifest.class));
+    }
+
+    private <T> T copy(T source, ManifestMapping<T> mapping) {
+        T target = mapping.newInstance();
+
+        for (ManifestMapping.AttributeMapping attribute : mapping.getAttributes()) {
+            String value = attribute.read(source);
+            if (value != null) {
+                attribute.write(target, value);
+            }
+        }
+        for (ManifestMapping.ChildMapping child : mapping.getChildren()) {
+            List<?> items = child.read(source);
+            if (items != null) {
+                for (Object item : items) {
+                    child.add(target, copyItem(item));
+                }
+            }
+        }
+
+        return target;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T copyItem(T item) {
+        return copy(item, mappingRepository.getMapping((Class<T>) item.getClass()));
+    }
+
+    /**
+     * Clears all cached manifests.
+     */
+    public static void clear() {
+        MANIFESTS.clear();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "Manifest cache hits: " + getHits() + ", misses: " + getMisses();
+    }
+
+    private static final class CachedManifest {
+        private final long lastModified;
+        private final long length;
+        private final long readTime;
+        private final Manifest manifest;
+
+        private CachedManifest(long lastModified, long length, long readTime, Manifest manifest) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.readTime = readTime;
+            this.manifest = manifest;
+        }
+
+        public boolean matches(long lastModified, long length) {
+            return this.lastModified == lastModified && this.length == length &&
+                    //a modification within the timestamp resolution of the read may not have changed the timestamp
+                    lastModified + TIMESTAMP_RESOLUTION < readTime;
+        }
+
+        public Manifest getManifest() {
+            return manifest;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import com.thoughtworks.xstream.annotations.XStreamAlias;
+import com.thoughtworks.xstream.annotations.XStreamAsAttribute;
+import com.thoughtworks.xstream.annotations.XStreamImplicit;
+import com.thoughtworks.xstream.converters.SingleValueConverter;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.util.*;
+
+/**
+ * Precompiled xml mapping of a single manifest model type: its constructor, its attribute fields with their value
+ * converters and its implicit child collections, in serialization order.  Derived once from the model's XStream
+ * annotations by the `ManifestMappingRepository`.
+ *
+ * @author John Ericksen
+ */
+public final class ManifestMapping<T> {
+
+    private final Class<T> type;
+    private final Constructor<T> constructor;
+    private final List<AttributeMapping> attributes;
+    private final Map<String, AttributeMapping> attributesByName;
+    private final List<ChildMapping> children;
+    private final Map<String, ChildMapping> childrenByName;
+
+    private ManifestMapping(Class<T> type, Constructor<T> constructor, List<AttributeMapping> attributes, List<ChildMapping> children) {
+        this.type = type;
+        this.constructor = constructor;
+        this.attributes = attributes;
+        this.children = children;
+        this.attributesByName = new HashMap<String, AttributeMapping>();
+        for (AttributeMapping attribute : attributes) {
+            attributesByName.put(attribute.getName(), attribute);
+        }
+        this.childrenByName = new HashMap<String, ChildMapping>();
+        for (ChildMapping child : children) {
+            childrenByName.put(child.getName(), child);
+        }
+    }
+
+    public static <T> ManifestMapping<T> build(Class<T> type, ManifestMappingRepository repository) {
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+
+            List<AttributeMapping> attributes = new ArrayList<AttributeMapping>();
+            List<ChildMapping> children = new ArrayList<ChildMapping>();
+
+            //superclass fields first, each class in declaration order
+            for (Class<?> declaringClass : hierarchy(type)) {
+                for (Field field : declaringClass.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers()) || Modifier.isTransient(field.getModifiers())) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    if (field.isAnnotationPresent(XStreamAsAttribute.class)) {
+                        attributes.add(new AttributeMapping(fieldName(field), field, repository.getConverter(field.getType())));
+                    } else if (field.isAnnotationPresent(XStreamImplicit.class)) {
+                        children.add(new ChildMapping(field.getAnnotation(XStreamImplicit.class).itemFieldName(), field, itemType(field)));
+                    } else {
+                        throw new TransfuseInjectionException("Unmapped manifest field " + type.getName() + "." + field.getName());
+                    }
+                }
+            }
+
+            return new ManifestMapping<T>(type, constructor,
+                    Collections.unmodifiableList(attributes), Collections.unmodifiableList(children));
+        } catch (NoSuchMethodException e) {
+            throw new TransfuseInjectionException("Manifest type " + type.getName() + " requires a no-arg constructor", e);
+        }
+    }
+
+    private static List<Class<?>> hierarchy(Class<?> type) {
+        LinkedList<Class<?>> hierarchy = new LinkedList<Class<?>>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            hierarchy.addFirst(current);
+        }
+        return hierarchy;
+    }
+
+    private static String fieldName(Field field) {
+        if (field.isAnnotationPresent(XStreamAlias.class)) {
+            return field.getAnnotation(XStreamAlias.class).value();
+        }
+        return field.getName();
+    }
+
+    private static Class<?> itemType(Field field) {
+        if (!List.class.isAssignableFrom(field.getType()) || !(field.getGenericType() instanceof ParameterizedType)) {
+            throw new TransfuseInjectionException("Implicit manifest collection " + field.getName() + " must be a parameterized List");
+        }
+        return (Class<?>) ((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
+    }
+
+    /**
+     * Instantiates the mapped type with every mapped field cleared, so that fields absent from the xml read as null.
+     *
+     * @return new instance
+     */
+    public T newInstance() {
+        try {
+            T instance = constructor.newInstance();
+            for (AttributeMapping attribute : attributes) {
+                attribute.field.set(instance, null);
+            }
+            for (ChildMapping child : children) {
+                child.field.set(instance, null);
+            }
+            return instance;
+        } catch (InstantiationException e) {
+            throw new TransfuseInjectionException("Unable to instantiate " + type.getName(), e);
+        } catch (IllegalAccessException e) {
+            throw new TransfuseInjectionException("Unable to instantiate " + type.getName(), e);
+        } catch (InvocationTargetException e) {
+            throw new TransfuseInjectionException("Unable to instantiate " + type.getName(), e);
+        }
+    }
+
+    public Class<T> getType() {
+        return type;
+    }
+
+    public List<AttributeMapping> getAttributes() {
+        return attributes;
+    }
+
+    public AttributeMapping getAttribute(String name) {
+        return attributesByName.get(name);
+    }
+
+    public List<ChildMapping> getChildren() {
+        return children;
+    }
+
+    public ChildMapping getChild(String name) {
+        return childrenByName.get(name);
+    }
+
+    public static final class AttributeMapping {
+        private final String name;
+        private final Field field;
+        private final SingleValueConverter converter;
+
+        private AttributeMapping(String name, Field field, SingleValueConverter converter) {
+            this.name = name;
+            this.field = field;
+            this.converter = converter;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @param instance target
+         * @return the serialized attribute value, or null if the attribute is not to be written
+         */
+        public String read(Object instance) {
+            Object value = get(field, instance);
+            if (value == null) {
+                return null;
+            }
+            return converter.toString(value);
+        }
+
+        public void write(Object instance, String value) {
+            set(field, instance, converter.fromString(value));
+        }
+    }
+
+    public static final class ChildMapping {
+        private final String name;
+        private final Field field;
+        private final Class<?> itemType;
+
+        private ChildMapping(String name, Field field, Class<?> itemType) {
+            this.name = name;
+            this.field = field;
+            this.itemType = itemType;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class<?> getItemType() {
+            return itemType;
+        }
+
+        public List<?> read(Object instance) {
+            return (List<?>) get(field, instance);
+        }
+
+        @SuppressWarnings("unchecked")
+        public void add(Object instance, Object item) {
+            List<Object> items = (List<Object>) get(field, instance);
+            if (items == null) {
+                items = new ArrayList<Object>();
+                set(field, instance, items);
+            }
+            items.add(item);
+        }
+    }
+
+    private static Object get(Field field, Object instance) {
+        try {
+            return field.get(instance);
+        } catch (IllegalAccessException e) {
+            throw new TransfuseInjectionException("Unable to read manifest field " + field.getName(), e);
+        }
+    }
+
+    private static void set(Field field, Object instance, Object value) {
+        try {
+            field.set(instance, value);
+        } catch (IllegalAccessException e) {
+            throw new TransfuseInjectionException("Unable to write manifest field " + field.getName(), e);
+        }
+    }
+}
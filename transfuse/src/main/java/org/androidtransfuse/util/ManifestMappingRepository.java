@@ -0,0 +1,91 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import com.thoughtworks.xstream.converters.SingleValueConverter;
+import com.thoughtworks.xstream.converters.basic.AbstractSingleValueConverter;
+import com.thoughtworks.xstream.converters.basic.BooleanConverter;
+import com.thoughtworks.xstream.converters.basic.IntConverter;
+import org.androidtransfuse.annotations.Labeled;
+import org.androidtransfuse.model.manifest.LabeledConverter;
+import org.androidtransfuse.processor.MergeableTagConverter;
+import org.androidtransfuse.processor.MergeableTags;
+
+import javax.inject.Singleton;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Caches the `ManifestMapping` of each manifest model type and the attribute value converters they share.
+ *
+ * @author John Ericksen
+ */
+@Singleton
+public class ManifestMappingRepository {
+
+    private final ConcurrentMap<Class<?>, ManifestMapping<?>> mappings = new ConcurrentHashMap<Class<?>, ManifestMapping<?>>();
+    private final ConcurrentMap<Class<?>, SingleValueConverter> converters = new ConcurrentHashMap<Class<?>, SingleValueConverter>();
+
+    public ManifestMappingRepository() {
+        converters.put(String.class, new StringValueConverter());
+        converters.put(Boolean.class, new BooleanConverter());
+        converters.put(Integer.class, new IntConverter());
+        converters.put(MergeableTags.class, new MergeableTagConverter());
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> ManifestMapping<T> getMapping(Class<T> type) {
+        ManifestMapping<?> mapping = mappings.get(type);
+        if (mapping == null) {
+            ManifestMapping<T> value = ManifestMapping.build(type, this);
+            mapping = mappings.putIfAbsent(type, value);
+            if (mapping == null) {
+                mapping = value;
+            }
+        }
+        return (ManifestMapping<T>) mapping;
+    }
+
+    @SuppressWarnings("unchecked")
+    public SingleValueConverter getConverter(Class<?> type) {
+        SingleValueConverter converter = converters.get(type);
+        if (converter == null) {
+            if (!type.isEnum() || !Labeled.class.isAssignableFrom(type)) {
+                throw new TransfuseInjectionException("Unsupported manifest attribute type " + type.getName());
+            }
+            Class<Labeled> labeledType = (Class<Labeled>) type;
+            SingleValueConverter value = new LabeledConverter<Labeled>(labeledType, labeledType.getEnumConstants());
+            converter = converters.putIfAbsent(type, value);
+            if (converter == null) {
+                converter = value;
+            }
+        }
+        return converter;
+    }
+
+    private static final class StringValueConverter extends AbstractSingleValueConverter {
+
+        @Override
+        public boolean canConvert(Class type) {
+            return String.class.equals(type);
+        }
+
+        @Override
+        public Object fromString(String str) {
+            return str;
+        }
+    }
+}
@@ -15,59 +15,292 @@
  */
 package org.androidtransfuse.util;
 
-import com.thoughtworks.xstream.XStream;
 import org.androidtransfuse.model.manifest.Manifest;
 
 import javax.inject.Inject;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.*;
+import java.util.List;
 
 /**
- * Serializes the Manifest to and from xml
+ * Serializes the Manifest to and from xml.
+ *
+ * Reading streams the document through StAX, writing streams pretty printed xml directly to the output, both driven
+ * by the precompiled `ManifestMapping` of each model type.  The written format (attribute order, four space
+ * indentation, self closing empty elements and entity escaping) matches the XStream serialization previously used.
  *
  * @author John Ericksen
  */
 public class ManifestSerializer {
 
     private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n";
+    private static final String ROOT_ELEMENT = "manifest";
+    private static final String INDENT = "    ";
+    private static final String NAMESPACE_ATTRIBUTE = "xmlns";
 
-    private final XStream xStream;
+    private final ManifestMappingRepository mappingRepository;
     private final Logger logger;
+    private final XMLInputFactory inputFactory;
 
     @Inject
-    public ManifestSerializer(XStream xStream, Logger logger) {
-        this.xStream = xStream;
+    public ManifestSerializer(ManifestMappingRepository mappingRepository, Logger logger) {
+        this.mappingRepository = mappingRepository;
         this.logger = logger;
+        this.inputFactory = XMLInputFactory.newInstance();
+        this.inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        this.inputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
     }
 
     public Manifest readManifest(File manifestFile) {
-        return (Manifest) xStream.fromXML(manifestFile);
+        InputStream inputStream = null;
+        try {
+            inputStream = new BufferedInputStream(new FileInputStream(manifestFile));
+            return readManifest(inputStream);
+        } catch (FileNotFoundException e) {
+            logger.error("FileNotFoundException while reading manifest", e);
+            throw new TransfuseInjectionException(e);
+        } finally {
+            close(inputStream);
+        }
     }
 
     public Manifest readManifest(InputStream manifestInputStream) {
-        return (Manifest) xStream.fromXML(manifestInputStream);
+        XMLStreamReader reader = null;
+        try {
+            reader = inputFactory.createXMLStreamReader(manifestInputStream);
+            reader.nextTag();
+            String rootName = qualifiedName(reader.getPrefix(), reader.getLocalName());
+            if (!ROOT_ELEMENT.equals(rootName)) {
+                throw new TransfuseInjectionException("Expected <" + ROOT_ELEMENT + "> root element, found <" + rootName + ">");
+            }
+            return readElement(reader, mappingRepository.getMapping(Manifest.class));
+        } catch (XMLStreamException e) {
+            logger.error("XMLStreamException while reading manifest", e);
+            throw new TransfuseInjectionException(e);
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException e) {
+                    logger.error("XMLStreamException while closing manifest reader", e);
+                }
+            }
+        }
+    }
+
+    private <T> T readElement(XMLStreamReader reader, ManifestMapping<T> mapping) throws XMLStreamException {
+        T instance = mapping.newInstance();
+
+        for (int i = 0; i < reader.getNamespaceCount(); i++) {
+            String prefix = reader.getNamespacePrefix(i);
+            String name = prefix == null || prefix.length() == 0 ? NAMESPACE_ATTRIBUTE : NAMESPACE_ATTRIBUTE + ":" + prefix;
+            readAttribute(mapping, instance, name, reader.getNamespaceURI(i));
+        }
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            String name = qualifiedName(reader.getAttributePrefix(i), reader.getAttributeLocalName(i));
+            readAttribute(mapping, instance, name, reader.getAttributeValue(i));
+        }
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                String name = qualifiedName(reader.getPrefix(), reader.getLocalName());
+                ManifestMapping.ChildMapping child = mapping.getChild(name);
+                if (child == null) {
+                    throw new TransfuseInjectionException("Unexpected manifest element <" + name + "> at line " +
+                            reader.getLocation().getLineNumber());
+                }
+                child.add(instance, readElement(reader, mappingRepository.getMapping(child.getItemType())));
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                break;
+            }
+        }
+
+        return instance;
+    }
+
+    private <T> void readAttribute(ManifestMapping<T> mapping, T instance, String name, String value) {
+        //unmapped attributes are ignored
+        ManifestMapping.AttributeMapping attribute = mapping.getAttribute(name);
+        if (attribute != null) {
+            attribute.write(instance, value);
+        }
+    }
+
+    private String qualifiedName(String prefix, String localName) {
+        if (prefix == null || prefix.length() == 0) {
+            return localName;
+        }
+        return prefix + ":" + localName;
     }
 
     public void writeManifest(Manifest manifest, OutputStream manifestStream) {
         try {
-            Writer writer = new OutputStreamWriter(manifestStream, "UTF-8");
+            Writer writer = new BufferedWriter(new OutputStreamWriter(manifestStream, "UTF-8"));
             writer.write(XML_HEADER);
 
-            xStream.toXML(manifest, writer);
-        } catch (FileNotFoundException e) {
-            logger.error("FileNotFoundException while writing manifest", e);
-            throw new TransfuseInjectionException(e);
+            writeElement(writer, ROOT_ELEMENT, manifest, mappingRepository.getMapping(Manifest.class), 0);
+
+            writer.flush();
         } catch (IOException e) {
             logger.error("IOException while writing manifest", e);
             throw new TransfuseInjectionException(e);
         }
     }
 
+    private <T> void writeElement(Writer writer, String name, T instance, ManifestMapping<T> mapping, int depth) throws IOException {
+        writer.write('<');
+        writer.write(name);
+
+        for (ManifestMapping.AttributeMapping attribute : mapping.getAttributes()) {
+            String value = attribute.read(instance);
+            if (value != null) {
+                writer.write(' ');
+                writer.write(attribute.getName());
+                writer.write("=\"");
+                writeEscaped(writer, value);
+                writer.write('"');
+            }
+        }
+
+        boolean empty = true;
+        for (ManifestMapping.ChildMapping child : mapping.getChildren()) {
+            List<?> items = child.read(instance);
+            if (items != null) {
+                for (Object item : items) {
+                    if (empty) {
+                        writer.write('>');
+                        empty = false;
+                    }
+                    newLine(writer, depth + 1);
+                    writeChild(writer, child.getName(), item, depth + 1);
+                }
+            }
+        }
+
+        if (empty) {
+            writer.write("/>");
+        } else {
+            newLine(writer, depth);
+            writer.write("</");
+            writer.write(name);
+            writer.write('>');
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void writeChild(Writer writer, String name, T item, int depth) throws IOException {
+        writeElement(writer, name, item, mappingRepository.getMapping((Class<T>) item.getClass()), depth);
+    }
+
+    private void newLine(Writer writer, int depth) throws IOException {
+        writer.write('\n');
+        for (int i = 0; i < depth; i++) {
+            writer.write(INDENT);
+        }
+    }
+
+    private void writeEscaped(Writer writer, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\0':
+                    writer.write("&#x0;");
+                    break;
+                case '&':
+                    writer.write("&amp;");
+                    break;
+                case '<':
+                    writer.write("&lt;");
+                    break;
+                case '>':
+                    writer.write("&gt;");
+                    break;
+                case '"':
+                    writer.write("&quot;");
+                    break;
+                case '\'':
+                    writer.write("&apos;");
+                    break;
+                case '\r':
+                    writer.write("&#xd;");
+                    break;
+                case '\t':
+                case '\n':
+                    writer.write(c);
+                    break;
+                default:
+                    if (Character.isDefined(c) && !Character.isISOControl(c)) {
+                        writer.write(c);
+                    } else {
+                        writer.write("&#x");
+                        writer.write(Integer.toHexString(c));
+                        writer.write(';');
+                    }
+            }
+        }
+    }
+
+    /**
+     * Writes the manifest to the given file.  An unchanged manifest is not rewritten, leaving the file's timestamp, and
+     * any caches keyed on it, intact.
+     *
+     * @param manifest     Manifest
+     * @param manifestFile output file
+     */
     public void writeManifest(Manifest manifest, File manifestFile) {
+        ByteArrayOutputStream manifestBytes = new ByteArrayOutputStream();
+        writeManifest(manifest, manifestBytes);
+        byte[] content = manifestBytes.toByteArray();
+
+        if (isUnchanged(manifestFile, content)) {
+            logger.info("AndroidManifest.xml unchanged");
+            return;
+        }
+
+        OutputStream outputStream = null;
         try {
-            writeManifest(manifest, new FileOutputStream(manifestFile));
+            outputStream = new FileOutputStream(manifestFile);
+            outputStream.write(content);
         } catch (IOException e) {
             logger.error("IOException while writing manifest", e);
             throw new TransfuseInjectionException(e);
+        } finally {
+            close(outputStream);
+        }
+    }
+
+    private boolean isUnchanged(File manifestFile, byte[] content) {
+        if (!manifestFile.exists() || manifestFile.length() != content.length) {
+            return false;
+        }
+        InputStream inputStream = null;
+        try {
+            inputStream = new BufferedInputStream(new FileInputStream(manifestFile));
+            for (byte b : content) {
+                if (inputStream.read() != (b & 0xFF)) {
+                    return false;
+                }
+            }
+            return inputStream.read() == -1;
+        } catch (IOException e) {
+            logger.error("IOException while comparing manifest", e);
+            return false;
+        } finally {
+            close(inputStream);
+        }
+    }
+
+    private void close(Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException e) {
+                logger.error("IOException while closing manifest stream", e);
+            }
         }
     }
 }
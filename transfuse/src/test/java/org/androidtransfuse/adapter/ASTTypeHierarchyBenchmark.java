@@ -0,0 +1,114 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.adapter;
+
+import android.content.ComponentCallbacks;
+import android.content.Context;
+import android.support.v4.app.FragmentActivity;
+import android.view.KeyEvent;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares memoized ASTType inheritance queries against the recursive ASTUtils walk they replaced, on the deep
+ * Android hierarchy from FragmentActivity down to Context.
+ *
+ * Run via the main method from the test classpath.
+ *
+ * @author John Ericksen
+ */
+@Bootstrap
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ASTTypeHierarchyBenchmark {
+
+    @Inject
+    private ASTClassFactory astClassFactory;
+
+    private ASTType fragmentActivity;
+    private ASTType context;
+    private ASTType componentCallbacks;
+    private ASTType keyEventCallback;
+    private ASTType unrelated;
+
+    @Setup
+    public void setup() {
+        Bootstraps.getInjector(ASTTypeHierarchyBenchmark.class).inject(this);
+        fragmentActivity = astClassFactory.getType(FragmentActivity.class);
+        context = astClassFactory.getType(Context.class);
+        componentCallbacks = astClassFactory.getType(ComponentCallbacks.class);
+        keyEventCallback = astClassFactory.getType(KeyEvent.Callback.class);
+        unrelated = astClassFactory.getType(String.class);
+    }
+
+    @Benchmark
+    public boolean recursiveExtendsContext() {
+        return ASTUtils.getInstance().inherits(fragmentActivity, context, false, true);
+    }
+
+    @Benchmark
+    public boolean memoizedExtendsContext() {
+        return fragmentActivity.extendsFrom(context);
+    }
+
+    @Benchmark
+    public boolean recursiveInheritsInterface() {
+        return ASTUtils.getInstance().inherits(fragmentActivity, componentCallbacks, true, true);
+    }
+
+    @Benchmark
+    public boolean memoizedInheritsInterface() {
+        return fragmentActivity.inheritsFrom(componentCallbacks);
+    }
+
+    @Benchmark
+    public boolean recursiveImplementsInterface() {
+        return ASTUtils.getInstance().inherits(fragmentActivity, keyEventCallback, true, false);
+    }
+
+    @Benchmark
+    public boolean memoizedImplementsInterface() {
+        return fragmentActivity.implementsFrom(keyEventCallback);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean recursiveInheritsUnrelated() {
+        return ASTUtils.getInstance().inherits(fragmentActivity, unrelated, true, true);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean memoizedInheritsUnrelated() {
+        return fragmentActivity.inheritsFrom(unrelated);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ASTTypeHierarchyBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.analysis;
+
+import com.google.common.collect.ImmutableList;
+import org.androidtransfuse.adapter.ASTMethod;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+@Bootstrap
+public class ClassHierarchyScanCacheTest {
+
+    @Inject
+    private ASTClassFactory astClassFactory;
+    private ClassHierarchyScanCache scanCache;
+
+    public static class ScanBase {
+        public void overridden() {
+        }
+
+        public void inherited() {
+        }
+
+        private void hidden() {
+        }
+    }
+
+    public static class ScanTarget extends ScanBase {
+        private String field;
+
+        @Override
+        public void overridden() {
+        }
+
+        private void hidden() {
+        }
+    }
+
+    @Before
+    public void setup() {
+        Bootstraps.inject(this);
+        scanCache = new ClassHierarchyScanCache();
+    }
+
+    @Test
+    public void testScan() {
+        ImmutableList<ClassHierarchyScanCache.ScanStep> scan = scanCache.getScan(astClassFactory.getType(ScanTarget.class));
+
+        assertEquals(3, scan.size());
+        assertEquals(astClassFactory.getType(ScanTarget.class), scan.get(0).getType());
+        assertEquals(astClassFactory.getType(ScanBase.class), scan.get(1).getType());
+        assertEquals(astClassFactory.getType(Object.class), scan.get(2).getType());
+
+        assertEquals(1, scan.get(0).getFields().size());
+        assertEquals(methodNames("overridden", "hidden"), methodNames(scan.get(0)));
+        //overridden is scanned from the subclass only, private methods are never overridden
+        assertEquals(methodNames("inherited", "hidden"), methodNames(scan.get(1)));
+    }
+
+    @Test
+    public void testScanReused() {
+        ImmutableList<ClassHierarchyScanCache.ScanStep> first = scanCache.getScan(astClassFactory.getType(ScanTarget.class));
+        ImmutableList<ClassHierarchyScanCache.ScanStep> second = scanCache.getScan(astClassFactory.getType(ScanTarget.class));
+
+        assertSame(first, second);
+        assertEquals(1, scanCache.getMisses());
+        assertEquals(1, scanCache.getHits());
+    }
+
+    private Set<String> methodNames(ClassHierarchyScanCache.ScanStep step) {
+        Set<String> names = new HashSet<String>();
+        for (ASTMethod method : step.getMethods()) {
+            names.add(method.getName());
+        }
+        return names;
+    }
+
+    private Set<String> methodNames(String... names) {
+        Set<String> nameSet = new HashSet<String>();
+        for (String name : names) {
+            nameSet.add(name);
+        }
+        return nameSet;
+    }
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.analysis.astAnalyzer;
+
+import org.androidtransfuse.adapter.ASTMethod;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.analysis.AnalysisContext;
+import org.androidtransfuse.analysis.InjectionPointFactory;
+import org.androidtransfuse.analysis.SimpleAnalysisContextFactory;
+import org.androidtransfuse.annotations.Delivery;
+import org.androidtransfuse.annotations.Observes;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.model.InjectionNode;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+@Bootstrap
+public class ObservesAnalysisTest {
+
+    @Inject
+    private ObservesAnalysis observesAnalysis;
+    @Inject
+    private InjectionPointFactory injectionPointFactory;
+    @Inject
+    private ASTClassFactory astClassFactory;
+    @Inject
+    private SimpleAnalysisContextFactory simpleAnalysisContextFactory;
+    private InjectionNode observerInjectionNode;
+    private ASTType observerASTType;
+    private ASTType eventASTType;
+
+    public static class Event {}
+
+    public static class Observer {
+        @Observes
+        public void synchronous(Event event) {
+        }
+
+        public void background(@Observes(delivery = Delivery.BACKGROUND) Event event) {
+        }
+
+        @Observes(delivery = Delivery.COALESCE)
+        public void coalesce(Event event) {
+        }
+
+        public void notObserving(Event event) {
+        }
+    }
+
+    @Before
+    public void setup() {
+        Bootstraps.inject(this);
+
+        observerASTType = astClassFactory.getType(Observer.class);
+        eventASTType = astClassFactory.getType(Event.class);
+        observerInjectionNode = injectionPointFactory.buildInjectionNode(observerASTType, simpleAnalysisContextFactory.buildContext());
+    }
+
+    @Test
+    public void testDelivery() {
+        AnalysisContext analysisContext = simpleAnalysisContextFactory.buildContext();
+
+        for (ASTMethod astMethod : observerASTType.getMethods()) {
+            observesAnalysis.analyzeMethod(observerInjectionNode, observerASTType, astMethod, analysisContext);
+        }
+
+        assertTrue(observerInjectionNode.containsAspect(ObservesAspect.class));
+        ObservesAspect aspect = observerInjectionNode.getAspect(ObservesAspect.class);
+
+        assertEquals(EnumSet.of(Delivery.SYNCHRONOUS, Delivery.BACKGROUND, Delivery.COALESCE), aspect.getDeliveries(eventASTType));
+        assertObserver(aspect, Delivery.SYNCHRONOUS, "synchronous");
+        assertObserver(aspect, Delivery.BACKGROUND, "background");
+        assertObserver(aspect, Delivery.COALESCE, "coalesce");
+    }
+
+    private void assertObserver(ObservesAspect aspect, Delivery delivery, String methodName) {
+        Set<ASTMethod> observerMethods = aspect.getObserverMethods(eventASTType, delivery);
+        assertEquals(1, observerMethods.size());
+        assertEquals(methodName, observerMethods.iterator().next().getName());
+    }
+}
@@ -0,0 +1,89 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.config;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.lang.model.element.Element;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author John Ericksen
+ */
+public class CachedElementsTest {
+
+    private static final String TEST_TYPE = "org.test.Tester";
+    private static final String MISSING_TYPE = "org.test.Missing";
+
+    private CachedElements cachedElements;
+    private Elements mockElements;
+    private TypeElement mockTypeElement;
+
+    @Before
+    public void setUp() throws Exception {
+        mockElements = mock(Elements.class);
+        mockTypeElement = mock(TypeElement.class);
+
+        when(mockElements.getTypeElement(TEST_TYPE)).thenReturn(mockTypeElement);
+
+        cachedElements = new CachedElements(mockElements);
+    }
+
+    @Test
+    public void testMemoizedTypeElement() {
+        assertEquals(mockTypeElement, cachedElements.getTypeElement(TEST_TYPE));
+        assertEquals(mockTypeElement, cachedElements.getTypeElement(TEST_TYPE));
+
+        verify(mockElements, times(1)).getTypeElement(TEST_TYPE);
+        assertEquals(1, cachedElements.getHits());
+        assertEquals(1, cachedElements.getMisses());
+    }
+
+    @Test
+    public void testMemoizedMissingType() {
+        assertNull(cachedElements.getTypeElement(MISSING_TYPE));
+        assertNull(cachedElements.getTypeElement(MISSING_TYPE));
+
+        verify(mockElements, times(1)).getTypeElement(MISSING_TYPE);
+    }
+
+    @Test
+    public void testInvalidate() {
+        cachedElements.getTypeElement(TEST_TYPE);
+        cachedElements.invalidate();
+        cachedElements.getTypeElement(TEST_TYPE);
+
+        verify(mockElements, times(2)).getTypeElement(TEST_TYPE);
+    }
+
+    @Test
+    public void testMemoizedPackageOf() {
+        Element mockElement = mock(Element.class);
+        PackageElement mockPackage = mock(PackageElement.class);
+        when(mockElements.getPackageOf(mockElement)).thenReturn(mockPackage);
+
+        assertEquals(mockPackage, cachedElements.getPackageOf(mockElement));
+        assertEquals(mockPackage, cachedElements.getPackageOf(mockElement));
+
+        verify(mockElements, times(1)).getPackageOf(mockElement);
+    }
+}
@@ -16,7 +16,6 @@
 package org.androidtransfuse.config;
 
 import com.sun.codemodel.JCodeModel;
-import com.thoughtworks.xstream.XStream;
 import org.androidtransfuse.NoOpElements;
 import org.androidtransfuse.NoOpFiler;
 import org.androidtransfuse.NoOpMessager;
@@ -73,7 +72,6 @@ import javax.lang.model.util.Elements;
         @Bind(type = Messager.class, to = NoOpMessager.class)
 })
 @BindProviders({
-        @BindProvider(type = XStream.class, provider = XStreamProvider.class),
         @BindProvider(type = VariableExpressionBuilder.class, provider = ExpressionDecoratorFactory.class),
         @BindProvider(type = GeneratorRepository.class, provider = GeneratorRepositoryProvider.class),
         @BindProvider(type = AnalysisRepository.class, provider = AnalysisRepositoryFactory.class)
@@ -102,6 +100,12 @@ public class TestTransfuseAndroidModule {
         return new Manifest();
     }
 
+    @Provides
+    @Named(ExpressionDecoratorFactory.SHARED_INJECTORS)
+    public Boolean getSharedInjectors(){
+        return false;
+    }
+
     @Provides
     public Logger getLogger(){
         return new JavaUtilLogger(this);
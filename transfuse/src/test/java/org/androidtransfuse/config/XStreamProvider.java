@@ -27,6 +27,9 @@ import javax.inject.Provider;
 import java.io.Writer;
 
 /**
+ * XStream configuration formerly used to serialize the manifest, kept as the reference the streaming
+ * `ManifestSerializer` output is verified and benchmarked against.
+ *
  * @author John Ericksen
  */
 public class XStreamProvider implements Provider<XStream> {
@@ -17,6 +17,7 @@ package org.androidtransfuse.gen;
 
 import com.sun.codemodel.JCodeModel;
 import org.androidtransfuse.gen.classloader.MemoryClassLoader;
+import org.androidtransfuse.gen.invocationBuilder.PackageHelperGenerator;
 
 import javax.inject.Inject;
 import java.io.IOException;
@@ -30,12 +31,14 @@ public class CodeGenerationUtil {
     private final JCodeModel codeModel;
     private final StringCodeWriter stringCodeWriter;
     private final MemoryClassLoader classLoader;
+    private final PackageHelperGenerator packageHelperGenerator;
 
     @Inject
-    public CodeGenerationUtil(JCodeModel codeModel, StringCodeWriter stringCodeWriter, MemoryClassLoader classLoader) {
+    public CodeGenerationUtil(JCodeModel codeModel, StringCodeWriter stringCodeWriter, MemoryClassLoader classLoader, PackageHelperGenerator packageHelperGenerator) {
         this.codeModel = codeModel;
         this.stringCodeWriter = stringCodeWriter;
         this.classLoader = classLoader;
+        this.packageHelperGenerator = packageHelperGenerator;
     }
 
     public ClassLoader build() throws IOException {
@@ -43,6 +46,8 @@ public class CodeGenerationUtil {
     }
 
     public ClassLoader build(boolean print) throws IOException {
+        //private and protected member accessors
+        packageHelperGenerator.generate();
         codeModel.build(stringCodeWriter);
 
         classLoader.add(stringCodeWriter.getOutput());
@@ -16,6 +16,7 @@
 package org.androidtransfuse.gen;
 
 import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JMod;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -57,10 +58,32 @@ public class FilerSourceCodeWriterTest {
         when(mockFiler.createSourceFile(TEST_PACKAGE + "." + TEST_CLASS)).thenReturn(mockFile);
         when(mockFile.openOutputStream()).thenReturn(mockOutputStream);
 
-        assertEquals(mockOutputStream, codeWriter.openBinary(codeModel._package(TEST_PACKAGE), TEST_CLASS));
+        OutputStream outputStream = codeWriter.openBinary(codeModel._package(TEST_PACKAGE), TEST_CLASS);
+        outputStream.write(1);
+        verify(mockOutputStream).write(1);
 
         codeWriter.close();
         verify(mockOutputStream).flush();
         verify(mockOutputStream).close();
     }
+
+    @Test
+    public void testStatistics() throws Exception {
+        GeneratedCodeStatistics statistics = new GeneratedCodeStatistics();
+        codeWriter = new FilerSourceCodeWriter(mockFiler, statistics);
+
+        codeModel._class(TEST_PACKAGE + "." + TEST_CLASS).method(JMod.PUBLIC, codeModel.VOID, "test");
+
+        when(mockFiler.createSourceFile(TEST_PACKAGE + "." + TEST_CLASS)).thenReturn(mockFile);
+        when(mockFile.openOutputStream()).thenReturn(mockOutputStream);
+
+        OutputStream outputStream = codeWriter.openBinary(codeModel._package(TEST_PACKAGE), TEST_CLASS + ".java");
+        outputStream.write("line\nline\n".getBytes("UTF-8"));
+        codeWriter.close();
+
+        assertEquals(1, statistics.getFiles());
+        assertEquals(1, statistics.getClasses());
+        assertEquals(2, statistics.getMethods());
+        assertEquals(2, statistics.getLines());
+    }
 }
@@ -0,0 +1,182 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen;
+
+import com.sun.codemodel.JClassAlreadyExistsException;
+import com.sun.codemodel.JCodeModel;
+import com.sun.codemodel.JDefinedClass;
+import org.androidtransfuse.adapter.ASTAccessModifier;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.analysis.astAnalyzer.ASTInjectionAspect;
+import org.androidtransfuse.analysis.astAnalyzer.VirtualProxyAspect;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.gen.target.ConstructorInjectable;
+import org.androidtransfuse.gen.target.DelayedProxy;
+import org.androidtransfuse.gen.target.InjectionTarget;
+import org.androidtransfuse.gen.variableBuilder.VariableBuilder;
+import org.androidtransfuse.gen.variableBuilder.VariableInjectionBuilder;
+import org.androidtransfuse.model.ConstructorInjectionPoint;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.model.InjectionSignature;
+import org.androidtransfuse.scope.Scopes;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import javax.inject.Provider;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+@Bootstrap
+public class InjectorGeneratorTest {
+
+    @Inject
+    private InjectorGenerator injectorGenerator;
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+    @Inject
+    private Provider<VariableInjectionBuilder> variableInjectionBuilderProvider;
+    @Inject
+    private ASTClassFactory astClassFactory;
+
+    @Before
+    public void setUp() {
+        Bootstraps.inject(this);
+    }
+
+    @Test
+    public void testInjector() throws Exception {
+        InjectionNode injectionNode = buildConstructorInjectableNode(buildInjectionNode(InjectionTarget.class));
+
+        assertTrue(injectorGenerator.isShareable(injectionNode));
+
+        JDefinedClass injector = injectorGenerator.generateInjector(injectionNode);
+
+        ClassLoader classLoader = codeGenerationUtil.build();
+        Class<?> injectorClass = classLoader.loadClass(injector.fullName());
+
+        Object result = injectorClass.getMethod(InjectorGenerator.INJECT_METHOD, Scopes.class).invoke(null, new Scopes());
+
+        assertTrue(result instanceof ConstructorInjectable);
+        assertNotNull(((ConstructorInjectable) result).getInjectionTarget());
+    }
+
+    @Test
+    public void testInjectorShared() {
+        InjectionNode injectionNode = buildConstructorInjectableNode(buildInjectionNode(InjectionTarget.class));
+        InjectionNode otherInjectionNode = buildConstructorInjectableNode(buildInjectionNode(InjectionTarget.class));
+
+        JDefinedClass injector = injectorGenerator.generateInjector(injectionNode);
+
+        assertSame(injector, injectorGenerator.generateInjector(otherInjectionNode));
+        assertTrue(injectorGenerator.isInjector(injector, otherInjectionNode));
+        assertFalse(injectorGenerator.isInjector(injector, buildInjectionNode(InjectionTarget.class)));
+    }
+
+    @Test
+    public void testVirtualProxyDependencyNotShareable() {
+        InjectionNode proxiedNode = buildInjectionNode(InjectionTarget.class);
+        VirtualProxyAspect proxyAspect = new VirtualProxyAspect();
+        proxyAspect.getProxyInterfaces().add(astClassFactory.getType(DelayedProxy.class));
+        proxiedNode.addAspect(proxyAspect);
+
+        assertFalse(injectorGenerator.isShareable(proxiedNode));
+        assertFalse(injectorGenerator.isShareable(buildConstructorInjectableNode(proxiedNode)));
+    }
+
+    @Test
+    public void testFailedInjectorRegenerated() {
+        RecordingInjectorGenerator recordingGenerator = new RecordingInjectorGenerator(new InjectorGenerator.InjectorCache());
+        InjectionNode injectionNode = buildInjectionNode(InjectionTarget.class);
+
+        //the transaction filling in the injector fails
+        recordingGenerator.fail = true;
+        try {
+            recordingGenerator.generateInjector(injectionNode);
+            fail("expected the injector to fail");
+        } catch (IllegalStateException e) {
+            //expected
+        }
+        JDefinedClass failed = recordingGenerator.generated.get(0);
+        assertFalse(recordingGenerator.isInjector(failed, injectionNode));
+
+        recordingGenerator.fail = false;
+        JDefinedClass injector = recordingGenerator.generateInjector(injectionNode);
+
+        assertNotSame(failed, injector);
+        assertSame(injector, recordingGenerator.generateInjector(injectionNode));
+        assertEquals(2, recordingGenerator.generated.size());
+        assertTrue(recordingGenerator.isInjector(injector, injectionNode));
+    }
+
+    private static final class RecordingInjectorGenerator extends InjectorGenerator {
+
+        private final List<JDefinedClass> generated = new ArrayList<JDefinedClass>();
+        private boolean fail;
+
+        private RecordingInjectorGenerator(InjectorCache cache) {
+            super(cache, null, null, null);
+        }
+
+        @Override
+        protected JDefinedClass innerGenerateInjector(InjectionNode injectionNode) {
+            try {
+                //each transaction generates into its own code model
+                JDefinedClass injectorClass = new JCodeModel()._class(injectionNode.getASTType().getName() + "$Injector");
+                generated.add(injectorClass);
+                return injectorClass;
+            } catch (JClassAlreadyExistsException e) {
+                throw new AssertionError(e);
+            }
+        }
+
+        @Override
+        protected void fillInInjector(InjectionNode injectionNode, JDefinedClass injectorClass) {
+            if (fail) {
+                throw new IllegalStateException("Unable to fill in injector");
+            }
+        }
+    }
+
+    private InjectionNode buildConstructorInjectableNode(InjectionNode dependency) {
+        InjectionNode injectionNode = new InjectionNode(new InjectionSignature(astClassFactory.getType(ConstructorInjectable.class)));
+        injectionNode.addAspect(VariableBuilder.class, variableInjectionBuilderProvider.get());
+        ConstructorInjectionPoint constructorInjectionPoint = new ConstructorInjectionPoint(astClassFactory.getType(ConstructorInjectable.class), ASTAccessModifier.PUBLIC);
+        constructorInjectionPoint.addInjectionNode(dependency);
+        getInjectionAspect(injectionNode).set(constructorInjectionPoint);
+        return injectionNode;
+    }
+
+    private InjectionNode buildInjectionNode(Class<?> instanceClass) {
+        InjectionNode injectionNode = new InjectionNode(new InjectionSignature(astClassFactory.getType(instanceClass)));
+        injectionNode.addAspect(VariableBuilder.class, variableInjectionBuilderProvider.get());
+        getInjectionAspect(injectionNode).set(new ConstructorInjectionPoint(injectionNode.getASTType(), ASTAccessModifier.PUBLIC));
+        return injectionNode;
+    }
+
+    private ASTInjectionAspect getInjectionAspect(InjectionNode injectionNode) {
+        if (!injectionNode.containsAspect(ASTInjectionAspect.class)) {
+            injectionNode.addAspect(new ASTInjectionAspect());
+        }
+        return injectionNode.getAspect(ASTInjectionAspect.class);
+    }
+}
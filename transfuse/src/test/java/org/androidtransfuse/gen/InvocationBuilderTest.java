@@ -20,7 +20,7 @@ import com.sun.codemodel.JExpression;
 import org.androidtransfuse.adapter.ASTAccessModifier;
 import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.gen.invocationBuilder.DefaultInvocationBuilderStrategy;
-import org.androidtransfuse.gen.invocationBuilder.PrivateInjectionBuilder;
+import org.androidtransfuse.gen.invocationBuilder.PrivateAccessorInjectionBuilder;
 import org.androidtransfuse.gen.invocationBuilder.ProtectedInjectionBuilder;
 import org.androidtransfuse.gen.invocationBuilder.PublicInjectionBuilder;
 import org.androidtransfuse.model.ConstructorInjectionPoint;
@@ -42,7 +42,7 @@ public class InvocationBuilderTest {
 
     private PublicInjectionBuilder publicInjectionBuilder;
     private ProtectedInjectionBuilder protectedInjectionBuilder;
-    private PrivateInjectionBuilder privateInjectionBuilder;
+    private PrivateAccessorInjectionBuilder privateInjectionBuilder;
     private InvocationBuilder invocationBuilder;
 
     @Before
@@ -50,12 +50,12 @@ public class InvocationBuilderTest {
 
         publicInjectionBuilder = mock(PublicInjectionBuilder.class);
         protectedInjectionBuilder = mock(ProtectedInjectionBuilder.class);
-        privateInjectionBuilder = mock(PrivateInjectionBuilder.class);
+        privateInjectionBuilder = mock(PrivateAccessorInjectionBuilder.class);
 
         invocationBuilder = new InvocationBuilder(new DefaultInvocationBuilderStrategy(
                 new InstanceProvider<PublicInjectionBuilder>(publicInjectionBuilder),
                 new InstanceProvider<ProtectedInjectionBuilder>(protectedInjectionBuilder),
-                new InstanceProvider<PrivateInjectionBuilder>(privateInjectionBuilder)
+                new InstanceProvider<PrivateAccessorInjectionBuilder>(privateInjectionBuilder)
         ));
     }
 
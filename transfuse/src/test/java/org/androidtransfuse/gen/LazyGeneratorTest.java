@@ -0,0 +1,89 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen;
+
+import com.sun.codemodel.JDefinedClass;
+import org.androidtransfuse.analysis.InjectionPointFactory;
+import org.androidtransfuse.analysis.SimpleAnalysisContextFactory;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.scope.Scopes;
+import org.androidtransfuse.util.Lazy;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+@Bootstrap
+public class LazyGeneratorTest {
+
+    @Inject
+    private LazyGenerator lazyGenerator;
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+    @Inject
+    private InjectionPointFactory injectionPointFactory;
+    @Inject
+    private SimpleAnalysisContextFactory contextFactory;
+
+    private InjectionNode lazyTargetInjectionNode;
+
+    public static class LazyTarget {
+        private static final AtomicInteger CONSTRUCTIONS = new AtomicInteger();
+
+        public LazyTarget() {
+            CONSTRUCTIONS.incrementAndGet();
+        }
+    }
+
+    @Before
+    public void setup() {
+        Bootstraps.inject(this);
+
+        LazyTarget.CONSTRUCTIONS.set(0);
+        lazyTargetInjectionNode = injectionPointFactory.buildInjectionNode(LazyTarget.class, contextFactory.buildContext());
+    }
+
+    @Test
+    public void testLazy() throws Exception {
+        JDefinedClass lazyDefinition = lazyGenerator.generateLazy(lazyTargetInjectionNode);
+
+        ClassLoader classLoader = codeGenerationUtil.build();
+        Class<Lazy<LazyTarget>> lazyClass = (Class<Lazy<LazyTarget>>) classLoader.loadClass(lazyDefinition.fullName());
+
+        Lazy<LazyTarget> lazy = lazyClass.getConstructor(Scopes.class).newInstance(new Scopes());
+
+        //not built until first use
+        assertEquals(0, LazyTarget.CONSTRUCTIONS.get());
+        LazyTarget target = lazy.get();
+        assertNotNull(target);
+        assertEquals(1, LazyTarget.CONSTRUCTIONS.get());
+        assertSame(target, lazy.get());
+        assertEquals(1, LazyTarget.CONSTRUCTIONS.get());
+    }
+
+    @Test
+    public void testLazyCached() {
+        assertSame(lazyGenerator.generateLazy(lazyTargetInjectionNode), lazyGenerator.generateLazy(lazyTargetInjectionNode));
+    }
+}
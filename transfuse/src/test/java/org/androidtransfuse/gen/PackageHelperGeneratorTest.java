@@ -0,0 +1,112 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen;
+
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.PackageClass;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.gen.invocationBuilder.PackageHelperRepository;
+import org.androidtransfuse.gen.invocationBuilder.ProtectedAccessorMethod;
+import org.androidtransfuse.gen.target.PrivateAccessorTarget;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+@Bootstrap
+public class PackageHelperGeneratorTest {
+
+    private static final String GET_VALUE = "getValue";
+    private static final String DESCRIBE = "describe";
+    private static final String GET_MISSING = "getMissing";
+
+    @Inject
+    private PackageHelperRepository packageHelperRepository;
+    @Inject
+    private ClassGenerationUtil generationUtil;
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+    @Inject
+    private ASTClassFactory astClassFactory;
+
+    private Class<?> harness;
+
+    @Before
+    public void setup() throws Exception {
+        Bootstraps.inject(this);
+
+        ASTType targetType = astClassFactory.getType(PrivateAccessorTarget.class);
+        ASTType stringType = astClassFactory.getType(String.class);
+
+        JDefinedClass harnessClass = generationUtil.defineClass(new PackageClass("org.androidtransfuse.gen.target", "PrivateAccessorHarness"));
+
+        buildAccessor(harnessClass, GET_VALUE, packageHelperRepository.getPrivateFieldGetter(stringType, targetType, "value"));
+        buildAccessor(harnessClass, GET_MISSING, packageHelperRepository.getPrivateFieldGetter(stringType, targetType, "missing"));
+
+        ProtectedAccessorMethod describe = packageHelperRepository.getPrivateMethodCall(stringType, targetType, DESCRIBE, Collections.singletonList(stringType));
+        JMethod describeMethod = harnessClass.method(JMod.PUBLIC | JMod.STATIC, String.class, DESCRIBE);
+        JVar describeTarget = describeMethod.param(PrivateAccessorTarget.class, "target");
+        describeMethod.body()._return(describe.invoke(generationUtil).arg(describeTarget).arg(JExpr.lit("private ")));
+
+        harness = codeGenerationUtil.build().loadClass(harnessClass.fullName());
+    }
+
+    private void buildAccessor(JDefinedClass harnessClass, String name, ProtectedAccessorMethod accessorMethod) {
+        JMethod method = harnessClass.method(JMod.PUBLIC | JMod.STATIC, String.class, name);
+        JVar target = method.param(PrivateAccessorTarget.class, "target");
+        method.body()._return(accessorMethod.invoke(generationUtil).arg(target));
+    }
+
+    @Test
+    public void testPrivateAccessors() throws Exception {
+        PrivateAccessorTarget target = new PrivateAccessorTarget();
+
+        assertEquals("value", invoke(GET_VALUE, target));
+        assertEquals("private value", invoke(DESCRIBE, target));
+    }
+
+    @Test
+    public void testFailedLookupIsolated() throws Exception {
+        PrivateAccessorTarget target = new PrivateAccessorTarget();
+
+        try {
+            invoke(GET_MISSING, target);
+            fail("Expected lookup of a missing field to fail");
+        } catch (InvocationTargetException e) {
+            //expected
+        }
+
+        //a failed handle lookup does not break the other accessors of the helper
+        assertEquals("value", invoke(GET_VALUE, target));
+        assertEquals("private value", invoke(DESCRIBE, target));
+    }
+
+    private Object invoke(String name, PrivateAccessorTarget target) throws Exception {
+        Method method = harness.getMethod(name, PrivateAccessorTarget.class);
+        return method.invoke(null, target);
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen;
+
+import com.sun.codemodel.JExpr;
+import com.sun.codemodel.JExpression;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.gen.invocationBuilder.*;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author John Ericksen
+ */
+public class PrivateAccessorInjectionBuilderTest {
+
+    private static final String NAME = "test";
+
+    private PackageHelperRepository packageHelperRepository;
+    private SourceTypeRegistry sourceTypeRegistry;
+    private PrivateInjectionBuilder reflectionInjectionBuilder;
+    private ClassGenerationUtil generationUtil;
+    private PrivateAccessorInjectionBuilder privateAccessorInjectionBuilder;
+    private ASTType returnType;
+    private ASTType variableType;
+    private JExpression variable;
+
+    @Before
+    public void setup() {
+        packageHelperRepository = mock(PackageHelperRepository.class);
+        sourceTypeRegistry = mock(SourceTypeRegistry.class);
+        reflectionInjectionBuilder = mock(PrivateInjectionBuilder.class);
+        generationUtil = mock(ClassGenerationUtil.class);
+        returnType = mock(ASTType.class);
+        variableType = mock(ASTType.class);
+        variable = mock(JExpression.class);
+
+        privateAccessorInjectionBuilder = new PrivateAccessorInjectionBuilder(packageHelperRepository, generationUtil,
+                mock(TypeInvocationHelper.class), sourceTypeRegistry, reflectionInjectionBuilder);
+    }
+
+    @Test
+    public void testSourceTypeFieldGet() {
+        ProtectedAccessorMethod accessorMethod = mock(ProtectedAccessorMethod.class);
+        when(sourceTypeRegistry.contains(variableType)).thenReturn(true);
+        when(packageHelperRepository.getPrivateFieldGetter(returnType, variableType, NAME)).thenReturn(accessorMethod);
+        when(accessorMethod.invoke(generationUtil)).thenReturn(JExpr.invoke("access"));
+
+        privateAccessorInjectionBuilder.buildFieldGet(returnType, variableType, variable, NAME);
+
+        verify(packageHelperRepository).getPrivateFieldGetter(returnType, variableType, NAME);
+        verifyZeroInteractions(reflectionInjectionBuilder);
+    }
+
+    @Test
+    public void testLibraryTypeFieldGet() {
+        JExpression reflectionGet = mock(JExpression.class);
+        when(sourceTypeRegistry.contains(variableType)).thenReturn(false);
+        when(reflectionInjectionBuilder.buildFieldGet(returnType, variableType, variable, NAME)).thenReturn(reflectionGet);
+
+        assertSame(reflectionGet, privateAccessorInjectionBuilder.buildFieldGet(returnType, variableType, variable, NAME));
+
+        verifyZeroInteractions(packageHelperRepository);
+    }
+}
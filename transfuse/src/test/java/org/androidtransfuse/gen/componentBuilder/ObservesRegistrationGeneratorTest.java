@@ -0,0 +1,171 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.componentBuilder;
+
+import com.google.common.collect.ImmutableMap;
+import com.sun.codemodel.*;
+import org.androidtransfuse.adapter.ASTMethod;
+import org.androidtransfuse.adapter.ASTParameter;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.PackageClass;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.analysis.InjectionPointFactory;
+import org.androidtransfuse.analysis.SimpleAnalysisContextFactory;
+import org.androidtransfuse.analysis.astAnalyzer.ObservesAspect;
+import org.androidtransfuse.annotations.Delivery;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.event.EventTending;
+import org.androidtransfuse.gen.ClassGenerationUtil;
+import org.androidtransfuse.gen.InjectionFragmentGenerator;
+import org.androidtransfuse.gen.InvocationBuilder;
+import org.androidtransfuse.gen.StringCodeWriter;
+import org.androidtransfuse.gen.UniqueVariableNamer;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.model.MethodDescriptor;
+import org.androidtransfuse.model.TypedExpression;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * @author John Ericksen
+ */
+@Bootstrap
+public class ObservesRegistrationGeneratorTest {
+
+    private static final PackageClass HARNESS = new PackageClass("org.androidtransfuse.gen.componentBuilder", "ObservesRegistrationHarness");
+
+    @Inject
+    private JCodeModel codeModel;
+    @Inject
+    private ClassGenerationUtil generationUtil;
+    @Inject
+    private UniqueVariableNamer namer;
+    @Inject
+    private InvocationBuilder invocationBuilder;
+    @Inject
+    private InjectionPointFactory injectionPointFactory;
+    @Inject
+    private ASTClassFactory astClassFactory;
+    @Inject
+    private SimpleAnalysisContextFactory simpleAnalysisContextFactory;
+
+    private ObservesRegistrationGenerator observesRegistrationGenerator;
+    private ASTType observerASTType;
+    private ASTType eventASTType;
+    private InjectionNode observerInjectionNode;
+    private InjectionNode tendingInjectionNode;
+
+    public static class Event {}
+
+    public static class Observer {
+        public void synchronous(Event event) {
+        }
+
+        public void background(Event event) {
+        }
+
+        public void coalesce(Event event) {
+        }
+    }
+
+    @Before
+    public void setup() {
+        Bootstraps.inject(this);
+
+        observesRegistrationGenerator = new ObservesRegistrationGenerator(codeModel, generationUtil, namer,
+                mock(InjectionFragmentGenerator.class), invocationBuilder);
+
+        observerASTType = astClassFactory.getType(Observer.class);
+        eventASTType = astClassFactory.getType(Event.class);
+        observerInjectionNode = injectionPointFactory.buildInjectionNode(observerASTType, simpleAnalysisContextFactory.buildContext());
+        tendingInjectionNode = injectionPointFactory.buildInjectionNode(EventTending.class, simpleAnalysisContextFactory.buildContext());
+        observerInjectionNode.addAspect(new ObservesAspect(tendingInjectionNode));
+    }
+
+    @Test
+    public void testSynchronousRegistration() throws Exception {
+        addObserver("synchronous", Delivery.SYNCHRONOUS);
+
+        String source = generate();
+
+        assertEquals(1, count(source, "addObserver\\([^,;]+,[^,;]+\\);"));
+        assertEquals(0, count(source, "Delivery\\."));
+    }
+
+    @Test
+    public void testDeliveryRegistration() throws Exception {
+        addObserver("synchronous", Delivery.SYNCHRONOUS);
+        addObserver("background", Delivery.BACKGROUND);
+        addObserver("coalesce", Delivery.COALESCE);
+
+        String source = generate();
+
+        assertEquals(3, count(source, "addObserver\\("));
+        assertEquals(1, count(source, "addObserver\\([^,;]+,[^,;]+\\);"));
+        assertEquals(1, count(source, "addObserver\\([^,;]+,[^,;]+, Delivery\\.BACKGROUND\\);"));
+        assertEquals(1, count(source, "addObserver\\([^,;]+,[^,;]+, Delivery\\.COALESCE\\);"));
+        assertTrue(source.contains("import " + Delivery.class.getName() + ";"));
+    }
+
+    private void addObserver(String methodName, Delivery delivery) {
+        for (ASTMethod astMethod : observerASTType.getMethods()) {
+            if (astMethod.getName().equals(methodName)) {
+                observerInjectionNode.getAspect(ObservesAspect.class).addObserver(eventASTType, astMethod, delivery);
+            }
+        }
+    }
+
+    private String generate() throws Exception {
+        JDefinedClass harnessClass = generationUtil.defineClass(HARNESS);
+        JMethod registerMethod = harnessClass.method(JMod.PUBLIC, codeModel.VOID, "register");
+        JVar observerParam = registerMethod.param(Observer.class, "observer");
+        JVar tendingParam = registerMethod.param(EventTending.class, "tending");
+
+        //the event tending expression is already built, so the mocked fragment generator has nothing to add
+        Map<InjectionNode, TypedExpression> expressionMap = new HashMap<InjectionNode, TypedExpression>();
+        expressionMap.put(observerInjectionNode, new TypedExpression(observerASTType, observerParam));
+        expressionMap.put(tendingInjectionNode, new TypedExpression(tendingInjectionNode.getASTType(), tendingParam));
+
+        MethodDescriptor methodDescriptor = new MethodDescriptor(registerMethod, null,
+                ImmutableMap.<ASTParameter, TypedExpression>of(), ImmutableMap.<ASTType, TypedExpression>of());
+
+        observesRegistrationGenerator.generate(harnessClass, methodDescriptor, expressionMap, null, JExpr._null());
+
+        StringCodeWriter codeWriter = new StringCodeWriter();
+        codeModel.build(codeWriter);
+        return codeWriter.getValue(new PackageClass(HARNESS.getPackage(), HARNESS.getClassName() + ".java"));
+    }
+
+    private int count(String source, String regex) {
+        Matcher matcher = Pattern.compile(regex).matcher(source);
+        int count = 0;
+        while (matcher.find()) {
+            count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,117 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.gen.proxy;
+
+import com.sun.codemodel.JDefinedClass;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.gen.CodeGenerationUtil;
+import org.androidtransfuse.model.InjectionNode;
+import org.androidtransfuse.model.InjectionSignature;
+import org.androidtransfuse.util.Lazy;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+@Bootstrap
+public class DeferredProxyGeneratorTest {
+
+    private static final String INPUT_VALUE = "input";
+
+    @Inject
+    private DeferredProxyGenerator deferredProxyGenerator;
+    @Inject
+    private ASTClassFactory astClassFactory;
+    @Inject
+    private CodeGenerationUtil codeGenerationUtil;
+
+    private InjectionNode deferredInjectionNode;
+    private CountingLazy lazy;
+
+    private static final class CountingLazy implements Lazy<MockDelegate> {
+        private MockDelegate delegate;
+        private int builds = 0;
+
+        @Override
+        public MockDelegate get() {
+            if (delegate == null) {
+                delegate = new MockDelegate();
+                builds++;
+            }
+            return delegate;
+        }
+    }
+
+    @Before
+    public void setup() {
+        Bootstraps.inject(this);
+
+        deferredInjectionNode = new InjectionNode(
+                new InjectionSignature(astClassFactory.getType(MockInterface.class)),
+                new InjectionSignature(astClassFactory.getType(MockDelegate.class)));
+        lazy = new CountingLazy();
+    }
+
+    @Test
+    public void testDeferredProxy() throws Exception {
+        MockInterface proxy = buildProxy();
+
+        //delegate not built until first use
+        assertEquals(0, lazy.builds);
+        assertFalse(proxy instanceof MockDelegate);
+        assertFalse(proxy instanceof SecondMockInteface);
+
+        proxy.execute();
+        assertEquals(1, lazy.builds);
+        assertEquals(VirtualProxyGeneratorTest.TEST_VALUE, proxy.getValue());
+        proxy.setValue(INPUT_VALUE);
+        assertEquals(VirtualProxyGeneratorTest.TEST_VALUE, proxy.passThroughValue(INPUT_VALUE));
+
+        assertTrue(lazy.get().validate(INPUT_VALUE, INPUT_VALUE, 0));
+        assertEquals(1, lazy.builds);
+    }
+
+    @Test
+    public void testObjectMethodsForwarded() throws Exception {
+        MockInterface proxy = buildProxy();
+
+        assertEquals(lazy.get().toString(), proxy.toString());
+        assertEquals(lazy.get().hashCode(), proxy.hashCode());
+        assertTrue(proxy.equals(lazy.get()));
+        assertEquals(1, lazy.builds);
+    }
+
+    @Test
+    public void testProxyCached() {
+        assertSame(deferredProxyGenerator.generateProxy(deferredInjectionNode), deferredProxyGenerator.generateProxy(deferredInjectionNode));
+    }
+
+    private MockInterface buildProxy() throws Exception {
+        JDefinedClass proxyDefinition = deferredProxyGenerator.generateProxy(deferredInjectionNode);
+
+        ClassLoader classLoader = codeGenerationUtil.build();
+        Class<?> proxyClass = classLoader.loadClass(proxyDefinition.fullName());
+
+        return (MockInterface) proxyClass.getConstructor(Lazy.class).newInstance(lazy);
+    }
+}
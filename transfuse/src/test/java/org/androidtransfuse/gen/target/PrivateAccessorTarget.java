@@ -0,0 +1,13 @@
+package org.androidtransfuse.gen.target;
+
+/**
+ * @author John Ericksen
+ */
+public class PrivateAccessorTarget {
+
+    private String value = "value";
+
+    private String describe(String prefix) {
+        return prefix + value;
+    }
+}
@@ -17,6 +17,7 @@ package org.androidtransfuse.model.manifest;
 
 import org.androidtransfuse.bootstrap.Bootstrap;
 import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.config.XStreamProvider;
 import org.androidtransfuse.util.ManifestSerializer;
 import org.apache.commons.io.IOUtils;
 import org.junit.Before;
@@ -30,6 +31,7 @@ import java.io.InputStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 
 /**
  * @author John Ericksen
@@ -69,6 +71,36 @@ public class ManifestTest {
         }
     }
 
+    @Test
+    public void testOutputMatchesXStream() throws IOException {
+        InputStream manifestStream = this.getClass().getClassLoader().getResourceAsStream("AndroidManifest.xml");
+        String manifestString = IOUtils.toString(manifestStream);
+
+        Manifest manifest = manifestSerializer.readManifest(new ByteArrayInputStream(manifestString.getBytes()));
+        manifest.updateNamespace();
+        manifest.getApplications().get(0).getActivities().get(0).setGenerated(true);
+        manifest.getApplications().get(0).getActivities().get(0).addMergeTag("n");
+        manifest.getApplications().get(0).getActivities().get(0).setLabel("<\"escaped\" & 'quoted'>");
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        manifestSerializer.writeManifest(manifest, outputStream);
+
+        String expected = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n" + new XStreamProvider().get().toXML(manifest);
+
+        assertEquals(expected, outputStream.toString("UTF-8"));
+    }
+
+    @Test
+    public void testAbsentCollectionsReadAsNull() {
+        String manifestString = "<manifest package=\"test\"><application/></manifest>";
+
+        Manifest manifest = manifestSerializer.readManifest(new ByteArrayInputStream(manifestString.getBytes()));
+
+        assertEquals("test", manifest.getApplicationPackage());
+        assertNull(manifest.getUsesPermissions());
+        assertNull(manifest.getApplications().get(0).getActivities());
+    }
+
     private String formatWhitespace(String input) {
         return input.replaceAll("\\s+", " ");
     }
@@ -17,15 +17,20 @@ package org.androidtransfuse.model.r;
 
 import org.androidtransfuse.adapter.ASTType;
 import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.adapter.element.ASTElementFactory;
 import org.androidtransfuse.bootstrap.Bootstrap;
 import org.androidtransfuse.bootstrap.Bootstraps;
 import org.junit.Before;
 import org.junit.Test;
 
 import javax.inject.Inject;
+import javax.lang.model.element.*;
+import java.util.Arrays;
 import java.util.Collections;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.*;
 
 /**
  * @author John Ericksen
@@ -59,4 +64,49 @@ public class RBuilderTest {
         assertEquals("id1", resourceIdentifier.getName());
         assertEquals(idInnerType, resourceIdentifier.getRInnerType());
     }
+
+    @Test
+    public void testBuildFromElement() {
+        ASTElementFactory astElementFactory = mock(ASTElementFactory.class);
+        TypeElement rElement = mockElement(TypeElement.class, ElementKind.CLASS, "R");
+        TypeElement layoutElement = mockElement(TypeElement.class, ElementKind.CLASS, "layout");
+        TypeElement idElement = mockElement(TypeElement.class, ElementKind.CLASS, "id");
+        VariableElement mainField = mockField("main", 10);
+        VariableElement buttonField = mockField("button", 20);
+        VariableElement nonConstantField = mockField("other", null);
+
+        doReturn(Arrays.asList(layoutElement, idElement)).when(rElement).getEnclosedElements();
+        doReturn(Collections.singletonList(mainField)).when(layoutElement).getEnclosedElements();
+        doReturn(Arrays.asList(buttonField, nonConstantField)).when(idElement).getEnclosedElements();
+        when(astElementFactory.getType(idElement)).thenReturn(idInnerType);
+
+        RResourceMapping rResourceMapping = new RBuilder(astElementFactory).buildR(rElement);
+
+        //constants are indexed eagerly, while the inner class conversion waits for a resource to be referenced
+        verify(mainField).getConstantValue();
+        verify(buttonField).getConstantValue();
+        verifyZeroInteractions(astElementFactory);
+
+        ResourceIdentifier resourceIdentifier = rResourceMapping.getResourceIdentifier(20);
+
+        assertEquals("button", resourceIdentifier.getName());
+        assertEquals(idInnerType, resourceIdentifier.getRInnerType());
+        assertNull(rResourceMapping.getResourceIdentifier(30));
+        verify(astElementFactory, never()).getType(layoutElement);
+    }
+
+    private VariableElement mockField(String name, Integer value) {
+        VariableElement field = mockElement(VariableElement.class, ElementKind.FIELD, name);
+        when(field.getConstantValue()).thenReturn(value);
+        return field;
+    }
+
+    private <T extends Element> T mockElement(Class<T> elementClass, ElementKind kind, String name) {
+        T element = mock(elementClass);
+        Name simpleName = mock(Name.class);
+        when(simpleName.toString()).thenReturn(name);
+        when(element.getKind()).thenReturn(kind);
+        when(element.getSimpleName()).thenReturn(simpleName);
+        return element;
+    }
 }
@@ -0,0 +1,71 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.model.r;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * @author John Ericksen
+ */
+public class ResourceIdIndexTest {
+
+    private static final int RESOURCE_COUNT = 10000;
+    private static final int BASE_ID = 0x7f030000;
+
+    private ResourceIdIndex index;
+
+    @Before
+    public void setup() {
+        index = new ResourceIdIndex(1);
+    }
+
+    @Test
+    public void testPutGet() {
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            index.put(BASE_ID + i, "resource" + i);
+        }
+
+        assertEquals(RESOURCE_COUNT, index.size());
+        for (int i = 0; i < RESOURCE_COUNT; i++) {
+            assertEquals("resource" + i, index.get(BASE_ID + i));
+        }
+        assertNull(index.get(BASE_ID - 1));
+        assertNull(index.get(BASE_ID + RESOURCE_COUNT));
+    }
+
+    @Test
+    public void testZeroAndNegativeIds() {
+        index.put(0, "zero");
+        index.put(-1, "negative");
+
+        assertEquals("zero", index.get(0));
+        assertEquals("negative", index.get(-1));
+        assertNull(index.get(1));
+    }
+
+    @Test
+    public void testReplace() {
+        index.put(BASE_ID, "first");
+        index.put(BASE_ID, "second");
+
+        assertEquals(1, index.size());
+        assertEquals("second", index.get(BASE_ID));
+    }
+}
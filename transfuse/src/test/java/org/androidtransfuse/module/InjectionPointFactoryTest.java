@@ -23,8 +23,12 @@ import org.androidtransfuse.analysis.AnalysisContext;
 import org.androidtransfuse.analysis.InjectionPointFactory;
 import org.androidtransfuse.analysis.SimpleAnalysisContextFactory;
 import org.androidtransfuse.analysis.targets.MockAnalysisClass;
+import org.androidtransfuse.annotations.Deferred;
 import org.androidtransfuse.bootstrap.Bootstrap;
 import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.gen.variableBuilder.VariableASTImplementationFactory;
+import org.androidtransfuse.gen.variableBuilder.VariableBuilder;
+import org.androidtransfuse.gen.variableDecorator.DeferredVariableBuilder;
 import org.androidtransfuse.model.ConstructorInjectionPoint;
 import org.androidtransfuse.model.FieldInjectionPoint;
 import org.androidtransfuse.model.InjectionNode;
@@ -41,6 +45,8 @@ import java.lang.reflect.TypeVariable;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author John Ericksen
@@ -55,6 +61,15 @@ public class InjectionPointFactoryTest {
     private SimpleAnalysisContextFactory contextFactory;
     @Inject
     private InjectionPointFactory injectionPointFactory;
+    @Inject
+    private VariableASTImplementationFactory variableASTImplementationFactory;
+
+    public interface DeferrableTarget {}
+
+    @Deferred
+    public static class DeferredTargetImpl implements DeferrableTarget {}
+
+    public static class EagerTargetImpl implements DeferrableTarget {}
 
     @Before
     public void setUp() {
@@ -119,4 +134,32 @@ public class InjectionPointFactoryTest {
 
         assertEquals(field.getType().getName(), injectionNode.getClassName());
     }
+
+    @Test
+    public void testDeferredInterfaceInjection() {
+        assertTrue(isDeferred(bindTarget(DeferredTargetImpl.class), DeferrableTarget.class));
+    }
+
+    @Test
+    public void testEagerInterfaceInjection() {
+        assertFalse(isDeferred(bindTarget(EagerTargetImpl.class), DeferrableTarget.class));
+    }
+
+    @Test
+    public void testDeferredConcreteInjection() {
+        //@Deferred implementations injected directly are not deferred
+        assertFalse(isDeferred(emptyContext, DeferredTargetImpl.class));
+    }
+
+    private AnalysisContext bindTarget(Class<? extends DeferrableTarget> implementation) {
+        AnalysisContext context = contextFactory.buildContext();
+        context.getInjectionNodeBuilders().putType(DeferrableTarget.class,
+                variableASTImplementationFactory.buildVariableASTBuilder(astClassFactory.getType(implementation)));
+        return context;
+    }
+
+    private boolean isDeferred(AnalysisContext context, Class<?> type) {
+        InjectionNode injectionNode = injectionPointFactory.buildInjectionNode(type, context);
+        return injectionNode.getAspect(VariableBuilder.class) instanceof DeferredVariableBuilder;
+    }
 }
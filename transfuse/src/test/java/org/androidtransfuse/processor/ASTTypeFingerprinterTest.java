@@ -0,0 +1,147 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.processor;
+
+import com.google.common.collect.ImmutableSet;
+import org.androidtransfuse.adapter.*;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * @author John Ericksen
+ */
+@Bootstrap
+public class ASTTypeFingerprinterTest {
+
+    @Inject
+    private ASTClassFactory astClassFactory;
+    private ASTTypeFingerprinter fingerprinter;
+
+    public static class Dependency {
+        @Inject
+        public Dependency(Recursive recursive) {
+        }
+    }
+
+    public static class OtherDependency {
+        @Inject
+        public OtherDependency(@Named("other") Recursive recursive) {
+        }
+    }
+
+    public static class Recursive {
+        @Inject
+        Recursive recursive;
+    }
+
+    public static class Root {
+        @Inject
+        Dependency dependency;
+    }
+
+    public static class OtherRoot {
+        @Inject
+        OtherDependency dependency;
+    }
+
+    @Before
+    public void setUp() {
+        Bootstraps.inject(this);
+
+        fingerprinter = new ASTTypeFingerprinter();
+    }
+
+    @Test
+    public void testStable() {
+        assertEquals(fingerprint(Root.class), fingerprint(Root.class));
+    }
+
+    @Test
+    public void testRootOrder() {
+        ASTType root = astClassFactory.getType(Root.class);
+        ASTType otherRoot = astClassFactory.getType(OtherRoot.class);
+
+        assertEquals(fingerprinter.fingerprint(Arrays.asList(root, otherRoot)),
+                fingerprinter.fingerprint(Arrays.asList(otherRoot, root)));
+        assertFalse(fingerprint(Root.class).equals(fingerprint(OtherRoot.class)));
+    }
+
+    @Test
+    public void testAdditionalInputs() {
+        ASTType root = astClassFactory.getType(Root.class);
+
+        assertFalse(fingerprinter.fingerprint(Collections.singleton(root), "a").equals(
+                fingerprinter.fingerprint(Collections.singleton(root), "b")));
+    }
+
+    @Test
+    public void testArrayComponentDescribed() {
+        ASTType component = mockType("example.Component", mockField("a", astClassFactory.getType(String.class)));
+        ASTType changedComponent = mockType("example.Component", mockField("b", astClassFactory.getType(String.class)));
+
+        assertFalse(fingerprintHolder(new ASTArrayType(component)).equals(
+                fingerprintHolder(new ASTArrayType(changedComponent))));
+    }
+
+    @Test
+    public void testSupportLibraryDescribed() {
+        ASTType fragment = mockType("android.support.v4.app.Fragment", mockField("a", astClassFactory.getType(String.class)));
+        ASTType changedFragment = mockType("android.support.v4.app.Fragment", mockField("b", astClassFactory.getType(String.class)));
+
+        assertFalse(fingerprintHolder(fragment).equals(fingerprintHolder(changedFragment)));
+    }
+
+    private String fingerprintHolder(ASTType fieldType) {
+        return fingerprinter.fingerprint(Collections.singleton(mockType("example.Holder", mockField("field", fieldType))));
+    }
+
+    private ASTType mockType(String name, ASTField field) {
+        ASTType type = mock(ASTType.class);
+        when(type.getName()).thenReturn(name);
+        when(type.getAnnotations()).thenReturn(ImmutableSet.<ASTAnnotation>of());
+        when(type.getInterfaces()).thenReturn(ImmutableSet.<ASTType>of());
+        when(type.getGenericParameters()).thenReturn(ImmutableSet.<ASTType>of());
+        when(type.getFields()).thenReturn(ImmutableSet.of(field));
+        when(type.getConstructors()).thenReturn(ImmutableSet.<ASTConstructor>of());
+        when(type.getMethods()).thenReturn(ImmutableSet.<ASTMethod>of());
+        return type;
+    }
+
+    private ASTField mockField(String name, ASTType fieldType) {
+        ASTField field = mock(ASTField.class);
+        when(field.getName()).thenReturn(name);
+        when(field.getASTType()).thenReturn(fieldType);
+        when(field.getAnnotations()).thenReturn(ImmutableSet.<ASTAnnotation>of());
+        return field;
+    }
+
+    private String fingerprint(Class<?> rootClass) {
+        return fingerprinter.fingerprint(Collections.singleton(astClassFactory.getType(rootClass)));
+    }
+}
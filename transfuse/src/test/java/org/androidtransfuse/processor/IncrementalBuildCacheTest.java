@@ -0,0 +1,174 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.processor;
+
+import org.androidtransfuse.config.RecordingFiler;
+import org.androidtransfuse.util.Logger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.annotation.processing.Filer;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author John Ericksen
+ */
+public class IncrementalBuildCacheTest {
+
+    private static final String FINGERPRINT = "fingerprint";
+    private static final String SOURCE_NAME = "org.test.Tester$$Generated";
+    private static final String SOURCE = "package org.test; public class Tester$$Generated {}";
+
+    private IncrementalBuildCache cache;
+    private Filer mockFiler;
+    private File outputDirectory;
+    private File manifestFile;
+
+    @Before
+    public void setUp() throws Exception {
+        outputDirectory = File.createTempFile("transfuse", "cache");
+        outputDirectory.delete();
+        outputDirectory.mkdir();
+        manifestFile = new File(outputDirectory, "AndroidManifest.xml");
+        write(manifestFile, "<manifest/>");
+
+        mockFiler = mock(Filer.class);
+        FileObject mockCacheResource = mock(FileObject.class);
+        when(mockFiler.getResource(StandardLocation.SOURCE_OUTPUT, "", IncrementalBuildCache.CACHE_FILE_NAME)).thenReturn(mockCacheResource);
+        when(mockCacheResource.toUri()).thenReturn(new File(outputDirectory, IncrementalBuildCache.CACHE_FILE_NAME).toURI());
+
+        cache = new IncrementalBuildCache(mockFiler, mock(Logger.class));
+    }
+
+    @After
+    public void tearDown() {
+        for (File file : outputDirectory.listFiles()) {
+            file.delete();
+        }
+        outputDirectory.delete();
+    }
+
+    @Test
+    public void testReplay() throws IOException {
+        cache.store(FINGERPRINT, manifestFile, recordSource());
+
+        ByteArrayOutputStream replayed = new ByteArrayOutputStream();
+        JavaFileObject mockSourceFile = mock(JavaFileObject.class);
+        when(mockFiler.createSourceFile(SOURCE_NAME)).thenReturn(mockSourceFile);
+        when(mockSourceFile.openOutputStream()).thenReturn(replayed);
+
+        IncrementalBuildCache.Entry entry = cache.lookup(FINGERPRINT, manifestFile);
+        assertNotNull(entry);
+        assertEquals(1, entry.getGeneratedFiles().size());
+
+        cache.replay(entry);
+
+        assertEquals(SOURCE, replayed.toString("UTF-8"));
+    }
+
+    @Test
+    public void testChangedFingerprint() throws IOException {
+        cache.store(FINGERPRINT, manifestFile, recordSource());
+
+        assertNull(cache.lookup("changed", manifestFile));
+    }
+
+    @Test
+    public void testChangedManifest() throws IOException {
+        cache.store(FINGERPRINT, manifestFile, recordSource());
+        write(manifestFile, "<manifest package=\"org.test\"/>");
+
+        assertNull(cache.lookup(FINGERPRINT, manifestFile));
+    }
+
+    @Test
+    public void testCorruptCache() throws IOException {
+        write(new File(outputDirectory, IncrementalBuildCache.CACHE_FILE_NAME), "corrupt");
+
+        assertNull(cache.lookup(FINGERPRINT, manifestFile));
+    }
+
+    @Test
+    public void testUnknownFileKind() throws IOException {
+        DataOutputStream outputStream = openCache();
+        outputStream.writeInt(1);
+        outputStream.writeUTF(FINGERPRINT);
+        outputStream.writeInt(0);
+        outputStream.writeInt(1);
+        outputStream.writeUTF("UNKNOWN");
+        outputStream.close();
+
+        assertNull(cache.lookup(FINGERPRINT, manifestFile));
+        assertFalse(new File(outputDirectory, IncrementalBuildCache.CACHE_FILE_NAME).exists());
+    }
+
+    @Test
+    public void testCorruptLength() throws IOException {
+        DataOutputStream outputStream = openCache();
+        outputStream.writeInt(1);
+        outputStream.writeUTF(FINGERPRINT);
+        outputStream.writeInt(Integer.MAX_VALUE);
+        outputStream.close();
+
+        assertNull(cache.lookup(FINGERPRINT, manifestFile));
+
+        outputStream = openCache();
+        outputStream.writeInt(1);
+        outputStream.writeUTF(FINGERPRINT);
+        outputStream.writeInt(-1);
+        outputStream.close();
+
+        assertNull(cache.lookup(FINGERPRINT, manifestFile));
+        assertFalse(new File(outputDirectory, IncrementalBuildCache.CACHE_FILE_NAME).exists());
+    }
+
+    private DataOutputStream openCache() throws IOException {
+        return new DataOutputStream(new GZIPOutputStream(new FileOutputStream(new File(outputDirectory, IncrementalBuildCache.CACHE_FILE_NAME))));
+    }
+
+    private List<IncrementalBuildCache.GeneratedFile> recordSource() throws IOException {
+        Filer mockDelegate = mock(Filer.class);
+        JavaFileObject mockSourceFile = mock(JavaFileObject.class);
+        when(mockDelegate.createSourceFile(SOURCE_NAME)).thenReturn(mockSourceFile);
+        when(mockSourceFile.openOutputStream()).thenReturn(new ByteArrayOutputStream());
+
+        RecordingFiler recordingFiler = new RecordingFiler(mockDelegate);
+        recordingFiler.startRecording();
+        OutputStream outputStream = recordingFiler.createSourceFile(SOURCE_NAME).openOutputStream();
+        outputStream.write(SOURCE.getBytes("UTF-8"));
+        outputStream.close();
+
+        return recordingFiler.stopRecording();
+    }
+
+    private void write(File file, String contents) throws IOException {
+        Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8");
+        try {
+            writer.write(contents);
+        } finally {
+            writer.close();
+        }
+    }
+}
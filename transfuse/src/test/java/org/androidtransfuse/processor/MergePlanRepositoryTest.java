@@ -0,0 +1,113 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.processor;
+
+import org.androidtransfuse.model.Mergeable;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+public class MergePlanRepositoryTest {
+
+    public static class PlanTarget extends Mergeable {
+        private String name;
+        private String unmerged;
+        private List<PlanTarget> children = new ArrayList<PlanTarget>();
+
+        @Merge("n")
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUnmerged() {
+            return unmerged;
+        }
+
+        public void setUnmerged(String unmerged) {
+            this.unmerged = unmerged;
+        }
+
+        @MergeCollection(collectionType = ArrayList.class, type = PlanTarget.class)
+        public List<PlanTarget> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<PlanTarget> children) {
+            this.children = children;
+        }
+    }
+
+    private MergePlanRepository repository;
+
+    @Before
+    public void setUp() {
+        repository = new MergePlanRepository();
+    }
+
+    @Test
+    public void testPlanCached() throws MergerException {
+        assertSame(repository.getPlan(PlanTarget.class), repository.getPlan(PlanTarget.class));
+    }
+
+    @Test
+    public void testPlanProperties() throws MergerException {
+        MergePlan plan = repository.getPlan(PlanTarget.class);
+
+        MergePlan.MergeProperty name = findProperty(plan.getWriteableProperties(), "name");
+        MergePlan.MergeProperty unmerged = findProperty(plan.getWriteableProperties(), "unmerged");
+        MergePlan.MergeProperty children = findProperty(plan.getWriteableProperties(), "children");
+
+        assertEquals("n", name.getMerge().value());
+        assertNull(unmerged.getMerge());
+        assertTrue(children.isCollection());
+        assertEquals(PlanTarget.class, children.getMergeCollection().type());
+        assertNull(findProperty(plan.getWriteableProperties(), "class"));
+
+        assertEquals(1, plan.getTaggedProperties().size());
+        assertSame(name, plan.getTaggedProperties().get(0));
+    }
+
+    @Test
+    public void testPropertyAccess() throws MergerException {
+        PlanTarget target = new PlanTarget();
+        MergePlan.MergeProperty name = findProperty(repository.getPlan(PlanTarget.class).getWriteableProperties(), "name");
+
+        name.set(target, "value");
+
+        assertEquals("value", target.getName());
+        assertEquals("value", name.get(target));
+    }
+
+    private MergePlan.MergeProperty findProperty(List<MergePlan.MergeProperty> properties, String name) {
+        for (MergePlan.MergeProperty property : properties) {
+            if (property.getName().equals(name)) {
+                return property;
+            }
+        }
+        return null;
+    }
+}
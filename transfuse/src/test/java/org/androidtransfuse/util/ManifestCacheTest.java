@@ -0,0 +1,104 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import org.androidtransfuse.model.manifest.Manifest;
+import org.androidtransfuse.model.manifest.UsesPermission;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author John Ericksen
+ */
+public class ManifestCacheTest {
+
+    private static final long PAST = 10000;
+
+    private ManifestSerializer manifestSerializer;
+    private ManifestCache manifestCache;
+    private File manifestFile;
+
+    @Before
+    public void setUp() throws IOException {
+        ManifestMappingRepository mappingRepository = new ManifestMappingRepository();
+        manifestSerializer = new ManifestSerializer(mappingRepository, new JavaUtilLogger(this));
+        manifestCache = new ManifestCache(manifestSerializer, mappingRepository);
+        manifestFile = File.createTempFile("AndroidManifest", ".xml");
+
+        writeManifest("org.test", "android.permission.VIBRATE");
+    }
+
+    @After
+    public void tearDown() {
+        ManifestCache.clear();
+        manifestFile.delete();
+    }
+
+    @Test
+    public void testCachedCopy() {
+        Manifest first = manifestCache.readManifest(manifestFile);
+        first.getUsesPermissions().get(0).setName("modified");
+        Manifest second = manifestCache.readManifest(manifestFile);
+
+        assertNotSame(first, second);
+        assertEquals("android.permission.VIBRATE", second.getUsesPermissions().get(0).getName());
+        assertEquals(1, manifestCache.getMisses());
+        assertEquals(1, manifestCache.getHits());
+    }
+
+    @Test
+    public void testChangedManifestReparsed() {
+        assertEquals("org.test", manifestCache.readManifest(manifestFile).getApplicationPackage());
+
+        writeManifest("org.test.changed", "android.permission.VIBRATE");
+
+        assertEquals("org.test.changed", manifestCache.readManifest(manifestFile).getApplicationPackage());
+        assertEquals(2, manifestCache.getMisses());
+    }
+
+    @Test
+    public void testRecentlyModifiedManifestReparsed() {
+        manifestFile.setLastModified(System.currentTimeMillis());
+
+        manifestCache.readManifest(manifestFile);
+        manifestCache.readManifest(manifestFile);
+
+        assertEquals(2, manifestCache.getMisses());
+    }
+
+    @Test
+    public void testUnchangedManifestNotRewritten() {
+        long lastModified = manifestFile.lastModified();
+
+        manifestSerializer.writeManifest(manifestSerializer.readManifest(manifestFile), manifestFile);
+
+        assertEquals(lastModified, manifestFile.lastModified());
+    }
+
+    private void writeManifest(String applicationPackage, String permission) {
+        Manifest manifest = new Manifest();
+        manifest.setApplicationPackage(applicationPackage);
+        manifest.getUsesPermissions().add(new UsesPermission(permission));
+        manifestSerializer.writeManifest(manifest, manifestFile);
+        manifestFile.setLastModified(System.currentTimeMillis() - PAST);
+    }
+}
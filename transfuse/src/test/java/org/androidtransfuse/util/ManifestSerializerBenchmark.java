@@ -0,0 +1,210 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util;
+
+import com.thoughtworks.xstream.XStream;
+import org.androidtransfuse.config.XStreamProvider;
+import org.androidtransfuse.model.manifest.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares parse and write time of the streaming ManifestSerializer against the XStream serialization it replaced,
+ * using a generated merged manifest of roughly 5000 lines.  After the timed runs, the main method reports the peak heap
+ * used by a single parse and write with each implementation.
+ *
+ * Run via the main method from the test classpath.
+ *
+ * @author John Ericksen
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ManifestSerializerBenchmark {
+
+    private static final int ACTIVITY_COUNT = 700;
+    private static final String XML_HEADER = "<?xml version=\"1.0\" encoding=\"utf-8\"?>\n";
+
+    private ManifestSerializer manifestSerializer;
+    private XStream xStream;
+    private byte[] manifestBytes;
+    private Manifest manifest;
+
+    @Setup
+    public void setup() {
+        manifestSerializer = buildSerializer();
+        xStream = new XStreamProvider().get();
+        manifest = buildManifest();
+        manifestBytes = write(manifestSerializer, manifest);
+    }
+
+    @Benchmark
+    public Manifest streamingRead() {
+        return manifestSerializer.readManifest(new ByteArrayInputStream(manifestBytes));
+    }
+
+    @Benchmark
+    public Manifest xstreamRead() {
+        return (Manifest) xStream.fromXML(new ByteArrayInputStream(manifestBytes));
+    }
+
+    @Benchmark
+    public byte[] streamingWrite() {
+        return write(manifestSerializer, manifest);
+    }
+
+    @Benchmark
+    public byte[] xstreamWrite() throws IOException {
+        return write(xStream, manifest);
+    }
+
+    private static ManifestSerializer buildSerializer() {
+        return new ManifestSerializer(new ManifestMappingRepository(), new JavaUtilLogger(ManifestSerializerBenchmark.class));
+    }
+
+    private static byte[] write(ManifestSerializer serializer, Manifest manifest) {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        serializer.writeManifest(manifest, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    private static byte[] write(XStream xStream, Manifest manifest) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Writer writer = new OutputStreamWriter(outputStream, "UTF-8");
+        writer.write(XML_HEADER);
+        xStream.toXML(manifest, writer);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Builds a merged manifest of 7 lines per activity, each activity carrying merge tags, an intent filter and
+     * meta-data.
+     */
+    private static Manifest buildManifest() {
+        Manifest manifest = new Manifest();
+        manifest.setApplicationPackage("org.androidtransfuse.benchmark");
+        manifest.updateNamespace();
+
+        Application application = new Application();
+        application.setName("org.androidtransfuse.benchmark.BenchmarkApplication");
+        application.setGenerated(true);
+
+        for (int i = 0; i < ACTIVITY_COUNT; i++) {
+            Activity activity = new Activity();
+            activity.setName("org.androidtransfuse.benchmark.Activity" + i);
+            activity.setLabel("@string/activity_" + i);
+            activity.setGenerated(true);
+            activity.addMergeTag("n");
+            activity.addMergeTag("l");
+
+            IntentFilter intentFilter = new IntentFilter();
+            Action action = new Action();
+            action.setName("org.androidtransfuse.benchmark.ACTION_" + i);
+            intentFilter.getActions().add(action);
+            Category category = new Category();
+            category.setName("android.intent.category.DEFAULT");
+            intentFilter.getCategories().add(category);
+            activity.getIntentFilters().add(intentFilter);
+
+            MetaData metaData = new MetaData();
+            metaData.setName("index");
+            metaData.setValue(Integer.toString(i));
+            activity.getMetaData().add(metaData);
+
+            application.getActivities().add(activity);
+        }
+
+        manifest.getApplications().add(application);
+        return manifest;
+    }
+
+    private interface Operation {
+        void run() throws IOException;
+    }
+
+    private static long peakHeap(Operation operation) throws IOException {
+        System.gc();
+        long baseline = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                baseline += pool.getUsage().getUsed();
+            }
+        }
+        operation.run();
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak - baseline;
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        new Runner(new OptionsBuilder()
+                .include(ManifestSerializerBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+
+        final ManifestSerializer serializer = buildSerializer();
+        final XStream xStream = new XStreamProvider().get();
+        final Manifest manifest = buildManifest();
+        final byte[] bytes = write(serializer, manifest);
+
+        System.out.println("Manifest lines: " + new String(bytes, "UTF-8").split("\n").length);
+        System.out.println("Peak heap, streaming read (bytes): " + peakHeap(new Operation() {
+            @Override
+            public void run() {
+                serializer.readManifest(new ByteArrayInputStream(bytes));
+            }
+        }));
+        System.out.println("Peak heap, XStream read (bytes): " + peakHeap(new Operation() {
+            @Override
+            public void run() {
+                xStream.fromXML(new ByteArrayInputStream(bytes));
+            }
+        }));
+        System.out.println("Peak heap, streaming write (bytes): " + peakHeap(new Operation() {
+            @Override
+            public void run() {
+                write(serializer, manifest);
+            }
+        }));
+        System.out.println("Peak heap, XStream write (bytes): " + peakHeap(new Operation() {
+            @Override
+            public void run() throws IOException {
+                write(xStream, manifest);
+            }
+        }));
+    }
+}
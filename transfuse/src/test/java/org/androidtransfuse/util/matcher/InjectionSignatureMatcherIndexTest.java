@@ -0,0 +1,138 @@
+/**
+ * Copyright 2013 John Ericksen
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.androidtransfuse.util.matcher;
+
+import com.google.common.collect.ImmutableList;
+import org.androidtransfuse.adapter.ASTAnnotation;
+import org.androidtransfuse.adapter.ASTType;
+import org.androidtransfuse.adapter.classes.ASTClassFactory;
+import org.androidtransfuse.bootstrap.Bootstrap;
+import org.androidtransfuse.bootstrap.Bootstraps;
+import org.androidtransfuse.model.InjectionSignature;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.inject.Inject;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author John Ericksen
+ */
+@Bootstrap
+public class InjectionSignatureMatcherIndexTest {
+
+    @Inject
+    private ASTClassFactory astClassFactory;
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface TestAnnotation {
+        String value();
+    }
+
+    @Target(ElementType.TYPE)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface TestAnnotationTwo {}
+
+    public class ZeroMatcherTarget {}
+
+    public class SubZeroMatcherTarget extends ZeroMatcherTarget {}
+
+    @TestAnnotation("1")
+    public class SingleMatcherTarget {}
+
+    @TestAnnotationTwo
+    @TestAnnotation("2")
+    public class DoubleMatcherTarget {}
+
+    private List<InjectionSignature> signatures;
+    private Map<Matcher<InjectionSignature>, String> bindings;
+
+    @Before
+    public void setup() {
+        Bootstraps.inject(this);
+
+        ASTType zeroMatcherASTType = astClassFactory.getType(ZeroMatcherTarget.class);
+        ASTType subZeroMatcherASTType = astClassFactory.getType(SubZeroMatcherTarget.class);
+        ASTType singleMatcherASTType = astClassFactory.getType(SingleMatcherTarget.class);
+        ASTType doubleMatcherASTType = astClassFactory.getType(DoubleMatcherTarget.class);
+
+        ASTAnnotation testAnnotation1 = singleMatcherASTType.getASTAnnotation(TestAnnotation.class);
+        ASTAnnotation testAnnotation2 = doubleMatcherASTType.getASTAnnotation(TestAnnotation.class);
+        ASTAnnotation testAnnotationTwo = doubleMatcherASTType.getASTAnnotation(TestAnnotationTwo.class);
+        ASTType testAnnotationType = testAnnotation1.getASTType();
+        ASTType testAnnotationTwoType = testAnnotationTwo.getASTType();
+
+        signatures = new ArrayList<InjectionSignature>();
+        for (ASTType astType : new ASTType[]{zeroMatcherASTType, subZeroMatcherASTType, singleMatcherASTType, doubleMatcherASTType}) {
+            signatures.add(new InjectionSignature(astType));
+            signatures.add(new InjectionSignature(astType, singleMatcherASTType.getAnnotations()));
+            signatures.add(new InjectionSignature(astType, doubleMatcherASTType.getAnnotations()));
+        }
+
+        bindings = new LinkedHashMap<Matcher<InjectionSignature>, String>();
+        bindings.put(Matchers.type(zeroMatcherASTType).annotated().build(), "zero");
+        bindings.put(Matchers.type(zeroMatcherASTType).ignoreGenerics().annotated().build(), "zeroIgnoreGenerics");
+        bindings.put(Matchers.type(subZeroMatcherASTType).inherits().annotated().build(), "zeroInherits");
+        bindings.put(Matchers.type(singleMatcherASTType).annotated().byAnnotation(testAnnotation1).build(), "singleAnnotated");
+        bindings.put(Matchers.annotated().byType(testAnnotationType).build(), "annotationType");
+        bindings.put(Matchers.annotated().byType(testAnnotationType, testAnnotationTwoType).build(), "annotationTypes");
+        bindings.put(Matchers.annotated().byAnnotation(testAnnotation2, testAnnotationTwo).build(), "annotations");
+        bindings.put(Matchers.annotated().byType().build(), "unannotated");
+        bindings.put(new Matcher<InjectionSignature>() {
+            @Override
+            public boolean matches(InjectionSignature input) {
+                return input.getAnnotations().size() == 2;
+            }
+        }, "custom");
+    }
+
+    @Test
+    public void testMatchesFullScan() {
+        InjectionSignatureMatcherIndex<String> index = new InjectionSignatureMatcherIndex<String>(bindings);
+
+        for (InjectionSignature signature : signatures) {
+            assertEquals(signature.toString(), scan(signature), index.getMatches(signature));
+        }
+    }
+
+    @Test
+    public void testResidual() {
+        InjectionSignatureMatcherIndex<String> index = new InjectionSignatureMatcherIndex<String>(bindings);
+
+        //the inherits, unannotated and custom matchers are not indexable
+        assertEquals(3, index.getResidualSize());
+    }
+
+    private ImmutableList<String> scan(InjectionSignature signature) {
+        ImmutableList.Builder<String> matches = ImmutableList.builder();
+        for (Map.Entry<Matcher<InjectionSignature>, String> binding : bindings.entrySet()) {
+            if (binding.getKey().matches(signature)) {
+                matches.add(binding.getValue());
+            }
+        }
+        return matches.build();
+    }
+}